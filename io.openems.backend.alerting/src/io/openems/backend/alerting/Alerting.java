@@ -34,7 +34,8 @@ import io.openems.common.event.EventReader;
 )
 @EventTopics({ //
 		Edge.Events.ON_SET_ONLINE, //
-		Metadata.Events.AFTER_IS_INITIALIZED //
+		Metadata.Events.AFTER_IS_INITIALIZED, //
+		Metadata.Events.AFTER_SET_USER_ALERTING_SETTINGS //
 })
 public class Alerting extends AbstractOpenemsBackendComponent implements EventHandler {
 
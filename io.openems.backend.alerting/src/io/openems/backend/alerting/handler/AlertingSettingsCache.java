@@ -0,0 +1,174 @@
+package io.openems.backend.alerting.handler;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.backend.common.metadata.AlertingSetting;
+import io.openems.backend.common.metadata.Metadata;
+import io.openems.common.exceptions.OpenemsException;
+
+/**
+ * Caches the {@link AlertingSetting}s per Edge.
+ *
+ * <p>
+ * Entries are invalidated explicitly after the settings of an Edge were
+ * changed, and expire after {@link #TIME_TO_LIVE} to pick up changes that were
+ * made directly in the {@link Metadata} source.
+ *
+ * <p>
+ * After a notification was sent, the {@link Metadata} source updates the last
+ * notification asynchronously. The time of the notification is therefore kept
+ * locally, see {@link #setLastNotification(String, Collection, ZonedDateTime)},
+ * and applied to loaded {@link AlertingSetting}s until they contain it.
+ */
+public class AlertingSettingsCache {
+
+	protected static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+
+	private static record Entry(List<AlertingSetting> settings, long expiresAt) {
+	}
+
+	private static record NotificationKey(String edgeId, int settingId) {
+	}
+
+	private static record Notification(ZonedDateTime sentAt, long expiresAt) {
+	}
+
+	private final Metadata metadata;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<NotificationKey, Notification> notifications = new ConcurrentHashMap<>();
+
+	public AlertingSettingsCache(Metadata metadata) {
+		this.metadata = metadata;
+	}
+
+	/**
+	 * Gets the {@link AlertingSetting}s of an Edge; loads them on a cache miss.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link AlertingSetting}s; possibly empty
+	 * @throws OpenemsException on error
+	 */
+	public List<AlertingSetting> get(String edgeId) throws OpenemsException {
+		var now = System.nanoTime();
+		var entry = this.entries.get(edgeId);
+		if (entry != null && now - entry.expiresAt < 0) {
+			return entry.settings;
+		}
+		var settings = this.metadata.getUserAlertingSettings(edgeId);
+		return this.put(edgeId, settings, now);
+	}
+
+	/**
+	 * Gets the {@link AlertingSetting}s of several Edges; loads all cache misses
+	 * in one batch.
+	 *
+	 * @param edgeIds the Edge-IDs
+	 * @return the {@link AlertingSetting}s per Edge-ID
+	 * @throws OpenemsException on error
+	 */
+	public Map<String, List<AlertingSetting>> getAll(Collection<String> edgeIds) throws OpenemsException {
+		var now = System.nanoTime();
+		var result = new HashMap<String, List<AlertingSetting>>();
+		var missing = new ArrayList<String>();
+		for (var edgeId : edgeIds) {
+			var entry = this.entries.get(edgeId);
+			if (entry != null && now - entry.expiresAt < 0) {
+				result.put(edgeId, entry.settings);
+			} else {
+				missing.add(edgeId);
+			}
+		}
+		if (!missing.isEmpty()) {
+			var loaded = this.metadata.getUserAlertingSettings(missing);
+			for (var edgeId : missing) {
+				result.put(edgeId, this.put(edgeId, loaded.get(edgeId), now));
+			}
+		}
+		return result;
+	}
+
+	private List<AlertingSetting> put(String edgeId, List<AlertingSetting> settings, long now) {
+		if (settings == null) {
+			settings = List.of();
+		}
+		settings = this.applyNotifications(edgeId, settings, now);
+		this.entries.put(edgeId, new Entry(settings, now + TIME_TO_LIVE.toNanos()));
+		return settings;
+	}
+
+	/**
+	 * Sets the last notification of {@link AlertingSetting}s of an Edge after a
+	 * notification was sent to them.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param settings the notified {@link AlertingSetting}s
+	 * @param sentAt   the time of the notification
+	 */
+	public void setLastNotification(String edgeId, Collection<AlertingSetting> settings, ZonedDateTime sentAt) {
+		var now = System.nanoTime();
+		this.notifications.values().removeIf(notification -> now - notification.expiresAt >= 0);
+		for (var setting : settings) {
+			this.notifications.put(new NotificationKey(edgeId, setting.getId()),
+					new Notification(sentAt, now + TIME_TO_LIVE.toNanos()));
+		}
+		this.entries.computeIfPresent(edgeId,
+				(key, entry) -> new Entry(this.applyNotifications(edgeId, entry.settings, now), entry.expiresAt));
+	}
+
+	private List<AlertingSetting> applyNotifications(String edgeId, List<AlertingSetting> settings, long now) {
+		if (this.notifications.isEmpty()) {
+			return settings;
+		}
+		var result = new ArrayList<AlertingSetting>(settings.size());
+		for (var setting : settings) {
+			var key = new NotificationKey(edgeId, setting.getId());
+			var notification = this.notifications.get(key);
+			if (notification == null) {
+				result.add(setting);
+
+			} else if (now - notification.expiresAt >= 0 || setting.getLastNotification() != null
+					&& !setting.getLastNotification().isBefore(notification.sentAt)) {
+				// Metadata source is up-to-date
+				this.notifications.remove(key, notification);
+				result.add(setting);
+
+			} else {
+				result.add(new AlertingSetting(setting.getId(), setting.getUserId(), setting.getUserRole(),
+						notification.sentAt, setting.getDelayTime()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Invalidates the cached {@link AlertingSetting}s of an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 */
+	public void invalidate(String edgeId) {
+		this.entries.remove(edgeId);
+	}
+
+	/**
+	 * Invalidates all cached {@link AlertingSetting}s.
+	 */
+	public void invalidateAll() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Gets the number of cached Edges.
+	 *
+	 * @return the number of cached Edges
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+}
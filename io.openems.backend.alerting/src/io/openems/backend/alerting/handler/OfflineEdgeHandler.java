@@ -4,6 +4,7 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
@@ -32,6 +33,7 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 	private final int initialDelay; // in Minutes
 	private final Metadata metadata;
 	private final Mailer mailer;
+	private final AlertingSettingsCache alertingSettings;
 
 	private MessageSchedulerService mss;
 	private MessageScheduler<OfflineEdgeMessage> msgScheduler;
@@ -42,6 +44,7 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 		this.mailer = mailer;
 		this.metadata = metadata;
 		this.initialDelay = initialDelay;
+		this.alertingSettings = new AlertingSettingsCache(metadata);
 
 		this.mss = mss;
 		this.msgScheduler = mss.register(this);
@@ -73,6 +76,8 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 		var logStr = new StringBuilder(pack.size() * 64);
 		pack.forEach(msg -> {
 			logStr.append(msg).append(", ");
+			// Metadata updates the last notification of the recipients asynchronously
+			this.alertingSettings.setLastNotification(msg.getEdgeId(), msg.getCurrentRecipients(), sentAt);
 			this.tryReschedule(msg);
 		});
 		this.log.info("Sent OfflineEdgeMsg: " + logStr.substring(0, logStr.length() - 2));
@@ -107,8 +112,17 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 			return;
 		}
 
+		// load the alerting settings of all Edges in batches
+		final Map<String, List<AlertingSetting>> settings;
+		try {
+			settings = this.alertingSettings.getAll(validOfflineEges.stream().map(Edge::getId).toList());
+		} catch (OpenemsException e) {
+			this.log.warn("[OfflineEdgeHandler] Canceled checkMetadata(); unable to get alerting settings", e);
+			return;
+		}
+
 		for (var edge : validOfflineEges) {
-			var msg = this.getEdgeMessage(edge);
+			var msg = this.getEdgeMessage(edge, settings.get(edge.getId()));
 			if (msg == null) {
 				continue;
 			}
@@ -123,7 +137,7 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 			msgs.add(msg);
 		}
 
-		msgs.forEach(this.msgScheduler::schedule);
+		this.msgScheduler.scheduleAll(msgs);
 	}
 
 	/**
@@ -151,29 +165,33 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 			return null;
 		}
 		try {
-			var alertingSettings = this.metadata.getUserAlertingSettings(edge.getId());
-			if (alertingSettings == null || alertingSettings.isEmpty()) {
-				return null;
-			}
-			var message = new OfflineEdgeMessage(edge.getId(), edge.getLastmessage());
-			if (!message.isValid()) {
-				this.log.warn("Invalid OfflineEdgeMessage " + message.toString());
-				return null;
-			}
-			for (var setting : alertingSettings) {
-				if (setting.getDelayTime() > 0 && this.shouldReceiveMail(edge, setting)) {
-					message.addRecipient(setting);
-				}
-			}
-			if (!message.isEmpty()) {
-				return message;
-			}
+			return this.getEdgeMessage(edge, this.alertingSettings.get(edge.getId()));
 		} catch (OpenemsException e) {
 			this.log.warn("Could not get alerting settings for " + edge.getId(), e);
 		}
 		return null;
 	}
 
+	private OfflineEdgeMessage getEdgeMessage(Edge edge, List<AlertingSetting> alertingSettings) {
+		if (alertingSettings == null || alertingSettings.isEmpty()) {
+			return null;
+		}
+		var message = new OfflineEdgeMessage(edge.getId(), edge.getLastmessage());
+		if (!message.isValid()) {
+			this.log.warn("Invalid OfflineEdgeMessage " + message.toString());
+			return null;
+		}
+		for (var setting : alertingSettings) {
+			if (setting.getDelayTime() > 0 && this.shouldReceiveMail(edge, setting)) {
+				message.addRecipient(setting);
+			}
+		}
+		if (!message.isEmpty()) {
+			return message;
+		}
+		return null;
+	}
+
 	private boolean shouldReceiveMail(Edge edge, AlertingSetting setting) {
 		var lastMailRecievedAt = setting.getLastNotification();
 		if (lastMailRecievedAt == null) {
@@ -249,6 +267,10 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 		case Metadata.Events.AFTER_IS_INITIALIZED:
 			return this::handleMetadataAfterInitialize;
 
+		case Metadata.Events.AFTER_SET_USER_ALERTING_SETTINGS:
+			var changedEdgeId = event.getString(Metadata.Events.AfterSetUserAlertingSettings.EDGE_ID);
+			return () -> this.alertingSettings.invalidate(changedEdgeId);
+
 		default:
 			return null;
 		}
@@ -1,23 +1,25 @@
 package io.openems.backend.alerting.scheduler;
 
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.TreeMap;
+import java.util.Collection;
+import java.util.List;
 
 import io.openems.backend.alerting.Handler;
 import io.openems.backend.alerting.Message;
 
+/**
+ * Schedules the {@link Message}s of one {@link Handler} on a
+ * {@link TimingWheel}; scheduling and removing a message is O(1).
+ *
+ * @param <T> type of {@link Message}
+ */
 public class MessageScheduler<T extends Message> {
-	private final Map<String, T> messageForId;
-	private final PriorityQueue<T> queue;
+	private final TimingWheel<T> wheel;
 	private final Handler<T> handler;
 
 	public MessageScheduler(Handler<T> handler) {
 		this.handler = handler;
-		this.queue = new PriorityQueue<>();
-		this.messageForId = new TreeMap<>();
+		this.wheel = new TimingWheel<>(System.currentTimeMillis());
 	}
 
 	/**
@@ -30,10 +32,22 @@ public class MessageScheduler<T extends Message> {
 			return;
 		}
 		synchronized (this) {
-			this.messageForId.computeIfAbsent(msg.getId(), (key) -> {
-				this.queue.add(msg);
-				return msg;
-			});
+			this.wheel.add(msg);
+		}
+	}
+
+	/**
+	 * Add messages to scheduler.
+	 *
+	 * @param msgs to add
+	 */
+	public void scheduleAll(Collection<T> msgs) {
+		synchronized (this) {
+			for (var msg : msgs) {
+				if (msg != null) {
+					this.wheel.add(msg);
+				}
+			}
 		}
 	}
 
@@ -47,9 +61,21 @@ public class MessageScheduler<T extends Message> {
 			return;
 		}
 		synchronized (this) {
-			var msg = this.messageForId.remove(msgId);
-			if (msg != null) {
-				this.queue.remove(msg);
+			this.wheel.remove(msgId);
+		}
+	}
+
+	/**
+	 * Remove messages from scheduler.
+	 *
+	 * @param msgIds for messages to remove
+	 */
+	public void removeAll(Collection<String> msgIds) {
+		synchronized (this) {
+			for (var msgId : msgIds) {
+				if (msgId != null) {
+					this.wheel.remove(msgId);
+				}
 			}
 		}
 	}
@@ -61,7 +87,12 @@ public class MessageScheduler<T extends Message> {
 	 * @return true if is scheduled
 	 */
 	public boolean isScheduled(Message msg) {
-		return this.queue.contains(msg);
+		if (msg == null) {
+			return false;
+		}
+		synchronized (this) {
+			return msg.equals(this.wheel.get(msg.getId()));
+		}
 	}
 
 	/**
@@ -69,8 +100,8 @@ public class MessageScheduler<T extends Message> {
 	 *
 	 * @return size of message queue
 	 */
-	public int size() {
-		return this.queue.size();
+	public synchronized int size() {
+		return this.wheel.size();
 	}
 
 	/**
@@ -78,29 +109,15 @@ public class MessageScheduler<T extends Message> {
 	 */
 	public void handle() {
 		var now = ZonedDateTime.now();
-		var msgs = new ArrayList<T>();
-		while (!this.queue.isEmpty() && now.isAfter(this.queue.peek().getNotifyStamp())) {
-			var msg = this.poll();
-			if (msg != null) {
-				msgs.add(msg);
-			}
+		final List<T> msgs;
+		synchronized (this) {
+			msgs = this.wheel.poll(now.toInstant().toEpochMilli());
 		}
 		if (!msgs.isEmpty()) {
 			this.handler.send(now, msgs);
 		}
 	}
 
-	private T poll() {
-		T msg;
-		synchronized (this) {
-			msg = this.queue.poll();
-			if (msg != null) {
-				this.messageForId.remove(msg.getId());
-			}
-		}
-		return msg;
-	}
-
 	/**
 	 * Check if this MessageScheduler handles messages for given handler.
 	 *
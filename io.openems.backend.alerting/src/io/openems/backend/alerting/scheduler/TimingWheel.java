@@ -0,0 +1,229 @@
+package io.openems.backend.alerting.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.openems.backend.alerting.Message;
+
+/**
+ * Hierarchical timing wheel for {@link Message}s with a resolution of one
+ * minute, matching the {@link MinuteTimer}.
+ *
+ * <p>
+ * Four levels of {@value #SLOTS} slots each cover about 32 years; Messages
+ * further in the future are kept in an overflow slot. Every slot is a doubly
+ * linked list and every Message is indexed by its ID, so {@link #add(Message)}
+ * and {@link #remove(String)} are O(1). Advancing the wheel by one minute
+ * cascades the due slots of the higher levels into the lower levels.
+ *
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <T> type of {@link Message}
+ */
+class TimingWheel<T extends Message> {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	private static final int OVERFLOW = LEVELS;
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+	private static final class Node<T> {
+		private final T msg;
+		private final long stamp; // [ms]
+		private final long minute;
+		private int level;
+		private int slot;
+		private Node<T> prev;
+		private Node<T> next;
+
+		private Node(T msg, long stamp) {
+			this.msg = msg;
+			this.stamp = stamp;
+			this.minute = Math.floorDiv(stamp, MINUTE);
+		}
+	}
+
+	private final Map<String, Node<T>> nodeForId = new HashMap<>();
+	@SuppressWarnings("unchecked")
+	private final Node<T>[][] slots = new Node[LEVELS + 1][SLOTS];
+
+	/**
+	 * The next minute that was not yet completely expired.
+	 */
+	private long current;
+
+	/**
+	 * Creates a {@link TimingWheel}.
+	 *
+	 * @param now the current time in [ms] since epoch
+	 */
+	public TimingWheel(long now) {
+		this.current = Math.floorDiv(now, MINUTE);
+	}
+
+	/**
+	 * Adds a {@link Message}, if no Message with the same ID is scheduled yet.
+	 *
+	 * @param msg the {@link Message}
+	 * @return true if the Message was added
+	 */
+	public boolean add(T msg) {
+		var id = msg.getId();
+		if (this.nodeForId.containsKey(id)) {
+			return false;
+		}
+		var node = new Node<T>(msg, msg.getNotifyStamp().toInstant().toEpochMilli());
+		this.nodeForId.put(id, node);
+		this.insert(node);
+		return true;
+	}
+
+	/**
+	 * Removes the {@link Message} with the given ID.
+	 *
+	 * @param id the ID of the {@link Message}
+	 * @return the removed {@link Message}; or null
+	 */
+	public T remove(String id) {
+		var node = this.nodeForId.remove(id);
+		if (node == null) {
+			return null;
+		}
+		this.unlink(node);
+		return node.msg;
+	}
+
+	/**
+	 * Gets the scheduled {@link Message} with the given ID.
+	 *
+	 * @param id the ID of the {@link Message}
+	 * @return the {@link Message}; or null
+	 */
+	public T get(String id) {
+		var node = this.nodeForId.get(id);
+		return node == null ? null : node.msg;
+	}
+
+	/**
+	 * Gets the number of scheduled {@link Message}s.
+	 *
+	 * @return the number of {@link Message}s
+	 */
+	public int size() {
+		return this.nodeForId.size();
+	}
+
+	/**
+	 * Advances the wheel and removes all {@link Message}s whose notify stamp is
+	 * before the given time.
+	 *
+	 * @param now the current time in [ms] since epoch
+	 * @return the due {@link Message}s, sorted by notify stamp
+	 */
+	public List<T> poll(long now) {
+		var result = new ArrayList<T>();
+		var nowMinute = Math.floorDiv(now, MINUTE);
+		if (this.nodeForId.isEmpty()) {
+			this.current = Math.max(this.current, nowMinute);
+			return result;
+		}
+		// expire all past minutes completely
+		while (this.current < nowMinute) {
+			this.cascade(this.current);
+			this.expire(this.current, Long.MAX_VALUE, result);
+			this.current++;
+		}
+		// expire the current minute up to now
+		this.cascade(this.current);
+		this.expire(this.current, now, result);
+		result.sort(null);
+		return result;
+	}
+
+	/**
+	 * Moves the {@link Node}s of the higher level slots that become due in the
+	 * given minute to the lower levels. Repeated calls for the same minute are
+	 * harmless.
+	 *
+	 * @param minute the minute
+	 */
+	private void cascade(long minute) {
+		for (var level = LEVELS - 1; level > 0; level--) {
+			if ((minute & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+				continue;
+			}
+			if (level == LEVELS - 1) {
+				this.reinsert(OVERFLOW, 0);
+			}
+			this.reinsert(level, (int) (minute >>> (SLOT_BITS * level)) & SLOT_MASK);
+		}
+	}
+
+	private void reinsert(int level, int slot) {
+		var node = this.slots[level][slot];
+		this.slots[level][slot] = null;
+		while (node != null) {
+			var next = node.next;
+			this.insert(node);
+			node = next;
+		}
+	}
+
+	private void expire(long minute, long before, List<T> result) {
+		var node = this.slots[0][(int) minute & SLOT_MASK];
+		while (node != null) {
+			var next = node.next;
+			if (node.stamp < before) {
+				this.nodeForId.remove(node.msg.getId());
+				this.unlink(node);
+				result.add(node.msg);
+			}
+			node = next;
+		}
+	}
+
+	private void insert(Node<T> node) {
+		// Messages in the past are due with the current minute
+		var minute = Math.max(node.minute, this.current);
+		var delta = minute - this.current;
+		int level;
+		int slot;
+		if (delta >= 1L << (SLOT_BITS * LEVELS)) {
+			level = OVERFLOW;
+			slot = 0;
+		} else {
+			level = 0;
+			while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+				level++;
+			}
+			slot = (int) (minute >>> (SLOT_BITS * level)) & SLOT_MASK;
+		}
+		node.level = level;
+		node.slot = slot;
+		node.prev = null;
+		node.next = this.slots[level][slot];
+		if (node.next != null) {
+			node.next.prev = node;
+		}
+		this.slots[level][slot] = node;
+	}
+
+	private void unlink(Node<T> node) {
+		if (node.prev != null) {
+			node.prev.next = node.next;
+		} else {
+			this.slots[node.level][node.slot] = node.next;
+		}
+		if (node.next != null) {
+			node.next.prev = node.prev;
+		}
+		node.prev = null;
+		node.next = null;
+	}
+}
@@ -0,0 +1,116 @@
+package io.openems.backend.alerting.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.openems.backend.common.metadata.AlertingSetting;
+import io.openems.backend.common.test.DummyMetadata;
+import io.openems.common.session.Role;
+
+public class AlertingSettingsCacheTest {
+
+	private static class CountingMetadata extends DummyMetadata {
+		private int singleQueries = 0;
+		private int batchQueries = 0;
+
+		@Override
+		public List<AlertingSetting> getUserAlertingSettings(String edgeId) {
+			this.singleQueries++;
+			return settings(edgeId);
+		}
+
+		@Override
+		public Map<String, List<AlertingSetting>> getUserAlertingSettings(Collection<String> edgeIds) {
+			this.batchQueries++;
+			var result = new HashMap<String, List<AlertingSetting>>();
+			for (var edgeId : edgeIds) {
+				var settings = settings(edgeId);
+				if (settings != null) {
+					result.put(edgeId, settings);
+				}
+			}
+			return result;
+		}
+
+		private ZonedDateTime lastNotification = ZonedDateTime.now().minusDays(1);
+
+		private List<AlertingSetting> settings(String edgeId) {
+			if (edgeId.equals("edge0")) {
+				return null;
+			}
+			return List.of(new AlertingSetting(1, "user-" + edgeId, Role.OWNER, this.lastNotification, 15));
+		}
+	}
+
+	@Test
+	public void testGet() throws Exception {
+		var metadata = new CountingMetadata();
+		var sut = new AlertingSettingsCache(metadata);
+
+		assertEquals("user-edge1", sut.get("edge1").get(0).getUserId());
+		assertEquals("user-edge1", sut.get("edge1").get(0).getUserId());
+		assertEquals(1, metadata.singleQueries);
+
+		// Edges without settings are cached, too
+		assertTrue(sut.get("edge0").isEmpty());
+		assertTrue(sut.get("edge0").isEmpty());
+		assertEquals(2, metadata.singleQueries);
+
+		sut.invalidate("edge1");
+		sut.get("edge1");
+		assertEquals(3, metadata.singleQueries);
+	}
+
+	@Test
+	public void testGetAll() throws Exception {
+		var metadata = new CountingMetadata();
+		var sut = new AlertingSettingsCache(metadata);
+		sut.get("edge1");
+
+		var result = sut.getAll(List.of("edge0", "edge1", "edge2", "edge3"));
+		assertEquals(4, result.size());
+		assertTrue(result.get("edge0").isEmpty());
+		assertEquals("user-edge3", result.get("edge3").get(0).getUserId());
+		assertEquals(1, metadata.batchQueries);
+		assertEquals(4, sut.size());
+
+		// all cached
+		sut.getAll(List.of("edge0", "edge1", "edge2", "edge3"));
+		assertEquals(1, metadata.batchQueries);
+		assertEquals(1, metadata.singleQueries);
+
+		sut.invalidateAll();
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testSetLastNotification() throws Exception {
+		var metadata = new CountingMetadata();
+		var sut = new AlertingSettingsCache(metadata);
+		var sentAt = ZonedDateTime.now();
+
+		// Cached setting is updated locally
+		var settings = sut.get("edge1");
+		sut.setLastNotification("edge1", settings, sentAt);
+		assertEquals(sentAt, sut.get("edge1").get(0).getLastNotification());
+
+		// Other Edges are not affected
+		assertNotEquals(sentAt, sut.get("edge2").get(0).getLastNotification());
+
+		// Reloaded setting keeps the local value until Metadata is up-to-date
+		sut.invalidate("edge1");
+		assertEquals(sentAt, sut.get("edge1").get(0).getLastNotification());
+		metadata.lastNotification = sentAt.plusSeconds(1);
+		sut.invalidate("edge1");
+		assertEquals(metadata.lastNotification, sut.get("edge1").get(0).getLastNotification());
+	}
+}
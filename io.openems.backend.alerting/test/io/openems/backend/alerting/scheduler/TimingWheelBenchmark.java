@@ -0,0 +1,117 @@
+package io.openems.backend.alerting.scheduler;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonObject;
+
+import io.openems.backend.alerting.Handler;
+import io.openems.backend.alerting.Message;
+import io.openems.common.event.EventReader;
+
+/**
+ * Measures scheduling and cancelling of offline alerts in the
+ * {@link MessageScheduler} for 100.000 Edges, like on a mass reconnect after a
+ * Backend restart.
+ *
+ * <p>
+ * This is not a unit test and is not run by the build. Run the main() method
+ * from the IDE; the optional argument is the number of Edges (default 100000).
+ */
+public class TimingWheelBenchmark {
+
+	private static final int WARMUP_ROUNDS = 2;
+
+	/**
+	 * Main.
+	 *
+	 * @param args the arguments
+	 */
+	public static void main(String[] args) {
+		var edges = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+		var now = ZonedDateTime.now();
+		var msgs = new ArrayList<DummyMessage>(edges);
+		var ids = new ArrayList<String>(edges);
+		for (var i = 0; i < edges; i++) {
+			var stamp = now.plusMinutes(1 + i % 1440).toInstant().toEpochMilli();
+			msgs.add(new DummyMessage("edge" + i, stamp));
+			ids.add("edge" + i);
+		}
+
+		// Warm-up
+		for (var round = 0; round < WARMUP_ROUNDS; round++) {
+			var sut = new MessageScheduler<DummyMessage>(new DummyHandler());
+			sut.scheduleAll(msgs);
+			sut.removeAll(ids);
+		}
+
+		var sut = new MessageScheduler<DummyMessage>(new DummyHandler());
+		var start = System.nanoTime();
+		for (var msg : msgs) {
+			sut.schedule(msg);
+		}
+		var scheduleNanos = System.nanoTime() - start;
+		check(edges, sut.size());
+
+		start = System.nanoTime();
+		for (var id : ids) {
+			sut.remove(id);
+		}
+		var removeNanos = System.nanoTime() - start;
+		check(0, sut.size());
+
+		System.out.println("MessageScheduler [" + edges + " alerts]: " //
+				+ "Schedule " + scheduleNanos / edges + " ns/op, " //
+				+ "Remove " + removeNanos / edges + " ns/op");
+	}
+
+	private static void check(int expected, int size) {
+		if (size != expected) {
+			throw new IllegalStateException("Scheduled [" + size + "] instead of [" + expected + "] alerts");
+		}
+	}
+
+	private static class DummyMessage extends Message {
+		private final ZonedDateTime timeStamp;
+
+		public DummyMessage(String messageId, long timeStamp) {
+			super(messageId);
+			this.timeStamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timeStamp), ZoneOffset.UTC);
+		}
+
+		@Override
+		public ZonedDateTime getNotifyStamp() {
+			return this.timeStamp;
+		}
+
+		@Override
+		public JsonObject getParams() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static class DummyHandler implements Handler<DummyMessage> {
+		@Override
+		public Runnable getEventHandler(EventReader event) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void stop() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void send(ZonedDateTime sentAt, List<DummyMessage> messages) {
+		}
+
+		@Override
+		public Class<DummyMessage> getGeneric() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
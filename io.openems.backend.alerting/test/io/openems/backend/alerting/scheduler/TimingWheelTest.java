@@ -0,0 +1,108 @@
+package io.openems.backend.alerting.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.openems.backend.alerting.Message;
+
+public class TimingWheelTest {
+
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+	private static final long START = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toInstant()
+			.toEpochMilli();
+
+	@Test
+	public void testPollWithinMinute() {
+		var sut = new TimingWheel<DummyMessage>(START);
+		sut.add(new DummyMessage("past", START - 5_000));
+		sut.add(new DummyMessage("soon", START + 10_000));
+		sut.add(new DummyMessage("later", START + 50_000));
+
+		assertEquals(List.of("past"), ids(sut.poll(START + 1_000)));
+		assertEquals(List.of("soon"), ids(sut.poll(START + 20_000)));
+		assertEquals(1, sut.size());
+		assertEquals(List.of("later"), ids(sut.poll(START + MINUTE)));
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testCascade() {
+		var sut = new TimingWheel<DummyMessage>(START);
+		// one per level and one in the overflow slot
+		long[] delays = { 5, 70, 5_000, 300_000, 20_000_000 };
+		for (var delay : delays) {
+			sut.add(new DummyMessage("m" + delay, START + delay * MINUTE));
+		}
+
+		for (var delay : delays) {
+			var stamp = START + delay * MINUTE;
+			assertTrue(sut.poll(stamp).isEmpty());
+			assertEquals(List.of("m" + delay), ids(sut.poll(stamp + 1)));
+		}
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testAddAndRemove() {
+		var sut = new TimingWheel<DummyMessage>(START);
+		var msg = new DummyMessage("edge0", START + 10 * MINUTE);
+		assertTrue(sut.add(msg));
+		assertFalse(sut.add(new DummyMessage("edge0", START + 20 * MINUTE)));
+		assertEquals(msg, sut.get("edge0"));
+		assertTrue(sut.add(new DummyMessage("edge1", START + 10 * MINUTE)));
+
+		assertEquals(msg, sut.remove("edge0"));
+		assertNull(sut.remove("edge0"));
+		assertNull(sut.get("edge0"));
+
+		assertEquals(List.of("edge1"), ids(sut.poll(START + 11 * MINUTE)));
+	}
+
+	@Test
+	public void testPollSorted() {
+		var sut = new TimingWheel<DummyMessage>(START);
+		for (var i = 0; i < 100; i++) {
+			sut.add(new DummyMessage("m" + i, START + (i * 7919 % 100) * 30_000));
+		}
+		var msgs = sut.poll(START + 100 * MINUTE);
+		assertEquals(100, msgs.size());
+		for (var i = 1; i < msgs.size(); i++) {
+			assertTrue(msgs.get(i - 1).compareTo(msgs.get(i)) <= 0);
+		}
+	}
+
+	private static List<String> ids(List<DummyMessage> msgs) {
+		return msgs.stream().map(Message::getId).toList();
+	}
+
+	private static class DummyMessage extends Message {
+		private final ZonedDateTime timeStamp;
+
+		public DummyMessage(String messageId, long timeStamp) {
+			super(messageId);
+			this.timeStamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timeStamp), ZoneOffset.UTC);
+		}
+
+		@Override
+		public ZonedDateTime getNotifyStamp() {
+			return this.timeStamp;
+		}
+
+		@Override
+		public JsonObject getParams() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -1,7 +1,13 @@
 package io.openems.backend.b2bwebsocket;
 
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.WebSocket;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -15,14 +21,17 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
+import io.openems.backend.common.edgewebsocket.EdgeDataListener;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.timedata.TimedataManager;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 
@@ -35,10 +44,23 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 @EventTopics({ //
 		Metadata.Events.AFTER_IS_INITIALIZED //
 })
-public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent implements EventHandler {
+public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent
+		implements EventHandler, EdgeDataListener {
 
 	public static final int DEFAULT_PORT = 8076;
 
+	/**
+	 * Interval for checking subscriptions for changed Channels.
+	 */
+	private static final int PUSH_INTERVAL = 100; // [ms]
+
+	private final Logger log = LoggerFactory.getLogger(Backend2BackendWebsocket.class);
+
+	/**
+	 * Distinct subscriptions of all sessions.
+	 */
+	protected final SubscriptionRegistry subscriptions = new SubscriptionRegistry();
+
 	protected final ScheduledExecutorService executor = Executors.newScheduledThreadPool(10,
 			new ThreadFactoryBuilder().setNameFormat("B2bWebsocket-%d").build());
 
@@ -54,7 +76,7 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 	@Reference(cardinality = ReferenceCardinality.MANDATORY, policy = ReferencePolicy.DYNAMIC)
 	protected volatile EdgeWebsocket edgeWebsocket;
 
-	private WebsocketServer server = null;
+	private volatile WebsocketServer server = null;
 	private Config config;
 
 	public Backend2BackendWebsocket() {
@@ -64,6 +86,8 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 	@Activate
 	private void activate(Config config) {
 		this.config = config;
+		this.executor.scheduleWithFixedDelay(this::pushSubscribedChannels, PUSH_INTERVAL, PUSH_INTERVAL,
+				TimeUnit.MILLISECONDS);
 	}
 
 	@Deactivate
@@ -93,6 +117,58 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 		}
 	}
 
+	/**
+	 * Negotiates the update interval of a subscription.
+	 *
+	 * @param requested the update interval requested by the client in [ms]
+	 * @return the update interval in [ms]
+	 */
+	protected int negotiateUpdateInterval(Optional<Integer> requested) {
+		return Math.max(this.config.minUpdateInterval(), requested.orElse(this.config.updateInterval()));
+	}
+
+	@Override
+	public void onEdgeData(String edgeId, Set<String> channels) {
+		this.subscriptions.markChanged(edgeId, channels);
+	}
+
+	/**
+	 * Sends the current data of changed subscriptions to the sessions that are due
+	 * for an update.
+	 */
+	private void pushSubscribedChannels() {
+		var server = this.server;
+		if (server == null) {
+			return;
+		}
+		try {
+			var now = System.nanoTime();
+			for (var subscription : this.subscriptions.getAll()) {
+				var version = subscription.getVersion();
+				var recipients = new ArrayList<WebSocket>();
+				for (var worker : subscription.getWorkers()) {
+					var ws = worker.wsData.getWebsocket();
+					if (ws == null || !ws.isOpen() || !worker.acquirePush(version, now)) {
+						continue;
+					}
+					try {
+						// assure read permissions of this User for the subscribed Edges
+						worker.assertEdgeRoles(subscription.getEdgeIds());
+						recipients.add(ws);
+					} catch (OpenemsNamedException e) {
+						this.logWarn(this.log, "Unable to send SubscribedChannels: " + e.getMessage());
+					}
+				}
+				if (!recipients.isEmpty()) {
+					// Build and serialize once for all recipients
+					server.broadcastMessage(recipients, subscription.getNotification(version, this.edgeWebsocket));
+				}
+			}
+		} catch (RuntimeException e) {
+			this.logWarn(this.log, "Unable to send SubscribedChannels: " + e.getMessage());
+		}
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		super.logInfo(log, message);
@@ -16,6 +16,12 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Update interval [ms]", description = "Default interval for pushing changed Channels of a subscription; clients may request a different interval.")
+	int updateInterval() default 2000;
+
+	@AttributeDefinition(name = "Minimum update interval [ms]", description = "Lower limit for the update interval requested by clients.")
+	int minUpdateInterval() default 500;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	DebugMode debugMode() default DebugMode.OFF;
 
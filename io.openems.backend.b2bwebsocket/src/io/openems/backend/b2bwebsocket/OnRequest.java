@@ -7,10 +7,10 @@ import java.util.concurrent.TimeUnit;
 import org.java_websocket.WebSocket;
 
 import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
+import io.openems.backend.b2bwebsocket.jsonrpc.response.SubscribeEdgesChannelsResponse;
 import io.openems.backend.common.metadata.User;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
-import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.session.Role;
@@ -50,7 +50,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 * @return the JSON-RPC Success Response Future
 	 * @throws OpenemsNamedException on error
 	 */
-	private CompletableFuture<GenericJsonrpcResponseSuccess> handleSubscribeEdgesChannelsRequest(WsData wsData,
+	private CompletableFuture<SubscribeEdgesChannelsResponse> handleSubscribeEdgesChannelsRequest(WsData wsData,
 			User user, UUID messageId, SubscribeEdgesChannelsRequest request) throws OpenemsNamedException {
 		for (String edgeId : request.getEdgeIds()) {
 			// assure read permissions of this User for this Edge.
@@ -59,10 +59,10 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 
 		// activate SubscribedChannelsWorker
 		var worker = wsData.getSubscribedChannelsWorker();
-		worker.handleSubscribeEdgesChannelsRequest(request);
+		var updateInterval = worker.handleSubscribeEdgesChannelsRequest(request);
 
-		// JSON-RPC response
-		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
+		// JSON-RPC response with the negotiated update interval
+		return CompletableFuture.completedFuture(new SubscribeEdgesChannelsResponse(request.getId(), updateInterval));
 	}
 
 }
@@ -1,47 +1,36 @@
 package io.openems.backend.b2bwebsocket;
 
-import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import io.openems.backend.b2bwebsocket.jsonrpc.notification.EdgesCurrentDataNotification;
+import io.openems.backend.b2bwebsocket.SubscriptionRegistry.Subscription;
 import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
+import io.openems.backend.common.metadata.User;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 
+/**
+ * Holds the subscription state of one B2B session.
+ *
+ * <p>
+ * Current data is pushed on change: the session is registered with a shared
+ * {@link Subscription} and receives its notification at most once per
+ * negotiated update interval - and only if a subscribed Channel changed since
+ * the last push.
+ */
 public class SubscribedEdgesChannelsWorker {
 
-	protected static final int UPDATE_INTERVAL_IN_SECONDS = 2;
-
-	private final Logger log = LoggerFactory.getLogger(SubscribedEdgesChannelsWorker.class);
-
-	/**
-	 * Holds subscribed edges.
-	 */
-	private final TreeSet<String> edgeIds = new TreeSet<>();
-
-	/**
-	 * Holds subscribed channels.
-	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
-
-	/**
-	 * Holds the scheduled task for currentData.
-	 */
-	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
-
 	protected final WsData wsData;
 
-	private int lastRequestCount = Integer.MIN_VALUE;
-
 	private final Backend2BackendWebsocket parent;
 
+	private int lastRequestCount = Integer.MIN_VALUE;
+	private Subscription subscription = null;
+	private int updateInterval; // [ms]
+	private long sentVersion = -1;
+	private long nextSend = System.nanoTime();
+
 	public SubscribedEdgesChannelsWorker(Backend2BackendWebsocket parent, WsData wsData) {
 		this.parent = parent;
 		this.wsData = wsData;
@@ -51,12 +40,15 @@ public class SubscribedEdgesChannelsWorker {
 	 * Applies a SubscribeChannelsRequest.
 	 *
 	 * @param request the SubscribeEdgesChannelsRequest
+	 * @return the negotiated update interval in [ms]
 	 */
-	public synchronized void handleSubscribeEdgesChannelsRequest(SubscribeEdgesChannelsRequest request) {
+	public synchronized int handleSubscribeEdgesChannelsRequest(SubscribeEdgesChannelsRequest request) {
 		if (this.lastRequestCount < request.getCount()) {
+			this.updateInterval = this.parent.negotiateUpdateInterval(request.getUpdateInterval());
 			this.updateSubscription(request.getEdgeIds(), request.getChannels());
 			this.lastRequestCount = request.getCount();
 		}
+		return this.updateInterval;
 	}
 
 	/**
@@ -66,73 +58,50 @@ public class SubscribedEdgesChannelsWorker {
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void updateSubscription(Set<String> edgeIds, Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
-		}
-
-		// clear existing data
-		this.edgeIds.clear();
-		this.channels.clear();
-
-		// set new channels
-		this.edgeIds.addAll(edgeIds);
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty() && !edgeIds.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.parent.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				var ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
-
-				try {
-					this.wsData.send(this.getCurrentDataNotification());
-				} catch (OpenemsNamedException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-				}
-
-			}, 0, SubscribedEdgesChannelsWorker.UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
-		}
+		this.subscription = this.parent.subscriptions.subscribe(this, this.subscription, edgeIds, channels);
+		// send current data with the next push
+		this.sentVersion = -1;
+		this.nextSend = System.nanoTime();
 	}
 
 	/**
-	 * Dispose and deactivate this worker.
+	 * Checks if the session is due for a push of the given version of its
+	 * {@link Subscription}; if yes, the push is recorded.
+	 *
+	 * @param version the current version of the {@link Subscription}
+	 * @param now     the current {@link System#nanoTime()}
+	 * @return true if the notification should be sent now
 	 */
-	public void dispose() {
-		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
+	protected synchronized boolean acquirePush(long version, long now) {
+		if (version == this.sentVersion || now - this.nextSend < 0) {
+			return false;
 		}
+		this.sentVersion = version;
+		this.nextSend = now + TimeUnit.MILLISECONDS.toNanos(this.updateInterval);
+		return true;
 	}
 
 	/**
-	 * Gets a JSON-RPC Notification with all subscribed channels data.
+	 * Asserts that the User of this session has read permissions for all given
+	 * Edges. Checked on every push, so revoked permissions apply without a
+	 * resubscribe; Roles are held by the {@link User}, so this is cheap.
 	 *
-	 * @return the EdgesCurrentDataNotification
-	 * @throws OpenemsNamedException on error
+	 * @param edgeIds the Edge-IDs
+	 * @throws OpenemsNamedException if permissions are missing
 	 */
-	private EdgesCurrentDataNotification getCurrentDataNotification() throws OpenemsNamedException {
-		var result = new EdgesCurrentDataNotification();
-		var user = this.wsData.getUserWithTimeout(5, TimeUnit.SECONDS);
-
-		for (String edgeId : this.edgeIds) {
-			// assure read permissions of this User for this Edge.
+	protected void assertEdgeRoles(Set<String> edgeIds) throws OpenemsNamedException {
+		var user = this.wsData.getUserWithTimeout(0, TimeUnit.SECONDS);
+		for (var edgeId : edgeIds) {
 			user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
-
-			var data = this.parent.edgeWebsocket.getChannelValues(edgeId, this.channels);
-			for (var entry : data.entrySet()) {
-				result.addValue(edgeId, entry.getKey(), entry.getValue());
-			}
 		}
-		return result;
+	}
+
+	/**
+	 * Dispose and deactivate this worker.
+	 */
+	public synchronized void dispose() {
+		this.parent.subscriptions.unsubscribe(this, this.subscription);
+		this.subscription = null;
 	}
 
 }
@@ -0,0 +1,207 @@
+package io.openems.backend.b2bwebsocket;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.openems.backend.b2bwebsocket.jsonrpc.notification.EdgesCurrentDataNotification;
+import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Holds the distinct sets of subscribed Edges and Channels of all B2B sessions.
+ *
+ * <p>
+ * Sessions that subscribe the same Edges and Channels share one
+ * {@link Subscription}, so the {@link EdgesCurrentDataNotification} is built
+ * only once per change, independent of the number of sessions. The ingest path
+ * marks a {@link Subscription} as changed via
+ * {@link #markChanged(String, Set)}; this is lock-free.
+ */
+public class SubscriptionRegistry {
+
+	/**
+	 * A distinct set of subscribed Edges and Channels.
+	 */
+	public static class Subscription {
+
+		private final Set<String> edgeIds;
+		private final Set<ChannelAddress> channels;
+		private final Set<String> channelIds;
+		private final Set<SubscribedEdgesChannelsWorker> workers = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * Incremented on every change of a subscribed Channel.
+		 */
+		private final AtomicLong version = new AtomicLong();
+
+		private EdgesCurrentDataNotification notification = null;
+		private long notificationVersion = -1;
+
+		private Subscription(Set<String> edgeIds, Set<ChannelAddress> channels) {
+			this.edgeIds = edgeIds;
+			this.channels = channels;
+			this.channelIds = channels.stream() //
+					.map(ChannelAddress::toString) //
+					.collect(Collectors.toUnmodifiableSet());
+		}
+
+		private void markChanged(Set<String> channels) {
+			if (this.channelIds.size() <= channels.size()) {
+				for (var channel : this.channelIds) {
+					if (channels.contains(channel)) {
+						this.version.incrementAndGet();
+						return;
+					}
+				}
+			} else {
+				for (var channel : channels) {
+					if (this.channelIds.contains(channel)) {
+						this.version.incrementAndGet();
+						return;
+					}
+				}
+			}
+		}
+
+		public Set<String> getEdgeIds() {
+			return this.edgeIds;
+		}
+
+		public long getVersion() {
+			return this.version.get();
+		}
+
+		public Set<SubscribedEdgesChannelsWorker> getWorkers() {
+			return this.workers;
+		}
+
+		/**
+		 * Gets the {@link EdgesCurrentDataNotification} for a version; it is built
+		 * once per version and shared by all sessions.
+		 *
+		 * @param version       the version, see {@link #getVersion()}
+		 * @param edgeWebsocket the {@link EdgeWebsocket} that holds the current data
+		 * @return the {@link EdgesCurrentDataNotification}
+		 */
+		public synchronized EdgesCurrentDataNotification getNotification(long version,
+				EdgeWebsocket edgeWebsocket) {
+			if (this.notification == null || this.notificationVersion != version) {
+				var notification = new EdgesCurrentDataNotification();
+				for (var edgeId : this.edgeIds) {
+					var data = edgeWebsocket.getChannelValues(edgeId, this.channels);
+					for (var entry : data.entrySet()) {
+						notification.addValue(edgeId, entry.getKey(), entry.getValue());
+					}
+				}
+				this.notification = notification;
+				this.notificationVersion = version;
+			}
+			return this.notification;
+		}
+	}
+
+	private static record Key(Set<String> edgeIds, Set<ChannelAddress> channels) {
+	}
+
+	private final Map<Key, Subscription> subscriptions = new HashMap<>();
+
+	/**
+	 * Index of {@link Subscription}s by Edge-ID; replaced on every change.
+	 */
+	private volatile Map<String, List<Subscription>> subscriptionsByEdgeId = Map.of();
+
+	/**
+	 * All {@link Subscription}s; replaced on every change.
+	 */
+	private volatile List<Subscription> allSubscriptions = List.of();
+
+	/**
+	 * Subscribes a session to a set of Edges and Channels.
+	 *
+	 * @param worker   the {@link SubscribedEdgesChannelsWorker} of the session
+	 * @param previous the previous {@link Subscription} of the session; or null
+	 * @param edgeIds  the Edge-IDs
+	 * @param channels the {@link ChannelAddress}es
+	 * @return the {@link Subscription}; or null if nothing is subscribed
+	 */
+	public synchronized Subscription subscribe(SubscribedEdgesChannelsWorker worker, Subscription previous,
+			Set<String> edgeIds, Set<ChannelAddress> channels) {
+		if (previous != null) {
+			this.unsubscribe(worker, previous);
+		}
+		if (edgeIds.isEmpty() || channels.isEmpty()) {
+			return null;
+		}
+		var key = new Key(Set.copyOf(edgeIds), Set.copyOf(channels));
+		var subscription = this.subscriptions.get(key);
+		if (subscription == null) {
+			subscription = new Subscription(key.edgeIds, key.channels);
+			this.subscriptions.put(key, subscription);
+			this.updateIndex();
+		}
+		subscription.workers.add(worker);
+		return subscription;
+	}
+
+	/**
+	 * Unsubscribes a session.
+	 *
+	 * @param worker       the {@link SubscribedEdgesChannelsWorker} of the session
+	 * @param subscription the {@link Subscription} of the session; or null
+	 */
+	public synchronized void unsubscribe(SubscribedEdgesChannelsWorker worker, Subscription subscription) {
+		if (subscription == null) {
+			return;
+		}
+		subscription.workers.remove(worker);
+		if (subscription.workers.isEmpty()) {
+			this.subscriptions.remove(new Key(subscription.edgeIds, subscription.channels));
+			this.updateIndex();
+		}
+	}
+
+	private void updateIndex() {
+		var byEdgeId = new HashMap<String, List<Subscription>>();
+		for (var subscription : this.subscriptions.values()) {
+			for (var edgeId : subscription.edgeIds) {
+				byEdgeId.computeIfAbsent(edgeId, e -> new ArrayList<>()).add(subscription);
+			}
+		}
+		this.subscriptionsByEdgeId = byEdgeId;
+		this.allSubscriptions = List.copyOf(this.subscriptions.values());
+	}
+
+	/**
+	 * Marks all {@link Subscription}s as changed that subscribed the Edge and at
+	 * least one of the given Channels.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param channels the received Channel-Addresses
+	 */
+	public void markChanged(String edgeId, Set<String> channels) {
+		var subscriptions = this.subscriptionsByEdgeId.get(edgeId);
+		if (subscriptions == null) {
+			return;
+		}
+		for (var subscription : subscriptions) {
+			subscription.markChanged(channels);
+		}
+	}
+
+	/**
+	 * Gets all {@link Subscription}s.
+	 *
+	 * @return the {@link Subscription}s
+	 */
+	public Collection<Subscription> getAll() {
+		return this.allSubscriptions;
+	}
+
+}
@@ -22,6 +22,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	@Override
 	public void dispose() {
 		this.worker.dispose();
+		super.dispose();
 	}
 
 	public void setUser(User user) {
@@ -1,5 +1,6 @@
 package io.openems.backend.b2bwebsocket.jsonrpc.request;
 
+import java.util.Optional;
 import java.util.TreeSet;
 
 import com.google.gson.JsonArray;
@@ -24,6 +25,7 @@ import io.openems.common.utils.JsonUtils;
  *     "count": number // Request-Counter: the higher count wins
  *     "edgeIds": string[] // Edge-IDs
  *     "channels": string[] // Channel-IDs
+ *     "updateInterval"?: number // requested update interval in [ms]; optional
  *   }
  * }
  * </pre>
@@ -43,6 +45,7 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 		var p = r.getParams();
 		var count = JsonUtils.getAsInt(p, "count");
 		var result = new SubscribeEdgesChannelsRequest(r, count);
+		result.updateInterval = JsonUtils.getAsOptionalInt(p, "updateInterval");
 		var edgeIds = JsonUtils.getAsJsonArray(p, "ids");
 		for (JsonElement edgeId : edgeIds) {
 			result.addEdgeId(JsonUtils.getAsString(edgeId));
@@ -69,6 +72,7 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 	private final int count;
 	private final TreeSet<String> edgeIds = new TreeSet<>();
 	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
+	private Optional<Integer> updateInterval = Optional.empty();
 
 	private SubscribeEdgesChannelsRequest(JsonrpcRequest request, int count) {
 		super(request, SubscribeEdgesChannelsRequest.METHOD);
@@ -119,6 +123,19 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 		return this.channels;
 	}
 
+	/**
+	 * Requests an update interval.
+	 *
+	 * @param updateInterval the update interval in [ms]
+	 */
+	public void setUpdateInterval(int updateInterval) {
+		this.updateInterval = Optional.of(updateInterval);
+	}
+
+	public Optional<Integer> getUpdateInterval() {
+		return this.updateInterval;
+	}
+
 	@Override
 	public JsonObject getParams() {
 		var edgeIds = new JsonArray();
@@ -129,10 +146,13 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 		for (ChannelAddress address : this.channels) {
 			channels.add(address.toString());
 		}
-		return JsonUtils.buildJsonObject() //
+		var result = JsonUtils.buildJsonObject() //
 				.addProperty("count", this.count) //
 				.add("ids", edgeIds) //
-				.add("channels", channels) //
-				.build();
+				.add("channels", channels);
+		if (this.updateInterval.isPresent()) {
+			result.addProperty("updateInterval", this.updateInterval.get());
+		}
+		return result.build();
 	}
 }
@@ -0,0 +1,44 @@
+package io.openems.backend.b2bwebsocket.jsonrpc.response;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Response for {@link SubscribeEdgesChannelsRequest}.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "updateInterval": number // negotiated update interval in [ms]
+ *   }
+ * }
+ * </pre>
+ */
+public class SubscribeEdgesChannelsResponse extends JsonrpcResponseSuccess {
+
+	private final int updateInterval;
+
+	public SubscribeEdgesChannelsResponse(UUID id, int updateInterval) {
+		super(id);
+		this.updateInterval = updateInterval;
+	}
+
+	public int getUpdateInterval() {
+		return this.updateInterval;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("updateInterval", this.updateInterval) //
+				.build();
+	}
+
+}
@@ -0,0 +1,82 @@
+package io.openems.backend.b2bwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import io.openems.backend.common.metadata.User;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.session.Language;
+import io.openems.common.session.Role;
+import io.openems.common.types.ChannelAddress;
+
+public class SubscriptionRegistryTest {
+
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress PRODUCTION = new ChannelAddress("_sum", "ProductionActivePower");
+
+	@Test
+	public void test() {
+		var registry = new SubscriptionRegistry();
+		var worker1 = new WsData(null).getSubscribedChannelsWorker();
+		var worker2 = new WsData(null).getSubscribedChannelsWorker();
+		var worker3 = new WsData(null).getSubscribedChannelsWorker();
+
+		// Same Edges and Channels share one Subscription
+		var s1 = registry.subscribe(worker1, null, Set.of("edge0", "edge1"), Set.of(SOC));
+		var s2 = registry.subscribe(worker2, null, Set.of("edge1", "edge0"), Set.of(SOC));
+		var s3 = registry.subscribe(worker3, null, Set.of("edge0"), Set.of(PRODUCTION));
+		assertSame(s1, s2);
+		assertNotSame(s1, s3);
+		assertEquals(2, registry.getAll().size());
+		assertEquals(0, s1.getVersion());
+
+		// Only matching Edge and Channel mark a Subscription as changed
+		registry.markChanged("edge1", Set.of(SOC.toString(), "_sum/GridActivePower"));
+		assertEquals(1, s1.getVersion());
+		assertEquals(0, s3.getVersion());
+		registry.markChanged("edge2", Set.of(SOC.toString(), PRODUCTION.toString()));
+		assertEquals(1, s1.getVersion());
+		assertEquals(0, s3.getVersion());
+
+		// Push once per version and update interval
+		assertTrue(worker1.acquirePush(s1.getVersion(), System.nanoTime()));
+		assertFalse(worker1.acquirePush(s1.getVersion(), System.nanoTime()));
+
+		// Subscription is removed with its last session
+		assertNull(registry.subscribe(worker3, s3, Set.of(), Set.of(PRODUCTION)));
+		assertEquals(1, registry.getAll().size());
+		registry.unsubscribe(worker1, s1);
+		registry.unsubscribe(worker2, s2);
+		assertTrue(registry.getAll().isEmpty());
+	}
+
+	@Test
+	public void testAssertEdgeRoles() throws OpenemsNamedException {
+		var wsData = new WsData(null);
+		var worker = wsData.getSubscribedChannelsWorker();
+
+		// not authenticated
+		assertThrows(OpenemsNamedException.class, () -> worker.assertEdgeRoles(Set.of("edge0")));
+
+		var roles = new TreeMap<String, Role>();
+		roles.put("edge0", Role.GUEST);
+		wsData.setUser(new User("user0", "User 0", "token", Language.DEFAULT, Role.GUEST, roles));
+		worker.assertEdgeRoles(Set.of("edge0"));
+		assertThrows(OpenemsNamedException.class, () -> worker.assertEdgeRoles(Set.of("edge0", "edge1")));
+
+		// access revoked after subscribing
+		roles.remove("edge0");
+		assertThrows(OpenemsNamedException.class, () -> worker.assertEdgeRoles(Set.of("edge0")));
+	}
+
+}
@@ -1,5 +1,9 @@
 package io.openems.backend.common.edgewebsocket;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -7,15 +11,214 @@ import java.util.SortedMap;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
 
+/**
+ * Cache for the most recent Channel values of one Edge.
+ *
+ * <p>
+ * Values are held in an immutable {@link Snapshot} that is replaced atomically
+ * once per {@link #update(SortedMap)}. Reads are lock-free and every read
+ * method sees one consistent {@link Snapshot}. Numeric values are stored as
+ * primitives; only non-numeric values are kept as {@link JsonElement}.
+ *
+ * <p>
+ * Values are stored in fixed-size {@link Segment}s. An update copies only the
+ * {@link Segment}s of the Channels it changes and shares all others with the
+ * previous {@link Snapshot}.
+ */
 public class EdgeCache {
 
 	/**
-	 * The Timestamp of the data in the Cache.
+	 * Cache is not anymore valid if incoming data is newer than 15 minutes.
 	 */
-	private long timestamp = 0L;
+	private static final long MAX_AGE = 15 * 60 * 1000;
 
-	private final HashMap<String, JsonElement> data = new HashMap<>();
+	private static final byte NULL = 0;
+	private static final byte LONG = 1;
+	private static final byte DOUBLE = 2;
+	private static final byte OTHER = 3;
+
+	private static final int SEGMENT_BITS = 6;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS; // 64 slots
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	/**
+	 * The values of {@link #SEGMENT_SIZE} slots. Immutable once it is part of a
+	 * {@link Snapshot}.
+	 */
+	private static final class Segment {
+
+		private final long[] values;
+		private final byte[] types;
+		private final JsonElement[] others;
+
+		private Segment() {
+			this.values = new long[SEGMENT_SIZE];
+			this.types = new byte[SEGMENT_SIZE];
+			this.others = new JsonElement[SEGMENT_SIZE];
+		}
+
+		private Segment(Segment segment) {
+			this.values = segment.values.clone();
+			this.types = segment.types.clone();
+			this.others = segment.others.clone();
+		}
+	}
+
+	/**
+	 * An immutable snapshot of the cache.
+	 *
+	 * <p>
+	 * Values are stored per slot; the index from Channel-Address to slot is
+	 * shared with the previous {@link Snapshot} as long as no new Channel is
+	 * added.
+	 */
+	private static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(0L, 0L, Map.of(), new Segment[0]);
+
+		private final long timestamp;
+		private final long version;
+		private final Map<String, Integer> index;
+		private final Segment[] segments;
+
+		private Snapshot(long timestamp, long version, Map<String, Integer> index, Segment[] segments) {
+			this.timestamp = timestamp;
+			this.version = version;
+			this.index = index;
+			this.segments = segments;
+		}
+
+		private JsonElement get(String address) {
+			var slot = this.index.get(address);
+			if (slot == null) {
+				return JsonNull.INSTANCE;
+			}
+			var segment = this.segments[slot >>> SEGMENT_BITS];
+			var offset = slot & SEGMENT_MASK;
+			return switch (segment.types[offset]) {
+			case LONG -> new JsonPrimitive(segment.values[offset]);
+			case DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(segment.values[offset]));
+			case OTHER -> segment.others[offset];
+			default -> JsonNull.INSTANCE;
+			};
+		}
+	}
+
+	/**
+	 * Applies an update on top of a {@link Snapshot}. {@link Segment}s are copied
+	 * on their first change.
+	 */
+	private static final class Builder {
+
+		private Map<String, Integer> index;
+		private boolean isIndexCopied = false;
+		private Segment[] segments;
+		private boolean[] isSegmentCopied;
+
+		private Builder(Snapshot snapshot) {
+			this.index = snapshot.index;
+			this.segments = snapshot.segments.clone();
+			this.isSegmentCopied = new boolean[this.segments.length];
+		}
+
+		private void clear() {
+			this.index = new HashMap<>();
+			this.isIndexCopied = true;
+			this.segments = new Segment[0];
+			this.isSegmentCopied = new boolean[0];
+		}
+
+		/**
+		 * Gets the {@link Segment} of a slot for writing.
+		 *
+		 * @param slot the slot
+		 * @return a {@link Segment} that is not shared with any {@link Snapshot}
+		 */
+		private Segment getWritableSegment(int slot) {
+			var i = slot >>> SEGMENT_BITS;
+			if (i >= this.segments.length) {
+				var capacity = Math.max(4, i * 2);
+				this.segments = Arrays.copyOf(this.segments, capacity);
+				this.isSegmentCopied = Arrays.copyOf(this.isSegmentCopied, capacity);
+			}
+			if (!this.isSegmentCopied[i]) {
+				var segment = this.segments[i];
+				this.segments[i] = segment == null ? new Segment() : new Segment(segment);
+				this.isSegmentCopied[i] = true;
+			}
+			return this.segments[i];
+		}
+
+		private void put(String address, JsonElement value) {
+			var slot = this.index.get(address);
+			if (slot == null) {
+				if (!this.isIndexCopied) {
+					this.index = new HashMap<>(this.index);
+					this.isIndexCopied = true;
+				}
+				slot = this.index.size();
+				this.index.put(address, slot);
+			}
+			var segment = this.getWritableSegment(slot);
+			var offset = slot & SEGMENT_MASK;
+			segment.others[offset] = null;
+			if (value == null || value.isJsonNull()) {
+				segment.types[offset] = NULL;
+
+			} else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+				var number = value.getAsNumber();
+				if (number instanceof Double || number instanceof Float) {
+					setDouble(segment, offset, number.doubleValue());
+				} else if (number instanceof Long || number instanceof Integer || number instanceof Short
+						|| number instanceof Byte) {
+					setLong(segment, offset, number.longValue());
+				} else if (!(number instanceof BigDecimal) && !(number instanceof BigInteger)) {
+					// e.g. LazilyParsedNumber
+					setParsed(segment, offset, number.toString(), value);
+				} else {
+					setOther(segment, offset, value);
+				}
+
+			} else {
+				setOther(segment, offset, value);
+			}
+		}
+
+		private static void setParsed(Segment segment, int offset, String number, JsonElement value) {
+			try {
+				if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+					setDouble(segment, offset, Double.parseDouble(number));
+				} else {
+					setLong(segment, offset, Long.parseLong(number));
+				}
+			} catch (NumberFormatException e) {
+				setOther(segment, offset, value);
+			}
+		}
+
+		private static void setLong(Segment segment, int offset, long value) {
+			segment.types[offset] = LONG;
+			segment.values[offset] = value;
+		}
+
+		private static void setDouble(Segment segment, int offset, double value) {
+			segment.types[offset] = DOUBLE;
+			segment.values[offset] = Double.doubleToRawLongBits(value);
+		}
+
+		private static void setOther(Segment segment, int offset, JsonElement value) {
+			segment.types[offset] = OTHER;
+			segment.others[offset] = value;
+		}
+
+		private Snapshot build(long timestamp, long version) {
+			return new Snapshot(timestamp, version, this.index, this.segments);
+		}
+	}
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
 
 	/**
 	 * Gets the channel value from cache.
@@ -24,13 +227,43 @@ public class EdgeCache {
 	 * @return the value; {@link JsonNull} if it is not in cache
 	 */
 	public final JsonElement getChannelValue(String address) {
-		synchronized (this) {
-			var result = this.data.get(address);
-			if (result == null) {
-				return JsonNull.INSTANCE;
-			}
-			return result;
+		return this.snapshot.get(address);
+	}
+
+	/**
+	 * Gets the values of multiple channels from one consistent snapshot of the
+	 * cache.
+	 *
+	 * @param addresses the Channel-Addresses of the channels
+	 * @return a map of Channel-Address to value; {@link JsonNull} if it is not in
+	 *         cache
+	 */
+	public final Map<String, JsonElement> getChannelValues(Collection<String> addresses) {
+		var snapshot = this.snapshot;
+		var result = new HashMap<String, JsonElement>(addresses.size());
+		for (var address : addresses) {
+			result.put(address, snapshot.get(address));
 		}
+		return result;
+	}
+
+	/**
+	 * Gets the version of the cache. The version is incremented on every
+	 * {@link #update(SortedMap)} that changed the cache.
+	 *
+	 * @return the version
+	 */
+	public final long getVersion() {
+		return this.snapshot.version;
+	}
+
+	/**
+	 * Gets the Timestamp of the data in the cache.
+	 *
+	 * @return the Timestamp in epoch milliseconds
+	 */
+	public final long getTimestamp() {
+		return this.snapshot.timestamp;
 	}
 
 	/**
@@ -38,32 +271,38 @@ public class EdgeCache {
 	 *
 	 * @param incomingDatas the incoming data
 	 */
-	public void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+	public synchronized void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+		var current = this.snapshot;
+		var timestamp = current.timestamp;
+		Builder builder = null;
 		for (Entry<Long, Map<String, JsonElement>> entry : incomingDatas.entrySet()) {
 			var incomingTimestamp = entry.getKey();
 			var incomingData = entry.getValue();
 
 			// Check if cache should be applied
-			if (incomingTimestamp < this.timestamp) {
+			if (incomingTimestamp < timestamp) {
 				// Incoming data is older than cache -> do not apply cache
+				continue;
+			}
 
-			} else {
-				// Incoming data is more recent than cache
-
-				if (incomingTimestamp > this.timestamp + 15 * 60 * 1000) {
-					// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
-					synchronized (this) {
-						this.data.clear();
-					}
-				}
+			// Incoming data is more recent than cache
+			if (builder == null) {
+				builder = new Builder(current);
+			}
+			if (incomingTimestamp > timestamp + MAX_AGE) {
+				// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
+				builder.clear();
+			}
 
-				// update cache
-				this.timestamp = incomingTimestamp;
-				synchronized (this) {
-					this.data.putAll(incomingData);
-				}
+			// update cache
+			timestamp = incomingTimestamp;
+			for (var value : incomingData.entrySet()) {
+				builder.put(value.getKey(), value.getValue());
 			}
 		}
+		if (builder != null) {
+			this.snapshot = builder.build(timestamp, current.version + 1);
+		}
 	}
 
 }
@@ -0,0 +1,27 @@
+package io.openems.backend.common.edgewebsocket;
+
+import java.util.Set;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * A service that is informed about data that the {@link EdgeWebsocket}
+ * received from an Edge, e.g. to push subscribed Channels on change.
+ *
+ * <p>
+ * Listeners are called on the ingest path of the {@link EdgeWebsocket} after
+ * the {@link EdgeCache} of the Edge was updated; they must return quickly.
+ */
+@ProviderType
+public interface EdgeDataListener {
+
+	/**
+	 * Called after data of an Edge was received.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param channels the Channel-Addresses that were received, e.g.
+	 *                 "_sum/EssSoc"
+	 */
+	public void onEdgeData(String edgeId, Set<String> channels);
+
+}
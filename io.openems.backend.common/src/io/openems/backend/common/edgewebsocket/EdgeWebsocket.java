@@ -64,4 +64,11 @@ public interface EdgeWebsocket {
 	 */
 	public Map<ChannelAddress, JsonElement> getChannelValues(String edgeId, Set<ChannelAddress> channelAddresses);
 
+	/**
+	 * Gets the {@link IngestMetrics} of the last completed time window.
+	 *
+	 * @return the {@link IngestMetrics} per Edge-ID
+	 */
+	public Map<String, IngestMetrics> getIngestMetrics();
+
 }
@@ -0,0 +1,127 @@
+package io.openems.backend.common.edgewebsocket;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Ingest metrics of one Edge (or of all Edges in aggregate) within a time
+ * window.
+ *
+ * @param window        the length of the window in [ms]
+ * @param messages      the number of received messages
+ * @param bytes         the size of the received messages in characters
+ * @param parseNanos    the total time spent parsing messages in [ns]
+ * @param notifications the number of data notifications
+ * @param values        the number of Channel values in data notifications
+ * @param latencySum    the sum of the receive-to-write latencies in [us]
+ * @param latencyMax    the maximum receive-to-write latency in [us]
+ * @param queueLagMax   the maximum Timedata write queue lag in [ms]
+ */
+public record IngestMetrics(long window, long messages, long bytes, long parseNanos, long notifications,
+		long values, long latencySum, long latencyMax, long queueLagMax) {
+
+	/**
+	 * Merges two {@link IngestMetrics} of the same window, e.g. of two connections
+	 * of one Edge.
+	 *
+	 * @param other the other {@link IngestMetrics}
+	 * @return the merged {@link IngestMetrics}
+	 */
+	public IngestMetrics merge(IngestMetrics other) {
+		return new IngestMetrics(Math.max(this.window, other.window), //
+				this.messages + other.messages, //
+				this.bytes + other.bytes, //
+				this.parseNanos + other.parseNanos, //
+				this.notifications + other.notifications, //
+				this.values + other.values, //
+				this.latencySum + other.latencySum, //
+				Math.max(this.latencyMax, other.latencyMax), //
+				Math.max(this.queueLagMax, other.queueLagMax));
+	}
+
+	/**
+	 * Gets the received messages per second.
+	 *
+	 * @return messages/s
+	 */
+	public double getMessagesPerSecond() {
+		return perSecond(this.messages, this.window);
+	}
+
+	/**
+	 * Gets the received characters per second.
+	 *
+	 * @return bytes/s
+	 */
+	public double getBytesPerSecond() {
+		return perSecond(this.bytes, this.window);
+	}
+
+	/**
+	 * Gets the average number of Channel values per data notification.
+	 *
+	 * @return values/notification
+	 */
+	public double getValuesPerNotification() {
+		return average(this.values, this.notifications);
+	}
+
+	/**
+	 * Gets the average receive-to-write latency, i.e. the time from receiving a
+	 * data notification until its data was handed over to Timedata.
+	 *
+	 * @return the latency in [us]
+	 */
+	public double getLatencyAvg() {
+		return average(this.latencySum, this.notifications);
+	}
+
+	/**
+	 * Gets the average time to parse a message.
+	 *
+	 * @return the parse time in [us]
+	 */
+	public double getParseTimeAvg() {
+		return average(this.parseNanos, this.messages) / 1000;
+	}
+
+	/**
+	 * Converts to a {@link JsonObject}.
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("messagesPerSecond", round(this.getMessagesPerSecond())) //
+				.addProperty("bytesPerSecond", round(this.getBytesPerSecond())) //
+				.addProperty("valuesPerNotification", round(this.getValuesPerNotification())) //
+				.addProperty("latencyAvg", round(this.getLatencyAvg())) //
+				.addProperty("latencyMax", this.latencyMax) //
+				.addProperty("queueLagMax", this.queueLagMax) //
+				.addProperty("parseTimeAvg", round(this.getParseTimeAvg())) //
+				.build();
+	}
+
+	@Override
+	public String toString() {
+		return "Messages: " + round(this.getMessagesPerSecond()) + "/s" //
+				+ ", Bytes: " + round(this.getBytesPerSecond()) + "/s" //
+				+ ", Values/Notification: " + round(this.getValuesPerNotification()) //
+				+ ", Latency: " + round(this.getLatencyAvg()) + "us (max " + this.latencyMax + "us)" //
+				+ ", Queue-Lag: " + this.queueLagMax + "ms" //
+				+ ", Parse: " + round(this.getParseTimeAvg()) + "us";
+	}
+
+	private static double perSecond(long value, long window) {
+		return window > 0 ? value * 1000. / window : 0;
+	}
+
+	private static double average(long sum, long count) {
+		return count > 0 ? (double) sum / count : 0;
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 10) / 10.;
+	}
+}
@@ -0,0 +1,48 @@
+package io.openems.backend.common.jsonrpc.request;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+
+/**
+ * Gets the ingest metrics of all connected Edges. Requires a global Role of at
+ * least ADMIN.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": UUID,
+ *   "method": "getEdgesIngestMetrics",
+ *   "params": {}
+ * }
+ * </pre>
+ */
+public class GetEdgesIngestMetricsRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "getEdgesIngestMetrics";
+
+	/**
+	 * Create {@link GetEdgesIngestMetricsRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 *
+	 * @param request the template {@link JsonrpcRequest}
+	 * @return Created {@link GetEdgesIngestMetricsRequest}
+	 */
+	public static GetEdgesIngestMetricsRequest from(JsonrpcRequest request) {
+		return new GetEdgesIngestMetricsRequest(request);
+	}
+
+	public GetEdgesIngestMetricsRequest() {
+		super(GetEdgesIngestMetricsRequest.METHOD);
+	}
+
+	private GetEdgesIngestMetricsRequest(JsonrpcRequest request) {
+		super(request, GetEdgesIngestMetricsRequest.METHOD);
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return new JsonObject();
+	}
+
+}
@@ -0,0 +1,51 @@
+package io.openems.backend.common.jsonrpc.response;
+
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.backend.common.edgewebsocket.IngestMetrics;
+import io.openems.backend.common.jsonrpc.request.GetEdgesIngestMetricsRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+
+/**
+ * Represents a JSON-RPC Response for {@link GetEdgesIngestMetricsRequest}.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "edge0": {
+ *       "messagesPerSecond": number,
+ *       "bytesPerSecond": number,
+ *       "valuesPerNotification": number,
+ *       "latencyAvg": number, // [us]
+ *       "latencyMax": number, // [us]
+ *       "queueLagMax": number, // [ms]
+ *       "parseTimeAvg": number // [us]
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class GetEdgesIngestMetricsResponse extends JsonrpcResponseSuccess {
+
+	private final Map<String, IngestMetrics> metrics;
+
+	public GetEdgesIngestMetricsResponse(UUID id, Map<String, IngestMetrics> metrics) {
+		super(id);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		var j = new JsonObject();
+		for (var entry : this.metrics.entrySet()) {
+			j.add(entry.getKey(), entry.getValue().toJson());
+		}
+		return j;
+	}
+
+}
@@ -310,6 +310,30 @@ public interface Metadata {
 	 */
 	public AlertingSetting getUserAlertingSettings(String edgeId, String userId) throws OpenemsException;
 
+	/**
+	 * Gets all the alerting settings for the given edge ids in one batch.
+	 *
+	 * <p>
+	 * The default implementation queries every Edge on its own; implementations
+	 * should override this with a batched query.
+	 *
+	 * @param edgeIds the Edge IDs
+	 * @return the {@link AlertingSetting}s per Edge ID; Edges without settings
+	 *         may be missing
+	 * @throws OpenemsException on error
+	 */
+	public default Map<String, List<AlertingSetting>> getUserAlertingSettings(Collection<String> edgeIds)
+			throws OpenemsException {
+		var result = new HashMap<String, List<AlertingSetting>>();
+		for (var edgeId : edgeIds) {
+			var settings = this.getUserAlertingSettings(edgeId);
+			if (settings != null) {
+				result.put(edgeId, settings);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Sets the alerting settings for the given list of users.
 	 *
@@ -334,6 +358,13 @@ public interface Metadata {
 		private static final String TOPIC_BASE = BackendEventConstants.TOPIC_BASE + "metadata/";
 
 		public static final String AFTER_IS_INITIALIZED = Events.TOPIC_BASE + "TOPIC_AFTER_IS_INITIALIZED";
+
+		public static final String AFTER_SET_USER_ALERTING_SETTINGS = Events.TOPIC_BASE
+				+ "TOPIC_AFTER_SET_USER_ALERTING_SETTINGS";
+
+		public static final class AfterSetUserAlertingSettings {
+			public static final String EDGE_ID = "EdgeId:String";
+		}
 	}
 
 	/**
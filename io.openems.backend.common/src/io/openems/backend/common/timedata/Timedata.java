@@ -6,6 +6,7 @@ import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.timedata.CommonTimedataService;
 
 @ProviderType
@@ -28,4 +29,24 @@ public interface Timedata extends CommonTimedataService {
 	 */
 	public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data) throws OpenemsException;
 
+	/**
+	 * Sends aggregated data points to the Timedata service.
+	 *
+	 * <p>
+	 * Aggregated data points are sent by the Edge via
+	 * {@link AggregatedDataNotification} as 5-minute values. They must not be
+	 * mixed into the raw series, so they are ignored by default; Timedata services
+	 * with dedicated rollup storage should override this method.
+	 *
+	 * @param edgeId The unique Edge-ID
+	 * @param data   Table of timestamp (epoch in milliseconds; start of the
+	 *               aggregation window), Channel-Address and the aggregated
+	 *               Channel value as JsonElement. Sorted by timestamp.
+	 * @throws OpenemsException on error
+	 */
+	public default void writeAggregated(String edgeId, TreeBasedTable<Long, String, JsonElement> data)
+			throws OpenemsException {
+		// not supported
+	}
+
 }
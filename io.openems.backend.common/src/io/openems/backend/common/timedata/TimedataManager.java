@@ -21,4 +21,25 @@ public interface TimedataManager extends CommonTimedataService {
 	 */
 	public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data);
 
+	/**
+	 * Sends aggregated data points to the Timedata services. See
+	 * {@link Timedata#writeAggregated(String, TreeBasedTable)}.
+	 *
+	 * @param edgeId The unique Edge-ID
+	 * @param data   Table of timestamp (epoch in milliseconds; start of the
+	 *               aggregation window), Channel-Address and the aggregated
+	 *               Channel value as JsonElement. Sorted by timestamp.
+	 */
+	public void writeAggregated(String edgeId, TreeBasedTable<Long, String, JsonElement> data);
+
+	/**
+	 * Gets the current lag of the write queues, i.e. the maximum time the most
+	 * recently written data waited in a queue.
+	 *
+	 * @return the lag in [ms]
+	 */
+	public default long getWriteLag() {
+		return 0;
+	}
+
 }
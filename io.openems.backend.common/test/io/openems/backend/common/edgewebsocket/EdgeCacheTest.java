@@ -1,16 +1,22 @@
 package io.openems.backend.common.edgewebsocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -50,6 +56,111 @@ public class EdgeCacheTest {
 		assertEquals("value3", cache.getChannelValue(CHANNEL3).getAsString());
 	}
 
+	@Test
+	public void testSnapshot() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		assertEquals(0L, cache.getVersion());
+
+		var data = new TreeMap<Long, Map<String, JsonElement>>();
+		var map = new HashMap<String, JsonElement>();
+		map.put(CHANNEL1, JsonParser.parseString("123"));
+		map.put(CHANNEL2, new JsonPrimitive(1.5));
+		map.put(CHANNEL3, JsonNull.INSTANCE);
+		data.put(1000L, map);
+		cache.update(data);
+		assertEquals(1L, cache.getVersion());
+		assertEquals(1000L, cache.getTimestamp());
+
+		var values = cache.getChannelValues(List.of(CHANNEL1, CHANNEL2, CHANNEL3, "foo/unknown"));
+		assertEquals(new JsonPrimitive(123L), values.get(CHANNEL1));
+		assertEquals("123", values.get(CHANNEL1).toString());
+		assertEquals(new JsonPrimitive(1.5), values.get(CHANNEL2));
+		assertEquals(JsonNull.INSTANCE, values.get(CHANNEL3));
+		assertEquals(JsonNull.INSTANCE, values.get("foo/unknown"));
+
+		// older than cache: version is unchanged
+		cache.update(buildData(999L, CHANNEL1, "ignore"));
+		assertEquals(1L, cache.getVersion());
+
+		cache.update(buildData(2000L, CHANNEL1, "value1"));
+		assertEquals(2L, cache.getVersion());
+		assertEquals("value1", cache.getChannelValue(CHANNEL1).getAsString());
+		assertEquals(1.5, cache.getChannelValue(CHANNEL2).getAsDouble(), 0.0);
+	}
+
+	@Test
+	public void testPartialUpdate() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		var channels = new ArrayList<String>();
+		var data = new TreeMap<Long, Map<String, JsonElement>>();
+		var map = new HashMap<String, JsonElement>();
+		for (var i = 0; i < 200; i++) {
+			var channel = new ChannelAddress("foo", "bar" + i).toString();
+			channels.add(channel);
+			map.put(channel, new JsonPrimitive(i));
+		}
+		data.put(1000L, map);
+		cache.update(data);
+
+		// Updates of single Channels keep all other values
+		cache.update(buildData(2000L, channels.get(0), "first"));
+		cache.update(buildData(3000L, channels.get(199), "last"));
+		var values = cache.getChannelValues(channels);
+		assertEquals("first", values.get(channels.get(0)).getAsString());
+		assertEquals("last", values.get(channels.get(199)).getAsString());
+		for (var i = 1; i < 199; i++) {
+			assertEquals(i, values.get(channels.get(i)).getAsInt());
+		}
+	}
+
+	@Test
+	public void testConsistentSnapshot() throws Exception {
+		final var channelCount = 300; // spans multiple segments
+		var cache = new EdgeCache();
+		var channels = new ArrayList<String>();
+		for (var i = 0; i < channelCount; i++) {
+			channels.add(new ChannelAddress("foo", "bar" + i).toString());
+		}
+
+		var isRunning = new AtomicBoolean(true);
+		var error = new AtomicReference<String>();
+		var reader = new Thread(() -> {
+			var lastVersion = 0L;
+			while (isRunning.get() && error.get() == null) {
+				var version = cache.getVersion();
+				var values = cache.getChannelValues(channels);
+				if (version < lastVersion) {
+					error.set("Version went backwards");
+				}
+				lastVersion = version;
+				// All Channels are always updated together, so all values are equal
+				var first = values.get(channels.get(0));
+				for (var channel : channels) {
+					if (!values.get(channel).equals(first)) {
+						error.set("Inconsistent snapshot: " + first + " != " + values.get(channel));
+					}
+				}
+			}
+		});
+		reader.start();
+
+		for (var round = 1; round <= 2_000; round++) {
+			var data = new TreeMap<Long, Map<String, JsonElement>>();
+			var map = new HashMap<String, JsonElement>();
+			for (var channel : channels) {
+				map.put(channel, new JsonPrimitive(round));
+			}
+			data.put(round * 1000L, map);
+			cache.update(data);
+		}
+		isRunning.set(false);
+		reader.join();
+
+		assertNull(error.get());
+		assertEquals(2_000L, cache.getVersion());
+		assertEquals(2_000, cache.getChannelValue(channels.get(channelCount - 1)).getAsInt());
+	}
+
 	private static SortedMap<Long, Map<String, JsonElement>> buildData(long timestamp, String channel, String value)
 			throws OpenemsNamedException {
 		var data = new TreeMap<Long, Map<String, JsonElement>>();
@@ -21,8 +21,10 @@ import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.common.jsonrpc.request.GetEdgesChannelsValuesRequest;
+import io.openems.backend.common.jsonrpc.request.GetEdgesIngestMetricsRequest;
 import io.openems.backend.common.jsonrpc.request.GetEdgesStatusRequest;
 import io.openems.backend.common.jsonrpc.response.GetEdgesChannelsValuesResponse;
+import io.openems.backend.common.jsonrpc.response.GetEdgesIngestMetricsResponse;
 import io.openems.backend.common.jsonrpc.response.GetEdgesStatusResponse;
 import io.openems.backend.common.jsonrpc.response.GetEdgesStatusResponse.EdgeInfo;
 import io.openems.backend.common.metadata.Metadata;
@@ -106,6 +108,10 @@ public class CoreJsonRpcRequestHandlerImpl extends AbstractOpenemsBackendCompone
 			return this.handleGetChannelsValuesRequest(user, request.getId(),
 					GetEdgesChannelsValuesRequest.from(request));
 
+		case GetEdgesIngestMetricsRequest.METHOD:
+			return this.handleGetEdgesIngestMetricsRequest(user, request.getId(),
+					GetEdgesIngestMetricsRequest.from(request));
+
 		case SetGridConnScheduleRequest.METHOD:
 			return this.handleSetGridConnScheduleRequest(user, request.getId(),
 					SetGridConnScheduleRequest.from(request));
@@ -168,6 +174,26 @@ public class CoreJsonRpcRequestHandlerImpl extends AbstractOpenemsBackendCompone
 		return CompletableFuture.completedFuture(response);
 	}
 
+	/**
+	 * Handles a {@link GetEdgesIngestMetricsRequest}.
+	 *
+	 * @param user      the {@link User}
+	 * @param messageId the JSON-RPC Message-ID
+	 * @param request   the {@link GetEdgesIngestMetricsRequest}
+	 * @return the JSON-RPC Success Response Future
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<GetEdgesIngestMetricsResponse> handleGetEdgesIngestMetricsRequest(User user,
+			UUID messageId, GetEdgesIngestMetricsRequest request) throws OpenemsNamedException {
+		// metrics cover all Edges; require global admin permissions
+		if (!user.getGlobalRole().isAtLeast(Role.ADMIN)) {
+			throw OpenemsError.COMMON_ROLE_ACCESS_DENIED.exception(GetEdgesIngestMetricsRequest.METHOD,
+					Role.ADMIN.toString());
+		}
+		return CompletableFuture
+				.completedFuture(new GetEdgesIngestMetricsResponse(messageId, this.edgeWebsocket.getIngestMetrics()));
+	}
+
 	/**
 	 * Handles a {@link SetGridConnScheduleRequest}.
 	 *
@@ -13,4 +13,22 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Timedata-IDs", description = "IDs of Timedata Services. Execution is going to be sorted in the order of the IDs.")
 	String[] timedata_ids() default {};
 
+	@AttributeDefinition(name = "Write-Queue Size", description = "Maximum number of queued writes per Timedata Service.")
+	int writeQueueSize() default 10000;
+
+	@AttributeDefinition(name = "Write Overflow-Policy", description = "What to do if the Write-Queue of a Timedata Service is full. BLOCK also delays the writes to all other Timedata Services and the Edge connection.")
+	OverflowPolicy writeOverflowPolicy() default OverflowPolicy.DROP_OLDEST;
+
+	@AttributeDefinition(name = "Write Overflow-Policy per Timedata", description = "Overrides the Write Overflow-Policy for single Timedata Services; format 'timedataId=POLICY', e.g. 'timedata0=SPILL'.")
+	String[] writeOverflowPolicies() default {};
+
+	@AttributeDefinition(name = "Spill-File Size [MB]", description = "Maximum size of the file per Timedata Service that holds spilled and failed writes. If it is exceeded, new data is dropped.")
+	int writeSpillFileSize() default 1024;
+
+	@AttributeDefinition(name = "Query-Cache Size [MB]", description = "Maximum estimated memory for cached results of historic queries. Zero disables the cache.")
+	int queryCacheSize() default 100;
+
+	@AttributeDefinition(name = "Query-Cache TTL [s]", description = "Time-to-live for cached results of periods that are not yet closed.")
+	int queryCacheTtl() default 60;
+
 }
\ No newline at end of file
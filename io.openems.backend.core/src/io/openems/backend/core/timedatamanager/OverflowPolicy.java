@@ -0,0 +1,20 @@
+package io.openems.backend.core.timedatamanager;
+
+/**
+ * Defines what happens if the write queue of a Timedata service is full.
+ */
+public enum OverflowPolicy {
+	/**
+	 * Block the caller until there is space in the queue. As the caller writes to
+	 * all Timedata services in turn, this also delays the other services.
+	 */
+	BLOCK,
+	/**
+	 * Drop the oldest queued data.
+	 */
+	DROP_OLDEST,
+	/**
+	 * Spill the data to a file on disk; it is written once the queue is empty.
+	 */
+	SPILL;
+}
@@ -0,0 +1,207 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Bounded cache for results of historic queries.
+ *
+ * <p>
+ * Entries are evicted in least-recently-used order once the estimated memory
+ * weight of all entries exceeds the maximum. Results for closed periods, i.e.
+ * periods that ended at least {@link #OPEN_PERIOD_GRACE} ago, are kept until
+ * evicted or until data of the Edge arrives late for them, e.g. resent from
+ * the journal of the Edge, see {@link #invalidate(String, long)}. Results for
+ * periods that include "now" expire after a short TTL. Results that were loaded
+ * while data was invalidated are not cached, as they might miss the written
+ * data.
+ */
+public class QueryCache {
+
+	/**
+	 * Data of an Edge may arrive late, e.g. after a reconnect. Periods that ended
+	 * within this duration are still treated as open.
+	 */
+	protected static final Duration OPEN_PERIOD_GRACE = Duration.ofHours(1);
+
+	/**
+	 * Estimated memory per cached value in bytes.
+	 */
+	private static final int BYTES_PER_VALUE = 64;
+
+	/**
+	 * Loads the result on a cache miss.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public static interface Loader<T> {
+
+		/**
+		 * Loads the result.
+		 *
+		 * @return the result; null results are not cached
+		 * @throws OpenemsNamedException on error
+		 */
+		public T load() throws OpenemsNamedException;
+	}
+
+	/**
+	 * Dates include the time zone, as results are keyed by dates in the zone of
+	 * the request.
+	 */
+	private static record Key(String method, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, long resolutionValue, ChronoUnit resolutionUnit) {
+	}
+
+	private static record Entry(Object value, int weight, long loadNanos, long expiresAt) {
+	}
+
+	private final Clock clock;
+	private final Cache<Key, Entry> cache;
+	private final long ttlMillis;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong savedNanos = new AtomicLong();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * Creates a {@link QueryCache}.
+	 *
+	 * @param maxMegabytes the maximum estimated memory weight in MB
+	 * @param ttlSeconds   the time-to-live for results of open periods
+	 */
+	public QueryCache(int maxMegabytes, int ttlSeconds) {
+		this(Clock.systemUTC(), maxMegabytes, ttlSeconds);
+	}
+
+	protected QueryCache(Clock clock, int maxMegabytes, int ttlSeconds) {
+		this.clock = clock;
+		this.cache = CacheBuilder.newBuilder() //
+				.maximumWeight(maxMegabytes * 1024L * 1024L) //
+				.weigher((Key k, Entry e) -> e.weight) //
+				.build();
+		this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+	}
+
+	/**
+	 * Gets a result from the cache or loads it.
+	 *
+	 * @param <T>        the type of the result
+	 * @param method     the query method
+	 * @param edgeId     the Edge-ID
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}; possibly null
+	 * @param weigher    estimates the number of values in the result
+	 * @param loader     the {@link Loader}
+	 * @return the result
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String method, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, Resolution resolution, ToIntFunction<T> weigher,
+			Loader<T> loader) throws OpenemsNamedException {
+		var key = new Key(method, edgeId, fromDate, toDate, Set.copyOf(channels),
+				resolution == null ? 0 : resolution.getValue(), resolution == null ? null : resolution.getUnit());
+		var now = this.clock.millis();
+		var entry = this.cache.getIfPresent(key);
+		if (entry != null) {
+			if (entry.expiresAt > now) {
+				this.hits.incrementAndGet();
+				this.savedNanos.addAndGet(entry.loadNanos);
+				return (T) entry.value;
+			}
+			this.cache.invalidate(key);
+		}
+
+		this.misses.incrementAndGet();
+		var invalidations = this.invalidations.get();
+		var start = System.nanoTime();
+		var result = loader.load();
+		if (result == null || invalidations != this.invalidations.get()) {
+			return result;
+		}
+		var isClosed = toDate.toInstant().plus(OPEN_PERIOD_GRACE).toEpochMilli() < now;
+		var weight = (int) Math.min(Integer.MAX_VALUE, 128L + (long) weigher.applyAsInt(result) * BYTES_PER_VALUE);
+		this.cache.put(key, new Entry(result, weight, System.nanoTime() - start, //
+				isClosed ? Long.MAX_VALUE : now + this.ttlMillis));
+		return result;
+	}
+
+	/**
+	 * Invalidates the results of an Edge that are affected by written data.
+	 *
+	 * <p>
+	 * Data within {@link #OPEN_PERIOD_GRACE} can only affect results of open
+	 * periods, which expire after the TTL anyway; only late data requires
+	 * invalidating closed periods.
+	 *
+	 * @param edgeId        the Edge-ID
+	 * @param fromTimestamp the oldest timestamp of the written data (epoch in
+	 *                      milliseconds)
+	 */
+	public void invalidate(String edgeId, long fromTimestamp) {
+		if (fromTimestamp >= this.clock.millis() - OPEN_PERIOD_GRACE.toMillis()) {
+			return;
+		}
+		this.invalidations.incrementAndGet();
+		this.cache.asMap().keySet().removeIf(key -> key.edgeId.equals(edgeId) //
+				&& key.toDate.toInstant().toEpochMilli() > fromTimestamp);
+	}
+
+	/**
+	 * Gets the number of cached results.
+	 *
+	 * @return the number of results
+	 */
+	public long size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Counts the values of a two-dimensional result.
+	 *
+	 * @param result the result
+	 * @return the number of values
+	 */
+	public static int countValues(Map<?, ? extends Map<?, ?>> result) {
+		var count = 0;
+		for (var row : result.values()) {
+			count += row.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Gets a debug log with the cache metrics.
+	 *
+	 * @return the debug log
+	 */
+	public String debugLog() {
+		var hits = this.hits.get();
+		var misses = this.misses.get();
+		return "Query-Cache: Entries [" + this.cache.size() + "] " //
+				+ "Hits [" + hits + "] " //
+				+ "Misses [" + misses + "] " //
+				+ "Hit-Rate [" + (hits + misses == 0 ? 0 : hits * 100 / (hits + misses)) + "%] " //
+				+ "Saved [" + TimeUnit.NANOSECONDS.toMillis(this.savedNanos.get()) + "ms]";
+	}
+
+}
@@ -1,11 +1,18 @@
 package io.openems.backend.core.timedatamanager;
 
+import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.osgi.service.component.annotations.Activate;
@@ -26,10 +33,11 @@ import com.google.gson.JsonElement;
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.timedata.Timedata;
 import io.openems.backend.common.timedata.TimedataManager;
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -43,6 +51,13 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	private final List<Timedata> _rawTimedatas = new ArrayList<>();
 	private final AtomicReference<ImmutableSortedSet<Timedata>> timedatas = new AtomicReference<>(
 			ImmutableSortedSet.of());
+	private final ConcurrentHashMap<Timedata, WriteWorker> writeWorkers = new ConcurrentHashMap<>();
+	private final int writeQueueSize;
+	private final long writeSpillFileSize;
+	private final OverflowPolicy writeOverflowPolicy;
+	private final Map<String, OverflowPolicy> writeOverflowPolicies = new HashMap<>();
+	private final QueryCache queryCache;
+	private final ScheduledExecutorService debugLogExecutor;
 
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
@@ -60,6 +75,10 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 			this._rawTimedatas.remove(timedata);
 			this.updateSortedTimedatas();
 		}
+		var writeWorker = this.writeWorkers.remove(timedata);
+		if (writeWorker != null) {
+			writeWorker.stop();
+		}
 	}
 
 	@Activate
@@ -67,10 +86,50 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		super("Core.TimedataManager");
 		this._configTimedataIds = Arrays.asList(config.timedata_ids());
 		this.updateSortedTimedatas();
+
+		this.writeQueueSize = config.writeQueueSize();
+		this.writeSpillFileSize = config.writeSpillFileSize() * 1024L * 1024L;
+		this.writeOverflowPolicy = config.writeOverflowPolicy();
+		for (var entry : config.writeOverflowPolicies()) {
+			var parts = entry.split("=", 2);
+			if (parts.length != 2) {
+				this.logWarn(this.log, "Ignoring invalid Write Overflow-Policy [" + entry + "]");
+				continue;
+			}
+			try {
+				this.writeOverflowPolicies.put(parts[0].trim(), OverflowPolicy.valueOf(parts[1].trim().toUpperCase()));
+			} catch (IllegalArgumentException e) {
+				this.logWarn(this.log, "Ignoring invalid Write Overflow-Policy [" + entry + "]");
+			}
+		}
+
+		this.queryCache = config.queryCacheSize() > 0 //
+				? new QueryCache(config.queryCacheSize(), config.queryCacheTtl()) //
+				: null;
+		this.debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
+		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
+			// Debug-Log
+			if (this.queryCache != null) {
+				this.logInfo(this.log, "[monitor] " + this.queryCache.debugLog());
+			}
+			for (var writeWorker : this.writeWorkers.values()) {
+				this.logInfo(this.log, "[monitor] Write " + writeWorker.debugLog());
+			}
+		}, 60, 60, TimeUnit.SECONDS);
 	}
 
 	@Deactivate
 	private void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
+		this.writeWorkers.values().forEach(WriteWorker::stop);
+		this.writeWorkers.clear();
+	}
+
+	private WriteWorker getWriteWorker(Timedata timedata) {
+		return this.writeWorkers.computeIfAbsent(timedata, t -> new WriteWorker(t, this.writeQueueSize,
+				this.writeOverflowPolicies.getOrDefault(t.id(), this.writeOverflowPolicy),
+				Paths.get(OpenemsConstants.getOpenemsDataDir(), "timedata-spill"), this.writeSpillFileSize,
+				this::invalidateQueryCache));
 	}
 
 	private void updateSortedTimedatas() {
@@ -107,6 +166,17 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
+		if (this.queryCache == null) {
+			return this.queryHistoricDataUncached(edgeId, fromDate, toDate, channels, resolution);
+		}
+		return this.queryCache.get("queryHistoricData", edgeId, fromDate, toDate, channels, resolution,
+				QueryCache::countValues,
+				() -> this.queryHistoricDataUncached(edgeId, fromDate, toDate, channels, resolution));
+	}
+
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricDataUncached(
+			String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
 		for (var timedata : this.timedatas.get()) {
 			var data = timedata.queryHistoricData(edgeId, fromDate, toDate, channels, resolution);
 			if (data != null) {
@@ -122,6 +192,15 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		if (this.queryCache == null) {
+			return this.queryHistoricEnergyUncached(edgeId, fromDate, toDate, channels);
+		}
+		return this.queryCache.get("queryHistoricEnergy", edgeId, fromDate, toDate, channels, null, Map::size,
+				() -> this.queryHistoricEnergyUncached(edgeId, fromDate, toDate, channels));
+	}
+
+	private SortedMap<ChannelAddress, JsonElement> queryHistoricEnergyUncached(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
 		for (var timedata : this.timedatas.get()) {
 			var data = timedata.queryHistoricEnergy(edgeId, fromDate, toDate, channels);
 			if (data != null) {
@@ -138,6 +217,17 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
+		if (this.queryCache == null) {
+			return this.queryHistoricEnergyPerPeriodUncached(edgeId, fromDate, toDate, channels, resolution);
+		}
+		return this.queryCache.get("queryHistoricEnergyPerPeriod", edgeId, fromDate, toDate, channels, resolution,
+				QueryCache::countValues,
+				() -> this.queryHistoricEnergyPerPeriodUncached(edgeId, fromDate, toDate, channels, resolution));
+	}
+
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriodUncached(
+			String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
 		for (var timedata : this.timedatas.get()) {
 			var data = timedata.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, channels, resolution);
 			if (data != null) {
@@ -153,12 +243,32 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	@Override
 	public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data) {
 		for (var timedata : this.timedatas.get()) {
-			try {
-				timedata.write(edgeId, data);
-			} catch (OpenemsException e) {
-				this.logWarn(this.log, "Timedata write failed for Edge=" + edgeId);
-			}
+			this.getWriteWorker(timedata).write(edgeId, data, false);
+		}
+	}
+
+	@Override
+	public void writeAggregated(String edgeId, TreeBasedTable<Long, String, JsonElement> data) {
+		for (var timedata : this.timedatas.get()) {
+			this.getWriteWorker(timedata).write(edgeId, data, true);
+		}
+	}
+
+	// Called by the WriteWorker once the data was written
+	private void invalidateQueryCache(String edgeId, TreeBasedTable<Long, String, JsonElement> data) {
+		if (this.queryCache == null || data.isEmpty()) {
+			return;
+		}
+		this.queryCache.invalidate(edgeId, data.rowKeySet().first());
+	}
+
+	@Override
+	public long getWriteLag() {
+		var result = 0L;
+		for (var writeWorker : this.writeWorkers.values()) {
+			result = Math.max(result, writeWorker.getLag());
 		}
+		return result;
 	}
 
 }
@@ -0,0 +1,317 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+
+import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.utils.ThreadPoolUtils;
+
+/**
+ * Writes data to one {@link Timedata} service using its own bounded queue and
+ * thread, so that a slow or degraded database does not delay the other
+ * {@link Timedata} services or the caller.
+ *
+ * <p>
+ * If the queue is full, the {@link OverflowPolicy} is applied. Data that could
+ * not be written by the {@link Timedata} service is spilled independently of
+ * the {@link OverflowPolicy}. Spilled data is stored as one JSON-RPC
+ * Notification per line, prefixed with the Edge-ID, and written once the queue
+ * is empty. If writing spilled data fails, the remaining lines are kept and
+ * retried later. The size of the spill file is limited; if it is exceeded, new
+ * data is dropped.
+ */
+public class WriteWorker {
+
+	private static record Task(String edgeId, TreeBasedTable<Long, String, JsonElement> data, boolean isAggregated,
+			long enqueuedAt) {
+	}
+
+	private final Logger log = LoggerFactory.getLogger(WriteWorker.class);
+
+	private final Timedata timedata;
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final Path spillFile;
+	private final Path replayFile;
+	private final long maxSpillBytes;
+	private final BiConsumer<String, TreeBasedTable<Long, String, JsonElement>> onWritten;
+	private final LinkedBlockingDeque<Task> queue;
+	private final ExecutorService executor;
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong spilled = new AtomicLong();
+	private volatile long lagMillis = 0;
+	private volatile boolean isStopped = false;
+
+	public WriteWorker(Timedata timedata, int capacity, OverflowPolicy overflowPolicy, Path spillDir,
+			long maxSpillBytes, BiConsumer<String, TreeBasedTable<Long, String, JsonElement>> onWritten) {
+		this.timedata = timedata;
+		this.capacity = Math.max(1, capacity);
+		this.overflowPolicy = overflowPolicy;
+		this.spillFile = spillDir.resolve(timedata.id() + ".spill");
+		this.replayFile = spillDir.resolve(timedata.id() + ".spill.replay");
+		this.maxSpillBytes = maxSpillBytes;
+		this.onWritten = onWritten;
+		this.queue = new LinkedBlockingDeque<>(this.capacity);
+		this.executor = Executors.newSingleThreadExecutor(
+				new ThreadFactoryBuilder().setNameFormat("TimedataManager.Write-" + timedata.id() + "-%d").build());
+		this.executor.execute(this::run);
+	}
+
+	/**
+	 * Queues data for writing.
+	 *
+	 * @param edgeId       the Edge-ID
+	 * @param data         the data
+	 * @param isAggregated true for aggregated data, see
+	 *                     {@link Timedata#writeAggregated(String, TreeBasedTable)}
+	 */
+	public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data, boolean isAggregated) {
+		var task = new Task(edgeId, data, isAggregated, System.currentTimeMillis());
+		if (this.queue.offer(task)) {
+			return;
+		}
+		switch (this.overflowPolicy) {
+		case BLOCK -> {
+			try {
+				this.queue.put(task);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.dropped.incrementAndGet();
+			}
+		}
+		case DROP_OLDEST -> {
+			while (!this.queue.offer(task)) {
+				if (this.queue.pollFirst() != null) {
+					this.dropped.incrementAndGet();
+				}
+			}
+		}
+		case SPILL -> this.spill(task);
+		}
+	}
+
+	private void run() {
+		while (!this.isStopped) {
+			try {
+				var task = this.queue.poll(1, TimeUnit.SECONDS);
+				if (task != null) {
+					this.lagMillis = System.currentTimeMillis() - task.enqueuedAt;
+					if (!this.execute(task.edgeId, task.data, task.isAggregated)) {
+						// Retry later
+						this.spill(task);
+					}
+				} else {
+					this.lagMillis = 0;
+					this.replaySpilled();
+				}
+			} catch (InterruptedException e) {
+				return;
+			} catch (Throwable t) {
+				this.log.error("[" + this.timedata.id() + "] Write-Worker failed: " + t.getMessage());
+			}
+		}
+	}
+
+	private boolean execute(String edgeId, TreeBasedTable<Long, String, JsonElement> data, boolean isAggregated) {
+		try {
+			if (isAggregated) {
+				this.timedata.writeAggregated(edgeId, data);
+			} else {
+				this.timedata.write(edgeId, data);
+			}
+			this.written.incrementAndGet();
+			this.onWritten.accept(edgeId, data);
+			return true;
+
+		} catch (OpenemsNamedException e) {
+			this.failed.incrementAndGet();
+			this.log.warn("[" + this.timedata.id() + "] Timedata write failed for Edge=" + edgeId + ": "
+					+ e.getMessage());
+			return false;
+		}
+	}
+
+	private synchronized void spill(Task task) {
+		var notification = task.isAggregated //
+				? new AggregatedDataNotification(task.data) //
+				: new TimestampedDataNotification(task.data);
+		try {
+			if (this.getSpillSize() >= this.maxSpillBytes) {
+				this.dropped.incrementAndGet();
+				this.log.warn("[" + this.timedata.id() + "] Spill file is full. Dropping data for Edge=" + task.edgeId);
+				return;
+			}
+			Files.createDirectories(this.spillFile.getParent());
+			Files.writeString(this.spillFile, task.edgeId + "\t" + notification.toString() + "\n",
+					StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			this.spilled.incrementAndGet();
+
+		} catch (IOException e) {
+			this.dropped.incrementAndGet();
+			this.log.warn("[" + this.timedata.id() + "] Unable to spill data for Edge=" + task.edgeId + ": "
+					+ e.getMessage());
+		}
+	}
+
+	private long getSpillSize() throws IOException {
+		var result = 0L;
+		for (var file : new Path[] { this.spillFile, this.replayFile }) {
+			if (Files.exists(file)) {
+				result += Files.size(file);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes spilled data; called by the worker thread if the queue is empty.
+	 */
+	private void replaySpilled() {
+		synchronized (this) {
+			if (!Files.exists(this.replayFile)) {
+				if (!Files.exists(this.spillFile)) {
+					return;
+				}
+				try {
+					Files.move(this.spillFile, this.replayFile, StandardCopyOption.ATOMIC_MOVE);
+				} catch (IOException e) {
+					this.log.warn("[" + this.timedata.id() + "] Unable to replay spilled data: " + e.getMessage());
+					return;
+				}
+			}
+		}
+		try (var reader = Files.newBufferedReader(this.replayFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (this.isStopped || !this.replay(line)) {
+					// Keep this and all following lines for the next attempt
+					this.keepRemaining(line, reader);
+					return;
+				}
+			}
+
+		} catch (IOException e) {
+			this.log.warn("[" + this.timedata.id() + "] Unable to replay spilled data: " + e.getMessage());
+			return;
+		}
+		try {
+			Files.delete(this.replayFile);
+		} catch (IOException e) {
+			this.log.warn("[" + this.timedata.id() + "] Unable to delete replayed data: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes one line of spilled data.
+	 *
+	 * @param line the line
+	 * @return false if writing failed and should be retried later
+	 */
+	private boolean replay(String line) {
+		var separator = line.indexOf('\t');
+		if (separator < 0) {
+			return true;
+		}
+		JsonrpcNotification notification;
+		try {
+			notification = GenericJsonrpcNotification.from(line.substring(separator + 1));
+		} catch (OpenemsNamedException e) {
+			// not recoverable
+			this.log.warn("[" + this.timedata.id() + "] Unable to parse spilled data: " + e.getMessage());
+			return true;
+		}
+		var edgeId = line.substring(0, separator);
+		try {
+			return switch (notification.getMethod()) {
+			case AggregatedDataNotification.METHOD ->
+				this.execute(edgeId, AggregatedDataNotification.from(notification).getData(), true);
+			default -> this.execute(edgeId, TimestampedDataNotification.from(notification).getData(), false);
+			};
+		} catch (OpenemsNamedException e) {
+			this.log.warn("[" + this.timedata.id() + "] Unable to parse spilled data: " + e.getMessage());
+			return true;
+		}
+	}
+
+	private void keepRemaining(String line, BufferedReader reader) throws IOException {
+		var tmpFile = this.replayFile.resolveSibling(this.replayFile.getFileName() + ".tmp");
+		try (var writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+			do {
+				writer.write(line);
+				writer.newLine();
+			} while ((line = reader.readLine()) != null);
+		}
+		Files.move(tmpFile, this.replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Stops the worker. Queued data is written before; once a write fails, the
+	 * remaining queued data is spilled to disk.
+	 */
+	public void stop() {
+		this.isStopped = true;
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		var isWriteable = true;
+		Task task;
+		while ((task = this.queue.poll()) != null) {
+			if (isWriteable) {
+				isWriteable = this.execute(task.edgeId, task.data, task.isAggregated);
+				if (isWriteable) {
+					continue;
+				}
+			}
+			this.spill(task);
+		}
+	}
+
+	/**
+	 * Gets the time the most recently written data waited in the queue.
+	 *
+	 * @return the lag in [ms]; zero if the queue is empty
+	 */
+	public long getLag() {
+		return this.lagMillis;
+	}
+
+	/**
+	 * Gets a debug log with the lag metrics of this worker.
+	 *
+	 * @return the debug log
+	 */
+	public String debugLog() {
+		return this.timedata.id() + ": " //
+				+ "Queue [" + this.queue.size() + "/" + this.capacity + "] " //
+				+ "Lag [" + this.lagMillis + "ms] " //
+				+ "Written [" + this.written.getAndSet(0) + "] " //
+				+ "Failed [" + this.failed.getAndSet(0) + "] " //
+				+ "Dropped [" + this.dropped.getAndSet(0) + "] " //
+				+ "Spilled [" + this.spilled.getAndSet(0) + "]";
+	}
+
+}
@@ -0,0 +1,159 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+public class QueryCacheTest {
+
+	private static class MyClock extends Clock {
+
+		private Instant instant;
+
+		public MyClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		public void leap(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+	}
+
+	private static final ZonedDateTime NOW = ZonedDateTime.of(2026, 1, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+	private static final Set<ChannelAddress> CHANNELS = Set.of(new ChannelAddress("_sum", "EssSoc"));
+	private static final Resolution RESOLUTION = new Resolution(15, ChronoUnit.MINUTES);
+
+	private static TreeMap<String, Integer> result(int values) {
+		var result = new TreeMap<String, Integer>();
+		for (var i = 0; i < values; i++) {
+			result.put("value" + i, i);
+		}
+		return result;
+	}
+
+	private static TreeMap<String, Integer> get(QueryCache sut, String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, int values, AtomicInteger loads) throws Exception {
+		return sut.get("query", edgeId, fromDate, toDate, CHANNELS, RESOLUTION, TreeMap::size, () -> {
+			loads.incrementAndGet();
+			return result(values);
+		});
+	}
+
+	@Test
+	public void testExpiry() throws Exception {
+		var clock = new MyClock(NOW.toInstant());
+		var sut = new QueryCache(clock, 1, 60);
+		var loads = new AtomicInteger();
+
+		// Open period expires after the TTL
+		get(sut, "edge0", NOW.minusDays(1), NOW.plusHours(1), 10, loads);
+		get(sut, "edge0", NOW.minusDays(1), NOW.plusHours(1), 10, loads);
+		assertEquals(1, loads.get());
+		clock.leap(Duration.ofSeconds(61));
+		get(sut, "edge0", NOW.minusDays(1), NOW.plusHours(1), 10, loads);
+		assertEquals(2, loads.get());
+
+		// Closed period does not expire
+		get(sut, "edge0", NOW.minusDays(2), NOW.minusDays(1), 10, loads);
+		clock.leap(Duration.ofDays(1));
+		get(sut, "edge0", NOW.minusDays(2), NOW.minusDays(1), 10, loads);
+		assertEquals(3, loads.get());
+
+		// Null results are not cached
+		QueryCache.Loader<TreeMap<String, Integer>> loader = () -> {
+			loads.incrementAndGet();
+			return null;
+		};
+		assertNull(sut.get("query", "edge0", NOW, NOW.plusDays(1), CHANNELS, RESOLUTION, TreeMap::size, loader));
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	public void testInvalidate() throws Exception {
+		var clock = new MyClock(NOW.toInstant());
+		var sut = new QueryCache(clock, 1, 60);
+		var loads = new AtomicInteger();
+
+		get(sut, "edge0", NOW.minusDays(3), NOW.minusDays(2), 10, loads);
+		get(sut, "edge0", NOW.minusDays(2), NOW.minusDays(1), 10, loads);
+		get(sut, "edge1", NOW.minusDays(2), NOW.minusDays(1), 10, loads);
+		assertEquals(3, sut.size());
+
+		// Current data does not affect closed periods
+		sut.invalidate("edge0", NOW.minusMinutes(5).toInstant().toEpochMilli());
+		assertEquals(3, sut.size());
+
+		// Data resent from the journal invalidates all later periods of the Edge
+		sut.invalidate("edge0", NOW.minusDays(2).plusHours(1).toInstant().toEpochMilli());
+		assertEquals(2, sut.size());
+		get(sut, "edge0", NOW.minusDays(3), NOW.minusDays(2), 10, loads);
+		get(sut, "edge0", NOW.minusDays(2), NOW.minusDays(1), 10, loads);
+		get(sut, "edge1", NOW.minusDays(2), NOW.minusDays(1), 10, loads);
+		assertEquals(4, loads.get());
+
+		// Result loaded while data was written is not cached
+		sut.get("query", "edge0", NOW.minusDays(5), NOW.minusDays(4), CHANNELS, RESOLUTION, TreeMap::size, () -> {
+			loads.incrementAndGet();
+			var result = result(10);
+			sut.invalidate("edge0", NOW.minusDays(5).toInstant().toEpochMilli());
+			return result;
+		});
+		get(sut, "edge0", NOW.minusDays(5), NOW.minusDays(4), 10, loads);
+		get(sut, "edge0", NOW.minusDays(5), NOW.minusDays(4), 10, loads);
+		assertEquals(6, loads.get());
+	}
+
+	@Test
+	public void testWeightEviction() throws Exception {
+		var clock = new MyClock(NOW.toInstant());
+		var sut = new QueryCache(clock, 1, 60);
+		var loads = new AtomicInteger();
+
+		// Results that exceed the maximum weight are not kept
+		get(sut, "edge0", NOW.minusDays(2), NOW.minusDays(1), 20_000, loads);
+		get(sut, "edge0", NOW.minusDays(2), NOW.minusDays(1), 20_000, loads);
+		assertEquals(2, loads.get());
+		assertEquals(0, sut.size());
+
+		// Many small results are evicted down to the maximum weight
+		for (var day = 0; day < 500; day++) {
+			get(sut, "edge0", NOW.minusDays(day + 2), NOW.minusDays(day + 1), 100, loads);
+		}
+		assertEquals(502, loads.get());
+		var maxEntries = 1024 * 1024 / (128 + 100 * 64);
+		assertTrue(sut.size() <= maxEntries);
+		assertTrue(sut.size() > 0);
+	}
+
+}
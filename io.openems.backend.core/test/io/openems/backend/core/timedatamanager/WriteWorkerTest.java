@@ -0,0 +1,248 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+public class WriteWorkerTest {
+
+	private static class DummyTimedata implements Timedata {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final Set<String> failingEdgeIds = ConcurrentHashMap.newKeySet();
+		private final List<String> written = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String id() {
+			return "timedata0";
+		}
+
+		@Override
+		public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data) throws OpenemsException {
+			this.started.countDown();
+			try {
+				this.release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (this.failingEdgeIds.contains(edgeId)) {
+				throw new OpenemsException("Database not available");
+			}
+			this.written.add(edgeId);
+		}
+
+		@Override
+		public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
+				ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) {
+			return null;
+		}
+
+		@Override
+		public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
+				ZonedDateTime toDate, Set<ChannelAddress> channels) {
+			return null;
+		}
+
+		@Override
+		public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(
+				String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+				Resolution resolution) {
+			return null;
+		}
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static TreeBasedTable<Long, String, JsonElement> data() {
+		TreeBasedTable<Long, String, JsonElement> data = TreeBasedTable.create();
+		data.put(1577836800_000L, "_sum/EssSoc", new JsonPrimitive(50));
+		return data;
+	}
+
+	// Creates a WriteWorker with a queue of two, whose worker thread is busy with
+	// the write of 'edge0'
+	private static WriteWorker createBusyWorker(DummyTimedata timedata, OverflowPolicy overflowPolicy, Path spillDir)
+			throws InterruptedException {
+		var sut = new WriteWorker(timedata, 2, overflowPolicy, spillDir, Long.MAX_VALUE, (e, d) -> {
+		});
+		sut.write("edge0", data(), false);
+		assertTrue(timedata.started.await(5, TimeUnit.SECONDS));
+		sut.write("edge1", data(), false);
+		sut.write("edge2", data(), false);
+		return sut;
+	}
+
+	private static void awaitWritten(DummyTimedata timedata, int count) throws InterruptedException {
+		for (var i = 0; i < 100 && timedata.written.size() < count; i++) {
+			Thread.sleep(50);
+		}
+	}
+
+	@Test
+	public void testBlock() throws Exception {
+		var timedata = new DummyTimedata();
+		var sut = createBusyWorker(timedata, OverflowPolicy.BLOCK, this.folder.newFolder().toPath());
+
+		var caller = new Thread(() -> sut.write("edge3", data(), false));
+		caller.start();
+		caller.join(200);
+		assertTrue(caller.isAlive());
+
+		timedata.release.countDown();
+		caller.join(5_000);
+		assertFalse(caller.isAlive());
+		awaitWritten(timedata, 4);
+		assertEquals(List.of("edge0", "edge1", "edge2", "edge3"), timedata.written);
+		sut.stop();
+	}
+
+	@Test
+	public void testDropOldest() throws Exception {
+		var timedata = new DummyTimedata();
+		var sut = createBusyWorker(timedata, OverflowPolicy.DROP_OLDEST, this.folder.newFolder().toPath());
+
+		// does not block the caller
+		sut.write("edge3", data(), false);
+
+		timedata.release.countDown();
+		awaitWritten(timedata, 3);
+		assertEquals(List.of("edge0", "edge2", "edge3"), timedata.written);
+		sut.stop();
+	}
+
+	@Test
+	public void testSpillAndReplay() throws Exception {
+		var timedata = new DummyTimedata();
+		var spillDir = this.folder.newFolder().toPath();
+		var sut = createBusyWorker(timedata, OverflowPolicy.SPILL, spillDir);
+
+		// does not block the caller
+		sut.write("edge3", data(), false);
+		assertTrue(Files.exists(spillDir.resolve("timedata0.spill")));
+
+		// Replay fails: spilled data is kept
+		timedata.failingEdgeIds.add("edge3");
+		timedata.release.countDown();
+		awaitWritten(timedata, 3);
+		Thread.sleep(1_500);
+		assertEquals(List.of("edge0", "edge1", "edge2"), timedata.written);
+		var replayFile = spillDir.resolve("timedata0.spill.replay");
+		assertTrue(Files.exists(replayFile));
+		assertTrue(Files.readString(replayFile).startsWith("edge3\t"));
+
+		// Replay succeeds: spilled data is written and deleted
+		timedata.failingEdgeIds.clear();
+		awaitWritten(timedata, 4);
+		assertEquals(List.of("edge0", "edge1", "edge2", "edge3"), timedata.written);
+		for (var i = 0; i < 100 && Files.exists(replayFile); i++) {
+			Thread.sleep(50);
+		}
+		assertFalse(Files.exists(replayFile));
+		sut.stop();
+	}
+
+	private static String readSpilled(Path spillDir) throws Exception {
+		var result = new StringBuilder();
+		for (var file : List.of("timedata0.spill.replay", "timedata0.spill")) {
+			if (Files.exists(spillDir.resolve(file))) {
+				result.append(Files.readString(spillDir.resolve(file)));
+			}
+		}
+		return result.toString();
+	}
+
+	@Test
+	public void testStopWritesQueue() throws Exception {
+		var timedata = new DummyTimedata();
+		var sut = createBusyWorker(timedata, OverflowPolicy.DROP_OLDEST, this.folder.newFolder().toPath());
+
+		timedata.release.countDown();
+		sut.stop();
+		assertEquals(List.of("edge0", "edge1", "edge2"), timedata.written);
+	}
+
+	@Test
+	public void testFailedWriteIsSpilled() throws Exception {
+		var timedata = new DummyTimedata();
+		var spillDir = this.folder.newFolder().toPath();
+		timedata.release.countDown();
+		timedata.failingEdgeIds.add("edge0");
+		var sut = new WriteWorker(timedata, 2, OverflowPolicy.DROP_OLDEST, spillDir, Long.MAX_VALUE, (e, d) -> {
+		});
+
+		sut.write("edge0", data(), false);
+		for (var i = 0; i < 100 && readSpilled(spillDir).isEmpty(); i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(readSpilled(spillDir).startsWith("edge0\t"));
+
+		// Retry succeeds
+		timedata.failingEdgeIds.clear();
+		awaitWritten(timedata, 1);
+		assertEquals(List.of("edge0"), timedata.written);
+		sut.stop();
+	}
+
+	@Test
+	public void testSpillFileSize() throws Exception {
+		var timedata = new DummyTimedata();
+		var spillDir = this.folder.newFolder().toPath();
+		timedata.release.countDown();
+		timedata.failingEdgeIds.addAll(List.of("edge0", "edge1"));
+		var sut = new WriteWorker(timedata, 2, OverflowPolicy.DROP_OLDEST, spillDir, 1, (e, d) -> {
+		});
+
+		sut.write("edge0", data(), false);
+		sut.write("edge1", data(), false);
+		sut.stop();
+		var spilled = readSpilled(spillDir);
+		assertTrue(spilled.startsWith("edge0\t"));
+		assertFalse(spilled.contains("edge1"));
+	}
+
+	@Test
+	public void testOnWritten() throws Exception {
+		var timedata = new DummyTimedata();
+		var notified = new CopyOnWriteArrayList<String>();
+		var sut = new WriteWorker(timedata, 2, OverflowPolicy.DROP_OLDEST, this.folder.newFolder().toPath(),
+				Long.MAX_VALUE, (edgeId, data) -> {
+					// called after the data was written
+					assertTrue(timedata.written.contains(edgeId));
+					notified.add(edgeId);
+				});
+		sut.write("edge0", data(), false);
+		assertTrue(timedata.started.await(5, TimeUnit.SECONDS));
+		assertTrue(notified.isEmpty());
+
+		timedata.release.countDown();
+		sut.stop();
+		assertEquals(List.of("edge0"), notified);
+	}
+
+}
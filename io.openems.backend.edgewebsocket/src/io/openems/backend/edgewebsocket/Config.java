@@ -19,6 +19,12 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	DebugMode debugMode() default DebugMode.OFF;
 
+	@AttributeDefinition(name = "Last-Message Timeout", description = "Closes the connection of an Edge that sent no message within this time in [s]. The Edge is then announced as offline. '0' disables the check.")
+	int lastMessageTimeout() default 0;
+
+	@AttributeDefinition(name = "Ingest-Metrics Capacity", description = "The maximum number of Edge connections with ingest metrics.")
+	int ingestMetricsCapacity() default 16384;
+
 	String webconsole_configurationFactory_nameHint() default "Edge Websocket";
 
 }
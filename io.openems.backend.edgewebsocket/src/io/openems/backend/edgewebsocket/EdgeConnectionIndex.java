@@ -0,0 +1,152 @@
+package io.openems.backend.edgewebsocket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of authenticated Edge connections by Edge-ID.
+ *
+ * <p>
+ * Replaces a scan over all connections of the server for every lookup.
+ * Connections are added on authentication in {@link OnOpen} and removed in
+ * {@link OnClose}.
+ *
+ * <p>
+ * Duplicate connections, i.e. more than one connection with the same Edge-ID,
+ * are kept: the most recent connection is used for sending; the Edge stays
+ * online until its last connection is closed. Older connections are not closed
+ * actively, to avoid two Edges with the same Apikey kicking each other out in a
+ * loop.
+ */
+public class EdgeConnectionIndex {
+
+	/**
+	 * Connect churn since the last call of {@link #getAndResetMetrics()}.
+	 */
+	public static record Metrics(int edges, int connections, long connects, long disconnects, long duplicates) {
+
+		@Override
+		public String toString() {
+			return "Edges: " + this.edges //
+					+ ", Connections: " + this.connections //
+					+ ", Connects: " + this.connects //
+					+ ", Disconnects: " + this.disconnects //
+					+ ", Duplicates: " + this.duplicates;
+		}
+	}
+
+	/**
+	 * Connections per Edge-ID; the most recent connection is first. Lists are
+	 * never modified, but replaced atomically.
+	 */
+	private final ConcurrentHashMap<String, List<WsData>> connections = new ConcurrentHashMap<>();
+
+	private final AtomicLong connects = new AtomicLong();
+	private final AtomicLong disconnects = new AtomicLong();
+	private final AtomicLong duplicates = new AtomicLong();
+
+	/**
+	 * Adds an authenticated connection.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param wsData the {@link WsData} of the connection
+	 * @return the number of connections for this Edge-ID, including the new one
+	 */
+	public int add(String edgeId, WsData wsData) {
+		this.connects.incrementAndGet();
+		var result = this.connections.compute(edgeId, (key, existing) -> {
+			var list = new ArrayList<WsData>(existing == null ? 1 : existing.size() + 1);
+			list.add(wsData);
+			if (existing != null) {
+				for (var other : existing) {
+					if (other != wsData) {
+						list.add(other);
+					}
+				}
+			}
+			return List.copyOf(list);
+		});
+		if (result.size() > 1) {
+			this.duplicates.incrementAndGet();
+		}
+		return result.size();
+	}
+
+	/**
+	 * Removes a connection.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param wsData the {@link WsData} of the connection
+	 * @return the number of remaining connections for this Edge-ID
+	 */
+	public int remove(String edgeId, WsData wsData) {
+		var result = this.connections.computeIfPresent(edgeId, (key, existing) -> {
+			if (!existing.contains(wsData)) {
+				return existing;
+			}
+			this.disconnects.incrementAndGet();
+			var list = new ArrayList<WsData>(existing.size());
+			for (var other : existing) {
+				if (other != wsData) {
+					list.add(other);
+				}
+			}
+			return list.isEmpty() ? null : List.copyOf(list);
+		});
+		return result == null ? 0 : result.size();
+	}
+
+	/**
+	 * Gets the most recent connection for an Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link WsData}; null if the Edge is not connected
+	 */
+	public WsData get(String edgeId) {
+		var list = this.connections.get(edgeId);
+		if (list == null) {
+			return null;
+		}
+		return list.get(0);
+	}
+
+	/**
+	 * Is the given Edge online?.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return true if at least one connection exists
+	 */
+	public boolean isOnline(String edgeId) {
+		return this.connections.containsKey(edgeId);
+	}
+
+	/**
+	 * Gets all connections by Edge-ID; the most recent connection is first.
+	 *
+	 * @return an unmodifiable view of the connections
+	 */
+	public Map<String, List<WsData>> getAll() {
+		return Collections.unmodifiableMap(this.connections);
+	}
+
+	/**
+	 * Gets the current metrics and resets the churn counters.
+	 *
+	 * @return the {@link Metrics}
+	 */
+	public Metrics getAndResetMetrics() {
+		var edges = 0;
+		var connections = 0;
+		for (var list : this.connections.values()) {
+			edges++;
+			connections += list.size();
+		}
+		return new Metrics(edges, connections, this.connects.getAndSet(0), this.disconnects.getAndSet(0),
+				this.duplicates.getAndSet(0));
+	}
+
+}
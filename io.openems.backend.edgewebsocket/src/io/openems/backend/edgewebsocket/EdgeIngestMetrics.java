@@ -0,0 +1,179 @@
+package io.openems.backend.edgewebsocket;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.openems.backend.common.edgewebsocket.IngestMetrics;
+
+/**
+ * Lightweight per-Edge ingest counters.
+ *
+ * <p>
+ * Counters are held in one fixed-size {@link AtomicLongArray}. Every
+ * authenticated connection gets its own slot on {@link #allocate(String)};
+ * recording a message is then a few atomic additions on that slot, without any
+ * map lookup and without contention between Edges. If all slots are in use,
+ * further connections are not tracked.
+ *
+ * <p>
+ * A slot holds {@value #FIELDS} counters, but is padded to {@value #SLOT_SIZE}
+ * longs: the array data does not start at a cache line boundary, so the
+ * counters of two neighboring slots would otherwise share a cache line.
+ *
+ * <p>
+ * {@link #collect()} is called periodically; it resets the counters and keeps
+ * the {@link IngestMetrics} of the completed window.
+ */
+public class EdgeIngestMetrics {
+
+	private static final int FIELDS = 8;
+	private static final int SLOT_SIZE = 16;
+	private static final int MESSAGES = 0;
+	private static final int BYTES = 1;
+	private static final int PARSE_NANOS = 2;
+	private static final int NOTIFICATIONS = 3;
+	private static final int VALUES = 4;
+	private static final int LATENCY_SUM = 5;
+	private static final int LATENCY_MAX = 6;
+	private static final int QUEUE_LAG_MAX = 7;
+
+	private final int capacity;
+	private final AtomicLongArray counters;
+	private final AtomicReferenceArray<String> edgeIds;
+
+	/**
+	 * Stack of free slots; guarded by 'this'.
+	 */
+	private final int[] freeSlots;
+	private int freeCount;
+
+	private long windowStart = System.currentTimeMillis();
+	private volatile Map<String, IngestMetrics> lastWindow = Collections.emptyMap();
+
+	public EdgeIngestMetrics(int capacity) {
+		this.capacity = capacity;
+		this.counters = new AtomicLongArray(capacity * SLOT_SIZE);
+		this.edgeIds = new AtomicReferenceArray<>(capacity);
+		this.freeSlots = new int[capacity];
+		for (var i = 0; i < capacity; i++) {
+			this.freeSlots[i] = capacity - 1 - i;
+		}
+		this.freeCount = capacity;
+	}
+
+	/**
+	 * Allocates a slot for a connection.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the slot; -1 if all slots are in use
+	 */
+	public synchronized int allocate(String edgeId) {
+		if (this.freeCount == 0) {
+			return -1;
+		}
+		var slot = this.freeSlots[--this.freeCount];
+		this.edgeIds.set(slot, edgeId);
+		return slot;
+	}
+
+	/**
+	 * Releases the slot of a connection. Counts of the current window are
+	 * discarded.
+	 *
+	 * @param slot the slot
+	 */
+	public synchronized void release(int slot) {
+		if (slot < 0 || this.edgeIds.getAndSet(slot, null) == null) {
+			return;
+		}
+		for (var field = 0; field < FIELDS; field++) {
+			this.counters.set(slot * SLOT_SIZE + field, 0);
+		}
+		this.freeSlots[this.freeCount++] = slot;
+	}
+
+	/**
+	 * Records a received message.
+	 *
+	 * @param slot       the slot
+	 * @param length     the length of the message
+	 * @param parseNanos the time spent parsing the message in [ns]
+	 */
+	public void recordMessage(int slot, int length, long parseNanos) {
+		if (slot < 0) {
+			return;
+		}
+		var base = slot * SLOT_SIZE;
+		this.counters.incrementAndGet(base + MESSAGES);
+		this.counters.addAndGet(base + BYTES, length);
+		this.counters.addAndGet(base + PARSE_NANOS, parseNanos);
+	}
+
+	/**
+	 * Records a data notification that was handed over to Timedata.
+	 *
+	 * @param slot     the slot
+	 * @param values   the number of Channel values
+	 * @param latency  the time between receiving the message and handing over
+	 *                 its data to Timedata in [us]
+	 * @param queueLag the current Timedata write queue lag in [ms]
+	 */
+	public void recordNotification(int slot, int values, long latency, long queueLag) {
+		if (slot < 0) {
+			return;
+		}
+		var base = slot * SLOT_SIZE;
+		this.counters.incrementAndGet(base + NOTIFICATIONS);
+		this.counters.addAndGet(base + VALUES, values);
+		this.counters.addAndGet(base + LATENCY_SUM, latency);
+		this.counters.accumulateAndGet(base + LATENCY_MAX, latency, Math::max);
+		this.counters.accumulateAndGet(base + QUEUE_LAG_MAX, queueLag, Math::max);
+	}
+
+	/**
+	 * Completes the current window: resets all counters and keeps their values
+	 * as last window.
+	 *
+	 * @return the total {@link IngestMetrics} of all Edges in the completed window
+	 */
+	public IngestMetrics collect() {
+		var now = System.currentTimeMillis();
+		var window = now - this.windowStart;
+		this.windowStart = now;
+		var result = new HashMap<String, IngestMetrics>();
+		var total = new IngestMetrics(window, 0, 0, 0, 0, 0, 0, 0, 0);
+		for (var slot = 0; slot < this.capacity; slot++) {
+			var edgeId = this.edgeIds.get(slot);
+			if (edgeId == null) {
+				continue;
+			}
+			var base = slot * SLOT_SIZE;
+			var metrics = new IngestMetrics(window, //
+					this.counters.getAndSet(base + MESSAGES, 0), //
+					this.counters.getAndSet(base + BYTES, 0), //
+					this.counters.getAndSet(base + PARSE_NANOS, 0), //
+					this.counters.getAndSet(base + NOTIFICATIONS, 0), //
+					this.counters.getAndSet(base + VALUES, 0), //
+					this.counters.getAndSet(base + LATENCY_SUM, 0), //
+					this.counters.getAndSet(base + LATENCY_MAX, 0), //
+					this.counters.getAndSet(base + QUEUE_LAG_MAX, 0));
+			result.merge(edgeId, metrics, IngestMetrics::merge);
+			total = total.merge(metrics);
+		}
+		this.lastWindow = Collections.unmodifiableMap(result);
+		return total;
+	}
+
+	/**
+	 * Gets the {@link IngestMetrics} per Edge-ID of the last completed window.
+	 *
+	 * @return an unmodifiable map
+	 */
+	public Map<String, IngestMetrics> getLastWindow() {
+		return this.lastWindow;
+	}
+
+}
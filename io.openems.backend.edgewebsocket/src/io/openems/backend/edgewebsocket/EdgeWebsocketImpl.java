@@ -1,21 +1,27 @@
 package io.openems.backend.edgewebsocket;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventAdmin;
 import org.osgi.service.event.EventHandler;
@@ -28,7 +34,10 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
+import io.openems.backend.common.edgewebsocket.EdgeDataListener;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
+import io.openems.backend.common.edgewebsocket.IngestMetrics;
+import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.metadata.User;
 import io.openems.backend.common.timedata.TimedataManager;
@@ -74,6 +83,21 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	protected volatile UiWebsocket uiWebsocket;
 
+	@Reference(policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY, //
+			cardinality = ReferenceCardinality.MULTIPLE)
+	protected volatile List<EdgeDataListener> edgeDataListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Authenticated Edge connections by Edge-ID.
+	 */
+	protected final EdgeConnectionIndex connections = new EdgeConnectionIndex();
+
+	/**
+	 * Ingest metrics per connection; initialized on activate.
+	 */
+	protected EdgeIngestMetrics ingestMetrics = new EdgeIngestMetrics(0);
+
 	private WebsocketServer server = null;
 	private Config config;
 
@@ -85,12 +109,21 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	@Activate
 	private void activate(Config config) {
 		this.config = config;
+		this.ingestMetrics = new EdgeIngestMetrics(config.ingestMetricsCapacity());
 		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
 			this.log.info(new StringBuilder("[monitor] ") //
 					.append("Edge-Connections: ")
 					.append(this.server != null ? this.server.getConnections().size() : "initializing") //
+					.append(", ") //
+					.append(this.connections.getAndResetMetrics()) //
 					.toString());
+			this.log.info("[monitor] Edge-Ingest: " + this.ingestMetrics.collect());
 		}, 10, 10, TimeUnit.SECONDS);
+		if (config.lastMessageTimeout() > 0) {
+			var period = Math.min(60, config.lastMessageTimeout());
+			this.debugLogExecutor.scheduleWithFixedDelay(this::closeTimedOutConnections, period, period,
+					TimeUnit.SECONDS);
+		}
 	}
 
 	@Deactivate
@@ -121,26 +154,37 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	}
 
 	/**
-	 * Gets whether the Websocket for this Edge is connected.
-	 *
-	 * @param edgeId the Edge-ID
-	 * @return true if it is online
+	 * Closes the connections of Edges that sent no message within the
+	 * Last-Message Timeout. The Edge is then announced as offline in
+	 * {@link OnClose}.
 	 */
-	protected boolean isOnline(String edgeId) {
-		if (this.server == null) {
-			return false;
+	private void closeTimedOutConnections() {
+		var timeout = ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(this.config.lastMessageTimeout());
+		for (var entry : this.connections.getAll().entrySet()) {
+			var edgeId = entry.getKey();
+			var lastmessage = this.metadata.getEdge(edgeId) //
+					.map(Edge::getLastmessage) //
+					.orElse(null);
+			if (lastmessage == null || lastmessage.isAfter(timeout)) {
+				continue;
+			}
+			this.logWarn(this.log, edgeId, "No message since [" + lastmessage + "]. Closing connection");
+			for (var wsData : entry.getValue()) {
+				var ws = wsData.getWebsocket();
+				if (ws != null) {
+					ws.close(CloseFrame.GOING_AWAY, "Last-Message Timeout");
+				}
+			}
 		}
-		return this.server.isOnline(edgeId);
 	}
 
 	@Override
 	public CompletableFuture<JsonrpcResponseSuccess> send(String edgeId, User user, JsonrpcRequest request)
 			throws OpenemsNamedException {
-		var ws = this.getWebSocketForEdgeId(edgeId);
-		if (ws == null) {
+		var wsData = this.connections.get(edgeId);
+		if (wsData == null) {
 			throw OpenemsError.BACKEND_EDGE_NOT_CONNECTED.exception(edgeId);
 		}
-		WsData wsData = ws.getAttachment();
 		// Wrap Request in AuthenticatedRpc
 		var authenticatedRpc = new AuthenticatedRpcRequest<>(edgeId, user, request);
 		var responseFuture = wsData.send(authenticatedRpc);
@@ -168,34 +212,12 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 
 	@Override
 	public void send(String edgeId, JsonrpcNotification notification) throws OpenemsException {
-		var ws = this.getWebSocketForEdgeId(edgeId);
-		if (ws != null) {
-			WsData wsData = ws.getAttachment();
+		var wsData = this.connections.get(edgeId);
+		if (wsData != null) {
 			wsData.send(notification);
 		}
 	}
 
-	/**
-	 * Gets the WebSocket connection for an Edge-ID. If more than one connection
-	 * exists, the first one is returned. Returns null if none is found.
-	 *
-	 * @param edgeId the Edge-ID
-	 * @return the WebSocket connection
-	 */
-	private final WebSocket getWebSocketForEdgeId(String edgeId) {
-		if (this.server == null) {
-			return null;
-		}
-		for (WebSocket ws : this.server.getConnections()) {
-			WsData wsData = ws.getAttachment();
-			var wsEdgeIdOpt = wsData.getEdgeId();
-			if (wsEdgeIdOpt.isPresent() && wsEdgeIdOpt.get().equals(edgeId)) {
-				return ws;
-			}
-		}
-		return null;
-	}
-
 	@Override
 	protected void logInfo(Logger log, String message) {
 		super.logInfo(log, message);
@@ -269,17 +291,21 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	public Map<ChannelAddress, JsonElement> getChannelValues(String edgeId, Set<ChannelAddress> channelAddresses) {
 		Map<ChannelAddress, JsonElement> result = channelAddresses.stream() //
 				.collect(Collectors.toMap(Function.identity(), c -> JsonNull.INSTANCE));
-		var ws = this.getWebSocketForEdgeId(edgeId);
-		if (ws == null) {
-			return result;
-		}
-		var wsData = (WsData) ws.getAttachment();
+		var wsData = this.connections.get(edgeId);
 		if (wsData == null) {
 			return result;
 		}
+		// Read all values from one consistent snapshot
+		var values = wsData.edgeCache.getChannelValues(//
+				channelAddresses.stream().map(ChannelAddress::toString).toList());
 		for (var channelAddress : channelAddresses) {
-			result.put(channelAddress, wsData.edgeCache.getChannelValue(channelAddress.toString()));
+			result.put(channelAddress, values.get(channelAddress.toString()));
 		}
 		return result;
 	}
+
+	@Override
+	public Map<String, IngestMetrics> getIngestMetrics() {
+		return this.ingestMetrics.getLastWindow();
+	}
 }
@@ -24,12 +24,15 @@ public class OnClose implements io.openems.common.websocket.OnClose {
 		String edgeId;
 		if (edgeIdOpt.isPresent()) {
 			edgeId = edgeIdOpt.get();
+			var remainingConnections = this.parent.connections.remove(edgeId, wsData);
+			var ingestMetricsSlot = wsData.getIngestMetricsSlot();
+			wsData.setIngestMetricsSlot(-1);
+			this.parent.ingestMetrics.release(ingestMetricsSlot);
 			var edgeOpt = this.parent.metadata.getEdge(edgeId);
 			// if there is no other websocket connection for this edgeId -> announce Edge as
 			// offline
 			if (edgeOpt.isPresent()) {
-				var isOnline = this.parent.isOnline(edgeId);
-				edgeOpt.get().setOnline(isOnline);
+				edgeOpt.get().setOnline(remainingConnections > 0);
 
 			}
 
@@ -1,12 +1,12 @@
 package io.openems.backend.edgewebsocket;
 
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 
 import io.openems.backend.common.metadata.Edge.Events;
@@ -15,12 +15,14 @@ import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.jsonrpc.notification.ResendDataNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
@@ -58,6 +60,18 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			this.handleTimestampedDataNotification(TimestampedDataNotification.from(notification), wsData);
 			return;
 
+		case CompactDataNotification.METHOD:
+			this.handleCompactDataNotification(CompactDataNotification.from(notification), wsData);
+			return;
+
+		case AggregatedDataNotification.METHOD:
+			this.handleAggregatedDataNotification(AggregatedDataNotification.from(notification), wsData);
+			return;
+
+		case ResendDataNotification.METHOD:
+			this.handleResendDataNotification(ResendDataNotification.from(notification), wsData);
+			return;
+
 		case SystemLogNotification.METHOD:
 			this.handleSystemLogNotification(SystemLogNotification.from(notification), wsData);
 			return;
@@ -95,6 +109,72 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 		}
 	}
 
+	/**
+	 * Handles AggregatedDataNotification.
+	 *
+	 * <p>
+	 * Aggregated data is timestamped with the start of its aggregation window, so
+	 * it is only written to Timedata; the Edge Cache and subscribed UIs are not
+	 * updated.
+	 *
+	 * @param message the AggregatedDataNotification
+	 * @param wsData  the WebSocket attachment
+	 * @throws OpenemsNamedException on error
+	 */
+	private void handleAggregatedDataNotification(AggregatedDataNotification message, WsData wsData)
+			throws OpenemsNamedException {
+		var edgeId = wsData.assertEdgeId(message);
+
+		try {
+			this.parent.timedataManager.writeAggregated(edgeId, message.getData());
+		} catch (IllegalArgumentException e) {
+			this.parent.logWarn(this.log, edgeId, "Unable to write AggregatedDataNotification: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Handles ResendDataNotification.
+	 *
+	 * <p>
+	 * Resent data was journaled by the Edge while it was not able to reach the
+	 * Backend. It is historic data, so it is only written to Timedata; the Edge
+	 * Cache and subscribed UIs are not updated.
+	 *
+	 * @param message the ResendDataNotification
+	 * @param wsData  the WebSocket attachment
+	 * @throws OpenemsNamedException on error
+	 */
+	private void handleResendDataNotification(ResendDataNotification message, WsData wsData)
+			throws OpenemsNamedException {
+		var edgeId = wsData.assertEdgeId(message);
+
+		try {
+			this.parent.timedataManager.write(edgeId, message.getData());
+		} catch (IllegalArgumentException e) {
+			this.parent.logWarn(this.log, edgeId, "Unable to write ResendDataNotification: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Handles CompactDataNotification.
+	 *
+	 * @param message the CompactDataNotification
+	 * @param wsData  the WebSocket attachment
+	 * @throws OpenemsNamedException on error
+	 */
+	private void handleCompactDataNotification(CompactDataNotification message, WsData wsData)
+			throws OpenemsNamedException {
+		var edgeId = wsData.assertEdgeId(message);
+		final TreeBasedTable<Long, String, JsonElement> data;
+		try {
+			data = message.getData(wsData.getChannelDictionary());
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, edgeId, "Unable to handle CompactDataNotification: " + e.getMessage());
+			return;
+		}
+		this.handleTimestampedData(edgeId, data, wsData);
+	}
+
 	/**
 	 * Handles TimestampedDataNotification.
 	 *
@@ -105,9 +185,20 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 	private void handleTimestampedDataNotification(TimestampedDataNotification message, WsData wsData)
 			throws OpenemsNamedException {
 		var edgeId = wsData.assertEdgeId(message);
+		this.handleTimestampedData(edgeId, message.getData(), wsData);
+	}
 
-		var data = message.getData();
-
+	/**
+	 * Handles timestamped data, independent of its encoding.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param data   Table of timestamp (epoch in milliseconds), Channel-Address and
+	 *               the Channel value as JsonElement
+	 * @param wsData the WebSocket attachment
+	 * @throws OpenemsNamedException on error
+	 */
+	private void handleTimestampedData(String edgeId, TreeBasedTable<Long, String, JsonElement> data, WsData wsData)
+			throws OpenemsNamedException {
 		// Update the Data Cache
 		wsData.edgeCache.update(data.rowMap());
 
@@ -116,26 +207,37 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 		} catch (IllegalArgumentException e) {
 			e.printStackTrace();
 		}
+		if (!data.isEmpty()) {
+			var latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - wsData.getReceivedNanos());
+			this.parent.ingestMetrics.recordNotification(wsData.getIngestMetricsSlot(), data.size(), latency,
+					this.parent.timedataManager.getWriteLag());
+		}
 
 		// Forward subscribed Channels to UI
 		this.parent.uiWebsocket.sendSubscribedChannels(edgeId, wsData.edgeCache);
 
+		// Inform listeners, e.g. Backend2Backend subscriptions
+		var channels = data.columnKeySet();
+		for (var listener : this.parent.edgeDataListeners) {
+			listener.onEdgeData(edgeId, channels);
+		}
+
 		// Read some specific channels
 		var edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			var d = JsonUtils.getAsJsonObject(entry.getValue());
-
+		for (var d : data.rowMap().values()) {
 			// set specific Edge values
-			if (d.has("_sum/State") && d.get("_sum/State").isJsonPrimitive()) {
-				var sumState = Level.fromJson(d, "_sum/State").orElse(Level.FAULT);
+			var sumStateValue = d.get("_sum/State");
+			if (sumStateValue != null && sumStateValue.isJsonPrimitive()) {
+				var sumState = Level.fromJson(sumStateValue).orElse(Level.FAULT);
 				EventBuilder.from(this.parent.eventAdmin, Events.ON_SET_SUM_STATE)
 						.addArg(Events.OnSetSumState.EDGE, edge) //
 						.addArg(Events.OnSetSumState.SUM_STATE, sumState) //
 						.send();
 			}
 
-			if (d.has("_meta/Version") && d.get("_meta/Version").isJsonPrimitive()) {
-				var version = JsonUtils.getAsPrimitive(d, "_meta/Version").getAsString();
+			var versionValue = d.get("_meta/Version");
+			if (versionValue != null && versionValue.isJsonPrimitive()) {
+				var version = versionValue.getAsString();
 				edge.setVersion(SemanticVersion.fromString(version));
 			}
 
@@ -2,6 +2,8 @@ package io.openems.backend.edgewebsocket;
 
 import org.java_websocket.WebSocket;
 import org.java_websocket.framing.CloseFrame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonObject;
 
@@ -10,6 +12,7 @@ import io.openems.common.utils.JsonUtils;
 
 public class OnOpen implements io.openems.common.websocket.OnOpen {
 
+	private final Logger log = LoggerFactory.getLogger(OnOpen.class);
 	private final EdgeWebsocketImpl parent;
 
 	public OnOpen(EdgeWebsocketImpl parent) {
@@ -49,6 +52,14 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 			edge.setLastmessage();
 			wsData.setEdgeId(edgeId);
 
+			// register connection
+			var connections = this.parent.connections.add(edgeId, wsData);
+			wsData.setIngestMetricsSlot(this.parent.ingestMetrics.allocate(edgeId));
+			if (connections > 1) {
+				this.parent.logWarn(this.log, edgeId,
+						"Duplicate connection. Using the most recent of [" + connections + "] connections");
+			}
+
 			// TODO send notification to UI
 		} catch (OpenemsException e) {
 			if (this.parent.metadata.isInitialized()) {
@@ -1,6 +1,7 @@
 package io.openems.backend.edgewebsocket;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
@@ -9,8 +10,10 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
 
 public class OnRequest implements io.openems.common.websocket.OnRequest {
 
@@ -24,8 +27,30 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	@Override
 	public CompletableFuture<? extends JsonrpcResponseSuccess> run(WebSocket ws, JsonrpcRequest request)
 			throws OpenemsException, OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+
+		switch (request.getMethod()) {
+		case SetChannelDictionaryRequest.METHOD:
+			return this.handleSetChannelDictionaryRequest(SetChannelDictionaryRequest.from(request), wsData);
+		}
+
 		this.parent.logWarn(this.log, "Unhandled Request: " + request);
 		throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
 	}
 
+	/**
+	 * Handles a {@link SetChannelDictionaryRequest}.
+	 *
+	 * @param request the {@link SetChannelDictionaryRequest}
+	 * @param wsData  the WebSocket attachment
+	 * @return the JSON-RPC Success Response Future
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<GenericJsonrpcResponseSuccess> handleSetChannelDictionaryRequest(
+			SetChannelDictionaryRequest request, WsData wsData) throws OpenemsNamedException {
+		wsData.assertEdgeIdWithTimeout(request, 5, TimeUnit.SECONDS);
+		wsData.setChannelDictionary(request.getDictionary());
+		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
+	}
+
 }
@@ -6,7 +6,6 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
@@ -47,18 +46,6 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		return new WsData();
 	}
 
-	/**
-	 * Is the given Edge online?.
-	 *
-	 * @param edgeId the Edge-ID
-	 * @return true if it is online.
-	 */
-	public boolean isOnline(String edgeId) {
-		final Optional<String> edgeIdOpt = Optional.of(edgeId);
-		return this.getConnections().parallelStream().anyMatch(
-				ws -> ws.getAttachment() != null && ((WsData) ws.getAttachment()).getEdgeId().equals(edgeIdOpt));
-	}
-
 	@Override
 	protected OnOpen getOnOpen() {
 		return this.onOpen;
@@ -84,6 +71,15 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		return this.onClose;
 	}
 
+	@Override
+	protected void onMessageParsed(WebSocket ws, int length, long parseNanos, long receivedNanos) {
+		WsData wsData = ws.getAttachment();
+		if (wsData != null) {
+			wsData.setReceivedNanos(receivedNanos);
+			this.parent.ingestMetrics.recordMessage(wsData.getIngestMetricsSlot(), length, parseNanos);
+		}
+	}
+
 	@Override
 	protected JsonrpcMessage handleNonJsonrpcMessage(WebSocket ws, String stringMessage,
 			OpenemsNamedException lastException) throws OpenemsNamedException {
@@ -10,6 +10,7 @@ import io.openems.backend.common.edgewebsocket.EdgeCache;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.types.ChannelDictionary;
 import io.openems.common.utils.StringUtils;
 
 public class WsData extends io.openems.common.websocket.WsData {
@@ -23,6 +24,23 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private final CompletableFuture<Void> isAuthenticated = new CompletableFuture<>();
 	public final EdgeCache edgeCache = new EdgeCache();
 
+	/**
+	 * The {@link ChannelDictionary} announced by the Edge; null if the Edge sends
+	 * full Channel-Addresses.
+	 */
+	private volatile ChannelDictionary channelDictionary = null;
+
+	/**
+	 * The slot in {@link EdgeIngestMetrics}; -1 if not tracked.
+	 */
+	private volatile int ingestMetricsSlot = -1;
+
+	/**
+	 * The {@link System#nanoTime()} when the message that is currently handled
+	 * was received.
+	 */
+	private volatile long receivedNanos = 0;
+
 	/**
 	 * Asserts that the Edge-ID is available (i.e. properly authenticated).
 	 *
@@ -69,6 +87,30 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return this.edgeId;
 	}
 
+	public void setChannelDictionary(ChannelDictionary channelDictionary) {
+		this.channelDictionary = channelDictionary;
+	}
+
+	public ChannelDictionary getChannelDictionary() {
+		return this.channelDictionary;
+	}
+
+	public void setIngestMetricsSlot(int ingestMetricsSlot) {
+		this.ingestMetricsSlot = ingestMetricsSlot;
+	}
+
+	public int getIngestMetricsSlot() {
+		return this.ingestMetricsSlot;
+	}
+
+	public void setReceivedNanos(long receivedNanos) {
+		this.receivedNanos = receivedNanos;
+	}
+
+	public long getReceivedNanos() {
+		return this.receivedNanos;
+	}
+
 	@Override
 	public String toString() {
 		return "EdgeWebsocket.WsData [" //
@@ -0,0 +1,91 @@
+package io.openems.backend.edgewebsocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares lookups via {@link EdgeConnectionIndex} with a scan over all
+ * connections, as it was done before, at 10.000 connections.
+ *
+ * <p>
+ * This is not a unit test and is not run by the build. Run the main() method
+ * from the IDE; optional arguments are the number of connections (default
+ * 10000) and the number of lookups (default 2000).
+ */
+public class EdgeConnectionIndexBenchmark {
+
+	private static final int WARMUP_ROUNDS = 2;
+
+	/**
+	 * Main.
+	 *
+	 * @param args the arguments
+	 */
+	public static void main(String[] args) {
+		var connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		var lookups = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+		var sut = new EdgeConnectionIndex();
+		var all = new ArrayList<WsData>(connections);
+		for (var i = 0; i < connections; i++) {
+			var edgeId = "edge" + i;
+			var wsData = new WsData();
+			wsData.setEdgeId(edgeId);
+			sut.add(edgeId, wsData);
+			all.add(wsData);
+		}
+
+		// Warm-up
+		for (var round = 0; round < WARMUP_ROUNDS; round++) {
+			scan(all, lookups);
+			index(sut, connections, lookups);
+		}
+
+		var start = System.nanoTime();
+		var found = scan(all, lookups);
+		var scanNanos = System.nanoTime() - start;
+		check(lookups, found);
+
+		start = System.nanoTime();
+		found = index(sut, connections, lookups);
+		var indexNanos = System.nanoTime() - start;
+		check(lookups, found);
+
+		System.out.println("EdgeConnectionIndex [" + connections + " connections, " + lookups + " lookups]: " //
+				+ "Scan " + scanNanos / lookups + " ns/op, " //
+				+ "Index " + indexNanos / lookups + " ns/op");
+	}
+
+	private static int scan(List<WsData> all, int lookups) {
+		var found = 0;
+		for (var i = 0; i < lookups; i++) {
+			var edgeId = "edge" + (i * 7919 % all.size());
+			for (var wsData : all) {
+				var wsEdgeIdOpt = wsData.getEdgeId();
+				if (wsEdgeIdOpt.isPresent() && wsEdgeIdOpt.get().equals(edgeId)) {
+					found++;
+					break;
+				}
+			}
+		}
+		return found;
+	}
+
+	private static int index(EdgeConnectionIndex sut, int connections, int lookups) {
+		var found = 0;
+		for (var i = 0; i < lookups; i++) {
+			var edgeId = "edge" + (i * 7919 % connections);
+			if (sut.get(edgeId) != null) {
+				found++;
+			}
+		}
+		return found;
+	}
+
+	private static void check(int expected, int found) {
+		if (found != expected) {
+			throw new IllegalStateException("Found [" + found + "] of [" + expected + "] connections");
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package io.openems.backend.edgewebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EdgeConnectionIndexTest {
+
+	private static WsData createWsData(String edgeId) {
+		var wsData = new WsData();
+		wsData.setEdgeId(edgeId);
+		return wsData;
+	}
+
+	@Test
+	public void test() {
+		var sut = new EdgeConnectionIndex();
+		assertNull(sut.get("edge0"));
+		assertFalse(sut.isOnline("edge0"));
+
+		var first = createWsData("edge0");
+		assertEquals(1, sut.add("edge0", first));
+		assertSame(first, sut.get("edge0"));
+
+		// Duplicate connection: most recent one wins
+		var second = createWsData("edge0");
+		assertEquals(2, sut.add("edge0", second));
+		assertSame(second, sut.get("edge0"));
+
+		// Closing the most recent connection falls back to the older one
+		assertEquals(1, sut.remove("edge0", second));
+		assertSame(first, sut.get("edge0"));
+		assertTrue(sut.isOnline("edge0"));
+
+		// Removing an unknown connection is ignored
+		assertEquals(1, sut.remove("edge0", second));
+		assertEquals(0, sut.remove("edge1", first));
+
+		assertEquals(0, sut.remove("edge0", first));
+		assertFalse(sut.isOnline("edge0"));
+
+		var metrics = sut.getAndResetMetrics();
+		assertEquals(0, metrics.edges());
+		assertEquals(2, metrics.connects());
+		assertEquals(2, metrics.disconnects());
+		assertEquals(1, metrics.duplicates());
+		assertEquals(0, sut.getAndResetMetrics().connects());
+	}
+
+}
@@ -0,0 +1,62 @@
+package io.openems.backend.edgewebsocket;
+
+/**
+ * Measures the overhead of {@link EdgeIngestMetrics}: records one message and
+ * one data notification per Edge at 10.000 Edges, and collects the window.
+ *
+ * <p>
+ * This is not a unit test and is not run by the build. Run the main() method
+ * from the IDE; optional arguments are the number of Edges (default 10000) and
+ * the number of rounds (default 20).
+ */
+public class EdgeIngestMetricsBenchmark {
+
+	private static final int WARMUP_ROUNDS = 5;
+
+	/**
+	 * Main.
+	 *
+	 * @param args the arguments
+	 */
+	public static void main(String[] args) {
+		var edges = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		var rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		var sut = new EdgeIngestMetrics(edges);
+		var slots = new int[edges];
+		for (var i = 0; i < edges; i++) {
+			slots[i] = sut.allocate("edge" + i);
+		}
+
+		// Warm-up
+		for (var round = 0; round < WARMUP_ROUNDS; round++) {
+			record(sut, slots);
+		}
+		sut.collect();
+
+		var start = System.nanoTime();
+		for (var round = 0; round < rounds; round++) {
+			record(sut, slots);
+		}
+		var recordNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		var total = sut.collect();
+		var collectNanos = System.nanoTime() - start;
+		if (total.messages() != (long) edges * rounds || sut.getLastWindow().size() != edges) {
+			throw new IllegalStateException("Unexpected metrics: " + total);
+		}
+
+		System.out.println("EdgeIngestMetrics [" + edges + " edges]: " //
+				+ "Record " + recordNanos / ((long) edges * rounds) + " ns/op, " //
+				+ "Collect " + collectNanos / 1_000_000 + " ms");
+	}
+
+	private static void record(EdgeIngestMetrics sut, int[] slots) {
+		for (var slot : slots) {
+			sut.recordMessage(slot, 2_000, 15_000);
+			sut.recordNotification(slot, 50, 120, 3);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.openems.backend.edgewebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EdgeIngestMetricsTest {
+
+	@Test
+	public void testAllocate() {
+		var sut = new EdgeIngestMetrics(2);
+		var slot0 = sut.allocate("edge0");
+		var slot1 = sut.allocate("edge1");
+		assertNotEquals(slot0, slot1);
+		assertEquals(-1, sut.allocate("edge2"));
+
+		// recording on an untracked connection is ignored
+		sut.recordMessage(-1, 100, 1_000);
+
+		sut.release(slot1);
+		sut.release(slot1);
+		assertEquals(slot1, sut.allocate("edge2"));
+		assertEquals(-1, sut.allocate("edge3"));
+	}
+
+	@Test
+	public void testCollect() {
+		var sut = new EdgeIngestMetrics(4);
+		var slot0 = sut.allocate("edge0");
+		var slot1 = sut.allocate("edge1");
+		// duplicate connection of edge1
+		var slot2 = sut.allocate("edge1");
+
+		sut.recordMessage(slot0, 1_000, 20_000);
+		sut.recordMessage(slot0, 3_000, 40_000);
+		sut.recordNotification(slot0, 10, 100, 5);
+		sut.recordNotification(slot0, 30, 300, 50);
+		sut.recordMessage(slot1, 500, 10_000);
+		sut.recordNotification(slot2, 5, 1_000, 0);
+
+		var total = sut.collect();
+		assertEquals(3, total.messages());
+		assertEquals(4_500, total.bytes());
+		assertEquals(3, total.notifications());
+		assertEquals(1_000, total.latencyMax());
+		assertEquals(50, total.queueLagMax());
+
+		var edge0 = sut.getLastWindow().get("edge0");
+		assertEquals(20, edge0.getValuesPerNotification(), 0.001);
+		assertEquals(200, edge0.getLatencyAvg(), 0.001);
+		assertEquals(30, edge0.getParseTimeAvg(), 0.001);
+
+		var edge1 = sut.getLastWindow().get("edge1");
+		assertEquals(1, edge1.messages());
+		assertEquals(1, edge1.notifications());
+
+		// counters are reset for the next window
+		total = sut.collect();
+		assertEquals(0, total.messages());
+		assertEquals(0, total.latencyMax());
+		assertTrue(sut.getLastWindow().containsKey("edge0"));
+	}
+}
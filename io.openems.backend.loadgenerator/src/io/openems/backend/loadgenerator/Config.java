@@ -0,0 +1,54 @@
+package io.openems.backend.loadgenerator;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(//
+		name = "Load Generator", //
+		description = "Simulates a fleet of OpenEMS Edges for backend throughput testing. Do not use in production!")
+@interface Config {
+
+	@AttributeDefinition(name = "Component-ID", description = "Unique ID of this Component")
+	String id() default "loadGenerator0";
+
+	@AttributeDefinition(name = "URI", description = "URI of the Edge.Websocket of the Backend under test")
+	String uri() default "ws://localhost:8081";
+
+	@AttributeDefinition(name = "Number of Edges", description = "Number of simulated Edge connections")
+	int numberOfEdges() default 100;
+
+	@AttributeDefinition(name = "Apikey format", description = "Format of the Apikey; '%d' is replaced by the Edge number. "
+			+ "The default matches Metadata.Dummy.")
+	String apikeyFormat() default "edge%d";
+
+	@AttributeDefinition(name = "First Edge number", description = "Number of the first simulated Edge")
+	int firstEdgeNumber() default 1;
+
+	@AttributeDefinition(name = "Channels per Edge", description = "Number of simulated Channels per Edge")
+	int channelsPerEdge() default 200;
+
+	@AttributeDefinition(name = "Changed Channels [%]", description = "Share of Channels that change per data message")
+	int changedChannelsPercent() default 20;
+
+	@AttributeDefinition(name = "Data interval [ms]", description = "Interval of TimestampedDataNotifications per Edge")
+	int dataInterval() default 1000;
+
+	@AttributeDefinition(name = "Full data interval [s]", description = "Interval in which all Channels are sent")
+	int fullDataInterval() default 300;
+
+	@AttributeDefinition(name = "Config interval [s]", description = "Interval of EdgeConfigNotifications per Edge; "
+			+ "the config is always sent after connecting")
+	int configInterval() default 3600;
+
+	@AttributeDefinition(name = "System-Logs per minute", description = "SystemLogNotifications per Edge and minute")
+	int systemLogsPerMinute() default 0;
+
+	@AttributeDefinition(name = "Ramp-up time [s]", description = "Connections are opened evenly within this time")
+	int rampUpTime() default 30;
+
+	@AttributeDefinition(name = "Report interval [s]", description = "Interval of the statistics log")
+	int reportInterval() default 10;
+
+	String webconsole_configurationFactory_nameHint() default "Load Generator";
+
+}
@@ -0,0 +1,76 @@
+package io.openems.backend.loadgenerator;
+
+import java.util.Arrays;
+
+/**
+ * Counts latencies in fixed buckets. Percentiles are reported as the upper
+ * bound of the bucket they fall into.
+ */
+class LatencyHistogram {
+
+	/**
+	 * Upper bounds of the buckets [ms]; the last bucket is unbounded.
+	 */
+	private static final long[] BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000,
+			60_000 };
+
+	protected static record Snapshot(long count, long avg, long p50, long p99, long max) {
+	}
+
+	private final long[] counts = new long[BOUNDS.length + 1];
+	private long count = 0;
+	private long sum = 0;
+	private long max = 0;
+
+	/**
+	 * Adds a latency.
+	 *
+	 * @param latency the latency [ms]
+	 */
+	protected synchronized void add(long latency) {
+		latency = Math.max(0, latency);
+		var bucket = 0;
+		while (bucket < BOUNDS.length && latency > BOUNDS[bucket]) {
+			bucket++;
+		}
+		this.counts[bucket]++;
+		this.count++;
+		this.sum += latency;
+		this.max = Math.max(this.max, latency);
+	}
+
+	/**
+	 * Gets a {@link Snapshot} of the latencies since the last call and resets the
+	 * histogram.
+	 *
+	 * @return the {@link Snapshot}
+	 */
+	protected synchronized Snapshot getAndReset() {
+		var result = new Snapshot(this.count, //
+				this.count == 0 ? 0 : this.sum / this.count, //
+				this.getPercentile(50), //
+				this.getPercentile(99), //
+				this.max);
+		Arrays.fill(this.counts, 0);
+		this.count = 0;
+		this.sum = 0;
+		this.max = 0;
+		return result;
+	}
+
+	private long getPercentile(int percentile) {
+		if (this.count == 0) {
+			return 0;
+		}
+		var rank = (this.count * percentile + 99) / 100;
+		var seen = 0L;
+		for (var bucket = 0; bucket < BOUNDS.length; bucket++) {
+			seen += this.counts[bucket];
+			if (seen >= rank) {
+				return Math.min(BOUNDS[bucket], this.max);
+			}
+		}
+		return this.max;
+	}
+
+}
@@ -0,0 +1,263 @@
+package io.openems.backend.loadgenerator;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+
+import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
+import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
+
+/**
+ * Simulates a fleet of OpenEMS Edges for throughput testing of the Backend.
+ *
+ * <p>
+ * The generator runs inside the Backend under test: it connects
+ * {@link SimulatedEdge}s to the Edge.Websocket and registers itself as
+ * {@link Timedata} service. Every data message carries a sequence number that
+ * is checked when the data arrives in {@link #write(String, TreeBasedTable)}
+ * to measure the ingest latency and to detect dropped messages. Queries are
+ * not answered, so they fall through to the other {@link Timedata} services.
+ */
+@Designate(ocd = Config.class, factory = false)
+@Component(//
+		name = "LoadGenerator", //
+		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.REQUIRE //
+)
+public class LoadGenerator extends AbstractOpenemsBackendComponent implements Timedata {
+
+	/**
+	 * Probe Channel that carries the per-Edge sequence number of a data message.
+	 */
+	protected static final String SEQUENCE_CHANNEL = "_loadGenerator/Sequence";
+
+	private static final int HANDLER_THREADS = 4;
+
+	private final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+	private final List<SimulatedEdge> edges = new ArrayList<>();
+	private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	private final LongAdder sentMessages = new LongAdder();
+	private final LongAdder sentValues = new LongAdder();
+	private final LongAdder sendFailed = new LongAdder();
+	private final LongAdder droppedMessages = new LongAdder();
+	private final LongAdder answeredRequests = new LongAdder();
+
+	private Config config;
+	private ScheduledExecutorService scheduler;
+	private ExecutorService handlerExecutor;
+	private ResourceMonitor resourceMonitor;
+	private long lastReport;
+
+	public LoadGenerator() {
+		super("LoadGenerator");
+	}
+
+	@Activate
+	private void activate(Config config) throws OpenemsException {
+		this.config = config;
+		final URI uri;
+		try {
+			uri = new URI(config.uri());
+		} catch (URISyntaxException e) {
+			throw new OpenemsException("URI [" + config.uri() + "] is invalid: " + e.getMessage());
+		}
+		this.logInfo(this.log, "Activate. Simulating [" + config.numberOfEdges() + "] Edges with ["
+				+ config.channelsPerEdge() + "] Channels against [" + uri + "]");
+
+		this.lastSequences.clear();
+		this.resourceMonitor = new ResourceMonitor();
+		this.lastReport = System.nanoTime();
+		this.scheduler = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+				new ThreadFactoryBuilder().setNameFormat(this.getName() + "-%d").build());
+		this.handlerExecutor = Executors.newFixedThreadPool(HANDLER_THREADS,
+				new ThreadFactoryBuilder().setNameFormat(this.getName() + "-Handler-%d").build());
+
+		var numberOfEdges = Math.max(0, config.numberOfEdges());
+		var rampUpTime = TimeUnit.SECONDS.toMillis(Math.max(0, config.rampUpTime()));
+		for (var i = 0; i < numberOfEdges; i++) {
+			var edge = new SimulatedEdge(this, config.firstEdgeNumber() + i, uri, config);
+			this.edges.add(edge);
+			// open connections evenly within ramp-up time
+			this.scheduler.schedule(() -> this.start(edge), rampUpTime * i / numberOfEdges, TimeUnit.MILLISECONDS);
+		}
+
+		var reportInterval = Math.max(1, config.reportInterval());
+		this.scheduler.scheduleAtFixedRate(this::report, reportInterval, reportInterval, TimeUnit.SECONDS);
+	}
+
+	@Deactivate
+	private void deactivate() {
+		this.logInfo(this.log, "Deactivate");
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.scheduler, 0);
+		this.edges.forEach(SimulatedEdge::stop);
+		this.edges.clear();
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.handlerExecutor, 0);
+	}
+
+	/**
+	 * Starts a {@link SimulatedEdge} and schedules its messages.
+	 *
+	 * @param edge the {@link SimulatedEdge}
+	 */
+	private void start(SimulatedEdge edge) {
+		edge.start();
+
+		// spread the messages of all Edges evenly
+		var random = ThreadLocalRandom.current();
+		var dataInterval = Math.max(1, this.config.dataInterval());
+		this.scheduleAtFixedRate(edge::sendData, random.nextLong(dataInterval), dataInterval);
+
+		var configInterval = TimeUnit.SECONDS.toMillis(this.config.configInterval());
+		if (configInterval > 0) {
+			this.scheduleAtFixedRate(edge::sendConfig, configInterval, configInterval);
+		}
+
+		if (this.config.systemLogsPerMinute() > 0) {
+			var systemLogInterval = Math.max(1, TimeUnit.MINUTES.toMillis(1) / this.config.systemLogsPerMinute());
+			this.scheduleAtFixedRate(edge::sendSystemLog, random.nextLong(systemLogInterval), systemLogInterval);
+		}
+	}
+
+	private void scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+		this.scheduler.scheduleAtFixedRate(() -> {
+			try {
+				task.run();
+			} catch (Throwable t) {
+				// do not cancel the periodic task
+				this.logWarn(this.log, "Simulation failed: " + t.getClass().getSimpleName() + ": " + t.getMessage());
+			}
+		}, initialDelay, period, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Executes a websocket handler of a {@link SimulatedEdge}.
+	 *
+	 * @param command the handler
+	 */
+	protected void execute(Runnable command) {
+		this.handlerExecutor.execute(command);
+	}
+
+	/**
+	 * Called after a message was sent.
+	 *
+	 * @param values the number of Channel values in the message
+	 */
+	protected void onSent(int values) {
+		this.sentMessages.increment();
+		this.sentValues.add(values);
+	}
+
+	/**
+	 * Called if sending a message failed.
+	 */
+	protected void onSendFailed() {
+		this.sendFailed.increment();
+	}
+
+	/**
+	 * Called after a request from the Backend was answered.
+	 */
+	protected void onRequest() {
+		this.answeredRequests.increment();
+	}
+
+	private void report() {
+		var now = System.nanoTime();
+		var seconds = Math.max(0.001, (now - this.lastReport) / 1_000_000_000.);
+		this.lastReport = now;
+		var connected = this.edges.stream() //
+				.filter(SimulatedEdge::isConnected) //
+				.count();
+		var latency = this.latency.getAndReset();
+		this.logInfo(this.log, String.format(
+				"Edges [%d/%d] Sent [%.0f msg/s, %.0f values/s] Received [%.0f msg/s] " //
+						+ "Latency [avg %d ms, p50 %d ms, p99 %d ms, max %d ms] " //
+						+ "Dropped [%d] Send-Failed [%d] Answered-Requests [%d] " //
+						+ "Backend-CPU [%.2f cores] Heap [%d/%d MB]", //
+				connected, this.edges.size(), //
+				this.sentMessages.sumThenReset() / seconds, //
+				this.sentValues.sumThenReset() / seconds, //
+				latency.count() / seconds, //
+				latency.avg(), latency.p50(), latency.p99(), latency.max(), //
+				this.droppedMessages.sumThenReset(), //
+				this.sendFailed.sumThenReset(), //
+				this.answeredRequests.sumThenReset(), //
+				this.resourceMonitor.getBackendCpuCores(), //
+				this.resourceMonitor.getHeapUsed(), this.resourceMonitor.getHeapMax()));
+	}
+
+	@Override
+	public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data) throws OpenemsException {
+		var now = System.currentTimeMillis();
+		for (var entry : data.column(SEQUENCE_CHANNEL).entrySet()) {
+			var value = entry.getValue();
+			if (value == null || !value.isJsonPrimitive()) {
+				continue;
+			}
+			this.latency.add(now - entry.getKey());
+			var sequence = value.getAsLong();
+			var last = this.lastSequences.put(edgeId, sequence);
+			if (last != null && sequence > last + 1) {
+				this.droppedMessages.add(sequence - last - 1);
+			}
+		}
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
+			throws OpenemsNamedException {
+		return null;
+	}
+
+	@Override
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		return null;
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
+			throws OpenemsNamedException {
+		return null;
+	}
+
+	@Override
+	public String id() {
+		return this.config.id();
+	}
+
+}
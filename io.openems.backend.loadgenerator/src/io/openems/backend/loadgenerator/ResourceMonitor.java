@@ -0,0 +1,96 @@
+package io.openems.backend.loadgenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures CPU and heap usage of the JVM the Backend is running in.
+ *
+ * <p>
+ * CPU time of the threads of the load generator itself is not counted, so the
+ * result approximates the load that is caused by the Backend.
+ */
+class ResourceMonitor {
+
+	private static final String[] GENERATOR_THREAD_PREFIXES = { //
+			"LoadGenerator", // own executors and reconnector workers
+			"WebSocketConnectReadThread", // Java-WebSocket client threads
+			"WebSocketWriteThread" //
+	};
+
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+	private Map<Long, Long> lastCpuTimes = new HashMap<>();
+	private long lastNanos = System.nanoTime();
+
+	protected ResourceMonitor() {
+		if (this.threads.isThreadCpuTimeSupported() && !this.threads.isThreadCpuTimeEnabled()) {
+			this.threads.setThreadCpuTimeEnabled(true);
+		}
+		// initialize the CPU times of the existing threads
+		this.getBackendCpuCores();
+	}
+
+	/**
+	 * Gets the CPU usage of all non-generator threads since the last call.
+	 *
+	 * @return the CPU usage in cores, i.e. 1.0 is one fully loaded core; NaN if
+	 *         not supported
+	 */
+	protected synchronized double getBackendCpuCores() {
+		if (!this.threads.isThreadCpuTimeSupported()) {
+			return Double.NaN;
+		}
+		var now = System.nanoTime();
+		var cpuTimes = new HashMap<Long, Long>();
+		var cpu = 0L;
+		for (var info : this.threads.getThreadInfo(this.threads.getAllThreadIds())) {
+			if (info == null || isGeneratorThread(info.getThreadName())) {
+				continue;
+			}
+			var time = this.threads.getThreadCpuTime(info.getThreadId());
+			if (time < 0) {
+				continue;
+			}
+			cpuTimes.put(info.getThreadId(), time);
+			cpu += time - this.lastCpuTimes.getOrDefault(info.getThreadId(), 0L);
+		}
+		var elapsed = Math.max(1, now - this.lastNanos);
+		this.lastCpuTimes = cpuTimes;
+		this.lastNanos = now;
+		return (double) cpu / elapsed;
+	}
+
+	/**
+	 * Gets the used heap memory.
+	 *
+	 * @return the used heap [MB]
+	 */
+	protected long getHeapUsed() {
+		return this.memory.getHeapMemoryUsage().getUsed() / 1024 / 1024;
+	}
+
+	/**
+	 * Gets the maximum heap memory.
+	 *
+	 * @return the maximum heap [MB]; -1 if undefined
+	 */
+	protected long getHeapMax() {
+		var max = this.memory.getHeapMemoryUsage().getMax();
+		return max < 0 ? -1 : max / 1024 / 1024;
+	}
+
+	private static boolean isGeneratorThread(String name) {
+		for (var prefix : GENERATOR_THREAD_PREFIXES) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,257 @@
+package io.openems.backend.loadgenerator;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.jsonrpc.notification.SystemLogNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfig.Component.Channel;
+import io.openems.common.types.EdgeConfig.Component.Channel.ChannelDetailOpenemsType;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.types.SystemLog;
+import io.openems.common.websocket.AbstractWebsocketClient;
+import io.openems.common.websocket.DummyWsData;
+import io.openems.common.websocket.OnClose;
+import io.openems.common.websocket.OnError;
+import io.openems.common.websocket.OnNotification;
+import io.openems.common.websocket.OnOpen;
+import io.openems.common.websocket.OnRequest;
+import io.openems.common.websocket.WsData;
+
+/**
+ * A simulated OpenEMS Edge that is connected to the Edge.Websocket of the
+ * Backend.
+ *
+ * <p>
+ * Every simulated Edge has a number of integer Channels, of which a
+ * configurable share changes per data message. Like a real Edge it sends all
+ * Channels after connecting and in the full data interval. Each data message
+ * carries a sequence number in {@link LoadGenerator#SEQUENCE_CHANNEL}.
+ */
+public class SimulatedEdge extends AbstractWebsocketClient<WsData> {
+
+	private static final int CHANNELS_PER_COMPONENT = 50;
+	private static final String FACTORY_ID = "LoadGenerator.Simulated";
+
+	private final Logger log = LoggerFactory.getLogger(SimulatedEdge.class);
+
+	private final LoadGenerator parent;
+	private final String[] channels;
+	private final int[] values;
+	private final int changedChannelsPercent;
+	private final long fullDataInterval; // [ms]
+	private final EdgeConfig edgeConfig;
+	private final SplittableRandom random;
+
+	private final OnOpen onOpen;
+	private final OnRequest onRequest;
+	private final OnNotification onNotification;
+	private final OnError onError;
+	private final OnClose onClose;
+
+	private volatile boolean sendFullData = true;
+	private long lastFullData = 0;
+	private long sequence = 0;
+	private long systemLogs = 0;
+
+	protected SimulatedEdge(LoadGenerator parent, int number, URI uri, Config config) {
+		super(parent.getName() + ".Edge-" + number, uri, //
+				Map.of("apikey", String.format(config.apikeyFormat(), number)));
+		this.parent = parent;
+		this.changedChannelsPercent = config.changedChannelsPercent();
+		this.fullDataInterval = TimeUnit.SECONDS.toMillis(config.fullDataInterval());
+		this.random = new SplittableRandom(number);
+
+		var numberOfChannels = Math.max(0, config.channelsPerEdge());
+		this.channels = new String[numberOfChannels];
+		this.values = new int[numberOfChannels];
+		var edgeConfig = EdgeConfig.ActualEdgeConfig.create();
+		var componentChannels = new TreeMap<String, Channel>();
+		for (var i = 0; i < numberOfChannels; i++) {
+			var componentId = "component" + i / CHANNELS_PER_COMPONENT;
+			var channelId = "Value" + i % CHANNELS_PER_COMPONENT;
+			this.channels[i] = componentId + "/" + channelId;
+			this.values[i] = this.random.nextInt(10_000);
+			componentChannels.put(channelId, new Channel(channelId, OpenemsType.INTEGER, AccessMode.READ_ONLY, "",
+					Unit.NONE, new ChannelDetailOpenemsType()));
+			if (componentChannels.size() == CHANNELS_PER_COMPONENT || i == numberOfChannels - 1) {
+				edgeConfig.addComponent(componentId, new EdgeConfig.Component(componentId, componentId, FACTORY_ID,
+						new TreeMap<String, JsonElement>(), componentChannels));
+				componentChannels = new TreeMap<>();
+			}
+		}
+		var probeComponentId = LoadGenerator.SEQUENCE_CHANNEL.split("/")[0];
+		var probeChannelId = LoadGenerator.SEQUENCE_CHANNEL.split("/")[1];
+		var probeChannels = new TreeMap<String, Channel>();
+		probeChannels.put(probeChannelId, new Channel(probeChannelId, OpenemsType.LONG, AccessMode.READ_ONLY, "",
+				Unit.NONE, new ChannelDetailOpenemsType()));
+		edgeConfig.addComponent(probeComponentId, new EdgeConfig.Component(probeComponentId, probeComponentId,
+				FACTORY_ID, new TreeMap<String, JsonElement>(), probeChannels));
+		this.edgeConfig = edgeConfig.buildEdgeConfig();
+
+		this.onOpen = (ws, handshake) -> {
+			// Like a real Edge: send the config and all Channels after connecting
+			this.sendFullData = true;
+			this.sendConfig();
+		};
+		this.onRequest = (ws, request) -> {
+			// Answer every request, e.g. subscribeSystemLog or edgeRpc
+			this.parent.onRequest();
+			return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
+		};
+		this.onNotification = (ws, notification) -> {
+			// ignore
+		};
+		this.onError = (ws, ex) -> {
+			this.logWarn(this.log, "Error: " + ex.getMessage());
+		};
+		this.onClose = (ws, code, reason, remote) -> {
+			// reconnecting is handled by AbstractWebsocketClient
+		};
+	}
+
+	/**
+	 * Is this Edge connected?.
+	 *
+	 * @return true if the websocket is open
+	 */
+	protected boolean isConnected() {
+		return this.ws.isOpen();
+	}
+
+	/**
+	 * Sends a {@link TimestampedDataNotification} with the changed Channels; or
+	 * with all Channels if a full data message is due.
+	 */
+	protected void sendData() {
+		if (!this.ws.isOpen()) {
+			return;
+		}
+		var now = System.currentTimeMillis();
+		var isFullData = this.sendFullData || now - this.lastFullData >= this.fullDataInterval;
+		var message = new TimestampedDataNotification();
+		var count = 0;
+		for (var i = 0; i < this.channels.length; i++) {
+			var isChanged = this.random.nextInt(100) < this.changedChannelsPercent;
+			if (isChanged) {
+				this.values[i] += this.random.nextInt(-100, 101);
+			}
+			if (isChanged || isFullData) {
+				message.add(now, this.channels[i], new JsonPrimitive(this.values[i]));
+				count++;
+			}
+		}
+		message.add(now, LoadGenerator.SEQUENCE_CHANNEL, new JsonPrimitive(++this.sequence));
+
+		try {
+			this.sendMessageOrError(message);
+			if (isFullData) {
+				this.sendFullData = false;
+				this.lastFullData = now;
+			}
+			this.parent.onSent(count + 1);
+
+		} catch (OpenemsException e) {
+			// the Backend never saw this sequence number
+			this.sequence--;
+			this.parent.onSendFailed();
+		}
+	}
+
+	/**
+	 * Sends an {@link EdgeConfigNotification}.
+	 */
+	protected void sendConfig() {
+		this.send(new EdgeConfigNotification(this.edgeConfig));
+	}
+
+	/**
+	 * Sends a {@link SystemLogNotification}.
+	 */
+	protected void sendSystemLog() {
+		this.send(new SystemLogNotification(new SystemLog(ZonedDateTime.now(), SystemLog.Level.INFO,
+				SimulatedEdge.class.getName(), "Simulated log message #" + ++this.systemLogs)));
+	}
+
+	private void send(JsonrpcNotification message) {
+		if (!this.ws.isOpen()) {
+			return;
+		}
+		try {
+			this.sendMessageOrError(message);
+			this.parent.onSent(0);
+
+		} catch (OpenemsException e) {
+			this.parent.onSendFailed();
+		}
+	}
+
+	@Override
+	protected OnOpen getOnOpen() {
+		return this.onOpen;
+	}
+
+	@Override
+	protected OnRequest getOnRequest() {
+		return this.onRequest;
+	}
+
+	@Override
+	protected OnNotification getOnNotification() {
+		return this.onNotification;
+	}
+
+	@Override
+	protected OnError getOnError() {
+		return this.onError;
+	}
+
+	@Override
+	protected OnClose getOnClose() {
+		return this.onClose;
+	}
+
+	@Override
+	protected WsData createWsData() {
+		return new DummyWsData();
+	}
+
+	@Override
+	protected void execute(Runnable command) {
+		this.parent.execute(command);
+	}
+
+	@Override
+	protected void logInfo(Logger log, String message) {
+		log.info("[" + this.getName() + "] " + message);
+	}
+
+	@Override
+	protected void logWarn(Logger log, String message) {
+		log.warn("[" + this.getName() + "] " + message);
+	}
+
+	@Override
+	protected void logError(Logger log, String message) {
+		log.error("[" + this.getName() + "] " + message);
+	}
+
+}
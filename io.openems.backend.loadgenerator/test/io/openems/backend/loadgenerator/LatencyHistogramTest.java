@@ -0,0 +1,67 @@
+package io.openems.backend.loadgenerator;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmpty() {
+		var sut = new LatencyHistogram();
+		var snapshot = sut.getAndReset();
+		assertEquals(0, snapshot.count());
+		assertEquals(0, snapshot.avg());
+		assertEquals(0, snapshot.p50());
+		assertEquals(0, snapshot.p99());
+		assertEquals(0, snapshot.max());
+	}
+
+	@Test
+	public void testPercentiles() {
+		var sut = new LatencyHistogram();
+		// 98 x 3 ms, 1 x 40 ms, 1 x 150 ms
+		for (var i = 0; i < 98; i++) {
+			sut.add(3);
+		}
+		sut.add(40);
+		sut.add(150);
+
+		var snapshot = sut.getAndReset();
+		assertEquals(100, snapshot.count());
+		assertEquals((98 * 3 + 40 + 150) / 100, snapshot.avg());
+		// upper bound of the bucket (2, 5]
+		assertEquals(5, snapshot.p50());
+		// upper bound of the bucket (20, 50]
+		assertEquals(50, snapshot.p99());
+		assertEquals(150, snapshot.max());
+
+		// Reset
+		assertEquals(0, sut.getAndReset().count());
+	}
+
+	@Test
+	public void testBoundaries() {
+		var sut = new LatencyHistogram();
+		// Bounds are inclusive
+		sut.add(10);
+		assertEquals(10, sut.getAndReset().p50());
+
+		// Percentiles do not exceed the maximum
+		sut.add(11);
+		assertEquals(11, sut.getAndReset().p99());
+
+		// Negative latencies, e.g. from clock skew, count as zero
+		sut.add(-5);
+		var snapshot = sut.getAndReset();
+		assertEquals(0, snapshot.max());
+		assertEquals(0, snapshot.p50());
+
+		// Latencies beyond the last bound
+		sut.add(120_000);
+		snapshot = sut.getAndReset();
+		assertEquals(120_000, snapshot.p50());
+		assertEquals(120_000, snapshot.max());
+	}
+
+}
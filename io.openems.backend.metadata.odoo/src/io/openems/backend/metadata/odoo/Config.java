@@ -40,6 +40,15 @@ public @interface Config {
 	@AttributeDefinition(name = "Database", description = "The database name")
 	String database();
 
+	@AttributeDefinition(name = "Edge Cache Read-Through", description = "Read unknown Edge-IDs and Apikeys from Postgres asynchronously on a cache miss, once all Edges were cached on startup")
+	boolean edgeCacheReadThrough() default true;
+
+	@AttributeDefinition(name = "Session Cache Size", description = "The maximum number of cached UI sessions. '0' disables the cache.")
+	int sessionCacheSize() default 10000;
+
+	@AttributeDefinition(name = "Session Cache TTL", description = "The time-to-live of a cached UI session in [s]; limits how long Role changes made directly in Odoo may take to apply.")
+	int sessionCacheTtl() default 300;
+
 	String webconsole_configurationFactory_nameHint() default "Metadata.Odoo";
 
 }
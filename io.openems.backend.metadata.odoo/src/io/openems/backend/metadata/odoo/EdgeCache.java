@@ -2,10 +2,12 @@ package io.openems.backend.metadata.odoo;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
@@ -17,32 +19,75 @@ public class EdgeCache {
 
 	public static final int EXPECTED_CACHE_SIZE = 1_000;
 
+	/**
+	 * Do not try to load the same missing Edge more often than once per minute.
+	 */
+	private static final long MISS_RETRY_MILLIS = 60_000;
+
+	/**
+	 * Limits the number of remembered misses, e.g. on a flood of invalid Apikeys.
+	 */
+	private static final int MAX_MISSES = 10_000;
+
 	private final MetadataOdoo parent;
+	private final Clock clock;
 
 	/**
 	 * Map Edge-ID (String) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<String, MyEdge> edgeIdToEdge = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<String, MyEdge> edgeIdToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	/**
-	 * Map Odoo-ID (Integer) to Edge-ID (String). Initialized with expected cache
-	 * size.
+	 * Map Odoo-ID (Integer) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<Integer, String> odooIdToEdgeId = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<Integer, MyEdge> odooIdToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	/**
-	 * Map Apikey (String) to Edge-ID (String). Initialized with expected cache
-	 * size.
+	 * Map Apikey (String) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<String, String> apikeyToEdgeId = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<String, MyEdge> apikeyToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
+
+	/**
+	 * Timestamps of the last cache misses per Field and value.
+	 */
+	private final Map<String, Long> lastMisses = new ConcurrentHashMap<>();
+
+	/**
+	 * Loads an Edge asynchronously on a cache miss; null if read-through is
+	 * disabled.
+	 */
+	private volatile BiConsumer<EdgeDevice, String> missHandler = null;
 
 	public EdgeCache(MetadataOdoo parent) {
+		this(parent, Clock.systemUTC());
+	}
+
+	protected EdgeCache(MetadataOdoo parent, Clock clock) {
 		this.parent = parent;
+		this.clock = clock;
+	}
+
+	/**
+	 * Sets a handler that is called on a cache miss for an Edge-ID or Apikey, e.g.
+	 * to load the Edge from Postgres asynchronously. The caller is never blocked;
+	 * the loaded Edge is available for subsequent calls.
+	 *
+	 * @param missHandler the handler for {@link EdgeDevice#NAME} or
+	 *                    {@link EdgeDevice#APIKEY} and the missing value; null to
+	 *                    disable
+	 */
+	public void setMissHandler(BiConsumer<EdgeDevice, String> missHandler) {
+		this.missHandler = missHandler;
 	}
 
 	/**
 	 * Adds a Edge or Updates an existing Edge from a SQL ResultSet.
 	 *
+	 * <p>
+	 * Writers are serialized; lookups are lock-free. A new Edge is added to the
+	 * Edge-ID index before the other indexes, so every Edge found via Odoo-ID or
+	 * Apikey is also found via its Edge-ID.
+	 *
 	 * @param rs the ResultSet record
 	 * @return the new or updated Edge instance
 	 * @throws SQLException     on error
@@ -65,8 +110,10 @@ public class EdgeCache {
 			// This is new -> create instance of Edge
 			edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, producttype, lastmessage);
 			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
+			this.odooIdToEdge.put(odooId, edge);
+			this.apikeyToEdge.put(apikey, edge);
+			this.lastMisses.remove(missKey(EdgeDevice.NAME, edgeId));
+			this.lastMisses.remove(missKey(EdgeDevice.APIKEY, apikey));
 		} else {
 			// Edge exists -> update information
 			edge.setComment(comment);
@@ -84,8 +131,15 @@ public class EdgeCache {
 	 * @param edgeId the Edge-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromEdgeId(String edgeId) {
-		return this.edgeIdToEdge.get(edgeId);
+	public MyEdge getEdgeFromEdgeId(String edgeId) {
+		if (edgeId == null) {
+			return null;
+		}
+		var edge = this.edgeIdToEdge.get(edgeId);
+		if (edge == null) {
+			this.handleMiss(EdgeDevice.NAME, edgeId);
+		}
+		return edge;
 	}
 
 	/**
@@ -94,12 +148,8 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromOdooId(int odooId) {
-		var edgeId = this.odooIdToEdgeId.get(odooId);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeFromOdooId(int odooId) {
+		return this.odooIdToEdge.get(odooId);
 	}
 
 	/**
@@ -108,12 +158,42 @@ public class EdgeCache {
 	 * @param apikey the Apikey
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeForApikey(String apikey) {
-		var edgeId = this.apikeyToEdgeId.get(apikey);
-		if (edgeId == null) {
+	public MyEdge getEdgeForApikey(String apikey) {
+		if (apikey == null) {
 			return null;
 		}
-		return this.getEdgeFromEdgeId(edgeId);
+		var edge = this.apikeyToEdge.get(apikey);
+		if (edge == null) {
+			this.handleMiss(EdgeDevice.APIKEY, apikey);
+		}
+		return edge;
+	}
+
+	private void handleMiss(EdgeDevice field, String value) {
+		var missHandler = this.missHandler;
+		if (missHandler == null) {
+			return;
+		}
+		var key = missKey(field, value);
+		var now = this.clock.millis();
+		var last = this.lastMisses.get(key);
+		if (last != null && now - last < MISS_RETRY_MILLIS) {
+			return;
+		}
+		if (this.lastMisses.size() >= MAX_MISSES) {
+			this.lastMisses.clear();
+		}
+		// Only one caller triggers the handler
+		var isTriggered = last == null //
+				? this.lastMisses.putIfAbsent(key, now) == null //
+				: this.lastMisses.replace(key, last, now);
+		if (isTriggered) {
+			missHandler.accept(field, value);
+		}
+	}
+
+	private static String missKey(EdgeDevice field, String value) {
+		return field.id() + ":" + value;
 	}
 
 	/**
@@ -10,7 +10,9 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -27,6 +29,7 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -38,12 +41,14 @@ import io.openems.backend.common.metadata.EdgeHandler;
 import io.openems.backend.common.metadata.Mailer;
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.metadata.User;
+import io.openems.backend.metadata.odoo.SessionCache.Session;
 import io.openems.backend.metadata.odoo.odoo.FieldValue;
 import io.openems.backend.metadata.odoo.odoo.OdooHandler;
 import io.openems.backend.metadata.odoo.odoo.OdooUserRole;
 import io.openems.backend.metadata.odoo.postgres.PostgresHandler;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.channel.Level;
+import io.openems.common.event.EventBuilder;
 import io.openems.common.event.EventReader;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -86,6 +91,12 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 	protected OdooHandler odooHandler = null;
 	protected PostgresHandler postgresHandler = null;
 
+	/**
+	 * Caches authenticated sessions; null if disabled.
+	 */
+	private SessionCache sessionCache = null;
+	private ScheduledExecutorService debugLogExecutor = null;
+
 	public MetadataOdoo() {
 		super("Metadata.Odoo");
 
@@ -101,6 +112,14 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 				+ (config.pgPassword() != null ? "ok" : "NOT_SET") + "] " //
 				+ "Database [" + config.database() + "]");
 
+		if (config.sessionCacheSize() > 0 && config.sessionCacheTtl() > 0) {
+			this.sessionCache = new SessionCache(config.sessionCacheSize(), config.sessionCacheTtl());
+			this.debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
+			this.debugLogExecutor.scheduleWithFixedDelay(() -> {
+				this.logInfo(this.log, "[monitor] " + this.sessionCache.debugLog());
+			}, 60, 60, TimeUnit.SECONDS);
+		}
+
 		this.odooHandler = new OdooHandler(this, this.edgeCache, config);
 		this.postgresHandler = new PostgresHandler(this, this.edgeCache, config, () -> {
 			this.setInitialized();
@@ -111,6 +130,9 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 	private void deactivate() {
 		this.logInfo(this.log, "Deactivate");
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		if (this.debugLogExecutor != null) {
+			ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
+		}
 		if (this.postgresHandler != null) {
 			this.postgresHandler.deactivate();
 		}
@@ -130,6 +152,15 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 	 */
 	@Override
 	public User authenticate(String sessionId) throws OpenemsNamedException {
+		var session = this.sessionCache != null //
+				? this.sessionCache.get(sessionId, this::authenticateSession) //
+				: this.authenticateSession(sessionId);
+		var user = session.toUser();
+		this.users.put(user.getId(), user);
+		return user;
+	}
+
+	private Session authenticateSession(String sessionId) throws OpenemsNamedException {
 		var result = this.odooHandler.authenticateSession(sessionId);
 
 		// Parse Result
@@ -143,21 +174,21 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 		var jUser = JsonUtils.getAsJsonObject(result, "user");
 		var odooUserId = JsonUtils.getAsInt(jUser, "id");
 
-		var user = new MyUser(//
+		return new Session(//
 				odooUserId, //
 				JsonUtils.getAsString(jUser, "login"), //
 				JsonUtils.getAsString(jUser, "name"), //
 				sessionId, //
 				Language.from(JsonUtils.getAsString(jUser, "language")), //
 				Role.getRole(JsonUtils.getAsString(jUser, "global_role")), //
-				roles);
-
-		this.users.put(user.getId(), user);
-		return user;
+				ImmutableSortedMap.copyOf(roles));
 	}
 
 	@Override
 	public void logout(User user) {
+		if (this.sessionCache != null) {
+			this.sessionCache.invalidate(user.getToken());
+		}
 		this.odooHandler.logout(user.getToken());
 	}
 
@@ -230,6 +261,9 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 	@Override
 	public void addEdgeToUser(User user, Edge edge) throws OpenemsNamedException {
 		this.odooHandler.assignEdgeToUser((MyUser) user, (MyEdge) edge, OdooUserRole.INSTALLER);
+		if (this.sessionCache != null) {
+			this.sessionCache.invalidateUser(user.getId());
+		}
 	}
 
 	@Override
@@ -254,7 +288,14 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 
 	@Override
 	public int submitSetupProtocol(User user, JsonObject jsonObject) throws OpenemsNamedException {
-		return this.odooHandler.submitSetupProtocol((MyUser) user, jsonObject);
+		var protocolId = this.odooHandler.submitSetupProtocol((MyUser) user, jsonObject);
+		if (this.sessionCache != null) {
+			// The Edge was assigned to the customer as OWNER
+			var customerLogin = JsonUtils.getAsString(JsonUtils.getAsJsonObject(jsonObject, "customer"), "email")
+					.toLowerCase();
+			this.sessionCache.invalidateUser(customerLogin);
+		}
+		return protocolId;
 	}
 
 	@Override
@@ -411,9 +452,18 @@ public class MetadataOdoo extends AbstractMetadata implements Metadata, Mailer,
 		return this.odooHandler.getUserAlertingSettings(edgeId, userId);
 	}
 
+	@Override
+	public Map<String, List<AlertingSetting>> getUserAlertingSettings(Collection<String> edgeIds)
+			throws OpenemsException {
+		return this.odooHandler.getUserAlertingSettings(edgeIds);
+	}
+
 	@Override
 	public void setUserAlertingSettings(User user, String edgeId, List<AlertingSetting> users) throws OpenemsException {
 		this.odooHandler.setUserAlertingSettings((MyUser) user, edgeId, users);
+		EventBuilder.from(this.eventAdmin, Metadata.Events.AFTER_SET_USER_ALERTING_SETTINGS) //
+				.addArg(Metadata.Events.AfterSetUserAlertingSettings.EDGE_ID, edgeId) //
+				.post();
 	}
 
 	@Override
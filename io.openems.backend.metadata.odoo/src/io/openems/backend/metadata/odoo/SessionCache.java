@@ -0,0 +1,151 @@
+package io.openems.backend.metadata.odoo;
+
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.openems.backend.common.metadata.User;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.session.Language;
+import io.openems.common.session.Role;
+
+/**
+ * Bounded cache for {@link User}s authenticated by an Odoo Session-ID.
+ *
+ * <p>
+ * The cache holds the immutable result of the authentication as
+ * {@link Session}; every authentication creates its own {@link MyUser} from
+ * it, as {@link User}s are modified on Role updates. Concurrent lookups of the same Session-ID, e.g. of all browser tabs of a
+ * User reconnecting after a Backend restart, wait for one single request to
+ * Odoo. Failed authentications are not cached. Entries expire after a TTL and
+ * are invalidated explicitly on logout and on changes of the Roles of a User.
+ */
+public class SessionCache {
+
+	/**
+	 * The result of an authentication at Odoo.
+	 */
+	public static record Session(int odooId, String login, String name, String sessionId, Language language,
+			Role globalRole, ImmutableSortedMap<String, Role> roles) {
+
+		/**
+		 * Creates a new {@link MyUser} for this {@link Session}.
+		 *
+		 * @return the {@link MyUser}
+		 */
+		public MyUser toUser() {
+			return new MyUser(this.odooId, this.login, this.name, this.sessionId, this.language, this.globalRole,
+					new TreeMap<>(this.roles));
+		}
+	}
+
+	/**
+	 * Authenticates a Session-ID on a cache miss.
+	 */
+	@FunctionalInterface
+	public static interface Loader {
+
+		/**
+		 * Authenticates the Session-ID.
+		 *
+		 * @param sessionId the Session-ID
+		 * @return the {@link Session}
+		 * @throws OpenemsNamedException on error
+		 */
+		public Session load(String sessionId) throws OpenemsNamedException;
+	}
+
+	private final Cache<String, Session> cache;
+	private CacheStats lastStats;
+
+	/**
+	 * Creates a {@link SessionCache}.
+	 *
+	 * @param maxSize    the maximum number of cached sessions
+	 * @param ttlSeconds the time-to-live of a cached session
+	 */
+	public SessionCache(int maxSize, int ttlSeconds) {
+		this.cache = CacheBuilder.newBuilder() //
+				.maximumSize(maxSize) //
+				.expireAfterWrite(ttlSeconds, TimeUnit.SECONDS) //
+				.recordStats() //
+				.build();
+		this.lastStats = this.cache.stats();
+	}
+
+	/**
+	 * Gets the {@link Session} for a Session-ID from the cache or authenticates
+	 * it.
+	 *
+	 * @param sessionId the Session-ID
+	 * @param loader    the {@link Loader}
+	 * @return the {@link Session}
+	 * @throws OpenemsNamedException on error
+	 */
+	public Session get(String sessionId, Loader loader) throws OpenemsNamedException {
+		try {
+			return this.cache.get(sessionId, () -> loader.load(sessionId));
+
+		} catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+			if (e.getCause() instanceof OpenemsNamedException one) {
+				throw one;
+			}
+			throw new OpenemsException("Unable to authenticate session: " + e.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Invalidates a cached session, e.g. on logout.
+	 *
+	 * @param sessionId the Session-ID
+	 */
+	public void invalidate(String sessionId) {
+		this.cache.invalidate(sessionId);
+	}
+
+	/**
+	 * Invalidates all cached sessions of a {@link User}, e.g. after a change of
+	 * its Roles.
+	 *
+	 * @param userId the User-ID
+	 */
+	public void invalidateUser(String userId) {
+		this.cache.asMap().values().removeIf(session -> session.login.equals(userId));
+	}
+
+	/**
+	 * Gets the number of cached sessions.
+	 *
+	 * @return the number of sessions
+	 */
+	public long size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Gets a debug log with the cache metrics since the last call.
+	 *
+	 * @return the debug log
+	 */
+	public synchronized String debugLog() {
+		var stats = this.cache.stats();
+		var delta = stats.minus(this.lastStats);
+		this.lastStats = stats;
+		return "Session-Cache: Entries [" + this.cache.size() + "] " //
+				+ "Hits [" + delta.hitCount() + "] " //
+				+ "Misses [" + delta.missCount() + "] " //
+				+ "Hit-Rate [" + Math.round(delta.hitRate() * 100) + "%] " //
+				+ "Odoo-Requests [" + delta.loadCount() + "] " //
+				+ "Odoo-Failed [" + delta.loadExceptionCount() + "] " //
+				+ "Odoo-Latency [" + TimeUnit.NANOSECONDS.toMillis((long) delta.averageLoadPenalty()) + "ms]";
+	}
+
+}
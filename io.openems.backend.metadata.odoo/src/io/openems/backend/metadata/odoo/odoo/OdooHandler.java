@@ -3,6 +3,7 @@ package io.openems.backend.metadata.odoo.odoo;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,12 @@ import io.openems.common.utils.PasswordUtils;
 
 public class OdooHandler {
 
+	/**
+	 * Maximum number of Edges per query in
+	 * {@link #getUserAlertingSettings(Collection)}.
+	 */
+	private static final int ALERTING_SETTINGS_BATCH_SIZE = 500;
+
 	protected final MetadataOdoo parent;
 	private final EdgeCache edgeCache;
 
@@ -986,28 +993,99 @@ public class OdooHandler {
 		// create result list;
 		var result = new ArrayList<AlertingSetting>(edgeUsers.length);
 		for (var edgeUser : edgeUsers) {
-			var userIdsArr = OdooUtils.getAs(Field.EdgeDeviceUserRole.USER_ODOO_ID, edgeUser, Object[].class);
-			if (userIdsArr.length != 2) {
-				this.parent.logWarn(this.log, "invalid dataset for EdgeUser[" + userIdsArr + ']');
-			} else {
-				var userOdooId = (Integer) userIdsArr[0];
-
-				if (usersMap.containsKey(userOdooId)) {
-					var edgeUserId = OdooUtils.getAs(Field.EdgeDeviceUserRole.ID, edgeUser, Integer.class);
-					var login = OdooUtils.getAs(Field.User.LOGIN, usersMap.get(userOdooId), String.class);
-					var role = OdooUtils.getAs(Field.EdgeDeviceUserRole.ROLE, edgeUser, String.class);
-					var timeToWait = OdooUtils.getAs(Field.EdgeDeviceUserRole.TIME_TO_WAIT, edgeUser, Integer.class);
-					var lastNotificationStr = OdooUtils.getAsOrElse(Field.EdgeDeviceUserRole.LAST_NOTIFICATION,
-							edgeUser, String.class, null);
-					var lastNotification = OdooUtils.DateTime.stringToDateTime(lastNotificationStr);
-					result.add(
-							new AlertingSetting(edgeUserId, login, Role.getRole(role), lastNotification, timeToWait));
+			var setting = this.toAlertingSetting(edgeUser, usersMap);
+			if (setting != null) {
+				result.add(setting);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get all alerting settings for the specified edges in batched queries.
+	 *
+	 * @param edgeIds IDs of Edges
+	 * @return alerting settings per Edge-ID; Edges without settings are missing
+	 * @throws OpenemsException on error
+	 */
+	public Map<String, List<AlertingSetting>> getUserAlertingSettings(Collection<String> edgeIds)
+			throws OpenemsException {
+		var result = new HashMap<String, List<AlertingSetting>>();
+		for (var chunk : Lists.partition(List.copyOf(edgeIds), ALERTING_SETTINGS_BATCH_SIZE)) {
+			// map from Odoo Device-ID to Edge-ID
+			var devices = OdooUtils.searchRead(this.credentials, Field.EdgeDevice.ODOO_MODEL, //
+					new Field[] { Field.EdgeDevice.ID, Field.EdgeDevice.NAME }, //
+					new Domain(Field.EdgeDevice.NAME, Operator.IN, chunk.toArray()));
+			var edgeIdsMap = new HashMap<Integer, String>(devices.length);
+			for (var device : devices) {
+				edgeIdsMap.put(OdooUtils.getAs(Field.EdgeDevice.ID, device, Integer.class),
+						OdooUtils.getAs(Field.EdgeDevice.NAME, device, String.class));
+			}
+			if (edgeIdsMap.isEmpty()) {
+				continue;
+			}
+
+			// Get all Edge Users of these Devices
+			var edgeUsers = OdooUtils.searchRead(this.credentials, Field.EdgeDeviceUserRole.ODOO_MODEL, //
+					new Field[] { //
+							Field.EdgeDeviceUserRole.ID, //
+							Field.EdgeDeviceUserRole.DEVICE_ODOO_ID, //
+							Field.EdgeDeviceUserRole.USER_ODOO_ID, //
+							Field.EdgeDeviceUserRole.ROLE, //
+							Field.EdgeDeviceUserRole.TIME_TO_WAIT, //
+							Field.EdgeDeviceUserRole.LAST_NOTIFICATION //
+					}, new Domain(Field.EdgeDeviceUserRole.DEVICE_ODOO_ID, Operator.IN,
+							edgeIdsMap.keySet().toArray()));
+
+			// read all login fields for the distinct user ids
+			var userIds = Arrays.stream(edgeUsers) //
+					.map(e -> OdooUtils.getAs(Field.EdgeDeviceUserRole.USER_ODOO_ID, e, Object[].class)) //
+					.filter(e -> e != null && e.length == 2) //
+					.map(e -> (Integer) e[0]) //
+					.distinct() //
+					.toArray(Integer[]::new);
+			var users = OdooUtils.readMany(this.credentials, Field.User.ODOO_MODEL, userIds, Field.User.LOGIN);
+			var usersMap = new HashMap<Integer, Map<String, Object>>(users.length);
+			for (var user : users) {
+				usersMap.put((Integer) user.get("id"), user);
+			}
+
+			for (var edgeUser : edgeUsers) {
+				var deviceIdArr = OdooUtils.getAs(Field.EdgeDeviceUserRole.DEVICE_ODOO_ID, edgeUser, Object[].class);
+				if (deviceIdArr == null || deviceIdArr.length != 2) {
+					continue;
+				}
+				var edgeId = edgeIdsMap.get((Integer) deviceIdArr[0]);
+				var setting = this.toAlertingSetting(edgeUser, usersMap);
+				if (edgeId != null && setting != null) {
+					result.computeIfAbsent(edgeId, e -> new ArrayList<>()).add(setting);
 				}
 			}
 		}
 		return result;
 	}
 
+	private AlertingSetting toAlertingSetting(Map<String, Object> edgeUser,
+			Map<Integer, Map<String, Object>> usersMap) {
+		var userIdsArr = OdooUtils.getAs(Field.EdgeDeviceUserRole.USER_ODOO_ID, edgeUser, Object[].class);
+		if (userIdsArr == null || userIdsArr.length != 2) {
+			this.parent.logWarn(this.log, "invalid dataset for EdgeUser[" + userIdsArr + ']');
+			return null;
+		}
+		var userOdooId = (Integer) userIdsArr[0];
+		if (!usersMap.containsKey(userOdooId)) {
+			return null;
+		}
+		var edgeUserId = OdooUtils.getAs(Field.EdgeDeviceUserRole.ID, edgeUser, Integer.class);
+		var login = OdooUtils.getAs(Field.User.LOGIN, usersMap.get(userOdooId), String.class);
+		var role = OdooUtils.getAs(Field.EdgeDeviceUserRole.ROLE, edgeUser, String.class);
+		var timeToWait = OdooUtils.getAs(Field.EdgeDeviceUserRole.TIME_TO_WAIT, edgeUser, Integer.class);
+		var lastNotificationStr = OdooUtils.getAsOrElse(Field.EdgeDeviceUserRole.LAST_NOTIFICATION, edgeUser,
+				String.class, null);
+		var lastNotification = OdooUtils.DateTime.stringToDateTime(lastNotificationStr);
+		return new AlertingSetting(edgeUserId, login, Role.getRole(role), lastNotification, timeToWait);
+	}
+
 	/**
 	 * Update or create the alerting setting for the given edge und list of users.
 	 *
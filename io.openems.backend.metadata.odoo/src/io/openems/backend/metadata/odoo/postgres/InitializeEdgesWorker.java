@@ -3,8 +3,11 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +20,12 @@ import io.openems.common.utils.ThreadPoolUtils;
 
 public class InitializeEdgesWorker {
 
+	/**
+	 * Maximum number of queued single Edge lookups; further lookups are discarded
+	 * and retried on a later cache miss.
+	 */
+	private static final int READ_EDGE_QUEUE_SIZE = 100;
+
 	private final Logger log = LoggerFactory.getLogger(InitializeEdgesWorker.class);
 	protected final PostgresHandler parent;
 	private final HikariDataSource dataSource;
@@ -27,6 +36,12 @@ public class InitializeEdgesWorker {
 	 */
 	private final ExecutorService executor = Executors.newSingleThreadExecutor();
 
+	/**
+	 * Executor for single Edge lookups on a cache miss.
+	 */
+	private final ExecutorService readEdgeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(READ_EDGE_QUEUE_SIZE), new ThreadPoolExecutor.DiscardPolicy());
+
 	public InitializeEdgesWorker(PostgresHandler parent, HikariDataSource dataSource, Runnable onFinished) {
 		this.parent = parent;
 		this.dataSource = dataSource;
@@ -51,12 +66,39 @@ public class InitializeEdgesWorker {
 		});
 	}
 
+	/**
+	 * Reads a single Edge from Postgres asynchronously, e.g. on a cache miss.
+	 *
+	 * @param field the {@link EdgeDevice} field to query, i.e. Edge-ID or Apikey
+	 * @param value the value
+	 */
+	public void readEdge(EdgeDevice field, String value) {
+		if (this.readEdgeExecutor.isShutdown()) {
+			return;
+		}
+		this.readEdgeExecutor.execute(() -> {
+			try (var con = this.dataSource.getConnection(); //
+					var pst = this.psQueryEdge(con, field)) {
+				pst.setString(1, value);
+				try (var rs = pst.executeQuery()) {
+					while (rs.next()) {
+						var edge = this.parent.edgeCache.addOrUpdate(rs);
+						this.parent.logInfo(this.log, "Read Edge [" + edge.getId() + "] from Postgres");
+					}
+				}
+			} catch (Exception e) {
+				this.logError("Unable to read Edge for " + field.id() + ". ", e);
+			}
+		});
+	}
+
 	/**
 	 * Stops the {@link InitializeEdgesWorker}.
 	 */
 	public synchronized void stop() {
-		// Shutdown executor
+		// Shutdown executors
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.readEdgeExecutor, 5);
 	}
 
 	private void markAllEdgesAsOffline(Connection con) {
@@ -114,6 +156,22 @@ public class InitializeEdgesWorker {
 						+ ";");
 	}
 
+	/**
+	 * SELECT {} FROM {edge.device} WHERE {field} = ?;.
+	 *
+	 * @param connection the {@link Connection}
+	 * @param field      the {@link EdgeDevice} field
+	 * @return the {@link PreparedStatement}
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryEdge(Connection connection, EdgeDevice field) throws SQLException {
+		return connection.prepareStatement(//
+				"SELECT " + Field.getSqlQueryFields(EdgeDevice.values()) //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ " WHERE " + field.id() + " = ?" //
+						+ ";");
+	}
+
 	/**
 	 * UPDATE {} SET openems_is_connected = FALSE;.
 	 *
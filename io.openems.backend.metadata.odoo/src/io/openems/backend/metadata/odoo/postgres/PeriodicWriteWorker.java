@@ -3,10 +3,12 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -75,35 +77,50 @@ public class PeriodicWriteWorker {
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
 	}
 
-	private final LinkedBlockingQueue<Integer> lastMessageOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOnlineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOfflineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateOk = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateInfo = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateWarning = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateFault = new LinkedBlockingQueue<>();
+	/*
+	 * Dirty-Sets per field. Every Edge is contained at most once with its latest
+	 * value, i.e. memory is bounded by the number of Edges.
+	 */
+	private final Set<Integer> lastMessageOdooIds = ConcurrentHashMap.newKeySet();
+	private final ConcurrentHashMap<Integer, Boolean> isConnectedOdooIds = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Integer, Level> sumStateOdooIds = new ConcurrentHashMap<>();
 
 	private final Consumer<PgEdgeHandler> task = edge -> {
-		if (PeriodicWriteWorker.DEBUG_MODE) {
-			this.debugLog();
-		}
+		var start = System.nanoTime();
 
-		try {
-			// Last Message
-			edge.updateLastMessage(drainToSet(this.lastMessageOdooIds));
+		// Every field is drained right before its own update; on error the entries
+		// are kept for the next run
 
-			// Online/Offline
-			edge.updateOpenemsIsConnected(drainToSet(this.isOfflineOdooIds), false);
-			edge.updateOpenemsIsConnected(drainToSet(this.isOnlineOdooIds), true);
+		// Last Message
+		var lastMessage = drain(this.lastMessageOdooIds);
+		try {
+			edge.updateLastMessage(lastMessage);
+		} catch (SQLException e) {
+			this.lastMessageOdooIds.addAll(lastMessage);
+			this.log.error("Unable to update LastMessage: " + e.getMessage());
+		}
 
-			// Sum-State
-			edge.updateSumState(drainToSet(this.sumStateOk), Level.OK);
-			edge.updateSumState(drainToSet(this.sumStateInfo), Level.INFO);
-			edge.updateSumState(drainToSet(this.sumStateWarning), Level.WARNING);
-			edge.updateSumState(drainToSet(this.sumStateFault), Level.FAULT);
+		// Online/Offline
+		var isConnected = drain(this.isConnectedOdooIds);
+		try {
+			edge.updateOpenemsIsConnected(isConnected);
+		} catch (SQLException e) {
+			restore(this.isConnectedOdooIds, isConnected);
+			this.log.error("Unable to update IsConnected: " + e.getMessage());
+		}
 
+		// Sum-State
+		var sumState = drain(this.sumStateOdooIds);
+		try {
+			edge.updateSumState(sumState);
 		} catch (SQLException e) {
-			this.log.error("Unable to execute WriteWorker task: " + e.getMessage());
+			restore(this.sumStateOdooIds, sumState);
+			this.log.error("Unable to update SumState: " + e.getMessage());
+		}
+
+		if (PeriodicWriteWorker.DEBUG_MODE) {
+			this.debugLog(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lastMessage.size(),
+					isConnected.size(), sumState.size());
 		}
 	};
 
@@ -123,12 +140,7 @@ public class PeriodicWriteWorker {
 	 * @param isOnline true if online, false if offline
 	 */
 	public void onSetOnline(MyEdge edge, boolean isOnline) {
-		var odooId = edge.getOdooId();
-		if (isOnline) {
-			this.isOnlineOdooIds.add(odooId);
-		} else {
-			this.isOfflineOdooIds.add(odooId);
-		}
+		this.isConnectedOdooIds.put(edge.getOdooId(), isOnline);
 	}
 
 	/**
@@ -138,48 +150,74 @@ public class PeriodicWriteWorker {
 	 * @param sumState Sum-State {@link Level}
 	 */
 	public void onSetSumState(MyEdge edge, Level sumState) {
-		var odooId = edge.getOdooId();
-		switch (sumState) {
-		case OK:
-			this.sumStateOk.add(odooId);
-			break;
-		case INFO:
-			this.sumStateInfo.add(odooId);
-			break;
-		case WARNING:
-			this.sumStateWarning.add(odooId);
-			break;
-		case FAULT:
-			this.sumStateFault.add(odooId);
-			break;
+		this.sumStateOdooIds.put(edge.getOdooId(), sumState);
+	}
+
+	/**
+	 * Moves all entries of a concurrent Dirty-Set to a new Set. This is
+	 * thread-safe; entries that are added concurrently are either drained or kept
+	 * for the next call.
+	 * 
+	 * @param dirty the concurrent Dirty-Set
+	 * @return the drained entries
+	 */
+	protected static Set<Integer> drain(Set<Integer> dirty) {
+		var result = new HashSet<Integer>(dirty.size());
+		for (var odooId : dirty) {
+			if (dirty.remove(odooId)) {
+				result.add(odooId);
+			}
 		}
+		return result;
 	}
 
 	/**
-	 * Moves all entries of a {@link LinkedBlockingQueue} to a Set and clears the
-	 * queue. This is thread-safe.
+	 * Moves all entries of a concurrent Dirty-Map to a new Map. This is
+	 * thread-safe; an entry that is updated concurrently is kept with its latest
+	 * value for the next call.
 	 * 
-	 * @param queue the {@link LinkedBlockingQueue}
-	 * @return the {@link Set}
+	 * @param <T>   the type of the value
+	 * @param dirty the concurrent Dirty-Map
+	 * @return the drained entries
 	 */
-	protected static Set<Integer> drainToSet(LinkedBlockingQueue<Integer> queue) {
-		Set<Integer> result = new HashSet<>(queue.size());
-		queue.drainTo(result);
+	protected static <T> Map<Integer, T> drain(ConcurrentHashMap<Integer, T> dirty) {
+		var result = new HashMap<Integer, T>(dirty.size());
+		for (var entry : dirty.entrySet()) {
+			if (dirty.remove(entry.getKey(), entry.getValue())) {
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
 		return result;
 	}
 
+	/**
+	 * Puts drained entries back into a concurrent Dirty-Map, e.g. after a failed
+	 * update. Entries that were updated in the meantime keep their latest value.
+	 * 
+	 * @param <T>     the type of the value
+	 * @param dirty   the concurrent Dirty-Map
+	 * @param drained the drained entries
+	 */
+	protected static <T> void restore(ConcurrentHashMap<Integer, T> dirty, Map<Integer, T> drained) {
+		drained.forEach(dirty::putIfAbsent);
+	}
+
 	/*
 	 * From here required for DEBUG_MODE
 	 */
 	private LocalDateTime lastExecute = null;
 
-	private synchronized void debugLog() {
+	private synchronized void debugLog(long flushMillis, int lastMessage, int isConnected, int sumState) {
 		var now = LocalDateTime.now();
+		var b = new StringBuilder("PeriodicWriteWorker. ");
 		if (this.lastExecute != null) {
-			this.parent.logInfo(this.log, "PeriodicWriteWorker. " //
-					+ "Time since last run: [" + ChronoUnit.SECONDS.between(this.lastExecute, now) + "s]" //
-			);
+			b.append("Time since last run: [" + ChronoUnit.SECONDS.between(this.lastExecute, now) + "s] ");
 		}
+		b.append("Flush: [" + flushMillis + "ms] ") //
+				.append("LastMessage: [" + lastMessage + "] ") //
+				.append("IsConnected: [" + isConnected + "] ") //
+				.append("SumState: [" + sumState + "]");
+		this.parent.logInfo(this.log, b.toString());
 		this.lastExecute = now;
 	}
 }
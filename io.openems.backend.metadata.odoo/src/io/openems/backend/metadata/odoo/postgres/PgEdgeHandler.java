@@ -5,6 +5,8 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -133,27 +135,29 @@ public final class PgEdgeHandler {
 	}
 
 	/**
-	 * Updates the OpenemsIsConnected field for multiple Edge-IDs.
+	 * Updates the OpenemsIsConnected field for multiple Edge-IDs in one
+	 * statement.
 	 * 
-	 * @param odooIds     the Odoo-IDs
-	 * @param isConnected true if online; false if offline
+	 * @param odooIds map of Odoo-ID to true if online; false if offline
 	 * @throws SQLException on error
 	 */
-	public void updateOpenemsIsConnected(Set<Integer> odooIds, boolean isConnected) throws SQLException {
+	public void updateOpenemsIsConnected(Map<Integer, Boolean> odooIds) throws SQLException {
 		if (odooIds.isEmpty()) {
 			return;
 		}
 
+		var onlineIds = odooIds.entrySet().stream() //
+				.filter(Entry::getValue) //
+				.map(e -> String.valueOf(e.getKey())) //
+				.collect(Collectors.joining(","));
 		try (var con = this.dataSource.getConnection(); //
 				var st = con.createStatement()) {
 			st.executeUpdate(new StringBuilder() //
 					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
 					.append(" SET ").append(Field.EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = ")
-					.append(isConnected ? "TRUE" : "FALSE") //
+					.append(onlineIds.isEmpty() ? "FALSE" : "id IN (" + onlineIds + ")") //
 					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
+					.append(joinIds(odooIds.keySet())) //
 					.append(")") //
 					.toString());
 		}
@@ -186,30 +190,35 @@ public final class PgEdgeHandler {
 	}
 
 	/**
-	 * Updates the Sum-State field for multiple Edge-IDs.
+	 * Updates the Sum-State field for multiple Edge-IDs in one statement.
 	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @param level   the Sum-State {@link Level}
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
+	 * @param odooIds map of Odoo-ID to Sum-State {@link Level}
+	 * @throws SQLException on error
 	 */
-	public void updateSumState(Set<Integer> odooIds, Level level) throws SQLException {
+	public void updateSumState(Map<Integer, Level> odooIds) throws SQLException {
 		if (odooIds.isEmpty()) {
 			return;
 		}
 
+		var sql = new StringBuilder() //
+				.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
+				.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = CASE id");
+		for (var entry : odooIds.entrySet()) {
+			sql.append(" WHEN ").append(entry.getKey()) //
+					.append(" THEN '").append(entry.getValue().getName().toLowerCase()).append("'");
+		}
+		sql.append(" END WHERE id IN (") //
+				.append(joinIds(odooIds.keySet())) //
+				.append(")");
 		try (var con = this.dataSource.getConnection(); //
 				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = '")
-					.append(level.getName().toLowerCase()) //
-					.append("' WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+			st.executeUpdate(sql.toString());
 		}
 	}
-}
\ No newline at end of file
+
+	private static String joinIds(Set<Integer> odooIds) {
+		return odooIds.stream() //
+				.map(String::valueOf) //
+				.collect(Collectors.joining(","));
+	}
+}
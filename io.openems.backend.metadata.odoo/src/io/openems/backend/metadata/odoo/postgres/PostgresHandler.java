@@ -33,6 +33,10 @@ public class PostgresHandler {
 		this.dataSource = this.getDataSource(config);
 		this.edge = new PgEdgeHandler(this.dataSource);
 		this.initializeEdgesWorker = new InitializeEdgesWorker(this, this.dataSource, () -> {
+			// Read-through only after all Edges were read, i.e. a miss is really missing
+			if (config.edgeCacheReadThrough()) {
+				this.enableReadThrough();
+			}
 			onInitialized.run();
 		});
 		this.initializeEdgesWorker.start();
@@ -45,6 +49,7 @@ public class PostgresHandler {
 	 */
 	public void deactivate() {
 		this.initializeEdgesWorker.stop();
+		this.edgeCache.setMissHandler(null);
 		this.periodicWriteWorker.stop();
 	}
 
@@ -58,6 +63,10 @@ public class PostgresHandler {
 		return Optional.ofNullable(this.edgeCache.getEdgeForApikey(apikey));
 	}
 
+	private void enableReadThrough() {
+		this.edgeCache.setMissHandler(this.initializeEdgesWorker::readEdge);
+	}
+
 	public PeriodicWriteWorker getPeriodicWriteWorker() {
 		return this.periodicWriteWorker;
 	}
@@ -0,0 +1,190 @@
+package io.openems.backend.metadata.odoo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.backend.metadata.odoo.Field.EdgeDevice;
+
+public class EdgeCacheTest {
+
+	private static class MyClock extends Clock {
+
+		private Instant instant = Instant.ofEpochSecond(1577836800);
+
+		public void leap(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+	}
+
+	private static ResultSet createResultSet(int odooId, String edgeId, String apikey, String comment) {
+		var strings = Map.of(//
+				EdgeDevice.NAME.index(), edgeId, //
+				EdgeDevice.APIKEY.index(), apikey, //
+				EdgeDevice.COMMENT.index(), comment);
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getInt":
+						if ((int) args[0] == EdgeDevice.ID.index()) {
+							return odooId;
+						}
+						break;
+					case "getString":
+						return strings.get(args[0]);
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	@Test
+	public void testAdd() throws Exception {
+		var sut = new EdgeCache(null);
+
+		var edge0 = sut.addOrUpdate(createResultSet(1, "edge0", "apikey0", "comment0"));
+		var edge1 = sut.addOrUpdate(createResultSet(2, "edge1", "apikey1", "comment1"));
+		assertSame(edge0, sut.getEdgeFromEdgeId("edge0"));
+		assertSame(edge0, sut.getEdgeFromOdooId(1));
+		assertSame(edge0, sut.getEdgeForApikey("apikey0"));
+		assertEquals("comment0", edge0.getComment());
+		assertSame(edge1, sut.getEdgeFromEdgeId("edge1"));
+		assertSame(edge1, sut.getEdgeFromOdooId(2));
+		assertSame(edge1, sut.getEdgeForApikey("apikey1"));
+		assertEquals(2, sut.getAllEdges().size());
+	}
+
+	@Test
+	public void testIndexOrdering() throws Exception {
+		final var edges = 20_000;
+		var sut = new EdgeCache(null);
+		var isFinished = new AtomicBoolean(false);
+		var violations = new AtomicInteger();
+
+		var executor = Executors.newFixedThreadPool(2);
+		var reader = executor.submit(() -> {
+			while (!isFinished.get()) {
+				for (var i = 0; i < edges; i++) {
+					// Every Edge that is found via Apikey or Odoo-ID is also found via Edge-ID
+					if ((sut.getEdgeForApikey("apikey" + i) != null || sut.getEdgeFromOdooId(i) != null)
+							&& sut.getEdgeFromEdgeId("edge" + i) == null) {
+						violations.incrementAndGet();
+					}
+				}
+			}
+		});
+		var writer = executor.submit(() -> {
+			for (var i = 0; i < edges; i++) {
+				sut.addOrUpdate(createResultSet(i, "edge" + i, "apikey" + i, ""));
+			}
+			return null;
+		});
+		writer.get(30, TimeUnit.SECONDS);
+		isFinished.set(true);
+		reader.get(30, TimeUnit.SECONDS);
+		executor.shutdown();
+
+		assertEquals(0, violations.get());
+		assertEquals(edges, sut.getAllEdges().size());
+	}
+
+	@Test
+	public void testMissDeduplication() throws Exception {
+		var sut = new EdgeCache(null, new MyClock());
+		final List<String> misses = new CopyOnWriteArrayList<>();
+		var release = new CountDownLatch(1);
+		sut.setMissHandler((field, value) -> misses.add(field.id() + ":" + value));
+
+		// Concurrent misses trigger the handler only once
+		var executor = Executors.newFixedThreadPool(8);
+		var futures = new ArrayList<Future<?>>();
+		for (var i = 0; i < 8; i++) {
+			futures.add(executor.submit(() -> {
+				release.await();
+				for (var j = 0; j < 1_000; j++) {
+					assertNull(sut.getEdgeFromEdgeId("edge0"));
+				}
+				return null;
+			}));
+		}
+		release.countDown();
+		for (var future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		assertEquals(List.of("name:edge0"), misses);
+
+		// Edge-ID and Apikey are handled separately
+		assertNull(sut.getEdgeForApikey("edge0"));
+		assertEquals(List.of("name:edge0", "apikey:edge0"), misses);
+
+		// null is never a miss
+		assertNull(sut.getEdgeFromEdgeId(null));
+		assertNull(sut.getEdgeForApikey(null));
+		assertEquals(2, misses.size());
+	}
+
+	@Test
+	public void testMissRetry() throws Exception {
+		var clock = new MyClock();
+		var sut = new EdgeCache(null, clock);
+		final List<String> misses = new CopyOnWriteArrayList<>();
+
+		// Without handler, i.e. read-through disabled, a miss is not remembered
+		assertNull(sut.getEdgeFromEdgeId("edge0"));
+		sut.setMissHandler((field, value) -> misses.add(value));
+
+		assertNull(sut.getEdgeFromEdgeId("edge0"));
+		assertEquals(1, misses.size());
+
+		// Retried after one minute
+		clock.leap(Duration.ofSeconds(59));
+		assertNull(sut.getEdgeFromEdgeId("edge0"));
+		assertEquals(1, misses.size());
+		clock.leap(Duration.ofSeconds(1));
+		assertNull(sut.getEdgeFromEdgeId("edge0"));
+		assertEquals(2, misses.size());
+
+		// Loaded Edge is found without a miss
+		assertNotNull(sut.addOrUpdate(createResultSet(1, "edge0", "apikey0", "")));
+		assertNotNull(sut.getEdgeFromEdgeId("edge0"));
+		assertNotNull(sut.getEdgeForApikey("apikey0"));
+		assertEquals(2, misses.size());
+	}
+
+}
@@ -0,0 +1,116 @@
+package io.openems.backend.metadata.odoo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import io.openems.backend.metadata.odoo.SessionCache.Session;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.session.Language;
+import io.openems.common.session.Role;
+
+public class SessionCacheTest {
+
+	private static Session createSession(String userId, String sessionId) {
+		return new Session(0, userId, userId, sessionId, Language.DEFAULT, Role.OWNER,
+				ImmutableSortedMap.of("edge0", Role.OWNER));
+	}
+
+	@Test
+	public void testGet() throws Exception {
+		var sut = new SessionCache(100, 60);
+		var loads = new AtomicInteger();
+		SessionCache.Loader loader = sessionId -> {
+			loads.incrementAndGet();
+			return createSession("user0", sessionId);
+		};
+
+		var session = sut.get("session0", loader);
+		assertSame(session, sut.get("session0", loader));
+		assertEquals(1, loads.get());
+
+		// Logout
+		sut.invalidate("session0");
+		sut.get("session0", loader);
+		assertEquals(2, loads.get());
+
+		// Role change invalidates all sessions of the User
+		sut.get("session1", loader);
+		assertEquals(2, sut.size());
+		sut.invalidateUser("user0");
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testFailureIsNotCached() throws Exception {
+		var sut = new SessionCache(100, 60);
+		assertThrows(OpenemsException.class, () -> sut.get("session0", sessionId -> {
+			throw new OpenemsException("Session expired");
+		}));
+		assertEquals(0, sut.size());
+
+		var session = sut.get("session0", sessionId -> createSession("user0", sessionId));
+		assertEquals("user0", session.login());
+	}
+
+	@Test
+	public void testSingleFlight() throws Exception {
+		final var threads = 20;
+		var sut = new SessionCache(100, 60);
+		var loads = new AtomicInteger();
+		var release = new CountDownLatch(1);
+		SessionCache.Loader loader = sessionId -> {
+			loads.incrementAndGet();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return createSession("user0", sessionId);
+		};
+
+		var executor = Executors.newFixedThreadPool(threads);
+		try {
+			var futures = new ArrayList<Future<Session>>();
+			for (var i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> sut.get("session0", loader)));
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			var session = futures.get(0).get();
+			for (var future : futures) {
+				assertSame(session, future.get());
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testToUser() throws Exception {
+		var session = createSession("user0", "session0");
+		var user1 = session.toUser();
+		var user2 = session.toUser();
+		assertNotSame(user1, user2);
+
+		// Role updates do not affect other Users of the same Session
+		user1.setRole("edge1", Role.INSTALLER);
+		assertEquals(2, user1.getEdgeRoles().size());
+		assertEquals(1, user2.getEdgeRoles().size());
+		assertEquals(1, session.roles().size());
+	}
+}
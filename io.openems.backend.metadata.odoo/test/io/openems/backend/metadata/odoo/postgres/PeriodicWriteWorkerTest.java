@@ -2,23 +2,49 @@ package io.openems.backend.metadata.odoo.postgres;
 
 import static org.junit.Assert.assertEquals;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Test;
 
+import io.openems.common.channel.Level;
+
 public class PeriodicWriteWorkerTest {
 
 	@Test
-	public void testDrainToSet() {
-		final LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
-		queue.add(1);
-		queue.add(2);
-		queue.add(3);
-		queue.add(2);
-		queue.add(4);
-		var set = PeriodicWriteWorker.drainToSet(queue);
+	public void testDrainSet() {
+		final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+		dirty.add(1);
+		dirty.add(2);
+		dirty.add(3);
+		dirty.add(2);
+		dirty.add(4);
+		var set = PeriodicWriteWorker.drain(dirty);
 		assertEquals(4, set.size());
-		assertEquals(0, queue.size());
+		assertEquals(0, dirty.size());
+	}
+
+	@Test
+	public void testDrainMap() {
+		final ConcurrentHashMap<Integer, Level> dirty = new ConcurrentHashMap<>();
+		dirty.put(1, Level.OK);
+		dirty.put(2, Level.FAULT);
+		dirty.put(1, Level.WARNING); // latest value wins
+		var map = PeriodicWriteWorker.drain(dirty);
+		assertEquals(Map.of(1, Level.WARNING, 2, Level.FAULT), map);
+		assertEquals(0, dirty.size());
+	}
+
+	@Test
+	public void testRestoreMap() {
+		final ConcurrentHashMap<Integer, Level> dirty = new ConcurrentHashMap<>();
+		dirty.put(1, Level.OK);
+		dirty.put(2, Level.FAULT);
+		var map = PeriodicWriteWorker.drain(dirty);
+		dirty.put(2, Level.OK); // updated while the write failed
+		PeriodicWriteWorker.restore(dirty, map);
+		assertEquals(Map.of(1, Level.OK, 2, Level.OK), dirty);
 	}
 
 }
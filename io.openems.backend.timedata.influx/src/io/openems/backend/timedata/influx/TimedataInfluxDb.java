@@ -1,6 +1,7 @@
 package io.openems.backend.timedata.influx;
 
 import java.net.URI;
+import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,6 +29,7 @@ import com.influxdb.exceptions.BadRequestException;
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.OpenemsConstants;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -77,6 +79,7 @@ public class TimedataInfluxDb extends AbstractOpenemsBackendComponent implements
 
 		this.influxConnector = new InfluxConnector(config.queryLanguage(), URI.create(config.url()), config.org(),
 				config.apiKey(), config.bucket(), config.isReadOnly(), config.poolSize(), config.maxQueueSize(), //
+				Paths.get(OpenemsConstants.getOpenemsDataDir(), "influxdb-spill", config.id()), //
 				(throwable) -> {
 					if (throwable instanceof BadRequestException) {
 						this.fieldTypeConflictHandler.handleException((BadRequestException) throwable);
@@ -102,17 +105,28 @@ public class TimedataInfluxDb extends AbstractOpenemsBackendComponent implements
 		int influxEdgeId = TimedataInfluxDb.parseNumberFromName(edgeId);
 
 		// Write data to default location
-		this.writeData(influxEdgeId, data);
+		this.writeData(InfluxConnector.MEASUREMENT, influxEdgeId, data);
+	}
+
+	@Override
+	public void writeAggregated(String edgeId, TreeBasedTable<Long, String, JsonElement> data)
+			throws OpenemsException {
+		// parse the numeric EdgeId
+		int influxEdgeId = TimedataInfluxDb.parseNumberFromName(edgeId);
+
+		// Write data to the rollup measurement
+		this.writeData(InfluxConnector.MEASUREMENT_AGGREGATED, influxEdgeId, data);
 	}
 
 	/**
 	 * Actually writes the data to InfluxDB.
 	 *
+	 * @param measurement  the InfluxDB measurement
 	 * @param influxEdgeId the unique, numeric identifier of the Edge
 	 * @param data         the data
 	 * @throws OpenemsException on error
 	 */
-	private void writeData(int influxEdgeId, TreeBasedTable<Long, String, JsonElement> data) {
+	private void writeData(String measurement, int influxEdgeId, TreeBasedTable<Long, String, JsonElement> data) {
 		var dataEntries = data.rowMap().entrySet();
 		if (dataEntries.isEmpty()) {
 			// no data to write
@@ -129,7 +143,7 @@ public class TimedataInfluxDb extends AbstractOpenemsBackendComponent implements
 			var timestamp = dataEntry.getKey();
 			// this builds an InfluxDB record ("point") for a given timestamp
 			var point = Point //
-					.measurement(InfluxConnector.MEASUREMENT) //
+					.measurement(measurement) //
 					.addTag(OpenemsOEM.INFLUXDB_TAG, String.valueOf(influxEdgeId)) //
 					.time(timestamp, WritePrecision.MS);
 			for (Entry<String, JsonElement> channelEntry : channelEntries) {
@@ -69,6 +69,7 @@ public class TimedataTimescaleDb extends AbstractOpenemsBackendComponent impleme
 			// Debug-Log
 			this.log.info(new StringBuilder("[TimescaleDB] [monitor] ") //
 					.append(this.timescaledbWriteHandler.debugLog()) //
+					.append(" ROLLUP:").append(this.timescaledbReadHandler.debugLog()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
 
@@ -87,6 +88,12 @@ public class TimedataTimescaleDb extends AbstractOpenemsBackendComponent impleme
 		this.timescaledbWriteHandler.write(edgeId, data);
 	}
 
+	@Override
+	public void writeAggregated(String edgeId, TreeBasedTable<Long, String, JsonElement> data)
+			throws OpenemsException {
+		this.timescaledbWriteHandler.writeAggregated(edgeId, data);
+	}
+
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
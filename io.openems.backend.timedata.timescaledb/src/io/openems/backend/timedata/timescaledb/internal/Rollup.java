@@ -0,0 +1,81 @@
+package io.openems.backend.timedata.timescaledb.internal;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Set;
+
+import io.openems.common.timedata.Resolution;
+
+/**
+ * The aggregate tables ("Rollups") that are maintained as TimescaleDB
+ * continuous aggregates on top of the raw tables.
+ */
+public enum Rollup {
+	MINUTES_5("_5m", "5 minutes", Duration.ofMinutes(5)), //
+	HOURS_1("_1h", "1 hour", Duration.ofHours(1)), //
+	DAYS_1("_1d", "1 day", Duration.ofDays(1)), //
+	;
+
+	private final String tableSuffix;
+	public final String sqlInterval;
+	public final Duration bucket;
+
+	private Rollup(String tableSuffix, String sqlInterval, Duration bucket) {
+		this.tableSuffix = tableSuffix;
+		this.sqlInterval = sqlInterval;
+		this.bucket = bucket;
+	}
+
+	public String getTableSuffix() {
+		return this.tableSuffix;
+	}
+
+	/**
+	 * Selects the coarsest available {@link Rollup} that satisfies a query.
+	 *
+	 * <p>
+	 * A {@link Rollup} satisfies a query if its bucket divides the
+	 * {@link Resolution} and both From-Date and To-Date are aligned to its bucket
+	 * - otherwise partial buckets at the borders of the query or of a period would
+	 * be attributed to the wrong period.
+	 *
+	 * @param available  the available {@link Rollup}s
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param resolution the {@link Resolution}
+	 * @return the {@link Rollup}; {@link #MINUTES_5} as fallback
+	 */
+	public static Rollup select(Set<Rollup> available, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Resolution resolution) {
+		var resolutionSeconds = getMinimumSeconds(resolution);
+		var values = Rollup.values();
+		for (var i = values.length - 1; i > 0; i--) {
+			var rollup = values[i];
+			if (!available.contains(rollup)) {
+				continue;
+			}
+			var bucketSeconds = rollup.bucket.getSeconds();
+			if (resolutionSeconds % bucketSeconds == 0 //
+					&& fromDate.toEpochSecond() % bucketSeconds == 0 //
+					&& toDate.toEpochSecond() % bucketSeconds == 0) {
+				return rollup;
+			}
+		}
+		return MINUTES_5;
+	}
+
+	/**
+	 * Gets the length of the shortest period of a {@link Resolution} in seconds.
+	 * Months and years are multiples of days.
+	 *
+	 * @param resolution the {@link Resolution}
+	 * @return the seconds
+	 */
+	private static long getMinimumSeconds(Resolution resolution) {
+		return switch (resolution.getUnit()) {
+		case MONTHS, YEARS -> Duration.ofDays(1).getSeconds();
+		default -> resolution.getUnit().getDuration().getSeconds() * resolution.getValue();
+		};
+	}
+
+}
@@ -3,18 +3,31 @@ package io.openems.backend.timedata.timescaledb.internal;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
 
-import io.openems.backend.timedata.timescaledb.internal.write.Point;
 
 public class Schema {
 
+	private static final Logger LOG = LoggerFactory.getLogger(Schema.class);
+
 	public static class ChannelRecord {
 		public final int id;
 		public final Type type;
@@ -67,7 +80,7 @@ public class Schema {
 
 		private final Map<String /* Edge-ID */, //
 				Map<String /* Channel-Address */, //
-						ChannelRecord /* Meta-Info for Channel */>> channels = new HashMap<String, Map<String, ChannelRecord>>();
+						ChannelRecord /* Meta-Info for Channel */>> channels = new ConcurrentHashMap<>();
 
 		protected Cache() {
 		}
@@ -88,7 +101,7 @@ public class Schema {
 				int priorityId, ZonedDateTime availableSince) {
 			var type = Type.fromId(typeId);
 			var edge = this.channels.computeIfAbsent(edgeName, //
-					(k) -> new HashMap<String, ChannelRecord>());
+					(k) -> new ConcurrentHashMap<String, ChannelRecord>());
 			var channel = edge.computeIfAbsent(channelAddress, //
 					(k) -> new ChannelRecord(channelId, type, Priority.fromId(priorityId), availableSince));
 			return channel;
@@ -126,18 +139,149 @@ public class Schema {
 		try (var con = dataSource.getConnection()) {
 			var stmnt = con.createStatement();
 			var cache = Cache.fromDatabase(stmnt);
-			return new Schema(cache);
+			var rollups = initializeRollups(stmnt);
+			initializeAggregatedTables(stmnt);
+			return new Schema(cache, rollups);
+		}
+	}
+
+	/**
+	 * Creates the tables for values that were aggregated by the Edge, if they are
+	 * not existing yet.
+	 * 
+	 * <p>
+	 * The continuous aggregates of the {@link Rollup}s are calculated from the raw
+	 * tables and can not be written to, so Edge aggregated values are stored in
+	 * separate hypertables with the layout of the raw tables.
+	 * 
+	 * @param stmnt {@link Statement}
+	 */
+	private static void initializeAggregatedTables(Statement stmnt) {
+		for (var type : Type.values()) {
+			for (var priority : Priority.values()) {
+				var tableName = type.getAggregatedTableName(priority);
+				try {
+					stmnt.execute(createAggregatedTableSql(type, priority));
+					stmnt.execute("SELECT create_hypertable('" + tableName + "', 'time', " //
+							+ "chunk_time_interval => interval '7 days', " //
+							+ "create_default_indexes => false, " //
+							+ "if_not_exists => true);");
+					stmnt.execute("CREATE INDEX IF NOT EXISTS ix_" + tableName + "_time_channel ON " + tableName
+							+ " (time DESC, edge_channel_id ASC);");
+				} catch (SQLException e) {
+					LOG.warn("Unable to create table [" + tableName + "]: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private static String createAggregatedTableSql(Type type, Priority priority) {
+		return "CREATE TABLE IF NOT EXISTS " + type.getAggregatedTableName(priority) + " (" //
+				+ "time TIMESTAMPTZ (3) NOT NULL, " //
+				+ "edge_channel_id INTEGER NOT NULL, " //
+				+ "value " + type.sqlDataType + " NOT NULL" //
+				+ ");";
+	}
+
+	/**
+	 * Creates the continuous aggregates for {@link Rollup}s that are not existing
+	 * yet.
+	 * 
+	 * <p>
+	 * {@link Rollup#MINUTES_5} is part of the initial Schema. Coarser
+	 * {@link Rollup}s are created on the fly with real-time aggregation, so they
+	 * are correct even before the first refresh policy run has materialized old
+	 * data.
+	 * 
+	 * @param stmnt {@link Statement}
+	 * @return the available {@link Rollup}s
+	 */
+	private static Set<Rollup> initializeRollups(Statement stmnt) {
+		var result = EnumSet.of(Rollup.MINUTES_5);
+		final var existing = new HashSet<String>();
+		try {
+			var rs = stmnt.executeQuery("SELECT view_name FROM timescaledb_information.continuous_aggregates;");
+			while (rs.next()) {
+				existing.add(rs.getString(1));
+			}
+		} catch (SQLException e) {
+			LOG.warn("Unable to query continuous aggregates: " + e.getMessage());
+			return result;
+		}
+
+		for (var rollup : Rollup.values()) {
+			if (rollup == Rollup.MINUTES_5) {
+				continue;
+			}
+			var isAvailable = true;
+			for (var type : Type.values()) {
+				for (var priority : Priority.values()) {
+					var tableName = type.getAggregateTableName(priority, rollup);
+					if (existing.contains(tableName)) {
+						continue;
+					}
+					try {
+						LOG.info("Creating continuous aggregate [" + tableName + "]");
+						// continuous aggregates must not be created within a transaction block
+						stmnt.execute(createRollupSql(type, priority, rollup));
+						stmnt.execute(addRollupPolicySql(type, priority, rollup));
+					} catch (SQLException e) {
+						LOG.warn("Unable to create continuous aggregate [" + tableName + "]: " + e.getMessage());
+						isAvailable = false;
+					}
+				}
+			}
+			if (isAvailable) {
+				result.add(rollup);
+			}
 		}
+		return result;
+	}
+
+	private static String createRollupSql(Type type, Priority priority, Rollup rollup) {
+		return "CREATE MATERIALIZED VIEW " + type.getAggregateTableName(priority, rollup) //
+				+ "(time, edge_channel_id, " //
+				+ Stream.of(type.aggregateFunctions) //
+						.map(s -> "\"" + s + "\"") //
+						.collect(Collectors.joining(", ")) //
+				+ ") " //
+				+ "WITH (timescaledb.continuous, timescaledb.materialized_only = false) AS " //
+				+ "SELECT time_bucket('" + rollup.sqlInterval + "', time) AS time, edge_channel_id, " //
+				+ Stream.of(type.aggregateFunctions) //
+						.map(s -> s + "(\"value\")") //
+						.collect(Collectors.joining(", ")) //
+				+ " FROM " + type.getRawTableName(priority) //
+				+ " GROUP BY 1, 2 WITH NO DATA;";
+	}
+
+	private static String addRollupPolicySql(Type type, Priority priority, Rollup rollup) {
+		var isDaily = rollup.bucket.compareTo(Duration.ofDays(1)) >= 0;
+		return "SELECT add_continuous_aggregate_policy('" + type.getAggregateTableName(priority, rollup) + "', " //
+				+ "start_offset => NULL, " //
+				+ "end_offset => interval '" + rollup.sqlInterval + "', " //
+				+ "schedule_interval => interval '" + (isDaily ? "1 hour" : "30 minutes") + "', " //
+				+ "if_not_exists => true);";
 	}
 
 	private final Cache cache;
+	private final Set<Rollup> rollups;
 
-	private Schema(Cache cache) {
+	private Schema(Cache cache, Set<Rollup> rollups) {
 		this.cache = cache;
+		this.rollups = Collections.unmodifiableSet(rollups);
 	}
 
 	/**
-	 * Gets the Channel for the given {@link Point}. Adds it if it was not existing
+	 * Gets the {@link Rollup}s that are available for queries.
+	 * 
+	 * @return the {@link Rollup}s; always includes {@link Rollup#MINUTES_5}
+	 */
+	public Set<Rollup> getRollups() {
+		return this.rollups;
+	}
+
+	/**
+	 * Gets the Channel for the given Channel-Address. Adds it if it was not existing
 	 * before.
 	 * 
 	 * @param con            a database {@link Connection}, in case the entry needs
@@ -178,6 +322,68 @@ public class Schema {
 		return this.cache.get(edgeId, channelAddress);
 	}
 
+	/**
+	 * Gets the Channels for the given Channel-Addresses of one Edge. Channels
+	 * that are missing in the local Cache are added in one database round-trip.
+	 * 
+	 * @param con    a database {@link Connection}, in case entries need to be
+	 *               added
+	 * @param edgeId the Edge-ID
+	 * @param values a map of Channel-Address to a {@link JsonElement} value that
+	 *               is used to detect the {@link Type}
+	 * @return a map of Channel-Address to {@link ChannelRecord}; Channels whose
+	 *         type cannot be detected are missing
+	 * @throws SQLException on error while adding
+	 */
+	public Map<String, ChannelRecord> getChannels(Connection con, String edgeId, Map<String, JsonElement> values)
+			throws SQLException {
+		var result = new HashMap<String, ChannelRecord>();
+		var componentIds = new ArrayList<String>();
+		var channelIds = new ArrayList<String>();
+		var typeIds = new ArrayList<Integer>();
+		for (var entry : values.entrySet()) {
+			var channelAddress = entry.getKey();
+			var channel = this.getChannelFromCache(edgeId, channelAddress);
+			if (channel != null) {
+				result.put(channelAddress, channel);
+				continue;
+			}
+			var type = Type.detect(entry.getValue());
+			var channelAddressArray = channelAddress.split("/", 2);
+			if (type == null || channelAddressArray.length != 2) {
+				// unable to detect
+				continue;
+			}
+			componentIds.add(channelAddressArray[0]);
+			channelIds.add(channelAddressArray[1]);
+			typeIds.add(type.id);
+		}
+		if (componentIds.isEmpty()) {
+			return result;
+		}
+
+		// Get or Create Channel-IDs
+		var pst = con.prepareStatement("" //
+				+ "SELECT c.component, c.channel, r._channel_id, r._channel_type, r._priority, r._available_since " //
+				+ "FROM UNNEST(?, ?, ?) AS c(component, channel, type) " //
+				+ "CROSS JOIN LATERAL openems_get_or_create_edge_channel_id(?, c.component, c.channel, c.type) r;");
+		pst.setArray(1, con.createArrayOf("text", componentIds.toArray()));
+		pst.setArray(2, con.createArrayOf("text", channelIds.toArray()));
+		pst.setArray(3, con.createArrayOf("integer", typeIds.toArray()));
+		pst.setString(4, edgeId);
+		var rs = pst.executeQuery();
+		while (rs.next()) {
+			var channelAddress = rs.getString(1) + "/" + rs.getString(2);
+			var availableSinceRaw = rs.getObject(6, OffsetDateTime.class);
+			var availableSince = availableSinceRaw != null //
+					? availableSinceRaw.toZonedDateTime() //
+					: ZonedDateTime.now();
+			result.put(channelAddress, this.cache.add(edgeId, channelAddress, rs.getInt(3), rs.getInt(4),
+					rs.getInt(5), availableSince));
+		}
+		return result;
+	}
+
 	/**
 	 * Gets or creates the {@link ChannelRecord} in the database and adds it to the
 	 * local Cache.
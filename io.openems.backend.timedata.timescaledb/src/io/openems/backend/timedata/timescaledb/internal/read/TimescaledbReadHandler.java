@@ -4,11 +4,13 @@ import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -20,6 +22,7 @@ import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.timedata.timescaledb.Config;
+import io.openems.backend.timedata.timescaledb.internal.Rollup;
 import io.openems.backend.timedata.timescaledb.internal.Schema;
 import io.openems.backend.timedata.timescaledb.internal.Utils;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -34,6 +37,17 @@ public class TimescaledbReadHandler {
 
 	private final AtomicReference<Schema> schema = new AtomicReference<>();
 
+	/**
+	 * Number of queries per selected {@link Rollup} in the current debug cycle.
+	 */
+	private final Map<Rollup, AtomicLong> rollupQueries = new EnumMap<>(Rollup.class);
+
+	/**
+	 * Number of queries per selected {@link Rollup} in the last completed debug
+	 * cycle; read by {@link #debugLog()} and {@link #debugMetrics()}.
+	 */
+	private volatile Map<Rollup, Long> rollupQueriesSnapshot;
+
 	/**
 	 * A {@link HikariDataSource} used solely for reads.
 	 */
@@ -43,6 +57,12 @@ public class TimescaledbReadHandler {
 		this.dataSource = Utils.getDataSource(//
 				config.host(), config.port(), config.database(), //
 				config.user(), config.password(), config.poolSize());
+		var snapshot = new EnumMap<Rollup, Long>(Rollup.class);
+		for (var rollup : Rollup.values()) {
+			this.rollupQueries.put(rollup, new AtomicLong());
+			snapshot.put(rollup, 0L);
+		}
+		this.rollupQueriesSnapshot = snapshot;
 	}
 
 	/**
@@ -80,7 +100,9 @@ public class TimescaledbReadHandler {
 		}
 
 		var result = Utils.prepareDataMap(fromDate, toDate, channels, resolution);
-		var types = Utils.querySchemaCache(this.assertAndGetSchema(), edgeId, channelStrings);
+		var schema = this.assertAndGetSchema();
+		var types = Utils.querySchemaCache(schema, edgeId, channelStrings);
+		var rollup = this.selectRollup(schema, fromDate, toDate, resolution);
 
 		// Open ONE database connection
 		try (var con = this.dataSource.getConnection()) {
@@ -100,7 +122,7 @@ public class TimescaledbReadHandler {
 							+ "        data.time)," //
 							+ "    data.edge_channel_id," //
 							+ "    " + type.defaultAggregateFunction + "(data." + type.defaultAggregateFunction + ") " //
-							+ "FROM " + type.getAggregate5mTableName(priority) + " data " //
+							+ "FROM " + type.getAggregateTableName(priority, rollup) + " data " //
 							+ "WHERE" //
 							+ "    data.edge_channel_id IN (" //
 							+ ids.keySet().stream() //
@@ -245,7 +267,9 @@ public class TimescaledbReadHandler {
 		}
 
 		var result = Utils.prepareDataMap(fromDate, toDate, channels, resolution);
-		var types = Utils.querySchemaCache(this.assertAndGetSchema(), edgeId, channelStrings);
+		var schema = this.assertAndGetSchema();
+		var types = Utils.querySchemaCache(schema, edgeId, channelStrings);
+		var rollup = this.selectRollup(schema, fromDate, toDate, resolution);
 
 		// Open ONE database connection
 		try (var con = this.dataSource.getConnection()) {
@@ -266,7 +290,7 @@ public class TimescaledbReadHandler {
 							+ "        timezone => ?)," // [2] timezone
 							+ "    data.edge_channel_id," //
 							+ "    LAST(\"max\", data.time)" //
-							+ "FROM " + type.getAggregate5mTableName(priority) + " data " //
+							+ "FROM " + type.getAggregateTableName(priority, rollup) + " data " //
 							+ "WHERE" //
 							+ "    data.edge_channel_id = ANY (?) AND" // [3] Channel IDs
 							+ "    data.time >= ? AND" // [4] FromDate
@@ -339,6 +363,22 @@ public class TimescaledbReadHandler {
 		return Collections.emptyMap();
 	}
 
+	/**
+	 * Selects the coarsest {@link Rollup} for a query and counts the selection for
+	 * the debug metrics.
+	 * 
+	 * @param schema     the {@link Schema}
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param resolution the {@link Resolution}
+	 * @return the {@link Rollup}
+	 */
+	private Rollup selectRollup(Schema schema, ZonedDateTime fromDate, ZonedDateTime toDate, Resolution resolution) {
+		var rollup = Rollup.select(schema.getRollups(), fromDate, toDate, resolution);
+		this.rollupQueries.get(rollup).incrementAndGet();
+		return rollup;
+	}
+
 	/**
 	 * Gets the Schema, never null. Throws an {@link OpenemsException} if the Schema
 	 * has not been loaded yet.
@@ -378,9 +418,32 @@ public class TimescaledbReadHandler {
 		} catch (SQLException e) {
 			this.log.warn("Unable to query debugMetrics: " + e.getMessage());
 		}
+		for (var entry : this.rollupQueriesSnapshot.entrySet()) {
+			data.put("QueriesRollup" + entry.getKey().getTableSuffix(), entry.getValue());
+		}
 		return data;
 	}
 
+	/**
+	 * Completes the current debug cycle and returns a DebugLog String with the
+	 * number of queries per selected {@link Rollup} in this cycle.
+	 * 
+	 * <p>
+	 * Called once per cycle by the debug log executor.
+	 * 
+	 * @return debug log
+	 */
+	public String debugLog() {
+		var snapshot = new EnumMap<Rollup, Long>(Rollup.class);
+		for (var entry : this.rollupQueries.entrySet()) {
+			snapshot.put(entry.getKey(), entry.getValue().getAndSet(0));
+		}
+		this.rollupQueriesSnapshot = snapshot;
+		return snapshot.entrySet().stream() //
+				.map(e -> e.getKey().getTableSuffix().substring(1) + ":" + e.getValue()) //
+				.collect(Collectors.joining(","));
+	}
+
 	private static Set<String> toStringSet(Set<ChannelAddress> channels) {
 		return channels.stream().map(c -> c.toString()).collect(Collectors.toUnmodifiableSet());
 	}
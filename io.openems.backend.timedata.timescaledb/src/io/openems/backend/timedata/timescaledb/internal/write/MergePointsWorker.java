@@ -1,84 +1,107 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
 
+import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
 
-import io.openems.backend.timedata.timescaledb.internal.Priority;
-import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractImmediateWorker;
 
-public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWorker {
+public class MergePointsWorker<BATCH extends PointBatch> extends AbstractImmediateWorker {
+
+	/**
+	 * Maximum number of full {@link PointBatch}es waiting to be written.
+	 */
+	private static final int MAX_FULL_BATCHES = TimescaledbWriteHandler.POINTS_QUEUE_SIZE
+			/ TimescaledbWriteHandler.MAX_POINTS_PER_WRITE;
+
+	/**
+	 * Maximum number of written {@link PointBatch}es that are kept for reuse.
+	 */
+	private static final int MAX_FREE_BATCHES = 8;
 
 	private final HikariDataSource dataSource;
 	private final ExecutorService executor;
-	private final Type type;
-	private final Priority priority;
+	private final String tableName;
+	private final IntFunction<BATCH> batchFactory;
 	// TODO queue: delete old entries if full; like an EvictingQueue;
 	// https://github.com/google/guava/issues/3882
-	private final BlockingQueue<POINT> queue = new ArrayBlockingQueue<>(TimescaledbWriteHandler.POINTS_QUEUE_SIZE);
+	private final BlockingQueue<BATCH> fullBatches = new ArrayBlockingQueue<>(MAX_FULL_BATCHES);
+	private final BlockingQueue<BATCH> freeBatches = new ArrayBlockingQueue<>(MAX_FREE_BATCHES);
+	private BATCH batch; // guarded by 'this'
 	private long countPoints = 0;
 
-	public MergePointsWorker(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
+	public MergePointsWorker(HikariDataSource dataSource, ExecutorService executor, String tableName,
+			IntFunction<BATCH> batchFactory) {
 		this.dataSource = dataSource;
 		this.executor = executor;
-		this.type = type;
-		this.priority = priority;
+		this.tableName = tableName;
+		this.batchFactory = batchFactory;
+		this.batch = this.nextBatch();
 	}
 
-	public BlockingQueue<POINT> getQueue() {
-		return this.queue;
+	/**
+	 * Adds a point to the current {@link PointBatch}.
+	 * 
+	 * @param channelId the Channel-ID
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param json      the value
+	 * @return true if the point was added, false if the value was null or the
+	 *         queue is full
+	 * @throws OpenemsNamedException if the value cannot be converted
+	 */
+	public synchronized boolean offer(int channelId, long timestamp, JsonElement json) throws OpenemsNamedException {
+		if (this.batch.isFull()) {
+			if (!this.fullBatches.offer(this.batch)) {
+				return false;
+			}
+			this.batch = this.nextBatch();
+		}
+		return this.batch.add(channelId, timestamp, json);
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
 		/**
-		 * This task merges single Points to Lists of Points, which are then sent to
-		 * TimescaleDB. This approach improves speed as not every single Point gets sent
-		 * via HTTP individually.
+		 * This task sends full batches of Points to TimescaleDB. This approach improves
+		 * speed as not every single Point gets sent individually. A batch that is not
+		 * full is sent if there was no full batch for MAX_AGGREGATE_WAIT seconds.
 		 */
-		// Poll and merge Points. Wait max 10 seconds in total.
-		var points = pollAndMergePoints(this.queue);
-
-		if (points.isEmpty()) {
-			return;
+		var batch = this.fullBatches.poll(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
+		if (batch == null) {
+			synchronized (this) {
+				if (this.batch.isEmpty()) {
+					return;
+				}
+				batch = this.batch;
+				this.batch = this.nextBatch();
+			}
 		}
 
-		this.countPoints += points.size();
+		this.countPoints += batch.size();
 
 		// Write points async.
-		this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, points));
+		this.executor.execute(
+				new WritePointsHandler(this.dataSource, this.tableName, batch, this::recycle));
 	}
 
-	/**
-	 * Poll and merge Points. Wait max 10 seconds in total.
-	 * 
-	 * @param <POINT> the type of the Point
-	 * @param queue   the Queue of Points
-	 * @return a list of Points
-	 * @throws InterruptedException on error
-	 */
-	private static <POINT extends Point> List<Point> pollAndMergePoints(BlockingQueue<POINT> queue)
-			throws InterruptedException {
-		final Instant maxWait = Instant.now().plusSeconds(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT);
-		List<Point> points = new ArrayList<>(TimescaledbWriteHandler.MAX_POINTS_PER_WRITE);
-		for (int i = 0; i < TimescaledbWriteHandler.MAX_POINTS_PER_WRITE; i++) {
-			var point = queue.poll(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
-			if (point == null) {
-				break;
-			}
-			points.add(point);
-			if (Instant.now().isAfter(maxWait)) {
-				break;
-			}
+	private BATCH nextBatch() {
+		var batch = this.freeBatches.poll();
+		if (batch != null) {
+			return batch;
 		}
-		return points;
+		return this.batchFactory.apply(TimescaledbWriteHandler.MAX_POINTS_PER_WRITE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void recycle(PointBatch batch) {
+		batch.clear();
+		this.freeBatches.offer((BATCH) batch);
 	}
 
 	/**
@@ -87,8 +110,12 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 	 * @return debug log
 	 */
 	public String debugLog() {
+		int size;
+		synchronized (this) {
+			size = this.fullBatches.size() * TimescaledbWriteHandler.MAX_POINTS_PER_WRITE + this.batch.size();
+		}
 		return new StringBuilder() //
-				.append(this.queue.size()) //
+				.append(size) //
 				.append("/") //
 				.append(TimescaledbWriteHandler.POINTS_QUEUE_SIZE) //
 				.append("|Total:") //
@@ -0,0 +1,240 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonElement;
+
+import de.bytefish.pgbulkinsert.row.SimpleRow;
+import de.bytefish.pgbulkinsert.row.SimpleRowWriter;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * A columnar batch of points of one type: timestamps, Channel-IDs and values
+ * are held in primitive arrays, so no object is allocated per point while it
+ * is queued. Batches are reused after they were written.
+ */
+public abstract class PointBatch {
+
+	protected final long[] timestamps;
+	protected final int[] channelIds;
+	protected int size = 0;
+
+	private PointBatch(int capacity) {
+		this.timestamps = new long[capacity];
+		this.channelIds = new int[capacity];
+	}
+
+	/**
+	 * Adds a point to the batch. Must not be called if the batch {@link #isFull()}.
+	 * 
+	 * @param channelId the Channel-ID
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param json      the value
+	 * @return true if the point was added; false if the value was null
+	 * @throws OpenemsNamedException if the value cannot be converted
+	 */
+	public final boolean add(int channelId, long timestamp, JsonElement json) throws OpenemsNamedException {
+		if (json == null || json.isJsonNull()) {
+			return false;
+		}
+		this.setValue(this.size, json);
+		this.timestamps[this.size] = timestamp;
+		this.channelIds[this.size] = channelId;
+		this.size++;
+		return true;
+	}
+
+	public final int size() {
+		return this.size;
+	}
+
+	public final boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public final boolean isFull() {
+		return this.size == this.timestamps.length;
+	}
+
+	/**
+	 * Clears the batch for reuse.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Writes all points of the batch to a pgBulkInsert {@link SimpleRowWriter}.
+	 * 
+	 * @param writer the {@link SimpleRowWriter}
+	 */
+	public final void writeTo(SimpleRowWriter writer) {
+		var row = new RowFiller();
+		for (row.index = 0; row.index < this.size; row.index++) {
+			writer.startRow(row);
+		}
+	}
+
+	private final class RowFiller implements Consumer<SimpleRow> {
+
+		private int index;
+		// Points of one Edge-Timestamp are added consecutively -> reuse the time
+		private long lastTimestamp = Long.MIN_VALUE;
+		private ZonedDateTime lastTime = null;
+
+		@Override
+		public void accept(SimpleRow row) {
+			var timestamp = PointBatch.this.timestamps[this.index];
+			if (timestamp != this.lastTimestamp) {
+				this.lastTimestamp = timestamp;
+				this.lastTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
+			}
+			row.setTimeStampTz(0 /* index of 'time' column */, this.lastTime);
+			row.setInteger(1 /* index of 'channel_id' column */, PointBatch.this.channelIds[this.index]);
+			PointBatch.this.addToSimpleRow(row, 2 /* index of 'value' column */, this.index);
+		}
+	}
+
+	protected abstract void setValue(int index, JsonElement json) throws OpenemsNamedException;
+
+	/**
+	 * Adds the value of a point to a {@link SimpleRow} for pgBulkInsert.
+	 * 
+	 * @param row    the {@link SimpleRow}
+	 * @param column the index of the column in the SimpleRow
+	 * @param index  the index of the point in this batch
+	 */
+	protected abstract void addToSimpleRow(SimpleRow row, int column, int index);
+
+	public static final class IntPointBatch extends PointBatch {
+
+		private final long[] values;
+
+		public IntPointBatch(int capacity) {
+			super(capacity);
+			this.values = new long[capacity];
+		}
+
+		@Override
+		protected void setValue(int index, JsonElement json) throws OpenemsNamedException {
+			this.values[index] = toLong(json);
+		}
+
+		@Override
+		protected void addToSimpleRow(SimpleRow row, int column, int index) {
+			row.setLong(column, this.values[index]);
+		}
+
+		/**
+		 * Converts a value to long without boxing.
+		 * 
+		 * <p>
+		 * Decimals are rounded to the nearest integer (half up); Booleans are
+		 * converted to 0/1, as assumed by {@code Type.detect()}.
+		 * 
+		 * @param json the value
+		 * @return the long value
+		 * @throws OpenemsNamedException if the value cannot be converted
+		 */
+		protected static long toLong(JsonElement json) throws OpenemsNamedException {
+			if (json.isJsonPrimitive()) {
+				var p = json.getAsJsonPrimitive();
+				if (p.isNumber()) {
+					var n = p.getAsNumber();
+					if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte) {
+						return n.longValue();
+					}
+					// LazilyParsedNumber holds the value internally as String
+					return parseLong(n.toString(), json);
+
+				} else if (p.isBoolean()) {
+					return p.getAsBoolean() ? 1 : 0;
+
+				} else if (p.isString()) {
+					return parseLong(p.getAsString(), json);
+				}
+			}
+			// throws an OpenemsNamedException
+			return JsonUtils.getAsLong(json);
+		}
+
+		private static long parseLong(String value, JsonElement json) throws OpenemsNamedException {
+			try {
+				if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+					return Long.parseLong(value);
+				}
+				var d = Double.parseDouble(value);
+				if (Double.isFinite(d)) {
+					return Math.round(d);
+				}
+			} catch (NumberFormatException e) {
+				// handled below
+			}
+			// throws an OpenemsNamedException
+			return JsonUtils.getAsLong(json);
+		}
+	}
+
+	public static final class FloatPointBatch extends PointBatch {
+
+		private final double[] values;
+
+		public FloatPointBatch(int capacity) {
+			super(capacity);
+			this.values = new double[capacity];
+		}
+
+		@Override
+		protected void setValue(int index, JsonElement json) throws OpenemsNamedException {
+			if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber()) {
+				try {
+					// fast path without boxing
+					this.values[index] = json.getAsDouble();
+					return;
+				} catch (NumberFormatException e) {
+					// handled below
+				}
+			}
+			this.values[index] = JsonUtils.getAsDouble(json);
+		}
+
+		@Override
+		protected void addToSimpleRow(SimpleRow row, int column, int index) {
+			row.setDouble(column, this.values[index]);
+		}
+	}
+
+	public static final class StringPointBatch extends PointBatch {
+
+		private final String[] values;
+
+		public StringPointBatch(int capacity) {
+			super(capacity);
+			this.values = new String[capacity];
+		}
+
+		@Override
+		protected void setValue(int index, JsonElement json) throws OpenemsNamedException {
+			this.values[index] = JsonUtils.getAsType(OpenemsType.STRING, json);
+		}
+
+		@Override
+		protected void addToSimpleRow(SimpleRow row, int column, int index) {
+			row.setText(column, this.values[index]);
+		}
+
+		@Override
+		public void clear() {
+			// release references
+			Arrays.fill(this.values, 0, this.size, null);
+			super.clear();
+		}
+	}
+
+}
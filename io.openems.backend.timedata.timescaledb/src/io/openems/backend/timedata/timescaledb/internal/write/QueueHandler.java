@@ -1,31 +1,25 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.util.concurrent.ExecutorService;
 
 import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
 
-import io.openems.backend.timedata.timescaledb.internal.Priority;
 import io.openems.backend.timedata.timescaledb.internal.Schema.ChannelRecord;
 import io.openems.backend.timedata.timescaledb.internal.Type;
-import io.openems.backend.timedata.timescaledb.internal.write.Point.FloatPoint;
-import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
-import io.openems.backend.timedata.timescaledb.internal.write.Point.StringPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.PointBatch.FloatPointBatch;
+import io.openems.backend.timedata.timescaledb.internal.write.PointBatch.IntPointBatch;
+import io.openems.backend.timedata.timescaledb.internal.write.PointBatch.StringPointBatch;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.types.OpenemsType;
-import io.openems.common.utils.JsonUtils;
 
-public abstract class QueueHandler<T extends Point> {
+public abstract class QueueHandler<T extends PointBatch> {
 	private final MergePointsWorker<T> mergePointsWorker;
-	private final Class<T> pointClass;
+	private final Class<T> batchClass;
 
-	protected QueueHandler(MergePointsWorker<T> mergePointsWorker, Class<T> pointClass) {
+	protected QueueHandler(MergePointsWorker<T> mergePointsWorker, Class<T> batchClass) {
 		super();
 		this.mergePointsWorker = mergePointsWorker;
-		this.pointClass = pointClass;
+		this.batchClass = batchClass;
 	}
 
 	/**
@@ -38,12 +32,7 @@ public abstract class QueueHandler<T extends Point> {
 	 * @throws OpenemsNamedException on error
 	 */
 	public boolean offer(ChannelRecord channel, long timestamp, JsonElement json) throws OpenemsNamedException {
-		var time = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
-		var value = this.dataToPointConverter(channel, time, json);
-		if (value == null) {
-			return false;
-		}
-		return this.mergePointsWorker.getQueue().offer(value);
+		return this.mergePointsWorker.offer(channel.id, timestamp, json);
 	}
 
 	public MergePointsWorker<T> getMergePointsWorker() {
@@ -57,94 +46,64 @@ public abstract class QueueHandler<T extends Point> {
 	 */
 	public String debugLog() {
 		var sb = new StringBuilder() //
-				.append(this.pointClass.getSimpleName()) //
+				.append(this.batchClass.getSimpleName()) //
 				.append(": ") //
 				.append(this.mergePointsWorker.debugLog());
 		return sb.toString();
 	}
 
-	protected abstract T dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
-			throws OpenemsNamedException;
-
 	/**
 	 * Activates the {@link MergePointsWorker}.
 	 */
 	public void activate() {
-		this.mergePointsWorker.activate("TimescaleDB-Merge-" + this.pointClass.getSimpleName());
+		this.mergePointsWorker.activate("TimescaleDB-Merge-" + this.batchClass.getSimpleName());
 	}
 
 	/**
 	 * Returns a new {@link QueueHandler} of the given type.
 	 * 
 	 * @param type       the type of the handler
-	 * @param priority   the priority of the handler
+	 * @param tableName  the name of the table to write to
 	 * @param dataSource the dataSource to get database connections
 	 * @param executor   the executor to execute writes
 	 * @return the handler
 	 */
-	public static QueueHandler<?> of(Type type, Priority priority, HikariDataSource dataSource,
+	public static QueueHandler<?> of(Type type, String tableName, HikariDataSource dataSource,
 			ExecutorService executor) {
 		switch (type) {
 		case INTEGER:
-			return new IntQueueHandler(dataSource, executor, type, priority);
+			return new IntQueueHandler(dataSource, executor, tableName);
 		case FLOAT:
-			return new FloatQueueHandler(dataSource, executor, type, priority);
+			return new FloatQueueHandler(dataSource, executor, tableName);
 		case STRING:
-			return new StringQueueHandler(dataSource, executor, type, priority);
+			return new StringQueueHandler(dataSource, executor, tableName);
 		}
 		return null;
 	}
 
-	public static class IntQueueHandler extends QueueHandler<IntPoint> {
-
-		public IntQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<IntPoint>(dataSource, executor, type, priority), IntPoint.class);
-		}
+	public static class IntQueueHandler extends QueueHandler<IntPointBatch> {
 
-		@Override
-		protected IntPoint dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
-				throws OpenemsNamedException {
-			Long value = JsonUtils.getAsType(OpenemsType.LONG, json);
-			if (value == null) {
-				return null;
-			}
-			return new IntPoint(channel.id, time, value);
+		public IntQueueHandler(HikariDataSource dataSource, ExecutorService executor, String tableName) {
+			super(new MergePointsWorker<IntPointBatch>(dataSource, executor, tableName, IntPointBatch::new),
+					IntPointBatch.class);
 		}
 
 	}
 
-	public static class FloatQueueHandler extends QueueHandler<FloatPoint> {
+	public static class FloatQueueHandler extends QueueHandler<FloatPointBatch> {
 
-		public FloatQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<FloatPoint>(dataSource, executor, type, priority), FloatPoint.class);
-		}
-
-		@Override
-		protected FloatPoint dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
-				throws OpenemsNamedException {
-			Double value = JsonUtils.getAsType(OpenemsType.DOUBLE, json);
-			if (value == null) {
-				return null;
-			}
-			return new FloatPoint(channel.id, time, value);
+		public FloatQueueHandler(HikariDataSource dataSource, ExecutorService executor, String tableName) {
+			super(new MergePointsWorker<FloatPointBatch>(dataSource, executor, tableName, FloatPointBatch::new),
+					FloatPointBatch.class);
 		}
 
 	}
 
-	public static class StringQueueHandler extends QueueHandler<StringPoint> {
-
-		public StringQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<StringPoint>(dataSource, executor, type, priority), StringPoint.class);
-		}
+	public static class StringQueueHandler extends QueueHandler<StringPointBatch> {
 
-		@Override
-		protected StringPoint dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
-				throws OpenemsNamedException {
-			String value = JsonUtils.getAsType(OpenemsType.STRING, json);
-			if (value == null) {
-				return null;
-			}
-			return new StringPoint(channel.id, time, value);
+		public StringQueueHandler(HikariDataSource dataSource, ExecutorService executor, String tableName) {
+			super(new MergePointsWorker<StringPointBatch>(dataSource, executor, tableName, StringPointBatch::new),
+					StringPointBatch.class);
 		}
 
 	}
@@ -1,15 +1,24 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Table.Cell;
 import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.zaxxer.hikari.HikariDataSource;
@@ -20,115 +29,229 @@ import io.openems.backend.timedata.timescaledb.internal.Schema;
 import io.openems.backend.timedata.timescaledb.internal.Schema.ChannelRecord;
 import io.openems.backend.timedata.timescaledb.internal.Type;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.common.utils.ThreadPoolUtils;
 
 /**
- * {@link SplitDataWorker} manages an internal Queue which can be filled via
+ * {@link SplitDataWorker} manages internal Queues which can be filled via
  * {@link #addData(String, TreeBasedTable)}. The worker then splits the data
  * into typed queues for integer, float and string.
+ *
+ * <p>
+ * Data is partitioned by Edge-ID; every partition has its own Queue and thread,
+ * so data of one Edge is always processed in order. Threads block while their
+ * Queue is empty. Channels that are missing in the Cache are resolved in one
+ * database round-trip per table.
  */
-public class SplitDataWorker extends AbstractImmediateWorker {
+public class SplitDataWorker {
 
 	private static class WriteData {
 		private final String edgeId;
 		private final TreeBasedTable<Long, String, JsonElement> table;
+		private final boolean isAggregated;
 
-		public WriteData(String edgeId, TreeBasedTable<Long, String, JsonElement> table) {
+		public WriteData(String edgeId, TreeBasedTable<Long, String, JsonElement> table, boolean isAggregated) {
 			this.edgeId = edgeId;
 			this.table = table;
+			this.isAggregated = isAggregated;
+		}
+	}
+
+	private class Partition {
+
+		private final int index;
+		private final BlockingQueue<WriteData> queue;
+
+		private final AtomicLong tables = new AtomicLong();
+		private final AtomicLong cells = new AtomicLong();
+		private final AtomicLong misses = new AtomicLong();
+		private long lastDebugLog = System.nanoTime();
+
+		private Partition(int index) {
+			this.index = index;
+			this.queue = new LinkedBlockingQueue<>(SplitDataWorker.this.queueSize);
+		}
+
+		private void run() {
+			while (!Thread.currentThread().isInterrupted()) {
+				try {
+					var schema = SplitDataWorker.this.schema;
+					if (schema == null) {
+						schema = SplitDataWorker.this.getOrInitializeSchema();
+					}
+					if (schema == null) {
+						continue;
+					}
+					// Retrieve next element of Queue; waits till an element is available.
+					var data = this.queue.take();
+					this.split(schema, data);
+
+				} catch (InterruptedException e) {
+					return;
+				} catch (Throwable t) {
+					SplitDataWorker.this.log.error("Split-Data Partition " + this.index + " failed: " + t.getMessage());
+				}
+			}
+		}
+
+		private void split(Schema schema, WriteData data) {
+			this.tables.incrementAndGet();
+			this.cells.addAndGet(data.table.size());
+			List<Cell<Long, String, JsonElement>> missing = null;
+			for (var cell : data.table.cellSet()) {
+				// Cache-Lookup
+				var channel = schema.getChannelFromCache(data.edgeId, cell.getColumnKey());
+				if (channel != null) {
+					// Channel exists in Cache -> immediately forward to typed queue
+					SplitDataWorker.this.addToTypedQueue(channel, cell.getRowKey(), cell.getValue(),
+							data.isAggregated);
+
+				} else {
+					if (missing == null) {
+						missing = new ArrayList<>();
+					}
+					missing.add(cell);
+				}
+			}
+			if (missing != null) {
+				this.resolveMissing(schema, data.edgeId, missing, data.isAggregated);
+			}
+		}
+
+		/**
+		 * Resolves Channels that are missing in the Cache in one batch.
+		 *
+		 * @param schema       the {@link Schema}
+		 * @param edgeId       the Edge-ID
+		 * @param missing      the Cells with missing Channels
+		 * @param isAggregated true for values that were aggregated by the Edge
+		 */
+		private void resolveMissing(Schema schema, String edgeId, List<Cell<Long, String, JsonElement>> missing,
+				boolean isAggregated) {
+			// Collect one value per Channel that allows detecting the type
+			var values = new HashMap<String, JsonElement>();
+			for (var cell : missing) {
+				var value = cell.getValue();
+				if (value != null && value != JsonNull.INSTANCE) {
+					values.putIfAbsent(cell.getColumnKey(), value);
+				}
+			}
+			if (values.isEmpty()) {
+				// only null values
+				return;
+			}
+			this.misses.addAndGet(values.size());
+
+			final Map<String, ChannelRecord> channels;
+			try (var con = SplitDataWorker.this.dataSource.getConnection()) {
+				channels = schema.getChannels(con, edgeId, values);
+
+			} catch (SQLException e) {
+				SplitDataWorker.this.log.error("Unable to get ChannelRecords for Edge [" + edgeId + "] Channels "
+						+ values.keySet() + ": " + e.getMessage());
+				return;
+			}
+
+			for (var cell : missing) {
+				var channel = channels.get(cell.getColumnKey());
+				if (channel != null) {
+					// Ok -> add to queue
+					SplitDataWorker.this.addToTypedQueue(channel, cell.getRowKey(), cell.getValue(), isAggregated);
+
+				} else if (cell.getValue() != null && cell.getValue() != JsonNull.INSTANCE) {
+					// Error and value was not null
+					SplitDataWorker.this.log.error("Unable to get ChannelRecord for Channel " //
+							+ "[" + edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]");
+				}
+			}
+		}
+
+		private synchronized String debugLog() {
+			var now = System.nanoTime();
+			var seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(now - this.lastDebugLog));
+			this.lastDebugLog = now;
+			return new StringBuilder() //
+					.append(this.index).append(":") //
+					.append(this.queue.size()).append("/").append(SplitDataWorker.this.queueSize) //
+					.append("|").append(this.tables.getAndSet(0) / seconds).append("t/s") //
+					.append("|").append(this.cells.getAndSet(0) / seconds).append("c/s") //
+					.append("|").append(this.misses.getAndSet(0)).append("m") //
+					.toString();
 		}
 	}
 
 	private final Logger log = LoggerFactory.getLogger(SplitDataWorker.class);
 
 	private final HikariDataSource dataSource;
-	private final ExecutorService executor;
-	private final BlockingQueue<WriteData> sourceQueue = new LinkedBlockingQueue<>(
-			TimescaledbWriteHandler.POINTS_QUEUE_SIZE);
 	private final DoubleKeyMap<Type, Priority, QueueHandler<?>> queueHandler;
+	private final DoubleKeyMap<Type, Priority, QueueHandler<?>> aggregatedQueueHandler;
 	private final Consumer<Schema> onInitializedSchema;
+	private final int queueSize;
+	private final Partition[] partitions;
 
-	private Schema schema;
+	private ExecutorService executor;
+	private volatile Schema schema;
 
 	public SplitDataWorker(HikariDataSource dataSource, //
-			ExecutorService executor, //
+			int numberOfPartitions, //
 			DoubleKeyMap<Type, Priority, QueueHandler<?>> queueHandler, //
+			DoubleKeyMap<Type, Priority, QueueHandler<?>> aggregatedQueueHandler, //
 			Consumer<Schema> onInitializedSchema) {
 		this.dataSource = dataSource;
-		this.executor = executor;
 		this.queueHandler = queueHandler;
+		this.aggregatedQueueHandler = aggregatedQueueHandler;
 		this.onInitializedSchema = onInitializedSchema;
+		numberOfPartitions = Math.max(1, numberOfPartitions);
+		this.queueSize = TimescaledbWriteHandler.POINTS_QUEUE_SIZE / numberOfPartitions;
+		this.partitions = new Partition[numberOfPartitions];
+		for (var i = 0; i < numberOfPartitions; i++) {
+			this.partitions[i] = new Partition(i);
+		}
 	}
 
 	/**
-	 * Adds new 'write' data to the Queue.
-	 * 
-	 * @param edgeId the Edge-ID
-	 * @param table  the data table
+	 * Starts the threads of all partitions.
+	 *
+	 * @param name the name of the threads
 	 */
-	public void addData(String edgeId, TreeBasedTable<Long, String, JsonElement> table) {
-		this.sourceQueue.offer(new WriteData(edgeId, table));
-	}
-
-	@Override
-	protected void forever() throws SQLException, InterruptedException {
-		var schema = this.getOrInitializeSchema();
-		if (schema == null) {
-			return;
-		}
-
-		if (this.sourceQueue.isEmpty()) {
-			return;
+	public synchronized void activate(String name) {
+		this.executor = Executors.newFixedThreadPool(this.partitions.length,
+				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+		for (var partition : this.partitions) {
+			this.executor.execute(partition::run);
 		}
+	}
 
-		// Retrieve next element in of Queue; waits till an element is available.
-		var data = this.sourceQueue.take();
-
-		for (var cell : data.table.cellSet()) {
-			// Cache-Lookup
-			var channel = schema.getChannelFromCache(data.edgeId, cell.getColumnKey());
-			if (channel != null) {
-				// Channel exists in Cache -> immediately forward to typed queue
-				this.addToTypedQueue(channel, cell.getRowKey(), cell.getValue());
-
-			} else {
-				// Channel missing in Cache -> async
-				this.executor.execute(() -> {
-					try (var con = this.dataSource.getConnection()) {
-						var channelRecord = schema.getChannel(con, data.edgeId, cell.getColumnKey(), cell.getValue());
-						if (channelRecord != null) {
-							// Ok -> add to queue
-							this.addToTypedQueue(channelRecord, cell.getRowKey(), cell.getValue());
-							return;
-						}
-
-						if (cell.getValue() != null && cell.getValue() != JsonNull.INSTANCE) {
-							// Error and value was not null
-							this.log.error("Unable to get ChannelRecord for Channel " //
-									+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]");
-						}
-
-					} catch (SQLException e) {
-						this.log.error("Unable to get ChannelRecord for Channel " //
-								+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]: "
-								+ e.getMessage());
-					}
-				});
+	/**
+	 * Stops the threads of all partitions.
+	 */
+	public synchronized void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 0);
+	}
 
-			}
-		}
+	/**
+	 * Adds new 'write' data to the Queue of the partition of the Edge.
+	 *
+	 * @param edgeId       the Edge-ID
+	 * @param table        the data table
+	 * @param isAggregated true for values that were aggregated by the Edge
+	 */
+	public void addData(String edgeId, TreeBasedTable<Long, String, JsonElement> table, boolean isAggregated) {
+		var partition = this.partitions[Math.floorMod(edgeId.hashCode(), this.partitions.length)];
+		partition.queue.offer(new WriteData(edgeId, table, isAggregated));
 	}
 
 	/**
 	 * Adds the data to the typed queue, ready for writing it to the database.
-	 * 
-	 * @param channel   the {@link ChannelRecord}e
-	 * @param timestamp the timestamp
-	 * @param json      the value as {@link JsonElement}
+	 *
+	 * @param channel      the {@link ChannelRecord}e
+	 * @param timestamp    the timestamp
+	 * @param json         the value as {@link JsonElement}
+	 * @param isAggregated true for values that were aggregated by the Edge
 	 */
-	private void addToTypedQueue(ChannelRecord channel, long timestamp, JsonElement json) {
+	private void addToTypedQueue(ChannelRecord channel, long timestamp, JsonElement json, boolean isAggregated) {
+		var queueHandler = isAggregated ? this.aggregatedQueueHandler : this.queueHandler;
 		try {
-			this.queueHandler.get(channel.type, channel.priority).offer(channel, timestamp, json);
+			queueHandler.get(channel.type, channel.priority).offer(channel, timestamp, json);
 		} catch (OpenemsNamedException e) {
 			this.log.warn("Unable to parse [" + json + "] to [" + channel.type + "] for Channel-ID [" + channel.id
 					+ "]: " + e.getMessage());
@@ -137,13 +260,14 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 
 	/**
 	 * Gets the initialized Schema; or null on error.
-	 * 
+	 *
 	 * <p>
 	 * If Schema can be initialized, the onInitializedSchema is also set.
-	 * 
+	 *
 	 * @return {@link Schema} or null
+	 * @throws InterruptedException if interrupted while waiting for a retry
 	 */
-	private synchronized Schema getOrInitializeSchema() {
+	private synchronized Schema getOrInitializeSchema() throws InterruptedException {
 		var schema = this.schema;
 		if (schema != null) {
 			return schema;
@@ -158,26 +282,25 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 		} catch (SQLException e) {
 			this.log.error("Unable to cache Schema: " + e.getMessage());
 			e.printStackTrace();
-			try {
-				Thread.sleep(10000);
-			} catch (InterruptedException e1) {
-				e1.printStackTrace();
-			}
+			Thread.sleep(10000);
 			return null;
 		}
 	}
 
 	/**
-	 * Returns a DebugLog String.
-	 * 
+	 * Returns a DebugLog String with queue size and throughput per partition.
+	 *
 	 * @return debug log
 	 */
 	public String debugLog() {
-		return new StringBuilder() //
-				.append(this.sourceQueue.size()) //
-				.append("/") //
-				.append(TimescaledbWriteHandler.POINTS_QUEUE_SIZE) //
-				.toString();
+		var sb = new StringBuilder();
+		for (var partition : this.partitions) {
+			if (sb.length() > 0) {
+				sb.append(",");
+			}
+			sb.append(partition.debugLog());
+		}
+		return sb.toString();
 	}
 
 }
@@ -58,6 +58,7 @@ public class TimescaledbWriteHandler {
 
 	// #2 step: split points to typed queues
 	private final DoubleKeyMap<Type, Priority, QueueHandler<?>> queueHandler;
+	private final DoubleKeyMap<Type, Priority, QueueHandler<?>> aggregatedQueueHandler;
 
 	public TimescaledbWriteHandler(Config config, Consumer<Schema> onInitializedSchema) throws SQLException {
 		this.isReadOnly = config.isReadOnly();
@@ -72,18 +73,23 @@ public class TimescaledbWriteHandler {
 		// Prepare typed merge points workers
 		this.queueHandler = new SimpleDoubleKeyMap<>(new EnumMap<>(Type.class), //
 				t -> new EnumMap<>(Priority.class));
+		this.aggregatedQueueHandler = new SimpleDoubleKeyMap<>(new EnumMap<>(Type.class), //
+				t -> new EnumMap<>(Priority.class));
 		for (var type : Type.values()) {
 			for (var priority : Priority.values()) {
 				this.queueHandler.put(type, priority, //
-						QueueHandler.of(type, priority, this.dataSource, this.executor));
+						QueueHandler.of(type, type.getRawTableName(priority), this.dataSource, this.executor));
+				this.aggregatedQueueHandler.put(type, priority, //
+						QueueHandler.of(type, type.getAggregatedTableName(priority), this.dataSource, this.executor));
 			}
 		}
 
 		// Split incoming data to Points and add to typed queues
 		this.splitPointsWorker = new SplitDataWorker(//
 				this.dataSource, //
-				this.executor, //
+				Math.max(1, config.poolSize() / 2), //
 				this.queueHandler, //
+				this.aggregatedQueueHandler, //
 				(schema) -> {
 					// only after Schema is initialized -> start all dependent workers
 					onInitializedSchema.accept(schema);
@@ -93,7 +99,7 @@ public class TimescaledbWriteHandler {
 	}
 
 	private final Stream<QueueHandler<?>> streamHandler() {
-		return this.queueHandler.values().stream() //
+		return Stream.concat(this.queueHandler.values().stream(), this.aggregatedQueueHandler.values().stream()) //
 				.flatMap(t -> t.values().stream()); //
 	}
 
@@ -130,7 +136,29 @@ public class TimescaledbWriteHandler {
 			return;
 		}
 
-		this.splitPointsWorker.addData(edgeId, data);
+		this.splitPointsWorker.addData(edgeId, data, false);
+	}
+
+	/**
+	 * See {@link Timedata#writeAggregated(String, TreeBasedTable)}.
+	 *
+	 * @param edgeId The unique Edge-ID
+	 * @param data   Table of timestamp (epoch in milliseconds; start of the
+	 *               aggregation window), Channel-Address and the aggregated
+	 *               Channel value as JsonElement. Sorted by timestamp.
+	 */
+	public void writeAggregated(String edgeId, TreeBasedTable<Long, String, JsonElement> data) {
+		if (!this.enableWriteToTimescaledb(edgeId)) {
+			return;
+		}
+
+		if (this.isReadOnly) {
+			this.log.info("Read-Only-Mode is activated. Not writing aggregated points: "
+					+ StringUtils.toShortString(data.toString(), 100));
+			return;
+		}
+
+		this.splitPointsWorker.addData(edgeId, data, true);
 	}
 
 	/**
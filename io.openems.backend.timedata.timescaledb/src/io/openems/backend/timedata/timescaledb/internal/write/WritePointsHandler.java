@@ -1,7 +1,7 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
 import java.sql.SQLException;
-import java.util.List;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,24 +11,23 @@ import com.zaxxer.hikari.HikariDataSource;
 import de.bytefish.pgbulkinsert.row.SimpleRowWriter;
 import de.bytefish.pgbulkinsert.row.SimpleRowWriter.Table;
 import de.bytefish.pgbulkinsert.util.PostgreSqlUtils;
-import io.openems.backend.timedata.timescaledb.internal.Priority;
-import io.openems.backend.timedata.timescaledb.internal.Type;
 
 public class WritePointsHandler implements Runnable {
 
 	private final Logger log = LoggerFactory.getLogger(WritePointsHandler.class);
 
 	private final HikariDataSource dataSource;
-	private final Type type;
-	private final List<Point> points;
+	private final PointBatch batch;
+	private final Consumer<PointBatch> onFinished;
 	private final Table table;
 
-	public WritePointsHandler(HikariDataSource dataSource, Type type, Priority priority, List<Point> points) {
+	public WritePointsHandler(HikariDataSource dataSource, String tableName, PointBatch batch,
+			Consumer<PointBatch> onFinished) {
 		this.dataSource = dataSource;
-		this.type = type;
-		this.points = points;
+		this.batch = batch;
+		this.onFinished = onFinished;
 
-		this.table = new SimpleRowWriter.Table(null, type.getRawTableName(priority), new String[] { //
+		this.table = new SimpleRowWriter.Table(null, tableName, new String[] { //
 				"time", //
 				"edge_channel_id", //
 				"value" //
@@ -41,9 +40,7 @@ public class WritePointsHandler implements Runnable {
 				var con = this.dataSource.getConnection();
 				SimpleRowWriter writer = new SimpleRowWriter(this.table, PostgreSqlUtils.getPGConnection(con)) //
 		) {
-			for (var point : this.points) {
-				writer.startRow(this.type.fillRow(point));
-			}
+			this.batch.writeTo(writer);
 
 		} catch (SQLException e) {
 			// 'Expected errors', e.g. PostgreSQL server stopped
@@ -55,6 +52,9 @@ public class WritePointsHandler implements Runnable {
 			this.log.error("Unable to write Points. " + e.getClass().getSimpleName() + ": " + e.getMessage());
 			e.printStackTrace();
 
+		} finally {
+			// Batch can be reused
+			this.onFinished.accept(this.batch);
 		}
 	}
 
@@ -0,0 +1,70 @@
+package io.openems.backend.timedata.timescaledb.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.common.timedata.Resolution;
+
+public class RollupTest {
+
+	private static final Set<Rollup> ALL = EnumSet.allOf(Rollup.class);
+	private static final ZonedDateTime FROM = ZonedDateTime.of(2022, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	private static final ZonedDateTime TO = FROM.plusMonths(1);
+
+	@Test
+	public void testResolution() {
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM, TO, new Resolution(5, ChronoUnit.MINUTES)));
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM, TO, new Resolution(15, ChronoUnit.MINUTES)));
+		assertEquals(Rollup.HOURS_1, Rollup.select(ALL, FROM, TO, new Resolution(1, ChronoUnit.HOURS)));
+		assertEquals(Rollup.HOURS_1, Rollup.select(ALL, FROM, TO, new Resolution(120, ChronoUnit.MINUTES)));
+
+		// Bucket must divide the Resolution
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM, TO, new Resolution(90, ChronoUnit.MINUTES)));
+		assertEquals(Rollup.HOURS_1, Rollup.select(ALL, FROM, TO, new Resolution(36, ChronoUnit.HOURS)));
+		assertEquals(Rollup.DAYS_1, Rollup.select(ALL, FROM, TO, new Resolution(1, ChronoUnit.DAYS)));
+		assertEquals(Rollup.DAYS_1, Rollup.select(ALL, FROM, TO, new Resolution(1, ChronoUnit.MONTHS)));
+		assertEquals(Rollup.DAYS_1, Rollup.select(ALL, FROM, TO, new Resolution(1, ChronoUnit.YEARS)));
+
+		// Resolutions finer than the smallest bucket fall back to the smallest Rollup
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM, TO, new Resolution(1, ChronoUnit.MINUTES)));
+	}
+
+	@Test
+	public void testAlignment() {
+		var resolution = new Resolution(1, ChronoUnit.DAYS);
+
+		// Local midnight is not aligned to UTC days
+		var berlin = ZoneId.of("Europe/Berlin");
+		assertEquals(Rollup.HOURS_1, Rollup.select(ALL, FROM.withZoneSameLocal(berlin), //
+				TO.withZoneSameLocal(berlin), resolution));
+
+		// Half-hour time zone offsets are only aligned to 5 minutes
+		var adelaide = ZoneId.of("Australia/Adelaide");
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM.withZoneSameLocal(adelaide), //
+				TO.withZoneSameLocal(adelaide), resolution));
+
+		// From-Date or To-Date not aligned
+		assertEquals(Rollup.HOURS_1, Rollup.select(ALL, FROM.plusHours(1), TO, resolution));
+		assertEquals(Rollup.HOURS_1, Rollup.select(ALL, FROM, TO.minusHours(1), resolution));
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM, TO.minusMinutes(5), resolution));
+		assertEquals(Rollup.MINUTES_5, Rollup.select(ALL, FROM.plusMinutes(3), TO, resolution));
+	}
+
+	@Test
+	public void testAvailable() {
+		var resolution = new Resolution(1, ChronoUnit.DAYS);
+		assertEquals(Rollup.HOURS_1,
+				Rollup.select(EnumSet.of(Rollup.MINUTES_5, Rollup.HOURS_1), FROM, TO, resolution));
+		assertEquals(Rollup.MINUTES_5, Rollup.select(EnumSet.of(Rollup.MINUTES_5), FROM, TO, resolution));
+		assertEquals(Rollup.MINUTES_5, Rollup.select(EnumSet.noneOf(Rollup.class), FROM, TO, resolution));
+	}
+
+}
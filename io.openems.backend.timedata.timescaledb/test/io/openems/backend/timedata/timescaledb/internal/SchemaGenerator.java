@@ -99,6 +99,7 @@ public class SchemaGenerator {
 						// .append(this.addCompression(type, priority)) //
 						.append(this.createAggregateTable(type, priority)) //
 						.append(this.addContinuousAggregate(type, priority)) //
+						.append(this.createAggregatedTable(type, priority)) //
 				;
 			}
 		}
@@ -113,6 +114,21 @@ public class SchemaGenerator {
 				+ ");\n\n";
 	}
 
+	private String createAggregatedTable(Type type, Priority priority) {
+		var tableName = type.getAggregatedTableName(priority);
+		return "CREATE TABLE IF NOT EXISTS " + tableName + " (\n" //
+				+ "  time TIMESTAMPTZ (3) NOT NULL,\n" //
+				+ "  edge_channel_id INTEGER NOT NULL,\n" //
+				+ "  value " + type.sqlDataType + " NOT NULL\n" //
+				+ ");\n\n" //
+				+ "SELECT create_hypertable('" + tableName + "',\n" //
+				+ "  'time',\n" //
+				+ "  chunk_time_interval => interval '7 days',\n" //
+				+ "  create_default_indexes => false);\n\n" //
+				+ "CREATE INDEX ix_" + tableName + "_time_channel ON " //
+				+ tableName + "(time desc, edge_channel_id ASC);\n\n";
+	}
+
 	private String createHyperTable(Type type, Priority priority) {
 		return "SELECT create_hypertable('" + type.getRawTableName(priority) + "',\n" //
 				+ "  'time',\n" //
@@ -0,0 +1,90 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import io.openems.backend.timedata.timescaledb.internal.write.PointBatch.IntPointBatch;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Compares queuing INTEGER points in {@link IntPointBatch}es with queuing one
+ * object per point, as done before by the 'Point' classes.
+ *
+ * <p>
+ * This is not a unit test and is not run by the build. Run the main() method
+ * from the IDE; the optional argument is the number of points (default 10M).
+ * PostgreSQL and pgBulkInsert are not included.
+ */
+public class PointBatchBenchmark {
+
+	private static final int BATCH_SIZE = 10_000;
+
+	private record ObjectPoint(int channelId, ZonedDateTime timestamp, long value) {
+	}
+
+	/**
+	 * Main.
+	 *
+	 * @param args the arguments
+	 * @throws OpenemsNamedException on error
+	 */
+	public static void main(String[] args) throws OpenemsNamedException {
+		var points = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+		// Values as they are parsed from a JSON-RPC notification
+		var values = new JsonElement[1_000];
+		for (var i = 0; i < values.length; i++) {
+			values[i] = JsonParser.parseString(Integer.toString(i * 37));
+		}
+
+		for (var round = 0; round < 3; round++) {
+			System.out.println("Round " + round);
+			measure("Object per point", points, () -> {
+				var queue = new ArrayList<ObjectPoint>(BATCH_SIZE);
+				for (var i = 0; i < points; i++) {
+					var timestamp = 1577836800_000L + i / 500 * 1_000;
+					Long value = JsonUtils.getAsType(OpenemsType.LONG, values[i % values.length]);
+					queue.add(new ObjectPoint(i % 500, //
+							ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC), value));
+					if (queue.size() == BATCH_SIZE) {
+						queue.clear();
+					}
+				}
+			});
+			var batch = new IntPointBatch(BATCH_SIZE);
+			measure("Columnar batch", points, () -> {
+				for (var i = 0; i < points; i++) {
+					var timestamp = 1577836800_000L + i / 500 * 1_000;
+					batch.add(i % 500, timestamp, values[i % values.length]);
+					if (batch.isFull()) {
+						batch.clear();
+					}
+				}
+			});
+		}
+	}
+
+	private static interface Task {
+		public void run() throws OpenemsNamedException;
+	}
+
+	private static void measure(String name, int points, Task task) throws OpenemsNamedException {
+		var bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		var allocatedStart = bean.getCurrentThreadAllocatedBytes();
+		var start = System.nanoTime();
+		task.run();
+		var duration = System.nanoTime() - start;
+		var allocated = bean.getCurrentThreadAllocatedBytes() - allocatedStart;
+		System.out.println(String.format("  %-17s %6.1fM points/s, %5.1f B/point", name,
+				points * 1_000. / duration, (double) allocated / points));
+	}
+
+}
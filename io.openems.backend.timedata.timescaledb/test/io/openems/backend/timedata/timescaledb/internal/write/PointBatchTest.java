@@ -0,0 +1,83 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.timedata.timescaledb.internal.write.PointBatch.IntPointBatch;
+import io.openems.backend.timedata.timescaledb.internal.write.PointBatch.StringPointBatch;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+
+public class PointBatchTest {
+
+	@Test
+	public void testIntToLong() throws OpenemsNamedException {
+		assertEquals(12L, IntPointBatch.toLong(new JsonPrimitive(12)));
+		assertEquals(Long.MAX_VALUE, IntPointBatch.toLong(new JsonPrimitive(Long.MAX_VALUE)));
+
+		// Decimals are rounded
+		assertEquals(12L, IntPointBatch.toLong(new JsonPrimitive(12.4)));
+		assertEquals(13L, IntPointBatch.toLong(new JsonPrimitive(12.5)));
+		assertEquals(-13L, IntPointBatch.toLong(new JsonPrimitive(-12.6)));
+		assertEquals(13L, IntPointBatch.toLong(JsonParser.parseString("12.7")));
+		assertEquals(1000L, IntPointBatch.toLong(JsonParser.parseString("1e3")));
+
+		// Parsed numbers keep full precision
+		assertEquals(9007199254740993L, IntPointBatch.toLong(JsonParser.parseString("9007199254740993")));
+
+		// Strings
+		assertEquals(101180500005L, IntPointBatch.toLong(new JsonPrimitive("101180500005")));
+		assertEquals(-3L, IntPointBatch.toLong(new JsonPrimitive("-2.6")));
+
+		// Booleans
+		assertEquals(1L, IntPointBatch.toLong(new JsonPrimitive(true)));
+		assertEquals(0L, IntPointBatch.toLong(new JsonPrimitive(false)));
+
+		// Invalid
+		assertThrows(OpenemsNamedException.class, () -> IntPointBatch.toLong(new JsonPrimitive("foo")));
+		assertThrows(OpenemsNamedException.class,
+				() -> IntPointBatch.toLong(new JsonPrimitive("99999999999999999999")));
+	}
+
+	@Test
+	public void testAdd() throws OpenemsNamedException {
+		var sut = new IntPointBatch(2);
+		assertTrue(sut.isEmpty());
+
+		// Null values are not added
+		assertFalse(sut.add(1, 1577836800_000L, null));
+		assertFalse(sut.add(1, 1577836800_000L, JsonNull.INSTANCE));
+		assertTrue(sut.isEmpty());
+
+		// Invalid values are not added
+		assertThrows(OpenemsNamedException.class, () -> sut.add(1, 1577836800_000L, new JsonPrimitive("foo")));
+		assertTrue(sut.isEmpty());
+
+		assertTrue(sut.add(1, 1577836800_000L, new JsonPrimitive(12.5)));
+		assertFalse(sut.isFull());
+		assertTrue(sut.add(2, 1577836800_000L, new JsonPrimitive(7)));
+		assertEquals(2, sut.size());
+		assertTrue(sut.isFull());
+
+		sut.clear();
+		assertTrue(sut.isEmpty());
+		assertFalse(sut.isFull());
+	}
+
+	@Test
+	public void testStringAdd() throws OpenemsNamedException {
+		var sut = new StringPointBatch(1);
+		assertTrue(sut.add(1, 1577836800_000L, new JsonPrimitive("foo")));
+		assertTrue(sut.isFull());
+		sut.clear();
+		assertTrue(sut.isEmpty());
+	}
+
+}
@@ -16,6 +16,9 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "UI Refresh Rate [ms]", description = "Interval for pushing subscribed Channel values to UI sessions; notifications of an Edge within this interval are coalesced. Zero pushes on every notification.")
+	int refreshRate() default 1000;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	DebugMode debugMode() default DebugMode.OFF;
 
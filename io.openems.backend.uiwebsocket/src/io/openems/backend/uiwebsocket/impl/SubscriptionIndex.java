@@ -0,0 +1,76 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.jsonrpc.request.SubscribeEdgesRequest;
+
+/**
+ * Index of UI sessions by subscribed Edge-ID.
+ *
+ * <p>
+ * Maintained on {@link SubscribeEdgesRequest}, logout and close of a session,
+ * so that data of an Edge is only fanned out to the sessions that actually
+ * subscribed it - instead of checking every session on every notification.
+ */
+public class SubscriptionIndex {
+
+	private final ConcurrentHashMap<String, Set<WsData>> subscribers = new ConcurrentHashMap<>();
+
+	/**
+	 * Updates the subscribed Edge-IDs of a session.
+	 *
+	 * @param wsData   the {@link WsData} of the session
+	 * @param previous the previously subscribed Edge-IDs
+	 * @param next     the now subscribed Edge-IDs
+	 */
+	public void update(WsData wsData, Set<String> previous, Set<String> next) {
+		for (var edgeId : previous) {
+			if (!next.contains(edgeId)) {
+				this.remove(edgeId, wsData);
+			}
+		}
+		for (var edgeId : next) {
+			// add within compute(); a Set might be removed concurrently once empty
+			this.subscribers.compute(edgeId, (e, sessions) -> {
+				if (sessions == null) {
+					sessions = ConcurrentHashMap.newKeySet();
+				}
+				sessions.add(wsData);
+				return sessions;
+			});
+		}
+	}
+
+	private void remove(String edgeId, WsData wsData) {
+		this.subscribers.computeIfPresent(edgeId, (e, sessions) -> {
+			sessions.remove(wsData);
+			return sessions.isEmpty() ? null : sessions;
+		});
+	}
+
+	/**
+	 * Gets the sessions that subscribed an Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link WsData}s; empty if there are none
+	 */
+	public Set<WsData> get(String edgeId) {
+		var result = this.subscribers.get(edgeId);
+		if (result == null) {
+			return Collections.emptySet();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of subscribed Edge-IDs.
+	 *
+	 * @return the number of Edge-IDs with at least one subscriber
+	 */
+	public int size() {
+		return this.subscribers.size();
+	}
+
+}
@@ -1,11 +1,13 @@
 package io.openems.backend.uiwebsocket.impl;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.java_websocket.WebSocket;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
@@ -16,6 +18,9 @@ import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.edgewebsocket.EdgeCache;
@@ -45,10 +50,22 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 })
 public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements UiWebsocket, EventHandler {
 
+	private final Logger log = LoggerFactory.getLogger(UiWebsocketImpl.class);
 	private final ScheduledExecutorService debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
 
 	protected WebsocketServer server = null;
 
+	/**
+	 * Index of UI sessions by subscribed Edge-ID.
+	 */
+	protected final SubscriptionIndex subscriptions = new SubscriptionIndex();
+
+	/**
+	 * Edges with new data since the last refresh of the UI sessions.
+	 */
+	private final ConcurrentHashMap<String, EdgeCache> pendingRefreshes = new ConcurrentHashMap<>();
+	private ScheduledExecutorService refreshExecutor = null;
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -70,11 +87,19 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	@Activate
 	private void activate(Config config) {
 		this.config = config;
+
+		if (config.refreshRate() > 0) {
+			this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setNameFormat("Ui.Websocket.Refresh-%d").build());
+			this.refreshExecutor.scheduleAtFixedRate(this::refreshSubscribedChannels, config.refreshRate(),
+					config.refreshRate(), TimeUnit.MILLISECONDS);
+		}
 	}
 
 	@Deactivate
 	private void deactivate() {
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.refreshExecutor, 0);
 		this.stopServer();
 	}
 
@@ -129,21 +154,18 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	@Override
 	public void sendBroadcast(String edgeId, JsonrpcNotification notification) throws OpenemsNamedException {
-		var wsDatas = this.getWsDatasForEdgeId(edgeId);
-		OpenemsNamedException exception = null;
-		for (WsData wsData : wsDatas) {
-			if (!wsData.isEdgeSubscribed(edgeId)) {
+		var recipients = new ArrayList<WebSocket>();
+		for (var wsData : this.subscriptions.get(edgeId)) {
+			if (!this.hasAccess(wsData, edgeId)) {
 				continue;
 			}
-			try {
-				wsData.send(notification);
-			} catch (OpenemsNamedException e) {
-				exception = e;
+			var ws = wsData.getWebsocket();
+			if (ws != null) {
+				recipients.add(ws);
 			}
 		}
-		if (exception != null) {
-			throw exception;
-		}
+		// Serialize once for all recipients
+		this.server.broadcastMessage(recipients, notification);
 	}
 
 	/**
@@ -166,37 +188,26 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	}
 
 	/**
-	 * Gets the WebSocket connection attachments of all connections accessing an
-	 * Edge-ID.
+	 * Has the User of a WebSocket connection access to an Edge-ID?.
 	 *
+	 * @param wsData the WebSocket attachment
 	 * @param edgeId the Edge-ID
-	 * @return the WsDatas; empty list if there are none
+	 * @return true if the User has a Role for this Edge-ID
 	 */
-	private List<WsData> getWsDatasForEdgeId(String edgeId) {
-		var result = new ArrayList<WsData>();
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData == null) {
-				continue;
-			}
-			// get attachment User-ID
-			var userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				var userId = userIdOpt.get();
-				// get User for User-ID
-				var userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					var user = userOpt.get();
-					var edgeRoleOpt = user.getRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
-				}
+	private boolean hasAccess(WsData wsData, String edgeId) {
+		// get attachment User-ID
+		var userIdOpt = wsData.getUserId();
+		if (userIdOpt.isPresent()) {
+			var userId = userIdOpt.get();
+			// get User for User-ID
+			var userOpt = this.metadata.getUser(userId);
+			if (userOpt.isPresent()) {
+				var user = userOpt.get();
+				// User has access to this Edge-ID
+				return user.getRole(edgeId).isPresent();
 			}
 		}
-		return result;
+		return false;
 	}
 
 	@Override
@@ -210,12 +221,34 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	@Override
 	public void sendSubscribedChannels(String edgeId, EdgeCache edgeCache) {
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData != null) {
-				wsData.sendSubscribedChannels(edgeId, edgeCache);
+		if (this.refreshExecutor == null) {
+			this.sendSubscribedChannelsNow(edgeId, edgeCache);
+		} else {
+			// Coalesce multiple notifications within one refresh period
+			this.pendingRefreshes.put(edgeId, edgeCache);
+		}
+	}
+
+	/**
+	 * Sends the subscribed Channels of all Edges with new data since the last
+	 * refresh. Called regularly with the configured refresh rate.
+	 */
+	private void refreshSubscribedChannels() {
+		try {
+			for (var edgeId : this.pendingRefreshes.keySet()) {
+				var edgeCache = this.pendingRefreshes.remove(edgeId);
+				if (edgeCache != null) {
+					this.sendSubscribedChannelsNow(edgeId, edgeCache);
+				}
 			}
+		} catch (Throwable t) {
+			this.logError(this.log, "Unable to refresh subscribed Channels: " + t.getMessage());
+		}
+	}
+
+	private void sendSubscribedChannelsNow(String edgeId, EdgeCache edgeCache) {
+		for (var wsData : this.subscriptions.get(edgeId)) {
+			wsData.sendSubscribedChannels(edgeId, edgeCache);
 		}
 	}
 
@@ -2,7 +2,6 @@ package io.openems.backend.uiwebsocket.impl;
 
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -55,11 +54,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 				return Collections.emptyMap();
 			}
 
-			var result = new HashMap<String, JsonElement>(subscribedChannels.size());
-			for (var channel : subscribedChannels) {
-				result.put(channel, edgeCache.getChannelValue(channel));
-			}
-			return result;
+			return edgeCache.getChannelValues(subscribedChannels);
 		}
 
 		protected void dispose() {
@@ -74,7 +69,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private Optional<String> userId = Optional.empty();
 	private Optional<String> token = Optional.empty();
 
-	private Set<String> subscribedEdges = new HashSet<>();
+	private volatile Set<String> subscribedEdges = Collections.emptySet();
 
 	public WsData(WebsocketServer parent) {
 		this.parent = parent;
@@ -87,6 +82,13 @@ public class WsData extends io.openems.common.websocket.WsData {
 		this.unsetToken();
 		this.unsetUserId();
 		this.subscribedChannels.dispose();
+		this.handleSubscribeEdgesRequest(Collections.emptySet());
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		this.handleSubscribeEdgesRequest(Collections.emptySet());
 	}
 
 	public synchronized void setUserId(String userId) {
@@ -184,8 +186,10 @@ public class WsData extends io.openems.common.websocket.WsData {
 	 * 
 	 * @param edgeIds the edges to subscribe
 	 */
-	public void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+	public synchronized void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+		var previous = this.subscribedEdges;
 		this.subscribedEdges = edgeIds;
+		this.parent.parent.subscriptions.update(this, previous, edgeIds);
 	}
 
 	/**
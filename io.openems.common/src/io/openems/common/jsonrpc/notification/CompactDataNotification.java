@@ -0,0 +1,152 @@
+package io.openems.common.jsonrpc.notification;
+
+import java.util.TreeMap;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+import io.openems.common.types.ChannelDictionary;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Notification for timestamped data sent from Edge to
+ * Backend, using the IDs of a {@link ChannelDictionary} instead of
+ * Channel-Address strings.
+ *
+ * <p>
+ * The {@link ChannelDictionary} has to be announced before via
+ * {@link SetChannelDictionaryRequest}. The values per timestamp are encoded as
+ * a flat array of ID-value pairs.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "method": "compactData",
+ *   "params": {
+ *     "version": string,
+ *     "data": {
+ *       [timestamp: epoch in milliseconds]: [id, value, id, value,...]
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class CompactDataNotification extends JsonrpcNotification {
+
+	public static final String METHOD = "compactData";
+
+	/**
+	 * Parses a {@link JsonrpcNotification} to a {@link CompactDataNotification}.
+	 *
+	 * @param notification the {@link JsonrpcNotification}
+	 * @return the {@link CompactDataNotification}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static CompactDataNotification from(JsonrpcNotification notification) throws OpenemsNamedException {
+		var p = notification.getParams();
+		var version = JsonUtils.getAsString(p, "version");
+		var data = new TreeMap<Long, JsonArray>();
+		for (var entry : JsonUtils.getAsJsonObject(p, "data").entrySet()) {
+			data.put(Long.parseLong(entry.getKey()), JsonUtils.getAsJsonArray(entry.getValue()));
+		}
+		return new CompactDataNotification(version, data);
+	}
+
+	/**
+	 * Encodes timestamped data using a {@link ChannelDictionary}.
+	 *
+	 * @param dictionary the {@link ChannelDictionary}
+	 * @param data       Table of timestamp (epoch in milliseconds),
+	 *                   Channel-Address and the Channel value as JsonElement
+	 * @return the {@link CompactDataNotification}
+	 * @throws OpenemsException if a Channel-Address is not in the
+	 *                          {@link ChannelDictionary}
+	 */
+	public static CompactDataNotification from(ChannelDictionary dictionary,
+			TreeBasedTable<Long, String, JsonElement> data) throws OpenemsException {
+		var result = new TreeMap<Long, JsonArray>();
+		for (var row : data.rowMap().entrySet()) {
+			var values = new JsonArray();
+			for (var entry : row.getValue().entrySet()) {
+				var id = dictionary.getId(entry.getKey());
+				if (id == null) {
+					throw new OpenemsException("Channel [" + entry.getKey() + "] is not in " + dictionary);
+				}
+				values.add(id);
+				values.add(entry.getValue());
+			}
+			result.put(row.getKey(), values);
+		}
+		return new CompactDataNotification(dictionary.getVersion(), result);
+	}
+
+	private final String version;
+	private final TreeMap<Long, JsonArray> data;
+
+	private CompactDataNotification(String version, TreeMap<Long, JsonArray> data) {
+		super(CompactDataNotification.METHOD);
+		this.version = version;
+		this.data = data;
+	}
+
+	/**
+	 * Gets the version of the {@link ChannelDictionary} used for encoding.
+	 *
+	 * @return the version
+	 */
+	public String getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Decodes the data using a {@link ChannelDictionary}.
+	 *
+	 * <p>
+	 * The resulting table uses the Channel-Address instances of the
+	 * {@link ChannelDictionary}, i.e. no Channel-Address strings are parsed.
+	 *
+	 * @param dictionary the {@link ChannelDictionary}
+	 * @return Table of timestamp (epoch in milliseconds), Channel-Address and the
+	 *         Channel value as JsonElement
+	 * @throws OpenemsNamedException if the versions do not match or an ID is
+	 *                               unknown
+	 */
+	public TreeBasedTable<Long, String, JsonElement> getData(ChannelDictionary dictionary)
+			throws OpenemsNamedException {
+		if (dictionary == null || !dictionary.getVersion().equals(this.version)) {
+			throw new OpenemsException("Unknown Channel-Dictionary version [" + this.version + "]");
+		}
+		var result = TreeBasedTable.<Long, String, JsonElement>create();
+		for (var row : this.data.entrySet()) {
+			var values = row.getValue();
+			for (var i = 0; i + 1 < values.size(); i += 2) {
+				var id = JsonUtils.getAsInt(values.get(i));
+				var address = dictionary.getAddress(id);
+				if (address == null) {
+					throw new OpenemsException("Unknown Channel-ID [" + id + "] in " + dictionary);
+				}
+				result.put(row.getKey(), address, values.get(i + 1));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		var data = new JsonObject();
+		for (var entry : this.data.entrySet()) {
+			data.add(entry.getKey().toString(), entry.getValue());
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("version", this.version) //
+				.add("data", data) //
+				.build();
+	}
+
+}
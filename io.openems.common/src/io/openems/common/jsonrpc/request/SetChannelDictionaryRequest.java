@@ -0,0 +1,89 @@
+package io.openems.common.jsonrpc.request;
+
+import java.util.ArrayList;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
+import io.openems.common.types.ChannelDictionary;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Request to announce a {@link ChannelDictionary}.
+ *
+ * <p>
+ * This is sent by Edge to Backend after connecting. If the Backend answers
+ * with success, the Edge sends its data via {@link CompactDataNotification}s;
+ * otherwise it keeps using the full Channel-Address strings.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "setChannelDictionary",
+ *   "params": {
+ *     "version": string,
+ *     "channels": string[] // index is the ID
+ *   }
+ * }
+ * </pre>
+ */
+public class SetChannelDictionaryRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "setChannelDictionary";
+
+	/**
+	 * Create {@link SetChannelDictionaryRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 *
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link SetChannelDictionaryRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static SetChannelDictionaryRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		var p = r.getParams();
+		var version = JsonUtils.getAsString(p, "version");
+		var channels = JsonUtils.getAsJsonArray(p, "channels");
+		var addresses = new ArrayList<String>(channels.size());
+		for (var channel : channels) {
+			addresses.add(JsonUtils.getAsString(channel));
+		}
+		return new SetChannelDictionaryRequest(r, ChannelDictionary.of(version, addresses));
+	}
+
+	private final ChannelDictionary dictionary;
+
+	private SetChannelDictionaryRequest(JsonrpcRequest request, ChannelDictionary dictionary) {
+		super(request, SetChannelDictionaryRequest.METHOD);
+		this.dictionary = dictionary;
+	}
+
+	public SetChannelDictionaryRequest(ChannelDictionary dictionary) {
+		super(SetChannelDictionaryRequest.METHOD);
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Gets the {@link ChannelDictionary}.
+	 *
+	 * @return the {@link ChannelDictionary}
+	 */
+	public ChannelDictionary getDictionary() {
+		return this.dictionary;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		var channels = new JsonArray();
+		for (var address : this.dictionary.getAddresses()) {
+			channels.add(address);
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("version", this.dictionary.getVersion()) //
+				.add("channels", channels) //
+				.build();
+	}
+}
@@ -0,0 +1,137 @@
+package io.openems.common.types;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+
+/**
+ * Maps Channel-Addresses to integer IDs.
+ *
+ * <p>
+ * A {@link ChannelDictionary} is announced by the Edge via
+ * {@link SetChannelDictionaryRequest}. Once the Backend has acknowledged it,
+ * data is sent via {@link CompactDataNotification}s, which carry the IDs
+ * instead of the full Channel-Address strings.
+ *
+ * <p>
+ * The ID of a Channel-Address is its index in the sorted list of addresses.
+ * The version is a hash of that list, so both sides can detect if they are
+ * using different dictionaries.
+ */
+public class ChannelDictionary {
+
+	/**
+	 * Creates a {@link ChannelDictionary} for the given Channel-Addresses.
+	 *
+	 * @param addresses the Channel-Addresses
+	 * @return the {@link ChannelDictionary}
+	 */
+	public static ChannelDictionary of(Collection<String> addresses) {
+		var sorted = addresses.stream() //
+				.distinct() //
+				.sorted() //
+				.toArray(String[]::new);
+		return new ChannelDictionary(toVersion(sorted), sorted);
+	}
+
+	/**
+	 * Creates a {@link ChannelDictionary} from an announced version and list of
+	 * Channel-Addresses.
+	 *
+	 * @param version   the announced version
+	 * @param addresses the Channel-Addresses; index is the ID
+	 * @return the {@link ChannelDictionary}
+	 */
+	public static ChannelDictionary of(String version, List<String> addresses) {
+		return new ChannelDictionary(version, addresses.toArray(String[]::new));
+	}
+
+	private static String toVersion(String[] addresses) {
+		return Integer.toHexString(Arrays.hashCode(addresses)) + "-" + addresses.length;
+	}
+
+	private final String version;
+	private final String[] addresses;
+	private final Map<String, Integer> ids;
+
+	private ChannelDictionary(String version, String[] addresses) {
+		this.version = version;
+		this.addresses = addresses;
+		this.ids = new HashMap<>(addresses.length * 2);
+		for (var i = 0; i < addresses.length; i++) {
+			this.ids.put(addresses[i], i);
+		}
+	}
+
+	/**
+	 * Gets the version of this {@link ChannelDictionary}.
+	 *
+	 * @return the version
+	 */
+	public String getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets the Channel-Addresses. The index is the ID.
+	 *
+	 * @return a list of Channel-Addresses
+	 */
+	public List<String> getAddresses() {
+		return Arrays.asList(this.addresses);
+	}
+
+	/**
+	 * Gets the number of Channel-Addresses.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return this.addresses.length;
+	}
+
+	/**
+	 * Gets the ID of a Channel-Address.
+	 *
+	 * @param address the Channel-Address
+	 * @return the ID; null if the Channel-Address is unknown
+	 */
+	public Integer getId(String address) {
+		return this.ids.get(address);
+	}
+
+	/**
+	 * Gets the Channel-Address of an ID.
+	 *
+	 * @param id the ID
+	 * @return the Channel-Address; null if the ID is unknown
+	 */
+	public String getAddress(int id) {
+		if (id < 0 || id >= this.addresses.length) {
+			return null;
+		}
+		return this.addresses[id];
+	}
+
+	/**
+	 * Does this {@link ChannelDictionary} contain all given Channel-Addresses?.
+	 *
+	 * @param addresses the Channel-Addresses
+	 * @return true if all are contained
+	 */
+	public boolean containsAll(Set<String> addresses) {
+		return this.ids.keySet().containsAll(addresses);
+	}
+
+	@Override
+	public String toString() {
+		return "ChannelDictionary [version=" + this.version + ", size=" + this.addresses.length + "]";
+	}
+
+}
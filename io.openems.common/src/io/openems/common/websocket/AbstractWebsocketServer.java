@@ -29,6 +29,7 @@ import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponse;
+import io.openems.common.jsonrpc.base.JsonrpcResponseError;
 import io.openems.common.utils.JsonrpcUtils;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
@@ -49,10 +50,16 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		}
 	}
 
+	/**
+	 * Default capacity of the {@link Mailbox} per connection.
+	 */
+	public static final int DEFAULT_MAILBOX_CAPACITY = 1000;
+
 	/**
 	 * Shared {@link ExecutorService}.
 	 */
 	private final ThreadPoolExecutor executor;
+	private final int mailboxCapacity;
 
 	/*
 	 * This Executor is used if Debug-Mode is activated.
@@ -81,9 +88,26 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	 */
 	protected AbstractWebsocketServer(String name, int port, int poolSize, DebugMode debugMode,
 			Consumer<ThreadPoolExecutor> debugCallback) {
+		this(name, port, poolSize, DEFAULT_MAILBOX_CAPACITY, debugMode, debugCallback);
+	}
+
+	/**
+	 * Construct an {@link AbstractWebsocketServer}.
+	 *
+	 * @param name            to identify this server
+	 * @param port            to listen on
+	 * @param poolSize        number of threads dedicated to handle the tasks
+	 * @param mailboxCapacity maximum number of pending messages per connection
+	 * @param debugMode       activate a regular debug log about the state of the
+	 *                        tasks
+	 * @param debugCallback   additional callback on regular debug log
+	 */
+	protected AbstractWebsocketServer(String name, int port, int poolSize, int mailboxCapacity, DebugMode debugMode,
+			Consumer<ThreadPoolExecutor> debugCallback) {
 		super(name);
 		this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(poolSize,
 				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+		this.mailboxCapacity = mailboxCapacity;
 
 		this.port = port;
 		this.ws = new WebSocketServer(new InetSocketAddress(port),
@@ -100,10 +124,15 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				try {
 					T wsData = AbstractWebsocketServer.this.createWsData();
 					wsData.setWebsocket(ws);
+					wsData.setMailbox(new Mailbox(AbstractWebsocketServer.this.executor,
+							AbstractWebsocketServer.this.mailboxCapacity,
+							e -> AbstractWebsocketServer.this.logError(AbstractWebsocketServer.this.log,
+									"Unhandled error in Mailbox of [" + wsData + "]: " + e.getClass().getSimpleName()
+											+ ": " + e.getMessage())));
 					ws.setAttachment(wsData);
 					var jHandshake = WebsocketUtils.handshakeToJsonObject(handshake);
-					AbstractWebsocketServer.this
-							.execute(new OnOpenHandler(AbstractWebsocketServer.this, ws, jHandshake));
+					AbstractWebsocketServer.this.execute(ws,
+							new OnOpenHandler(AbstractWebsocketServer.this, ws, jHandshake));
 
 				} catch (Throwable t) {
 					AbstractWebsocketServer.this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
@@ -113,37 +142,21 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 			@Override
 			public void onMessage(WebSocket ws, String stringMessage) {
 				try {
-					JsonrpcMessage message;
-					try {
-						try {
-							message = JsonrpcMessage.from(stringMessage);
-
-						} catch (OpenemsNamedException e) {
-							// handle deprecated non-JSON-RPC messages
-							message = AbstractWebsocketServer.this.handleNonJsonrpcMessage(ws, stringMessage, e);
-						}
-						if (message == null) {
-							// silently ignore 'null'
-							return;
-						}
-					} catch (OpenemsNamedException e) {
-						AbstractWebsocketServer.this.handleInternalErrorAsync(e, WebsocketUtils.getWsDataString(ws));
-						return;
-					}
-
-					if (message instanceof JsonrpcRequest) {
-						AbstractWebsocketServer.this.execute(new OnRequestHandler(AbstractWebsocketServer.this, ws,
-								(JsonrpcRequest) message, response -> {
-									AbstractWebsocketServer.this.sendMessage(ws, response);
-								}));
-
-					} else if (message instanceof JsonrpcResponse) {
+					var receivedNanos = System.nanoTime();
+					// Parsing and handling happens in order on the Mailbox of the connection
+					WsData wsData = ws.getAttachment();
+					var mailbox = wsData == null ? null : wsData.getMailbox();
+					if (mailbox == null) {
+						AbstractWebsocketServer.this.execute(() -> AbstractWebsocketServer.this.handleMessage(ws,
+								stringMessage, null, receivedNanos));
+
+					} else if (!mailbox.execute(() -> AbstractWebsocketServer.this.handleMessage(ws, stringMessage,
+							mailbox, receivedNanos), true)) {
+						AbstractWebsocketServer.this.logWarn(AbstractWebsocketServer.this.log,
+								"Mailbox of [" + wsData + "] is full. Rejecting message: "
+										+ StringUtils.toShortString(stringMessage, 100));
 						AbstractWebsocketServer.this.execute(
-								new OnResponseHandler(AbstractWebsocketServer.this, ws, (JsonrpcResponse) message));
-
-					} else if (message instanceof JsonrpcNotification) {
-						AbstractWebsocketServer.this.execute(new OnNotificationHandler(AbstractWebsocketServer.this, ws,
-								(JsonrpcNotification) message));
+								() -> AbstractWebsocketServer.this.handleRejectedMessage(ws, stringMessage));
 					}
 
 				} catch (Throwable t) {
@@ -157,7 +170,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 					if (ws == null) {
 						AbstractWebsocketServer.this.handleInternalErrorAsync(ex, WebsocketUtils.getWsDataString(ws));
 					} else {
-						AbstractWebsocketServer.this.execute(new OnErrorHandler(AbstractWebsocketServer.this, ws, ex));
+						AbstractWebsocketServer.this.execute(ws,
+								new OnErrorHandler(AbstractWebsocketServer.this, ws, ex));
 					}
 
 				} catch (Throwable t) {
@@ -168,8 +182,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 			@Override
 			public void onClose(WebSocket ws, int code, String reason, boolean remote) {
 				try {
-					AbstractWebsocketServer.this
-							.execute(new OnCloseHandler(AbstractWebsocketServer.this, ws, code, reason, remote));
+					AbstractWebsocketServer.this.execute(ws,
+							new OnCloseHandler(AbstractWebsocketServer.this, ws, code, reason, remote));
 
 				} catch (Throwable t) {
 					AbstractWebsocketServer.this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
@@ -222,6 +236,7 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				var b = new StringBuilder("[monitor] ") //
 						.append("Connections: ").append(this.ws.getConnections().size()).append(", ") //
 						.append(ThreadPoolUtils.debugLog(this.executor)); //
+				this.appendMailboxDebugLog(b);
 				if (this.debugMode.isAtLeast(DebugMode.DETAILED) && this.executor.getActiveCount() > 0) {
 					b.append(", Tasks: ");
 					this.activeTasks.forEach((id, count) -> {
@@ -290,9 +305,25 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	 * @param message the JSON-RPC Message
 	 */
 	public void broadcastMessage(JsonrpcMessage message) {
-		for (WebSocket ws : this.getConnections()) {
-			this.sendMessage(ws, message);
+		this.broadcastMessage(this.getConnections(), message);
+	}
+
+	/**
+	 * Broadcasts a message to the given WebSockets.
+	 *
+	 * <p>
+	 * The message is serialized and encoded to WebSocket frames only once; the
+	 * prepared frames are then written to all recipients. Recipients that are not
+	 * connected anymore are silently skipped.
+	 *
+	 * @param recipients the WebSockets
+	 * @param message    the JSON-RPC Message
+	 */
+	public void broadcastMessage(Collection<WebSocket> recipients, JsonrpcMessage message) {
+		if (recipients.isEmpty()) {
+			return;
 		}
+		this.ws.broadcast(message.toString(), recipients);
 	}
 
 	/**
@@ -322,19 +353,189 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	@Override
 	protected void execute(Runnable command) {
 		if (this.debugMode.isAtLeast(DebugMode.DETAILED)) {
-			this.executor.execute(() -> {
-				String id = AbstractWebsocketServer.getRunnableIdentifier(command);
+			this.executor.execute(() -> this.runTracked(command));
+		} else {
+			this.executor.execute(command);
+		}
+	}
+
+	/**
+	 * Execute a {@link Runnable} in order on the {@link Mailbox} of the WebSocket.
+	 * Falls back to the shared {@link ExecutorService} if there is no
+	 * {@link Mailbox}.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param command the {@link Runnable}
+	 */
+	protected void execute(WebSocket ws, Runnable command) {
+		WsData wsData = ws.getAttachment();
+		var mailbox = wsData == null ? null : wsData.getMailbox();
+		if (mailbox == null) {
+			this.execute(command);
+		} else if (this.debugMode.isAtLeast(DebugMode.DETAILED)) {
+			mailbox.execute(() -> this.runTracked(command), false);
+		} else {
+			mailbox.execute(command, false);
+		}
+	}
+
+	private void runTracked(Runnable command) {
+		String id = AbstractWebsocketServer.getRunnableIdentifier(command);
+		try {
+			this.activeTasks.computeIfAbsent(id, ATOMIC_INTEGER_PROVIDER).incrementAndGet();
+			command.run();
+		} finally {
+			this.activeTasks.get(id).decrementAndGet();
+		}
+	}
+
+	/**
+	 * Parses and handles a message. Called on the {@link Mailbox} of the
+	 * connection.
+	 *
+	 * <p>
+	 * Notifications and Responses are handled in order on the {@link Mailbox};
+	 * Requests are handed to the shared {@link ExecutorService}, so that slow
+	 * Requests, e.g. historic queries, do not delay the following messages.
+	 *
+	 * <p>
+	 * If the {@link Mailbox} is overloaded, load is shed depending on the type of
+	 * message: Notifications are dropped; Requests are answered with an error
+	 * immediately; Responses are always handled, as they complete pending
+	 * Requests.
+	 *
+	 * @param ws            the {@link WebSocket}
+	 * @param stringMessage the message
+	 * @param mailbox       the {@link Mailbox}; possibly null
+	 * @param receivedNanos the {@link System#nanoTime()} when the message was
+	 *                      received
+	 */
+	private void handleMessage(WebSocket ws, String stringMessage, Mailbox mailbox, long receivedNanos) {
+		try {
+			JsonrpcMessage message;
+			try {
+				var parseStart = System.nanoTime();
 				try {
-					this.activeTasks.computeIfAbsent(id, ATOMIC_INTEGER_PROVIDER).incrementAndGet();
-					command.run();
-				} catch (Throwable t) {
-					throw t;
-				} finally {
-					this.activeTasks.get(id).decrementAndGet();
+					message = JsonrpcMessage.from(stringMessage);
+
+				} catch (OpenemsNamedException e) {
+					// handle deprecated non-JSON-RPC messages
+					message = this.handleNonJsonrpcMessage(ws, stringMessage, e);
+				}
+				this.onMessageParsed(ws, stringMessage.length(), System.nanoTime() - parseStart, receivedNanos);
+				if (message == null) {
+					// silently ignore 'null'
+					return;
+				}
+			} catch (OpenemsNamedException e) {
+				this.handleInternalErrorSync(e, WebsocketUtils.getWsDataString(ws));
+				return;
+			}
+
+			var overloaded = mailbox != null && mailbox.isOverloaded();
+			if (message instanceof JsonrpcRequest request) {
+				if (overloaded) {
+					mailbox.countDropped();
+					this.sendBusyError(ws, request);
+					return;
+				}
+				var handler = new OnRequestHandler(this, ws, request, response -> {
+					this.sendMessage(ws, response);
+				});
+				if (mailbox == null) {
+					handler.run();
+				} else {
+					this.execute(handler);
 				}
-			});
+
+			} else if (message instanceof JsonrpcResponse response) {
+				this.runHandler(new OnResponseHandler(this, ws, response), mailbox);
+
+			} else if (message instanceof JsonrpcNotification notification) {
+				if (overloaded) {
+					mailbox.countDropped();
+					return;
+				}
+				this.runHandler(new OnNotificationHandler(this, ws, notification), mailbox);
+			}
+
+		} catch (Throwable t) {
+			this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
+		}
+	}
+
+	/**
+	 * Handles a message that was rejected by a full {@link Mailbox}. Called on the
+	 * shared {@link ExecutorService}.
+	 *
+	 * <p>
+	 * Requests are answered with an error; Responses are handled, as they
+	 * complete pending Requests; Notifications are dropped.
+	 *
+	 * @param ws            the {@link WebSocket}
+	 * @param stringMessage the message
+	 */
+	private void handleRejectedMessage(WebSocket ws, String stringMessage) {
+		try {
+			JsonrpcMessage message;
+			try {
+				message = JsonrpcMessage.from(stringMessage);
+			} catch (OpenemsNamedException e) {
+				// drop deprecated non-JSON-RPC messages
+				return;
+			}
+			if (message instanceof JsonrpcRequest request) {
+				this.sendBusyError(ws, request);
+			} else if (message instanceof JsonrpcResponse response) {
+				new OnResponseHandler(this, ws, response).run();
+			}
+
+		} catch (Throwable t) {
+			this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
+		}
+	}
+
+	private void sendBusyError(WebSocket ws, JsonrpcRequest request) {
+		this.sendMessage(ws, new JsonrpcResponseError(request.getId(),
+				"Server is busy. Unable to handle [" + request.getMethod() + "]"));
+	}
+
+	private void runHandler(Runnable command, Mailbox mailbox) {
+		if (mailbox == null || !this.debugMode.isAtLeast(DebugMode.DETAILED)) {
+			command.run();
 		} else {
-			this.executor.execute(command);
+			this.runTracked(command);
+		}
+	}
+
+	/**
+	 * Appends the {@link Mailbox} metrics to the debug log: the maximum depth of
+	 * all connections and the number of dropped messages since the last log. In
+	 * {@link DebugMode#DETAILED} connections with pending messages are listed.
+	 *
+	 * @param b the {@link StringBuilder}
+	 */
+	private void appendMailboxDebugLog(StringBuilder b) {
+		var maxDepth = 0;
+		var dropped = 0L;
+		var details = new StringBuilder();
+		for (var ws : this.connections) {
+			WsData wsData = ws.getAttachment();
+			var mailbox = wsData == null ? null : wsData.getMailbox();
+			if (mailbox == null) {
+				continue;
+			}
+			var depth = mailbox.getAndResetMaxDepth();
+			maxDepth = Math.max(maxDepth, depth);
+			dropped += mailbox.getAndResetDropped();
+			if (this.debugMode.isAtLeast(DebugMode.DETAILED) && mailbox.getDepth() > 0) {
+				details.append(wsData).append(':').append(mailbox.getDepth()).append(", ");
+			}
+		}
+		b.append(", Mailbox max depth: ").append(maxDepth) //
+				.append(", Dropped: ").append(dropped);
+		if (details.length() > 0) {
+			b.append(", Mailboxes: ").append(details);
 		}
 	}
 
@@ -373,6 +574,20 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		super.stop();
 	}
 
+	/**
+	 * Called after a message was parsed, e.g. to record metrics. Runs on the
+	 * thread that handles the message right before it is handled, so
+	 * implementations must be cheap.
+	 * 
+	 * @param ws            the {@link WebSocket}
+	 * @param length        the length of the message
+	 * @param parseNanos    the time spent parsing the message in [ns]
+	 * @param receivedNanos the {@link System#nanoTime()} when the message was
+	 *                      received, i.e. before waiting in the {@link Mailbox}
+	 */
+	protected void onMessageParsed(WebSocket ws, int length, long parseNanos, long receivedNanos) {
+	}
+
 	/**
 	 * Handle Non-JSON-RPC messages.
 	 * 
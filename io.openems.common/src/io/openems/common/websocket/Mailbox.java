@@ -0,0 +1,194 @@
+package io.openems.common.websocket;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Serial executor for the tasks of one WebSocket connection.
+ *
+ * <p>
+ * Tasks are executed one at a time in the order they were submitted, using a
+ * shared {@link Executor}. A {@link Mailbox} occupies at most one thread of the
+ * shared {@link Executor} at a time, i.e. a busy connection can not starve the
+ * others.
+ *
+ * <p>
+ * The {@link Mailbox} is bounded by its capacity: bounded tasks (i.e. raw
+ * messages) are rejected if the capacity is reached; unbounded tasks (i.e.
+ * open, error and close events) are always accepted. Once the depth reaches the
+ * high watermark of half the capacity, the {@link Mailbox} is considered
+ * overloaded and the caller is expected to shed load (see
+ * {@link #isOverloaded()}).
+ *
+ * <p>
+ * An {@link Exception} thrown by a task is passed to the error handler and
+ * does not affect the following tasks; an {@link Error} is propagated to the
+ * {@link Executor}.
+ */
+public class Mailbox {
+
+	private final Executor executor;
+	private final int capacity;
+	private final Consumer<Exception> onError;
+
+	/**
+	 * Pending tasks. Guarded by 'this'.
+	 */
+	private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+	/**
+	 * Is a drain task currently scheduled on the {@link Executor}? Guarded by
+	 * 'this'.
+	 */
+	private boolean scheduled = false;
+
+	/**
+	 * Maximum depth since the last call of {@link #getAndResetMaxDepth()}. Guarded
+	 * by 'this'.
+	 */
+	private int maxDepth = 0;
+
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	public Mailbox(Executor executor, int capacity, Consumer<Exception> onError) {
+		this.executor = executor;
+		this.capacity = Math.max(2, capacity);
+		this.onError = onError;
+	}
+
+	/**
+	 * Submits a task.
+	 *
+	 * @param task    the task
+	 * @param bounded true if the task should be rejected if the capacity is
+	 *                reached
+	 * @return false if the task was rejected
+	 * @throws RejectedExecutionException if the shared {@link Executor} rejects
+	 *                                    the task
+	 */
+	public boolean execute(Runnable task, boolean bounded) throws RejectedExecutionException {
+		synchronized (this) {
+			if (bounded && this.tasks.size() >= this.capacity) {
+				this.rejected.incrementAndGet();
+				return false;
+			}
+			this.tasks.add(task);
+			this.maxDepth = Math.max(this.maxDepth, this.tasks.size());
+			if (this.scheduled) {
+				return true;
+			}
+			this.scheduled = true;
+		}
+		try {
+			this.executor.execute(this::drain);
+		} catch (RejectedExecutionException e) {
+			synchronized (this) {
+				this.scheduled = false;
+				this.tasks.clear();
+			}
+			throw e;
+		}
+		return true;
+	}
+
+	/**
+	 * Executes pending tasks. Yields the thread after a batch of tasks to keep
+	 * the shared {@link Executor} fair.
+	 */
+	private void drain() {
+		for (var i = 0; i < this.capacity; i++) {
+			Runnable task;
+			synchronized (this) {
+				task = this.tasks.poll();
+				if (task == null) {
+					this.scheduled = false;
+					return;
+				}
+			}
+			try {
+				task.run();
+			} catch (Exception e) {
+				// Tasks are expected to handle their own errors; never block the Mailbox
+				this.onError.accept(e);
+			} catch (Error e) {
+				// Keep draining the remaining tasks, e.g. after a StackOverflowError
+				this.reschedule();
+				throw e;
+			}
+		}
+		this.reschedule();
+	}
+
+	/**
+	 * Schedules the next drain task if there are pending tasks.
+	 */
+	private void reschedule() {
+		synchronized (this) {
+			if (this.tasks.isEmpty()) {
+				this.scheduled = false;
+				return;
+			}
+		}
+		try {
+			this.executor.execute(this::drain);
+		} catch (RejectedExecutionException e) {
+			synchronized (this) {
+				this.scheduled = false;
+				this.tasks.clear();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of pending tasks.
+	 *
+	 * @return the depth
+	 */
+	public synchronized int getDepth() {
+		return this.tasks.size();
+	}
+
+	/**
+	 * Is the depth above the high watermark?.
+	 *
+	 * @return true if load should be shed
+	 */
+	public synchronized boolean isOverloaded() {
+		return this.tasks.size() >= this.capacity / 2;
+	}
+
+	/**
+	 * Gets the maximum depth since the last call and resets it to the current
+	 * depth.
+	 *
+	 * @return the maximum depth
+	 */
+	public synchronized int getAndResetMaxDepth() {
+		var result = this.maxDepth;
+		this.maxDepth = this.tasks.size();
+		return result;
+	}
+
+	/**
+	 * Counts a task that was dropped by the caller, e.g. because the
+	 * {@link Mailbox} is overloaded.
+	 */
+	public void countDropped() {
+		this.dropped.incrementAndGet();
+	}
+
+	/**
+	 * Gets the number of rejected and dropped tasks since the last call and resets
+	 * the counters.
+	 *
+	 * @return the number of rejected and dropped tasks
+	 */
+	public long getAndResetDropped() {
+		return this.rejected.getAndSet(0) + this.dropped.getAndSet(0);
+	}
+
+}
@@ -33,6 +33,11 @@ public abstract class WsData {
 	 */
 	private final ConcurrentHashMap<UUID, CompletableFuture<JsonrpcResponseSuccess>> requestFutures = new ConcurrentHashMap<>();
 
+	/**
+	 * Holds the {@link Mailbox} of a server connection. Possibly null!
+	 */
+	private volatile Mailbox mailbox = null;
+
 	/**
 	 * This method is called on close of the parent websocket. Use it to release
 	 * blocked resources.
@@ -62,6 +67,24 @@ public abstract class WsData {
 		return this.websocket;
 	}
 
+	/**
+	 * Sets the {@link Mailbox}.
+	 *
+	 * @param mailbox the {@link Mailbox}
+	 */
+	protected void setMailbox(Mailbox mailbox) {
+		this.mailbox = mailbox;
+	}
+
+	/**
+	 * Gets the {@link Mailbox}. Possibly null!
+	 *
+	 * @return the {@link Mailbox}
+	 */
+	public Mailbox getMailbox() {
+		return this.mailbox;
+	}
+
 	/**
 	 * Sends a JSON-RPC request to a Websocket and registers a callback.
 	 *
@@ -0,0 +1,50 @@
+package io.openems.common.jsonrpc.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.types.ChannelDictionary;
+
+public class CompactDataNotificationTest {
+
+	@Test
+	public void test() throws OpenemsNamedException {
+		var dictionary = ChannelDictionary.of(List.of("meter0/ActivePower", "_sum/State", "meter0/ActivePower"));
+		assertEquals(2, dictionary.size());
+		assertEquals(Integer.valueOf(0), dictionary.getId("_sum/State"));
+		assertEquals("meter0/ActivePower", dictionary.getAddress(1));
+
+		var message = new TimestampedDataNotification();
+		message.add(1000L, "meter0/ActivePower", new JsonPrimitive(123));
+		message.add(1000L, "_sum/State", new JsonPrimitive(0));
+		message.add(2000L, "meter0/ActivePower", new JsonPrimitive(456));
+
+		var sut = CompactDataNotification.from(dictionary, message.getData());
+		assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"compactData\",\"params\":{\"version\":\""
+				+ dictionary.getVersion() + "\",\"data\":{\"1000\":[0,0,1,123],\"2000\":[1,456]}}}", sut.toString());
+
+		// Decode on the other side
+		var received = CompactDataNotification.from(GenericJsonrpcNotification.from(sut.toString()));
+		var remoteDictionary = ChannelDictionary.of(dictionary.getVersion(), dictionary.getAddresses());
+		assertEquals(message.getData(), received.getData(remoteDictionary));
+
+		// Unknown Channel
+		message.add(3000L, "meter1/ActivePower", new JsonPrimitive(789));
+		assertThrows(OpenemsException.class, () -> CompactDataNotification.from(dictionary, message.getData()));
+
+		// Version mismatch
+		var otherDictionary = ChannelDictionary.of(List.of("meter0/ActivePower"));
+		assertThrows(OpenemsNamedException.class, () -> received.getData(otherDictionary));
+		assertThrows(OpenemsNamedException.class, () -> received.getData(null));
+	}
+
+}
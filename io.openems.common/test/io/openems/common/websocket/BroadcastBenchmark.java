@@ -0,0 +1,107 @@
+package io.openems.common.websocket;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+
+/**
+ * Compares the cost of serializing a broadcast notification once per recipient
+ * with serializing it only once, as done by
+ * {@link AbstractWebsocketServer#broadcastMessage(java.util.Collection, JsonrpcMessage)}.
+ *
+ * <p>
+ * This is not a unit test and is not run by the build. Run the main() method
+ * from the IDE; optional arguments are the number of recipients (default 100)
+ * and the number of components of the EdgeConfig-like payload (default 360).
+ */
+public class BroadcastBenchmark {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int ROUNDS = 10;
+
+	/**
+	 * Main.
+	 *
+	 * @param args the arguments
+	 */
+	public static void main(String[] args) {
+		var recipients = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		var components = args.length > 1 ? Integer.parseInt(args[1]) : 360;
+
+		var message = createNotification(components);
+		var size = message.toString().getBytes(StandardCharsets.UTF_8).length;
+		System.out.println("Notification: " + size / 1024 + " KB, Recipients: " + recipients);
+
+		LongSupplier perRecipient = () -> {
+			var bytes = 0L;
+			for (var i = 0; i < recipients; i++) {
+				bytes += message.toString().getBytes(StandardCharsets.UTF_8).length;
+			}
+			return bytes;
+		};
+		LongSupplier once = () -> {
+			var payload = message.toString().getBytes(StandardCharsets.UTF_8);
+			var bytes = 0L;
+			for (var i = 0; i < recipients; i++) {
+				bytes += payload.length;
+			}
+			return bytes;
+		};
+
+		measure("Per recipient", perRecipient);
+		measure("Once", once);
+	}
+
+	private static void measure(String name, LongSupplier broadcast) {
+		var bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		var blackhole = 0L;
+		for (var i = 0; i < WARMUP_ROUNDS; i++) {
+			blackhole += broadcast.getAsLong();
+		}
+		var cpuStart = bean.getCurrentThreadCpuTime();
+		var allocatedStart = bean.getCurrentThreadAllocatedBytes();
+		for (var i = 0; i < ROUNDS; i++) {
+			blackhole += broadcast.getAsLong();
+		}
+		var cpu = (bean.getCurrentThreadCpuTime() - cpuStart) / ROUNDS;
+		var allocated = (bean.getCurrentThreadAllocatedBytes() - allocatedStart) / ROUNDS;
+		System.out.println(String.format("%-14s CPU: %6d ms, Allocated: %6d MB [%d]", name, cpu / 1_000_000,
+				allocated / (1024 * 1024), blackhole));
+	}
+
+	private static JsonrpcMessage createNotification(int components) {
+		var config = new JsonObject();
+		for (var i = 0; i < components; i++) {
+			var component = new JsonObject();
+			component.addProperty("alias", "Component " + i);
+			component.addProperty("factoryId", "Simulator.Factory");
+			var properties = new JsonObject();
+			properties.addProperty("enabled", true);
+			properties.addProperty("modbus.id", "modbus" + i);
+			component.add("properties", properties);
+			var channels = new JsonObject();
+			for (var j = 0; j < 20; j++) {
+				var channel = new JsonObject();
+				channel.addProperty("type", "INTEGER");
+				channel.addProperty("accessMode", "RO");
+				channel.addProperty("unit", "W");
+				channel.addProperty("category", "OPENEMS_TYPE");
+				channel.add("options", new JsonArray());
+				channels.add("Channel" + j, channel);
+			}
+			component.add("channels", channels);
+			config.add("component" + i, component);
+		}
+		var params = new JsonObject();
+		params.addProperty("edgeId", "edge0");
+		params.add("config", config);
+		return new GenericJsonrpcNotification("edgeConfig", params);
+	}
+
+}
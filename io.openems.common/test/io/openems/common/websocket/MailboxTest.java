@@ -0,0 +1,105 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MailboxTest {
+
+	@Test
+	public void testOrder() throws InterruptedException {
+		var executor = Executors.newFixedThreadPool(4);
+		try {
+			var sut = new Mailbox(executor, 10_000, e -> {
+			});
+			var result = Collections.synchronizedList(new ArrayList<Integer>());
+			var latch = new CountDownLatch(5_000);
+			for (var i = 0; i < 5_000; i++) {
+				var value = i;
+				assertTrue(sut.execute(() -> {
+					result.add(value);
+					latch.countDown();
+				}, true));
+			}
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			for (var i = 0; i < 5_000; i++) {
+				assertEquals(i, result.get(i).intValue());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testBounded() {
+		var pending = new ArrayList<Runnable>();
+		var sut = new Mailbox(pending::add, 4, e -> {
+		});
+		List<Integer> result = new ArrayList<>();
+
+		assertTrue(sut.execute(() -> result.add(1), true));
+		assertFalse(sut.isOverloaded());
+		assertTrue(sut.execute(() -> result.add(2), true));
+		assertTrue(sut.isOverloaded());
+		assertTrue(sut.execute(() -> result.add(3), true));
+		assertTrue(sut.execute(() -> result.add(4), true));
+
+		// Bounded task is rejected; unbounded task is accepted
+		assertFalse(sut.execute(() -> result.add(5), true));
+		assertTrue(sut.execute(() -> result.add(6), false));
+		assertEquals(5, sut.getDepth());
+		assertEquals(1, sut.getAndResetDropped());
+
+		// Only one drain task is scheduled at a time
+		assertEquals(1, pending.size());
+		pending.remove(0).run();
+		// ...yields after 'capacity' tasks
+		assertEquals(1, pending.size());
+		pending.remove(0).run();
+		assertEquals(List.of(1, 2, 3, 4, 6), result);
+		assertEquals(0, sut.getDepth());
+		assertEquals(5, sut.getAndResetMaxDepth());
+		assertEquals(0, sut.getAndResetMaxDepth());
+	}
+
+	@Test
+	public void testErrors() {
+		var pending = new ArrayList<Runnable>();
+		var errors = new ArrayList<Exception>();
+		var sut = new Mailbox(pending::add, 10, errors::add);
+		List<Integer> result = new ArrayList<>();
+
+		// Exception is handled; following tasks are executed
+		sut.execute(() -> {
+			throw new IllegalStateException("task failed");
+		}, true);
+		sut.execute(() -> result.add(1), true);
+		pending.remove(0).run();
+		assertEquals(1, errors.size());
+		assertEquals("task failed", errors.get(0).getMessage());
+		assertEquals(List.of(1), result);
+		assertEquals(0, pending.size());
+
+		// Error is propagated; following tasks are scheduled again
+		sut.execute(() -> {
+			throw new AssertionError("fatal");
+		}, true);
+		sut.execute(() -> result.add(2), true);
+		assertThrows(AssertionError.class, () -> pending.remove(0).run());
+		assertEquals(1, pending.size());
+		pending.remove(0).run();
+		assertEquals(List.of(1, 2), result);
+		assertEquals(1, errors.size());
+	}
+
+}
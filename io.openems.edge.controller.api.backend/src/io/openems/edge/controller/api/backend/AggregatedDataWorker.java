@@ -0,0 +1,216 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.channel.Unit;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Aggregates the values of Channels with a {@link PersistencePriority} lower
+ * than {@link PersistencePriority#HIGH} to 5-minute values and sends them via
+ * {@link AggregatedDataNotification}.
+ *
+ * <p>
+ * Values are aggregated using the aggregate function of the Channel
+ * {@link Unit}, like {@link Unit#getChannelAggregateFunction()}: maximum for
+ * cumulated values (e.g. energy counters), average for all others. The
+ * timestamp of an aggregated value is the start of its window.
+ *
+ * <p>
+ * Method {@link #collectData()} is called synchronously with the Core.Cycle;
+ * sending of a finished window is delegated to an asynchronous task.
+ */
+public class AggregatedDataWorker {
+
+	protected static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+	private final Logger log = LoggerFactory.getLogger(AggregatedDataWorker.class);
+	private final ControllerApiBackendImpl parent;
+
+	/**
+	 * Aggregates of the current window per Channel-Address.
+	 */
+	private final Map<String, Aggregate> aggregates = new HashMap<>();
+
+	/**
+	 * Start of the current window in epoch milliseconds.
+	 */
+	private long windowStart = Long.MIN_VALUE;
+
+	protected AggregatedDataWorker(ControllerApiBackendImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Called synchronously on AFTER_PROCESS_IMAGE event. Collects the values of
+	 * all aggregated Channels and triggers asynchronous sending once a window is
+	 * finished.
+	 */
+	public synchronized void collectData() {
+		var timestamp = Instant.now(this.parent.componentManager.getClock()).toEpochMilli();
+
+		var message = this.poll(timestamp);
+		if (message != null) {
+			this.parent.execute(() -> this.send(message));
+		}
+
+		this.collectData(timestamp, this.parent.componentManager.getEnabledComponents());
+	}
+
+	/**
+	 * Cycles through all aggregated Channels and adds their values.
+	 *
+	 * @param timestamp         the timestamp in epoch milliseconds
+	 * @param enabledComponents the enabled components
+	 */
+	private void collectData(long timestamp, List<OpenemsComponent> enabledComponents) {
+		var minPriority = this.parent.config.persistencePriority();
+		try {
+			for (var component : enabledComponents) {
+				for (Channel<?> channel : component.channels()) {
+					var doc = channel.channelDoc();
+					if (doc.getAccessMode() == AccessMode.WRITE_ONLY //
+							|| doc.getPersistencePriority().isLowerThan(minPriority) //
+							|| doc.getPersistencePriority().isAtLeast(PersistencePriority.HIGH)) {
+						continue;
+					}
+					this.add(timestamp, channel.address().toString(), doc.getUnit(), doc.getType(),
+							channel.value().get());
+				}
+			}
+		} catch (Exception e) {
+			// ConcurrentModificationException can happen if Channels are dynamically added
+			// or removed
+			this.parent.logWarn(this.log, "Unable to collect data: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Adds a value to the aggregate of the current window.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param address   the Channel-Address
+	 * @param unit      the {@link Unit} of the Channel
+	 * @param type      the {@link OpenemsType} of the Channel
+	 * @param value     the value; ignored if it is not a number or boolean
+	 */
+	protected synchronized void add(long timestamp, String address, Unit unit, OpenemsType type, Object value) {
+		final double v;
+		if (value instanceof Number n) {
+			v = n.doubleValue();
+		} else if (value instanceof Boolean b) {
+			v = b ? 1 : 0;
+		} else {
+			// null or not supported, e.g. String
+			return;
+		}
+		if (this.windowStart == Long.MIN_VALUE) {
+			this.windowStart = toWindowStart(timestamp);
+		}
+		this.aggregates.computeIfAbsent(address, a -> new Aggregate(unit, type)).add(v);
+	}
+
+	/**
+	 * Finishes the current window, if the given timestamp is after its end.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the {@link AggregatedDataNotification} of the finished window; null
+	 *         if the window is not yet finished or there is no data
+	 */
+	protected synchronized AggregatedDataNotification poll(long timestamp) {
+		var windowStart = toWindowStart(timestamp);
+		if (this.windowStart == Long.MIN_VALUE || windowStart == this.windowStart) {
+			return null;
+		}
+		var message = new AggregatedDataNotification();
+		for (var entry : this.aggregates.entrySet()) {
+			var value = entry.getValue().getValue();
+			if (value != null) {
+				message.add(this.windowStart, entry.getKey(), value);
+			}
+		}
+		this.aggregates.clear();
+		this.windowStart = Long.MIN_VALUE;
+		if (message.getData().isEmpty()) {
+			return null;
+		}
+		return message;
+	}
+
+	/*
+	 * From here things run asynchronously.
+	 */
+
+	private void send(AggregatedDataNotification message) {
+		var ws = this.parent.websocket;
+		if (ws != null && ws.sendMessage(message)) {
+			return;
+		}
+
+		// Unable to send: keep values for resending
+		var journal = this.parent.journal;
+		if (journal == null) {
+			return;
+		}
+		try {
+			journal.append(message.getData().rowKeySet().first(), message.toString());
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to write to journal: " + e.getMessage());
+		}
+		this.parent._setJournalDepth(journal.getDepth());
+	}
+
+	private static long toWindowStart(long timestamp) {
+		return Math.floorDiv(timestamp, WINDOW_MILLIS) * WINDOW_MILLIS;
+	}
+
+	/**
+	 * Holds the aggregate of one Channel in the current window.
+	 */
+	private static class Aggregate {
+
+		private final Unit unit;
+		private final OpenemsType type;
+		private double sum = 0;
+		private double max = Double.NEGATIVE_INFINITY;
+		private int count = 0;
+
+		private Aggregate(Unit unit, OpenemsType type) {
+			this.unit = unit;
+			this.type = type;
+		}
+
+		private void add(double value) {
+			this.sum += value;
+			this.max = Math.max(this.max, value);
+			this.count++;
+		}
+
+		private JsonPrimitive getValue() {
+			if (this.count == 0) {
+				return null;
+			}
+			var value = this.unit.isCumulated() ? this.max : this.sum / this.count;
+			return switch (this.type) {
+			case BOOLEAN, SHORT, INTEGER, LONG -> new JsonPrimitive(Math.round(value));
+			case FLOAT, DOUBLE, STRING -> new JsonPrimitive(value);
+			};
+		}
+	}
+
+}
@@ -44,6 +44,24 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Persistence Priority", description = "Send only Channels with a Persistence Priority greater-or-equals this.")
 	PersistencePriority persistencePriority() default PersistencePriority.VERY_LOW;
 
+	@AttributeDefinition(name = "Aggregated Data", description = "Additionally send Channels with a Persistence Priority lower than HIGH as 5-minute aggregated values. High resolution values are still sent according to Persistence Priority.")
+	boolean aggregatedData() default false;
+
+	@AttributeDefinition(name = "Send Filters", description = "Suppress small or frequent changes. Format: '<Channel-Address|Unit|Persistence Priority>;<deadband, e.g. 10 or 0.5%>;<min-interval [s]>', e.g. 'VOLT;0.5%;10'. All values are still sent every 5 minutes.")
+	String[] sendFilters() default {};
+
+	@AttributeDefinition(name = "Channel-Dictionary", description = "Announce integer IDs for Channel-Addresses and send compact data, if supported by OpenEMS Backend.")
+	boolean channelDictionary() default true;
+
+	@AttributeDefinition(name = "Journal Max Size [MB]", description = "Maximum size of the on-disk journal for data that could not be sent; 0 to disable the journal.")
+	int journalMaxSize() default 64;
+
+	@AttributeDefinition(name = "Journal Max Age [h]", description = "Data older than this is removed from the journal.")
+	int journalMaxAge() default 72;
+
+	@AttributeDefinition(name = "Resend Rate", description = "Maximum number of journaled notifications that are resent per second after reconnecting.")
+	int resendRate() default 10;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default false;
 
@@ -7,8 +7,11 @@ import io.openems.common.channel.Level;
 import io.openems.common.channel.PersistencePriority;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.StringReadChannel;
+import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.controller.api.Controller;
@@ -24,8 +27,13 @@ public interface ControllerApiBackend extends Controller, JsonApi, OpenemsCompon
 		LAST_SUCCESSFUL_RESEND(Doc.of(OpenemsType.LONG) //
 				// Make sure this is always persisted, as it is required for resending
 				.persistencePriority(PersistencePriority.VERY_HIGH) //
-				.text("Latest timestamp of successfully resent data")) //
-		// TODO: resend algorithm still needs to be implemented
+				.text("Latest timestamp of successfully resent data")), //
+		JOURNAL_DEPTH(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of notifications in the on-disk journal waiting to be resent")), //
+		RESEND_RATE(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of journaled notifications resent in the last second")), //
+		SUPPRESSED_VALUES(Doc.of(OpenemsType.LONG) //
+				.text("Total number of changed values that were not sent because of a Send Filter")) //
 		;
 
 		private final Doc doc;
@@ -58,6 +66,102 @@ public interface ControllerApiBackend extends Controller, JsonApi, OpenemsCompon
 		return this.channel(ChannelId.UNABLE_TO_SEND);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#LAST_SUCCESSFUL_RESEND}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getLastSuccessfulResendChannel() {
+		return this.channel(ChannelId.LAST_SUCCESSFUL_RESEND);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#JOURNAL_DEPTH}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getJournalDepthChannel() {
+		return this.channel(ChannelId.JOURNAL_DEPTH);
+	}
+
+	/**
+	 * Gets the Number of notifications in the on-disk journal. See
+	 * {@link ChannelId#JOURNAL_DEPTH}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getJournalDepth() {
+		return this.getJournalDepthChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#JOURNAL_DEPTH}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setJournalDepth(Integer value) {
+		this.getJournalDepthChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RESEND_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getResendRateChannel() {
+		return this.channel(ChannelId.RESEND_RATE);
+	}
+
+	/**
+	 * Gets the Number of journaled notifications resent in the last second. See
+	 * {@link ChannelId#RESEND_RATE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getResendRate() {
+		return this.getResendRateChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#RESEND_RATE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setResendRate(Integer value) {
+		this.getResendRateChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SUPPRESSED_VALUES}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getSuppressedValuesChannel() {
+		return this.channel(ChannelId.SUPPRESSED_VALUES);
+	}
+
+	/**
+	 * Gets the Total number of values suppressed by a Send Filter. See
+	 * {@link ChannelId#SUPPRESSED_VALUES}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getSuppressedValues() {
+		return this.getSuppressedValuesChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#SUPPRESSED_VALUES}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSuppressedValues(Long value) {
+		this.getSuppressedValuesChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets if the edge is currently connected to the backend.
 	 * 
@@ -1,9 +1,11 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -33,7 +35,9 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
@@ -70,7 +74,10 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 
 	protected static final String COMPONENT_NAME = "Controller.Api.Backend";
 
+	private static final String JOURNAL_PATH = "backend-journal";
+
 	protected final SendChannelValuesWorker sendChannelValuesWorker = new SendChannelValuesWorker(this);
+	protected final AggregatedDataWorker aggregatedDataWorker = new AggregatedDataWorker(this);
 	protected final ApiWorker apiWorker = new ApiWorker(this);
 
 	private final Logger log = LoggerFactory.getLogger(ControllerApiBackendImpl.class);
@@ -85,6 +92,8 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 	protected Cycle cycle;
 
 	protected WebsocketClient websocket = null;
+	protected DiskJournal journal = null;
+	protected SendFilter sendFilter = new SendFilter();
 	protected Config config;
 	/** Used for SubscribeSystemLogRequests. */
 	private boolean isSystemLogSubscribed = false;
@@ -116,6 +125,14 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 		// initialize ApiWorker
 		this.apiWorker.setTimeoutSeconds(config.apiTimeout());
 
+		// Parse filters for sending of Channel values
+		try {
+			this.sendFilter = SendFilter.from(config.sendFilters());
+		} catch (OpenemsException e) {
+			this.logError(this.log, e.getMessage());
+			this.sendFilter = new SendFilter();
+		}
+
 		// Get URI
 		URI uri = null;
 		try {
@@ -137,6 +154,20 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 		Map<String, String> httpHeaders = new HashMap<>();
 		httpHeaders.put("apikey", config.apikey());
 
+		// Initialize on-disk journal for data that cannot be sent
+		if (config.journalMaxSize() > 0) {
+			try {
+				this.journal = new DiskJournal(//
+						Paths.get(OpenemsConstants.getOpenemsDataDir(), JOURNAL_PATH, this.id()), //
+						config.journalMaxSize() * 1024L * 1024L, //
+						TimeUnit.HOURS.toMillis(config.journalMaxAge()));
+				this._setJournalDepth(this.journal.getDepth());
+				this.executor.scheduleWithFixedDelay(new ResendWorker(this, this.journal), 1, 1, TimeUnit.SECONDS);
+			} catch (IOException e) {
+				this.logError(this.log, "Unable to initialize journal: " + e.getMessage());
+			}
+		}
+
 		// Create Websocket instance
 		this.websocket = new WebsocketClient(this, name, uri, httpHeaders, proxy);
 		this.websocket.start();
@@ -207,6 +238,9 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 		switch (event.getTopic()) {
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
 			this.sendChannelValuesWorker.collectData();
+			if (this.config.aggregatedData()) {
+				this.aggregatedDataWorker.collectData();
+			}
 			break;
 
 		case EdgeEventConstants.TOPIC_CONFIG_UPDATE:
@@ -221,6 +255,7 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 
 			// Trigger sending of all channel values, because a Component might have
 			// disappeared
+			this.sendFilter.clearCache();
 			this.sendChannelValuesWorker.sendValuesOfAllChannelsOnce();
 		}
 	}
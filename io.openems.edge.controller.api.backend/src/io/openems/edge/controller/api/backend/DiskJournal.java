@@ -0,0 +1,306 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * A bounded, segmented on-disk journal for JSON-RPC messages that could not be
+ * sent to OpenEMS Backend.
+ *
+ * <p>
+ * Entries are appended to segment files named by a running sequence number.
+ * Each entry is stored as {@code [int length][int crc32][long timestamp][UTF-8
+ * payload]}. Entries with an invalid checksum or an incomplete tail - e.g.
+ * after a power loss - are skipped while reading.
+ *
+ * <p>
+ * The journal is capped by total size and by age of its entries; the oldest
+ * segments are deleted first. The read position is held in memory only, so
+ * after a restart the oldest segment is replayed from its beginning; this is
+ * safe, because writing the same timestamped values twice is idempotent in the
+ * Backend.
+ */
+public class DiskJournal {
+
+	private static final String SEGMENT_SUFFIX = ".journal";
+	private static final int ENTRY_HEADER_SIZE = 4 + 4 + 8;
+	private static final long MAX_SEGMENT_SIZE = 1024 * 1024; // 1 MB
+
+	/**
+	 * An entry of the {@link DiskJournal}.
+	 */
+	public static record Entry(long segment, long nextOffset, long timestamp, String payload) {
+	}
+
+	private static class Segment {
+		private final Path file;
+		private long size = 0;
+		private int entries = 0;
+		private long lastTimestamp = Long.MIN_VALUE;
+
+		private Segment(Path file) {
+			this.file = file;
+		}
+	}
+
+	private final Path directory;
+	private final long maxSize;
+	private final long maxAgeMillis;
+	private final long maxSegmentSize;
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+	private long readSegment = -1;
+	private long readOffset = 0;
+	private int readEntries = 0;
+
+	/**
+	 * Opens or creates a {@link DiskJournal} in the given directory.
+	 *
+	 * @param directory    the directory
+	 * @param maxSize      the maximum total size in bytes
+	 * @param maxAgeMillis the maximum age of entries in milliseconds
+	 * @throws IOException on error
+	 */
+	public DiskJournal(Path directory, long maxSize, long maxAgeMillis) throws IOException {
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.maxAgeMillis = maxAgeMillis;
+		this.maxSegmentSize = Math.max(ENTRY_HEADER_SIZE, Math.min(MAX_SEGMENT_SIZE, maxSize / 8));
+
+		Files.createDirectories(directory);
+		try (var files = Files.list(directory)) {
+			for (var file : files.toList()) {
+				var name = file.getFileName().toString();
+				if (!name.endsWith(SEGMENT_SUFFIX)) {
+					continue;
+				}
+				try {
+					var sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+					this.segments.put(sequence, this.scan(file));
+				} catch (NumberFormatException e) {
+					// ignore unknown files
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the metadata of an existing segment file.
+	 *
+	 * @param file the file
+	 * @return the {@link Segment}
+	 * @throws IOException on error
+	 */
+	private Segment scan(Path file) throws IOException {
+		var segment = new Segment(file);
+		var size = Files.size(file);
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			var offset = 0L;
+			Entry entry;
+			while ((entry = readEntry(channel, 0, offset, size)) != null) {
+				segment.entries++;
+				segment.lastTimestamp = entry.timestamp;
+				offset = entry.nextOffset;
+			}
+			segment.size = offset;
+		}
+		if (segment.size < size) {
+			// Truncate incomplete or corrupted tail
+			try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				channel.truncate(segment.size);
+			}
+		}
+		return segment;
+	}
+
+	/**
+	 * Appends an entry.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param payload   the payload, e.g. a serialized JSON-RPC message
+	 * @throws IOException on error
+	 */
+	public synchronized void append(long timestamp, String payload) throws IOException {
+		var bytes = payload.getBytes(StandardCharsets.UTF_8);
+		var crc32 = new CRC32();
+		crc32.update(bytes);
+		var buffer = ByteBuffer.allocate(ENTRY_HEADER_SIZE + bytes.length);
+		buffer.putInt(bytes.length);
+		buffer.putInt((int) crc32.getValue());
+		buffer.putLong(timestamp);
+		buffer.put(bytes);
+		buffer.flip();
+
+		var last = this.segments.lastEntry();
+		Segment segment;
+		if (last == null || last.getValue().size >= this.maxSegmentSize) {
+			var sequence = last == null ? 0 : last.getKey() + 1;
+			segment = new Segment(this.directory.resolve(String.format("%020d", sequence) + SEGMENT_SUFFIX));
+			this.segments.put(sequence, segment);
+		} else {
+			segment = last.getValue();
+		}
+
+		try (var channel = FileChannel.open(segment.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			var position = segment.size;
+			while (buffer.hasRemaining()) {
+				position += channel.write(buffer, position);
+			}
+		}
+		segment.size += buffer.limit();
+		segment.entries++;
+		segment.lastTimestamp = timestamp;
+
+		this.applyLimits(timestamp);
+	}
+
+	/**
+	 * Gets the next entry without removing it.
+	 *
+	 * @return the {@link Entry}; empty if the journal is empty
+	 * @throws IOException on error
+	 */
+	public synchronized Optional<Entry> peek() throws IOException {
+		while (!this.segments.isEmpty()) {
+			var first = this.segments.firstEntry();
+			var segment = first.getValue();
+			if (this.readSegment != first.getKey()) {
+				this.readSegment = first.getKey();
+				this.readOffset = 0;
+				this.readEntries = 0;
+			}
+			if (this.readOffset < segment.size) {
+				try (var channel = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+					var entry = readEntry(channel, first.getKey(), this.readOffset, segment.size);
+					if (entry != null) {
+						return Optional.of(entry);
+					}
+				}
+			}
+			// Segment is consumed or the remainder is corrupted
+			this.deleteSegment(first.getKey());
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Removes an entry that was previously returned by {@link #peek()}.
+	 *
+	 * @param entry the {@link Entry}
+	 * @throws IOException on error
+	 */
+	public synchronized void remove(Entry entry) throws IOException {
+		if (entry.segment != this.readSegment) {
+			// Segment was deleted in the meantime
+			return;
+		}
+		this.readOffset = entry.nextOffset;
+		this.readEntries++;
+		var segment = this.segments.get(entry.segment);
+		if (segment != null && this.readOffset >= segment.size) {
+			this.deleteSegment(entry.segment);
+		}
+	}
+
+	/**
+	 * Gets the number of entries in the journal.
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int getDepth() {
+		var result = 0;
+		for (var e : this.segments.entrySet()) {
+			result += e.getValue().entries;
+			if (e.getKey() == this.readSegment) {
+				result -= this.readEntries;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the total size of the journal in bytes.
+	 *
+	 * @return the size
+	 */
+	public synchronized long getSize() {
+		return this.segments.values().stream() //
+				.mapToLong(s -> s.size) //
+				.sum();
+	}
+
+	/**
+	 * Deletes the oldest segments if the size or age limits are exceeded.
+	 *
+	 * @param now the current timestamp in epoch milliseconds
+	 * @throws IOException on error
+	 */
+	private void applyLimits(long now) throws IOException {
+		while (this.segments.size() > 1 //
+				&& (this.getSize() > this.maxSize
+						|| this.segments.firstEntry().getValue().lastTimestamp < now - this.maxAgeMillis)) {
+			this.deleteSegment(this.segments.firstKey());
+		}
+	}
+
+	private void deleteSegment(long sequence) throws IOException {
+		var segment = this.segments.remove(sequence);
+		if (segment != null) {
+			Files.deleteIfExists(segment.file);
+		}
+		if (this.readSegment == sequence) {
+			this.readSegment = -1;
+			this.readOffset = 0;
+			this.readEntries = 0;
+		}
+	}
+
+	/**
+	 * Reads one entry.
+	 *
+	 * @param channel  the {@link FileChannel}
+	 * @param segment  the sequence number of the segment
+	 * @param offset   the offset of the entry
+	 * @param size     the valid size of the file
+	 * @return the {@link Entry}; null if the entry is incomplete or corrupted
+	 * @throws IOException on error
+	 */
+	private static Entry readEntry(FileChannel channel, long segment, long offset, long size) throws IOException {
+		if (offset + ENTRY_HEADER_SIZE > size) {
+			return null;
+		}
+		var header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+		if (channel.read(header, offset) != ENTRY_HEADER_SIZE) {
+			return null;
+		}
+		var length = header.getInt(0);
+		var crc = header.getInt(4);
+		var timestamp = header.getLong(8);
+		if (length < 0 || offset + ENTRY_HEADER_SIZE + length > size) {
+			return null;
+		}
+		var payload = ByteBuffer.allocate(length);
+		var position = offset + ENTRY_HEADER_SIZE;
+		while (payload.hasRemaining()) {
+			var read = channel.read(payload, position + payload.position());
+			if (read < 0) {
+				return null;
+			}
+		}
+		var crc32 = new CRC32();
+		crc32.update(payload.array());
+		if ((int) crc32.getValue() != crc) {
+			return null;
+		}
+		return new Entry(segment, position + length, timestamp,
+				new String(payload.array(), StandardCharsets.UTF_8));
+	}
+}
@@ -21,6 +21,9 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 	public void run(WebSocket ws, JsonObject handshake) {
 		this.parent.logInfo(this.log, "Connected to OpenEMS Backend");
 
+		// Channel-Dictionary has to be announced again on every connection
+		this.parent.sendChannelValuesWorker.resetChannelDictionary();
+
 		// Immediately send Config
 		var config = this.parent.componentManager.getEdgeConfig();
 		var message = new EdgeConfigNotification(config);
@@ -0,0 +1,79 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.notification.AbstractDataNotification;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.ResendDataNotification;
+
+/**
+ * Drains the {@link DiskJournal} while connected to OpenEMS Backend.
+ *
+ * <p>
+ * This is executed once per second. It resends at most
+ * {@link Config#resendRate()} journaled notifications as
+ * {@link ResendDataNotification}s, so that sending of live data is not starved.
+ * Journaled {@link AggregatedDataNotification}s are resent as they are.
+ */
+public class ResendWorker implements Runnable {
+
+	private final Logger log = LoggerFactory.getLogger(ResendWorker.class);
+	private final ControllerApiBackendImpl parent;
+	private final DiskJournal journal;
+
+	public ResendWorker(ControllerApiBackendImpl parent, DiskJournal journal) {
+		this.parent = parent;
+		this.journal = journal;
+	}
+
+	@Override
+	public void run() {
+		var resent = 0;
+		try {
+			var ws = this.parent.websocket;
+			if (ws == null || !ws.isConnected()) {
+				return;
+			}
+
+			while (resent < this.parent.config.resendRate()) {
+				var entry = this.journal.peek();
+				if (entry.isEmpty()) {
+					break;
+				}
+				AbstractDataNotification message;
+				try {
+					var notification = GenericJsonrpcNotification.from(entry.get().payload());
+					message = switch (notification.getMethod()) {
+					case AggregatedDataNotification.METHOD -> AggregatedDataNotification.from(notification);
+					default -> ResendDataNotification.from(notification);
+					};
+				} catch (OpenemsNamedException e) {
+					this.parent.logWarn(this.log, "Dropping invalid journal entry: " + e.getMessage());
+					this.journal.remove(entry.get());
+					continue;
+				}
+
+				if (!ws.sendMessage(message)) {
+					// Connection lost; try again later
+					break;
+				}
+				this.journal.remove(entry.get());
+				this.parent.getLastSuccessfulResendChannel().setNextValue(entry.get().timestamp());
+				resent++;
+			}
+
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to read from journal: " + e.getMessage());
+
+		} finally {
+			this.parent._setResendRate(resent);
+			this.parent._setJournalDepth(this.journal.getDepth());
+		}
+	}
+
+}
@@ -1,11 +1,14 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -18,7 +21,13 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
 import io.openems.common.channel.AccessMode;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+import io.openems.common.types.ChannelDictionary;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.edge.common.component.OpenemsComponent;
 
@@ -30,6 +39,15 @@ import io.openems.edge.common.component.OpenemsComponent;
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
  * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ *
+ * <p>
+ * Changed values may be suppressed by the configured {@link SendFilter}; the
+ * periodic sending of all values is never filtered.
+ *
+ * <p>
+ * If sending fails, the changed values are written to the {@link DiskJournal}
+ * instead; they are resent later by the {@link ResendWorker}. The same applies
+ * to values of Cycles that are evicted from the full send queue.
  */
 public class SendChannelValuesWorker {
 
@@ -38,11 +56,18 @@ public class SendChannelValuesWorker {
 	private final Logger log = LoggerFactory.getLogger(SendChannelValuesWorker.class);
 
 	private final ControllerApiBackendImpl parent;
+
+	/**
+	 * Tasks that were evicted from the full queue of the executor. Their values
+	 * are journaled by the next {@link SendTask}.
+	 */
+	private final ConcurrentLinkedQueue<SendTask> evictedTasks = new ConcurrentLinkedQueue<>();
+
 	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS,
 			new ArrayBlockingQueue<>(1), //
 			new ThreadFactoryBuilder().setNameFormat(ControllerApiBackendImpl.COMPONENT_NAME + ":SendWorker-%d")
 					.build(), //
-			new ThreadPoolExecutor.DiscardOldestPolicy());
+			this::evictOldest);
 
 	/**
 	 * If true: next 'send' sends all channel values.
@@ -59,6 +84,35 @@ public class SendChannelValuesWorker {
 	 */
 	private ImmutableMap<String, JsonElement> lastAllValues = ImmutableMap.of();
 
+	/**
+	 * Keeps the timestamps of the last successful send per Channel-Address. Only
+	 * used if a {@link SendFilter} is configured.
+	 */
+	private final HashMap<String, Long> lastSentTimestamps = new HashMap<>();
+
+	/**
+	 * Total number of values suppressed by the {@link SendFilter}.
+	 */
+	private long suppressedValues = 0;
+
+	/**
+	 * Keeps the values of the last journaled notification; null if the last
+	 * notification was sent successfully.
+	 */
+	private ImmutableMap<String, JsonElement> lastJournaledValues = null;
+
+	/**
+	 * The {@link ChannelDictionary} acknowledged by OpenEMS Backend; null if
+	 * there is none yet.
+	 */
+	private volatile ChannelDictionary channelDictionary = null;
+
+	/**
+	 * True while a {@link SetChannelDictionaryRequest} is pending or if OpenEMS
+	 * Backend does not support it.
+	 */
+	private final AtomicBoolean channelDictionaryBlocked = new AtomicBoolean(false);
+
 	protected SendChannelValuesWorker(ControllerApiBackendImpl parent) {
 		this.parent = parent;
 	}
@@ -70,6 +124,14 @@ public class SendChannelValuesWorker {
 		this.sendValuesOfAllChannels.set(true);
 	}
 
+	/**
+	 * Resets the {@link ChannelDictionary}; to be called on (re)connect.
+	 */
+	public void resetChannelDictionary() {
+		this.channelDictionary = null;
+		this.channelDictionaryBlocked.set(false);
+	}
+
 	/**
 	 * Stops the {@link SendChannelValuesWorker}.
 	 */
@@ -93,6 +155,24 @@ public class SendChannelValuesWorker {
 		this.executor.execute(new SendTask(this, now, allValues));
 	}
 
+	/**
+	 * Replaces the oldest queued task with the new task, like
+	 * {@link ThreadPoolExecutor.DiscardOldestPolicy}, but keeps the evicted task
+	 * for journaling.
+	 *
+	 * @param task     the rejected task
+	 * @param executor the executor
+	 */
+	private void evictOldest(Runnable task, ThreadPoolExecutor executor) {
+		if (executor.isShutdown()) {
+			return;
+		}
+		if (executor.getQueue().poll() instanceof SendTask evicted) {
+			this.evictedTasks.add(evicted);
+		}
+		executor.execute(task);
+	}
+
 	/**
 	 * Cycles through all Channels and collects the value.
 	 *
@@ -130,6 +210,94 @@ public class SendChannelValuesWorker {
 	 * From here things run asynchronously.
 	 */
 
+	/**
+	 * Writes values that could not be sent to the {@link DiskJournal}.
+	 *
+	 * <p>
+	 * Only values that changed compared to the previously journaled (or the last
+	 * successfully sent) values are stored, so the journal can be replayed in
+	 * order.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param allValues the values of all Channels
+	 */
+	private void journal(long timestamp, ImmutableMap<String, JsonElement> allValues) {
+		var journal = this.parent.journal;
+		if (journal == null) {
+			return;
+		}
+		var previousValues = this.lastJournaledValues != null ? this.lastJournaledValues : this.lastAllValues;
+		var values = new HashMap<String, JsonElement>();
+		for (var entry : allValues.entrySet()) {
+			if (!Objects.equals(entry.getValue(), previousValues.get(entry.getKey()))) {
+				values.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (values.isEmpty()) {
+			return;
+		}
+
+		var message = new TimestampedDataNotification();
+		message.add(timestamp, values);
+		try {
+			journal.append(timestamp, message.toString());
+			this.lastJournaledValues = allValues;
+
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to write to journal: " + e.getMessage());
+		}
+		this.parent._setJournalDepth(journal.getDepth());
+	}
+
+	/**
+	 * Converts the message to a {@link CompactDataNotification} if a matching
+	 * {@link ChannelDictionary} was acknowledged by OpenEMS Backend.
+	 *
+	 * <p>
+	 * Otherwise a new {@link ChannelDictionary} is announced and the message is
+	 * sent with full Channel-Addresses. This is also the fallback if OpenEMS
+	 * Backend does not support {@link SetChannelDictionaryRequest}.
+	 *
+	 * @param message   the {@link TimestampedDataNotification}
+	 * @param addresses the Channel-Addresses of all current values
+	 * @return the message to send
+	 */
+	private JsonrpcMessage toCompactMessage(TimestampedDataNotification message, Set<String> addresses) {
+		if (!this.parent.config.channelDictionary()) {
+			return message;
+		}
+		var dictionary = this.channelDictionary;
+		if (dictionary != null && dictionary.containsAll(addresses)) {
+			try {
+				return CompactDataNotification.from(dictionary, message.getData());
+			} catch (OpenemsException e) {
+				this.parent.logWarn(this.log, "Unable to create CompactDataNotification: " + e.getMessage());
+			}
+		}
+		if (this.channelDictionaryBlocked.compareAndSet(false, true)) {
+			this.announceChannelDictionary(ChannelDictionary.of(addresses));
+		}
+		return message;
+	}
+
+	private void announceChannelDictionary(ChannelDictionary dictionary) {
+		try {
+			this.parent.websocket.sendRequest(new SetChannelDictionaryRequest(dictionary))
+					.whenComplete((response, exception) -> {
+						if (exception != null) {
+							// Keep blocked till next reconnect
+							this.parent.logInfo(this.log, "Backend does not support Channel-Dictionary: "
+									+ exception.getMessage());
+							return;
+						}
+						this.channelDictionary = dictionary;
+						this.channelDictionaryBlocked.set(false);
+					});
+		} catch (OpenemsNamedException e) {
+			this.channelDictionaryBlocked.set(false);
+		}
+	}
+
 	private static class SendTask implements Runnable {
 
 		private final SendChannelValuesWorker parent;
@@ -145,6 +313,13 @@ public class SendChannelValuesWorker {
 
 		@Override
 		public void run() {
+			// Journal values of evicted tasks first to keep the order
+			final var cycleTime = this.parent.parent.cycle.getCycleTime();
+			SendTask evicted;
+			while ((evicted = this.parent.evictedTasks.poll()) != null) {
+				this.parent.journal(evicted.timestamp.toEpochMilli() / cycleTime * cycleTime, evicted.allValues);
+			}
+
 			// Holds the data of the last successful send. If the table is empty, it is also
 			// used as a marker to send all data.
 			final ImmutableMap<String, JsonElement> lastAllValues;
@@ -166,19 +341,35 @@ public class SendChannelValuesWorker {
 			}
 
 			// Round timestamp to Global Cycle-Time
-			final var cycleTime = this.parent.parent.cycle.getCycleTime();
 			final var timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
 
 			// Prepare message values
 			var sendValuesMap = new HashMap<String, JsonElement>();
+			final var sendFilter = this.parent.parent.sendFilter;
+			final var isFiltered = !lastAllValues.isEmpty() && !sendFilter.isEmpty();
+			var suppressed = 0;
 
 			// Collect Changed values
 			for (var entry : this.allValues.entrySet()) {
 				var channelAddress = entry.getKey();
 				var value = entry.getValue();
-				if (!Objects.equals(value, lastAllValues.get(channelAddress))) {
-					sendValuesMap.put(channelAddress, value);
+				var lastValue = lastAllValues.get(channelAddress);
+				if (Objects.equals(value, lastValue)) {
+					continue;
 				}
+				if (isFiltered) {
+					var rule = sendFilter.getRule(channelAddress, this.parent.parent.componentManager);
+					if (rule.isPresent() && rule.get().isSuppressed(lastValue, value, timestampMillis
+							- this.parent.lastSentTimestamps.getOrDefault(channelAddress, Long.MIN_VALUE / 2))) {
+						suppressed++;
+						continue;
+					}
+				}
+				sendValuesMap.put(channelAddress, value);
+			}
+			if (suppressed > 0) {
+				this.parent.suppressedValues += suppressed;
+				this.parent.parent._setSuppressedValues(this.parent.suppressedValues);
 			}
 
 			// Create JSON-RPC notification
@@ -192,18 +383,36 @@ public class SendChannelValuesWorker {
 			}
 
 			// Try to send
-			var wasSent = this.parent.parent.websocket.sendMessage(message);
+			var wasSent = this.parent.parent.websocket
+					.sendMessage(this.parent.toCompactMessage(message, this.allValues.keySet()));
 
 			// Set the UNABLE_TO_SEND channel
 			this.parent.parent.getUnableToSendChannel().setNextValue(!wasSent);
 
 			if (wasSent) {
 				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
+				if (isFiltered) {
+					// Keep suppressed values at their last sent state
+					var sentValues = new HashMap<>(lastAllValues);
+					sentValues.putAll(sendValuesMap);
+					this.parent.lastAllValues = ImmutableMap.copyOf(sentValues);
+				} else {
+					this.parent.lastAllValues = this.allValues;
+				}
+				if (!sendFilter.isEmpty()) {
+					for (var channelAddress : sendValuesMap.keySet()) {
+						this.parent.lastSentTimestamps.put(channelAddress, timestampMillis);
+					}
+				}
+				this.parent.lastJournaledValues = null;
 				if (lastAllValues.isEmpty()) {
 					// 'lastSentValues' was empty, i.e. all values were sent
 					this.parent.lastSendValuesOfAllChannels = this.timestamp;
 				}
+
+			} else {
+				// Unable to send: keep values for resending
+				this.parent.journal(timestampMillis, this.allValues);
 			}
 
 		}
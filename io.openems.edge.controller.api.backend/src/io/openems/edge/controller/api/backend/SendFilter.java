@@ -0,0 +1,182 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+
+/**
+ * Suppresses sending of small or too frequent value changes.
+ *
+ * <p>
+ * Rules are configured as {@code <selector>;<deadband>;<min-interval>}, where
+ * selector is either a Channel-Address (e.g. {@code meter0/Voltage}), a
+ * {@link Unit} (e.g. {@code VOLT}) or a {@link PersistencePriority} (e.g.
+ * {@code LOW}). The deadband is either absolute (e.g. {@code 100}) or relative
+ * to the last sent value (e.g. {@code 0.5%}); the minimum interval is given in
+ * seconds. Either may be left empty. A rule for a Channel-Address has
+ * precedence over a rule for a Unit, which has precedence over a rule for a
+ * PersistencePriority.
+ *
+ * <p>
+ * Non-numeric values and changes from or to null are never suppressed.
+ */
+public class SendFilter {
+
+	/**
+	 * A filter rule.
+	 */
+	public static record Rule(double absoluteDeadband, double relativeDeadband, long minIntervalMillis) {
+
+		/**
+		 * Should the change from the last sent to the next value be suppressed?.
+		 *
+		 * @param lastValue     the last sent value
+		 * @param nextValue     the next value
+		 * @param elapsedMillis milliseconds since the last value was sent
+		 * @return true if the value should not be sent
+		 */
+		public boolean isSuppressed(JsonElement lastValue, JsonElement nextValue, long elapsedMillis) {
+			if (!isNumber(lastValue) || !isNumber(nextValue)) {
+				return false;
+			}
+			if (elapsedMillis < this.minIntervalMillis) {
+				return true;
+			}
+			var last = lastValue.getAsDouble();
+			var delta = Math.abs(nextValue.getAsDouble() - last);
+			return delta < this.absoluteDeadband || delta < this.relativeDeadband * Math.abs(last);
+		}
+
+		private static boolean isNumber(JsonElement value) {
+			return value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber();
+		}
+	}
+
+	/**
+	 * Parses the configured rules.
+	 *
+	 * @param entries the configuration entries
+	 * @return the {@link SendFilter}
+	 * @throws OpenemsException on parse error
+	 */
+	public static SendFilter from(String[] entries) throws OpenemsException {
+		var result = new SendFilter();
+		for (var entry : entries) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			var parts = entry.split(";", -1);
+			if (parts.length != 3) {
+				throw new OpenemsException(
+						"Invalid filter [" + entry + "]. Expected <selector>;<deadband>;<min-interval>");
+			}
+			var selector = parts[0].trim();
+			var rule = parseRule(entry, parts[1].trim(), parts[2].trim());
+			if (selector.contains("/")) {
+				result.channelRules.put(selector, rule);
+			} else if (parseEnum(Unit.class, selector) != null) {
+				result.unitRules.put(parseEnum(Unit.class, selector), rule);
+			} else if (parseEnum(PersistencePriority.class, selector) != null) {
+				result.priorityRules.put(parseEnum(PersistencePriority.class, selector), rule);
+			} else {
+				throw new OpenemsException("Invalid filter selector [" + selector + "] in [" + entry + "]");
+			}
+		}
+		return result;
+	}
+
+	private static Rule parseRule(String entry, String deadband, String minInterval) throws OpenemsException {
+		try {
+			var absoluteDeadband = 0d;
+			var relativeDeadband = 0d;
+			if (deadband.endsWith("%")) {
+				relativeDeadband = Double.parseDouble(deadband.substring(0, deadband.length() - 1).trim()) / 100;
+			} else if (!deadband.isEmpty()) {
+				absoluteDeadband = Double.parseDouble(deadband);
+			}
+			var minIntervalMillis = minInterval.isEmpty() ? 0L
+					: TimeUnit.SECONDS.toMillis(Long.parseLong(minInterval));
+			return new Rule(absoluteDeadband, relativeDeadband, minIntervalMillis);
+
+		} catch (NumberFormatException e) {
+			throw new OpenemsException("Invalid filter [" + entry + "]: " + e.getMessage());
+		}
+	}
+
+	private static <E extends Enum<E>> E parseEnum(Class<E> clazz, String name) {
+		try {
+			return Enum.valueOf(clazz, name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private final Map<String, Rule> channelRules = new HashMap<>();
+	private final Map<Unit, Rule> unitRules = new HashMap<>();
+	private final Map<PersistencePriority, Rule> priorityRules = new HashMap<>();
+
+	/**
+	 * Cache of resolved Rules per Channel-Address.
+	 */
+	private final Map<String, Optional<Rule>> rules = new ConcurrentHashMap<>();
+
+	/**
+	 * Is this {@link SendFilter} without any rules?.
+	 *
+	 * @return true if there are no rules
+	 */
+	public boolean isEmpty() {
+		return this.channelRules.isEmpty() && this.unitRules.isEmpty() && this.priorityRules.isEmpty();
+	}
+
+	/**
+	 * Gets the {@link Rule} for a Channel.
+	 *
+	 * @param address          the Channel-Address
+	 * @param componentManager the {@link ComponentManager} to look up the Channel
+	 * @return the {@link Rule}; empty if no rule applies
+	 */
+	public Optional<Rule> getRule(String address, ComponentManager componentManager) {
+		if (this.isEmpty()) {
+			return Optional.empty();
+		}
+		return this.rules.computeIfAbsent(address, a -> {
+			var rule = this.channelRules.get(a);
+			if (rule != null) {
+				return Optional.of(rule);
+			}
+			try {
+				var doc = componentManager.<Channel<?>>getChannel(ChannelAddress.fromString(a)).channelDoc();
+				rule = this.unitRules.get(doc.getUnit());
+				if (rule == null) {
+					rule = this.priorityRules.get(doc.getPersistencePriority());
+				}
+				return Optional.ofNullable(rule);
+
+			} catch (IllegalArgumentException | OpenemsNamedException e) {
+				// Channel does not exist (anymore)
+				return Optional.empty();
+			}
+		});
+	}
+
+	/**
+	 * Clears the cache of resolved Rules, e.g. after a configuration update.
+	 */
+	public void clearCache() {
+		this.rules.clear();
+	}
+
+}
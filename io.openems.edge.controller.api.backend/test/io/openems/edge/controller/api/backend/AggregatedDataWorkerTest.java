@@ -0,0 +1,44 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+
+public class AggregatedDataWorkerTest {
+
+	private static final long START = 1577836800_000L; /* 1. January 2020 00:00:00 */
+
+	@Test
+	public void test() {
+		var sut = new AggregatedDataWorker(null);
+		assertNull(sut.poll(START));
+
+		for (var i = 0; i < 300; i++) {
+			var timestamp = START + i * 1000L;
+			sut.add(timestamp, "meter0/ActivePower", Unit.WATT, OpenemsType.INTEGER, i % 2 == 0 ? 100 : 201);
+			sut.add(timestamp, "meter0/ActiveProductionEnergy", Unit.CUMULATED_WATT_HOURS, OpenemsType.LONG,
+					1000L + i);
+			sut.add(timestamp, "meter0/Voltage", Unit.VOLT, OpenemsType.FLOAT, i % 2 == 0 ? 229.5f : 230.5f);
+			sut.add(timestamp, "meter0/Name", Unit.NONE, OpenemsType.STRING, "ignored");
+			sut.add(timestamp, "meter0/Undefined", Unit.WATT, OpenemsType.INTEGER, null);
+
+			// Window is not yet finished
+			assertNull(sut.poll(timestamp));
+		}
+
+		var message = sut.poll(START + AggregatedDataWorker.WINDOW_MILLIS);
+		var data = message.getData().row(START);
+		assertEquals(3, data.size());
+		assertEquals(151, data.get("meter0/ActivePower").getAsLong()); // rounded average
+		assertEquals(1299, data.get("meter0/ActiveProductionEnergy").getAsLong()); // max
+		assertEquals(230.0, data.get("meter0/Voltage").getAsDouble(), 0.001); // average
+
+		// Window was reset
+		assertNull(sut.poll(START + 2 * AggregatedDataWorker.WINDOW_MILLIS));
+	}
+
+}
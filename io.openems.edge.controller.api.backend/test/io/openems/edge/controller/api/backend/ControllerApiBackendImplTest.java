@@ -46,6 +46,7 @@ public class ControllerApiBackendImplTest {
 							.setProxyType(Type.DIRECT) //
 							.setProxyAddress("") //
 							.setPersistencePriority(PersistencePriority.VERY_LOW) //
+							.setJournalMaxSize(0) //
 							.build());
 
 			// Stop connection
@@ -0,0 +1,76 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskJournalTest {
+
+	private static final long START = 1577836800_000L; /* 1. January 2020 00:00:00 */
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testAppendPeekRemove() throws IOException {
+		var journal = new DiskJournal(this.folder.getRoot().toPath(), 1024 * 1024, TimeUnit.HOURS.toMillis(1));
+		for (var i = 0; i < 100; i++) {
+			journal.append(START + i * 1000L, "message-" + i);
+		}
+		assertEquals(100, journal.getDepth());
+
+		for (var i = 0; i < 100; i++) {
+			var entry = journal.peek().get();
+			assertEquals(START + i * 1000L, entry.timestamp());
+			assertEquals("message-" + i, entry.payload());
+			journal.remove(entry);
+		}
+		assertEquals(0, journal.getDepth());
+		assertTrue(journal.peek().isEmpty());
+	}
+
+	@Test
+	public void testReopenAndTruncate() throws IOException {
+		var directory = this.folder.getRoot().toPath();
+		var journal = new DiskJournal(directory, 1024 * 1024, TimeUnit.HOURS.toMillis(1));
+		journal.append(START, "first");
+		journal.append(START + 1000, "second");
+
+		// Simulate power loss while writing
+		try (var files = Files.list(directory)) {
+			var file = files.findFirst().get().toFile();
+			try (var raf = new RandomAccessFile(file, "rw")) {
+				raf.setLength(raf.length() - 3);
+			}
+		}
+
+		journal = new DiskJournal(directory, 1024 * 1024, TimeUnit.HOURS.toMillis(1));
+		assertEquals(1, journal.getDepth());
+		assertEquals("first", journal.peek().get().payload());
+	}
+
+	@Test
+	public void testLimits() throws IOException {
+		var journal = new DiskJournal(this.folder.getRoot().toPath(), 8 * 1024, TimeUnit.HOURS.toMillis(1));
+		var payload = "x".repeat(100);
+		for (var i = 0; i < 1000; i++) {
+			journal.append(START + i * 1000L, payload);
+		}
+		// Oldest segments were deleted
+		assertTrue(journal.getSize() <= 8 * 1024);
+		assertTrue(journal.peek().get().timestamp() > START);
+
+		// Segments older than max age are deleted; only the current one remains
+		journal.append(START + TimeUnit.HOURS.toMillis(2), payload);
+		assertEquals(2, journal.getDepth());
+	}
+
+}
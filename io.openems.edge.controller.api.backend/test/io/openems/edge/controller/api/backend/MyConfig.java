@@ -18,6 +18,12 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private int apiTimeout;
 		private PersistencePriority persistencePriority;
 		private boolean debugMode;
+		private boolean aggregatedData;
+		private boolean channelDictionary;
+		private String[] sendFilters = {};
+		private int journalMaxSize;
+		private int journalMaxAge;
+		private int resendRate;
 
 		private Builder() {
 		}
@@ -67,6 +73,36 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setAggregatedData(boolean aggregatedData) {
+			this.aggregatedData = aggregatedData;
+			return this;
+		}
+
+		public Builder setSendFilters(String... sendFilters) {
+			this.sendFilters = sendFilters;
+			return this;
+		}
+
+		public Builder setChannelDictionary(boolean channelDictionary) {
+			this.channelDictionary = channelDictionary;
+			return this;
+		}
+
+		public Builder setJournalMaxSize(int journalMaxSize) {
+			this.journalMaxSize = journalMaxSize;
+			return this;
+		}
+
+		public Builder setJournalMaxAge(int journalMaxAge) {
+			this.journalMaxAge = journalMaxAge;
+			return this;
+		}
+
+		public Builder setResendRate(int resendRate) {
+			this.resendRate = resendRate;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -128,4 +164,34 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.debugMode;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public boolean aggregatedData() {
+		return this.builder.aggregatedData;
+	}
+
+	@Override
+	public String[] sendFilters() {
+		return this.builder.sendFilters;
+	}
+
+	@Override
+	public boolean channelDictionary() {
+		return this.builder.channelDictionary;
+	}
+
+	@Override
+	public int journalMaxSize() {
+		return this.builder.journalMaxSize;
+	}
+
+	@Override
+	public int journalMaxAge() {
+		return this.builder.journalMaxAge;
+	}
+
+	@Override
+	public int resendRate() {
+		return this.builder.resendRate;
+	}
+
+}
@@ -0,0 +1,52 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+
+public class SendFilterTest {
+
+	@Test
+	public void testRule() throws OpenemsException {
+		var sut = SendFilter.from(new String[] { //
+				"meter0/Voltage;0.5%;", //
+				"meter0/Frequency;10;5", //
+				"VOLT;1;", //
+				"LOW;;60", //
+				"" });
+		assertFalse(sut.isEmpty());
+
+		var voltage = sut.getRule("meter0/Voltage", null).get();
+		assertTrue(voltage.isSuppressed(new JsonPrimitive(230000), new JsonPrimitive(231000), 1000));
+		assertFalse(voltage.isSuppressed(new JsonPrimitive(230000), new JsonPrimitive(232000), 1000));
+
+		var frequency = sut.getRule("meter0/Frequency", null).get();
+		assertEquals(5000, frequency.minIntervalMillis());
+		assertTrue(frequency.isSuppressed(new JsonPrimitive(50000), new JsonPrimitive(50100), 1000));
+		assertFalse(frequency.isSuppressed(new JsonPrimitive(50000), new JsonPrimitive(50100), 5000));
+		assertTrue(frequency.isSuppressed(new JsonPrimitive(50000), new JsonPrimitive(50005), 5000));
+
+		// Never suppress non-numeric values or changes from/to null
+		assertFalse(frequency.isSuppressed(JsonNull.INSTANCE, new JsonPrimitive(50000), 0));
+		assertFalse(frequency.isSuppressed(new JsonPrimitive(50000), JsonNull.INSTANCE, 0));
+		assertFalse(frequency.isSuppressed(null, new JsonPrimitive(50000), 0));
+		assertFalse(frequency.isSuppressed(new JsonPrimitive("a"), new JsonPrimitive("b"), 0));
+	}
+
+	@Test
+	public void testParse() throws OpenemsException {
+		assertTrue(SendFilter.from(new String[0]).isEmpty());
+		assertThrows(OpenemsException.class, () -> SendFilter.from(new String[] { "VOLT;1" }));
+		assertThrows(OpenemsException.class, () -> SendFilter.from(new String[] { "FOO;1;1" }));
+		assertThrows(OpenemsException.class, () -> SendFilter.from(new String[] { "VOLT;x%;1" }));
+	}
+
+}
@@ -0,0 +1,298 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.columnar.GorillaEncoder.SampleConsumer;
+
+/**
+ * Manages the {@link Segment} files on disk.
+ *
+ * <p>
+ * Directory layout:
+ * {@code <base>/<level>/<partition-start>/<Component-ID>/<Channel-ID>}, where
+ * 'partition-start' is the UTC date of the start of the partition.
+ */
+public class ColumnarStore {
+
+	private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE
+			.withZone(ZoneOffset.UTC);
+
+	private final Path basePath;
+	private final Map<File, Segment> segments = new ConcurrentHashMap<>();
+
+	public ColumnarStore(Path basePath) {
+		this.basePath = basePath;
+	}
+
+	/**
+	 * Appends the samples of a {@link GorillaEncoder} to the {@link Segment} of the
+	 * partition of its first sample.
+	 *
+	 * <p>
+	 * The caller is responsible to not mix samples of different partitions within
+	 * one encoder.
+	 *
+	 * @param level   the {@link StorageLevel}
+	 * @param address the {@link ChannelAddress}
+	 * @param unit    the {@link Unit} of the Channel
+	 * @param encoder the {@link GorillaEncoder}
+	 * @throws IOException on error
+	 */
+	public void append(StorageLevel level, ChannelAddress address, Unit unit, GorillaEncoder encoder) throws IOException {
+		if (encoder.getCount() == 0) {
+			return;
+		}
+		var partition = level.toPartitionStart(encoder.getFirstTimestamp());
+		var segment = this.getSegment(level, partition, address);
+		if (segment.isPresent()) {
+			segment.get().append(encoder);
+			return;
+		}
+		var file = this.getFile(level, partition, address);
+		var created = Segment.create(file, unit);
+		this.segments.put(file, created);
+		created.append(encoder);
+	}
+
+	/**
+	 * Reads all samples of a Channel in the given time range in chronological
+	 * order.
+	 *
+	 * @param level         the {@link StorageLevel}
+	 * @param address       the {@link ChannelAddress}
+	 * @param fromTimestamp inclusive start in epoch milliseconds
+	 * @param toTimestamp   exclusive end in epoch milliseconds
+	 * @param consumer      the {@link SampleConsumer}
+	 * @throws IOException on error
+	 */
+	public void read(StorageLevel level, ChannelAddress address, long fromTimestamp, long toTimestamp,
+			SampleConsumer consumer) throws IOException {
+		for (var partition = level.toPartitionStart(fromTimestamp); partition < toTimestamp; //
+				partition += level.partitionMillis) {
+			var segment = this.getSegment(level, partition, address);
+			if (segment.isPresent()) {
+				segment.get().read(fromTimestamp, toTimestamp, consumer);
+			}
+		}
+	}
+
+	/**
+	 * Gets the {@link Unit} of a Channel from the latest {@link Segment}.
+	 *
+	 * @param level   the {@link StorageLevel}
+	 * @param address the {@link ChannelAddress}
+	 * @return the {@link Unit}; empty if no data exists
+	 * @throws IOException on error
+	 */
+	public Optional<Unit> getUnit(StorageLevel level, ChannelAddress address) throws IOException {
+		var segment = this.getLatestSegment(level, address);
+		if (segment.isPresent()) {
+			return Optional.of(segment.get().getUnit());
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Gets the timestamp of the last stored sample of a Channel.
+	 *
+	 * @param level   the {@link StorageLevel}
+	 * @param address the {@link ChannelAddress}
+	 * @return the timestamp in epoch milliseconds; {@link Long#MIN_VALUE} if no
+	 *         data exists
+	 * @throws IOException on error
+	 */
+	public long getLastTimestamp(StorageLevel level, ChannelAddress address) throws IOException {
+		var segment = this.getLatestSegment(level, address);
+		if (segment.isPresent()) {
+			return segment.get().getLastTimestamp();
+		}
+		return Long.MIN_VALUE;
+	}
+
+	/**
+	 * Gets the latest stored value of a Channel.
+	 *
+	 * @param level   the {@link StorageLevel}
+	 * @param address the {@link ChannelAddress}
+	 * @return the value; empty if no data exists
+	 * @throws IOException on error
+	 */
+	public Optional<Double> getLatestValue(StorageLevel level, ChannelAddress address) throws IOException {
+		var segment = this.getLatestSegment(level, address);
+		if (segment.isEmpty()) {
+			return Optional.empty();
+		}
+		var lastTimestamp = segment.get().getLastTimestamp();
+		var result = new double[] { Double.NaN };
+		segment.get().read(lastTimestamp, lastTimestamp + 1, (timestamp, value) -> result[0] = value);
+		if (Double.isNaN(result[0])) {
+			return Optional.empty();
+		}
+		return Optional.of(result[0]);
+	}
+
+	/**
+	 * Gets all Channels that have data in the given {@link StorageLevel} since the given
+	 * timestamp.
+	 *
+	 * @param level         the {@link StorageLevel}
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @return a set of {@link ChannelAddress}es
+	 * @throws IOException on error
+	 */
+	public Set<ChannelAddress> getChannels(StorageLevel level, long fromTimestamp) throws IOException {
+		var result = new HashSet<ChannelAddress>();
+		var firstPartition = level.toPartitionStart(fromTimestamp);
+		for (var partition : this.getPartitions(level)) {
+			if (partition < firstPartition) {
+				continue;
+			}
+			var components = this.getPartitionPath(level, partition).toFile().listFiles(File::isDirectory);
+			if (components == null) {
+				continue;
+			}
+			for (var component : components) {
+				var channels = component.listFiles(File::isFile);
+				if (channels == null) {
+					continue;
+				}
+				for (var channel : channels) {
+					result.add(new ChannelAddress(component.getName(), channel.getName()));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Deletes all partitions that end before the given timestamp.
+	 *
+	 * @param level     the {@link StorageLevel}
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the number of deleted partitions
+	 * @throws IOException on error
+	 */
+	public int deletePartitionsBefore(StorageLevel level, long timestamp) throws IOException {
+		var deleted = 0;
+		for (var partition : this.getPartitions(level)) {
+			if (partition + level.partitionMillis > timestamp) {
+				continue;
+			}
+			var path = this.getPartitionPath(level, partition);
+			this.segments.keySet().removeIf(file -> file.toPath().startsWith(path));
+			try (var files = Files.walk(path)) {
+				for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+					Files.delete(file);
+				}
+			}
+			deleted++;
+		}
+		return deleted;
+	}
+
+	/**
+	 * Gets the total size of all segment files in bytes.
+	 *
+	 * @return the size
+	 * @throws IOException on error
+	 */
+	public long getSizeOnDisk() throws IOException {
+		if (!this.basePath.toFile().exists()) {
+			return 0;
+		}
+		try (var files = Files.walk(this.basePath)) {
+			return files //
+					.map(Path::toFile) //
+					.filter(File::isFile) //
+					.mapToLong(File::length) //
+					.sum();
+		}
+	}
+
+	/**
+	 * Closes the store and releases all cached {@link Segment}s.
+	 */
+	public void close() {
+		this.segments.clear();
+	}
+
+	private Optional<Segment> getLatestSegment(StorageLevel level, ChannelAddress address) throws IOException {
+		var partitions = this.getPartitions(level);
+		for (var i = partitions.size() - 1; i >= 0; i--) {
+			var segment = this.getSegment(level, partitions.get(i), address);
+			if (segment.isPresent()) {
+				return segment;
+			}
+		}
+		return Optional.empty();
+	}
+
+	private Optional<Segment> getSegment(StorageLevel level, long partition, ChannelAddress address) throws IOException {
+		var file = this.getFile(level, partition, address);
+		var segment = this.segments.get(file);
+		if (segment != null) {
+			return Optional.of(segment);
+		}
+		if (!file.exists()) {
+			return Optional.empty();
+		}
+		segment = Segment.open(file);
+		var existing = this.segments.putIfAbsent(file, segment);
+		return Optional.of(existing != null ? existing : segment);
+	}
+
+	/**
+	 * Gets the start timestamps of all existing partitions in ascending order.
+	 *
+	 * @param level the {@link StorageLevel}
+	 * @return a sorted list of partition start timestamps in epoch milliseconds
+	 */
+	private List<Long> getPartitions(StorageLevel level) {
+		var result = new ArrayList<Long>();
+		var directories = this.basePath.resolve(level.path).toFile().listFiles(File::isDirectory);
+		if (directories == null) {
+			return result;
+		}
+		for (var directory : directories) {
+			try {
+				result.add(LocalDate.parse(directory.getName(), PARTITION_FORMAT) //
+						.atStartOfDay(ZoneOffset.UTC) //
+						.toInstant() //
+						.toEpochMilli());
+			} catch (DateTimeParseException e) {
+				// ignore unknown directories
+			}
+		}
+		result.sort(Long::compare);
+		return result;
+	}
+
+	private Path getPartitionPath(StorageLevel level, long partition) {
+		return this.basePath.resolve(level.path).resolve(PARTITION_FORMAT.format(Instant.ofEpochMilli(partition)));
+	}
+
+	private File getFile(StorageLevel level, long partition, ChannelAddress address) {
+		return this.getPartitionPath(level, partition) //
+				.resolve(address.getComponentId()) //
+				.resolve(address.getChannelId()) //
+				.toFile();
+	}
+}
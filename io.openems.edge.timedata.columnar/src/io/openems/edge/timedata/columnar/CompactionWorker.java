@@ -0,0 +1,155 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.worker.AbstractWorker;
+
+/**
+ * Compacts data of a finer {@link StorageLevel} into rollups of the next
+ * coarser {@link StorageLevel} and applies the configured retention.
+ *
+ * <p>
+ * Rollups are created only for closed buckets, i.e. buckets that end before
+ * now. Each bucket is aggregated using the aggregate function of the Channel
+ * {@link Unit}, like {@link Unit#getChannelAggregateFunction()}: maximum for
+ * cumulated values, average for all others.
+ */
+public class CompactionWorker extends AbstractWorker {
+
+	private static final int CYCLE_TIME = (int) TimeUnit.MINUTES.toMillis(5);
+
+	private final Logger log = LoggerFactory.getLogger(CompactionWorker.class);
+	private final TimedataColumnarImpl parent;
+	private final ColumnarStore store;
+
+	public CompactionWorker(TimedataColumnarImpl parent, ColumnarStore store) {
+		this.parent = parent;
+		this.store = store;
+	}
+
+	@Override
+	protected void forever() throws Throwable {
+		var now = System.currentTimeMillis();
+
+		this.compact(StorageLevel.FIVE_MINUTES, now);
+		this.compact(StorageLevel.ONE_HOUR, now);
+
+		for (var level : StorageLevel.values()) {
+			var deleted = this.store.deletePartitionsBefore(level, now - this.parent.getRetentionMillis(level));
+			if (deleted > 0) {
+				this.parent.logInfo(this.log, "Deleted [" + deleted + "] partitions of level [" + level + "]");
+			}
+		}
+
+		this.parent._setStorageSize(this.store.getSizeOnDisk());
+	}
+
+	@Override
+	protected int getCycleTime() {
+		return CYCLE_TIME;
+	}
+
+	private void compact(StorageLevel level, long now) throws IOException {
+		var source = level.finer();
+		var sourceRetentionStart = now - this.parent.getRetentionMillis(source);
+		var end = Math.floorDiv(now, level.bucketMillis) * level.bucketMillis;
+
+		for (var address : this.store.getChannels(source, sourceRetentionStart)) {
+			try {
+				var lastRollup = this.store.getLastTimestamp(level, address);
+				var start = lastRollup == Long.MIN_VALUE //
+						? Math.floorDiv(sourceRetentionStart, level.bucketMillis) * level.bucketMillis //
+						: lastRollup + level.bucketMillis;
+				if (start >= end) {
+					continue;
+				}
+				var unit = this.store.getUnit(source, address).orElse(Unit.NONE);
+				this.compact(level, address, unit, start, end);
+
+			} catch (IOException e) {
+				this.parent.logWarn(this.log, "Unable to compact [" + address + "] to level [" + level + "] "
+						+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private void compact(StorageLevel level, ChannelAddress address, Unit unit, long start, long end)
+			throws IOException {
+		var rollup = new Rollup(level, address, unit);
+		this.parent.read(level.finer(), address, start, end, rollup::add);
+		rollup.finish();
+	}
+
+	/**
+	 * Aggregates sorted samples into buckets and appends them to the
+	 * {@link ColumnarStore}.
+	 */
+	private class Rollup {
+
+		private final StorageLevel level;
+		private final ChannelAddress address;
+		private final Unit unit;
+
+		private GorillaEncoder encoder = new GorillaEncoder();
+		private long bucket = Long.MIN_VALUE;
+		private double sum = 0;
+		private double max = Double.NEGATIVE_INFINITY;
+		private int count = 0;
+
+		private Rollup(StorageLevel level, ChannelAddress address, Unit unit) {
+			this.level = level;
+			this.address = address;
+			this.unit = unit;
+		}
+
+		private void add(long timestamp, double value) {
+			var bucket = Math.floorDiv(timestamp, this.level.bucketMillis) * this.level.bucketMillis;
+			if (bucket != this.bucket) {
+				this.closeBucket();
+				this.bucket = bucket;
+			}
+			this.sum += value;
+			this.max = Math.max(this.max, value);
+			this.count++;
+		}
+
+		private void closeBucket() {
+			if (this.count == 0) {
+				return;
+			}
+			if (this.encoder.getCount() > 0 && this.level.toPartitionStart(this.bucket) != this.level
+					.toPartitionStart(this.encoder.getFirstTimestamp())) {
+				this.flush();
+			}
+			var value = this.unit.isCumulated() ? this.max : this.sum / this.count;
+			this.encoder.append(this.bucket, value);
+			this.sum = 0;
+			this.max = Double.NEGATIVE_INFINITY;
+			this.count = 0;
+		}
+
+		private void finish() {
+			this.closeBucket();
+			this.flush();
+		}
+
+		private void flush() {
+			try {
+				CompactionWorker.this.store.append(this.level, this.address, this.unit, this.encoder);
+				CompactionWorker.this.parent._setUnableToWriteSegment(false);
+
+			} catch (IOException e) {
+				CompactionWorker.this.parent._setUnableToWriteSegment(true);
+				CompactionWorker.this.parent.logWarn(CompactionWorker.this.log, "Unable to write rollup ["
+						+ this.address + "] " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+			this.encoder = new GorillaEncoder();
+		}
+	}
+}
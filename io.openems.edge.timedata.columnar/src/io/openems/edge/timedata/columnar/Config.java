@@ -0,0 +1,35 @@
+package io.openems.edge.timedata.columnar;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import io.openems.common.channel.PersistencePriority;
+
+@ObjectClassDefinition(//
+		name = "Timedata Columnar", //
+		description = "This component persists data in full Cycle resolution to compressed, append-only segment files.")
+@interface Config {
+
+	@AttributeDefinition(name = "Component-ID", description = "Unique ID of this Component")
+	String id() default "columnar0";
+
+	@AttributeDefinition(name = "Alias", description = "Human-readable name of this Component; defaults to Component-ID")
+	String alias() default "";
+
+	@AttributeDefinition(name = "Is enabled?", description = "Is this Component enabled?")
+	boolean enabled() default true;
+
+	@AttributeDefinition(name = "Persistence Priority", description = "Store only Channels with a Persistence Priority above this. Be aware that too many writes can wear-out your flash storage.")
+	PersistencePriority persistencePriority() default PersistencePriority.MEDIUM;
+
+	@AttributeDefinition(name = "Raw data retention [days]", description = "Keep data in full Cycle resolution for this number of days.")
+	int rawRetentionDays() default 28;
+
+	@AttributeDefinition(name = "5-minute rollup retention [days]", description = "Keep 5-minute aggregated data for this number of days.")
+	int fiveMinutesRetentionDays() default 400;
+
+	@AttributeDefinition(name = "Hourly rollup retention [days]", description = "Keep hourly aggregated data for this number of days.")
+	int hourlyRetentionDays() default 3650;
+
+	String webconsole_configurationFactory_nameHint() default "Timedata Columnar [{id}]";
+}
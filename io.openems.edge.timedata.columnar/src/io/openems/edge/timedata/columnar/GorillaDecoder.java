@@ -0,0 +1,124 @@
+package io.openems.edge.timedata.columnar;
+
+import java.nio.ByteBuffer;
+
+import io.openems.edge.timedata.columnar.GorillaEncoder.SampleConsumer;
+
+/**
+ * Decodes samples that were encoded by a {@link GorillaEncoder}.
+ */
+public class GorillaDecoder {
+
+	private GorillaDecoder() {
+	}
+
+	/**
+	 * Decodes samples from byte arrays.
+	 *
+	 * @param timestamps the encoded timestamp column
+	 * @param values     the encoded value column
+	 * @param count      the number of samples
+	 * @param consumer   the {@link SampleConsumer}
+	 */
+	public static void decode(byte[] timestamps, byte[] values, int count, SampleConsumer consumer) {
+		decode(ByteBuffer.wrap(timestamps), ByteBuffer.wrap(values), count, consumer);
+	}
+
+	/**
+	 * Decodes samples from {@link ByteBuffer}s, e.g. slices of a memory-mapped
+	 * segment file. The positions of the buffers are not modified.
+	 *
+	 * @param timestamps the encoded timestamp column
+	 * @param values     the encoded value column
+	 * @param count      the number of samples
+	 * @param consumer   the {@link SampleConsumer}
+	 */
+	public static void decode(ByteBuffer timestamps, ByteBuffer values, int count, SampleConsumer consumer) {
+		var t = new BitReader(timestamps);
+		var v = new BitReader(values);
+
+		long timestamp = 0;
+		long delta = 0;
+		long valueBits = 0;
+		var leading = 0;
+		var trailing = 0;
+
+		for (var i = 0; i < count; i++) {
+			// Timestamp
+			if (i == 0) {
+				timestamp = t.readBits(64);
+			} else if (i == 1) {
+				delta = t.readBits(64);
+				timestamp += delta;
+			} else {
+				long deltaOfDelta;
+				if (!t.readBit()) {
+					deltaOfDelta = 0;
+				} else if (!t.readBit()) {
+					deltaOfDelta = signExtend(t.readBits(7), 7);
+				} else if (!t.readBit()) {
+					deltaOfDelta = signExtend(t.readBits(9), 9);
+				} else if (!t.readBit()) {
+					deltaOfDelta = signExtend(t.readBits(12), 12);
+				} else {
+					deltaOfDelta = t.readBits(64);
+				}
+				delta += deltaOfDelta;
+				timestamp += delta;
+			}
+
+			// Value
+			if (i == 0) {
+				valueBits = v.readBits(64);
+			} else if (v.readBit()) {
+				if (v.readBit()) {
+					leading = (int) v.readBits(5);
+					var meaningful = (int) v.readBits(6);
+					if (meaningful == 0) {
+						meaningful = 64;
+					}
+					trailing = 64 - leading - meaningful;
+				}
+				var meaningful = 64 - leading - trailing;
+				valueBits ^= v.readBits(meaningful) << trailing;
+			}
+
+			consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+		}
+	}
+
+	private static long signExtend(long value, int numberOfBits) {
+		var shift = 64 - numberOfBits;
+		return (value << shift) >> shift;
+	}
+
+	/**
+	 * Reads single bits from a {@link ByteBuffer} using absolute positions.
+	 */
+	private static class BitReader {
+
+		private final ByteBuffer buffer;
+		private final int offset;
+		private int bitPosition = 0;
+
+		private BitReader(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.offset = buffer.position();
+		}
+
+		private boolean readBit() {
+			var b = this.buffer.get(this.offset + (this.bitPosition >>> 3));
+			var bit = (b >>> (7 - (this.bitPosition & 7))) & 1;
+			this.bitPosition++;
+			return bit != 0;
+		}
+
+		private long readBits(int numberOfBits) {
+			long result = 0;
+			for (var i = 0; i < numberOfBits; i++) {
+				result = (result << 1) | (this.readBit() ? 1 : 0);
+			}
+			return result;
+		}
+	}
+}
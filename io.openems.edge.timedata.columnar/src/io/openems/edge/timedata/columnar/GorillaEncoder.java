@@ -0,0 +1,266 @@
+package io.openems.edge.timedata.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Encodes a series of (timestamp, value) samples in the compression scheme
+ * described in the Facebook 'Gorilla' paper.
+ *
+ * <p>
+ * Timestamps and values are written to two separate bit columns:
+ * <ul>
+ * <li>Timestamps are stored as delta-of-delta. For samples recorded once per
+ * Cycle this results in mostly one bit per sample.
+ * <li>Values are stored as XOR of the previous value. Unchanged values take
+ * one bit, slowly changing values only store their meaningful bits.
+ * </ul>
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class GorillaEncoder {
+
+	private final BitWriter timestamps = new BitWriter();
+	private final BitWriter values = new BitWriter();
+
+	private int count = 0;
+	private long firstTimestamp;
+	private long lastTimestamp;
+	private long lastDelta;
+	private long lastValueBits;
+	private int lastLeading = Integer.MAX_VALUE;
+	private int lastTrailing = 0;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+	private double lastValue = Double.NaN;
+
+	/**
+	 * Appends a sample.
+	 *
+	 * <p>
+	 * Timestamps must be strictly increasing; samples with a timestamp that is not
+	 * after the last timestamp are silently ignored.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param value     the value
+	 * @return true if the sample was added
+	 */
+	public boolean append(long timestamp, double value) {
+		if (this.count > 0 && timestamp <= this.lastTimestamp) {
+			return false;
+		}
+		this.appendTimestamp(timestamp);
+		this.appendValue(value);
+
+		if (this.count == 0) {
+			this.firstTimestamp = timestamp;
+			this.min = value;
+			this.max = value;
+		} else {
+			this.min = Math.min(this.min, value);
+			this.max = Math.max(this.max, value);
+		}
+		this.lastTimestamp = timestamp;
+		this.lastValue = value;
+		this.count++;
+		return true;
+	}
+
+	private void appendTimestamp(long timestamp) {
+		if (this.count == 0) {
+			this.timestamps.writeBits(timestamp, 64);
+			return;
+		}
+		var delta = timestamp - this.lastTimestamp;
+		if (this.count == 1) {
+			this.timestamps.writeBits(delta, 64);
+			this.lastDelta = delta;
+			return;
+		}
+		var deltaOfDelta = delta - this.lastDelta;
+		this.lastDelta = delta;
+		if (deltaOfDelta == 0) {
+			this.timestamps.writeBit(false);
+		} else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+			this.timestamps.writeBits(0b10, 2);
+			this.timestamps.writeBits(deltaOfDelta, 7);
+		} else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+			this.timestamps.writeBits(0b110, 3);
+			this.timestamps.writeBits(deltaOfDelta, 9);
+		} else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+			this.timestamps.writeBits(0b1110, 4);
+			this.timestamps.writeBits(deltaOfDelta, 12);
+		} else {
+			this.timestamps.writeBits(0b1111, 4);
+			this.timestamps.writeBits(deltaOfDelta, 64);
+		}
+	}
+
+	private void appendValue(double value) {
+		var bits = Double.doubleToRawLongBits(value);
+		if (this.count == 0) {
+			this.values.writeBits(bits, 64);
+			this.lastValueBits = bits;
+			return;
+		}
+		var xor = bits ^ this.lastValueBits;
+		this.lastValueBits = bits;
+		if (xor == 0) {
+			this.values.writeBit(false);
+			return;
+		}
+		this.values.writeBit(true);
+		// Leading zeros are stored in 5 bits -> max 31
+		var leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+		var trailing = Long.numberOfTrailingZeros(xor);
+		if (leading >= this.lastLeading && trailing >= this.lastTrailing) {
+			// Meaningful bits fit into the previous window
+			this.values.writeBit(false);
+			var meaningful = 64 - this.lastLeading - this.lastTrailing;
+			this.values.writeBits(xor >>> this.lastTrailing, meaningful);
+		} else {
+			this.values.writeBit(true);
+			var meaningful = 64 - leading - trailing;
+			this.values.writeBits(leading, 5);
+			// 64 meaningful bits do not fit into 6 bits; stored as 0
+			this.values.writeBits(meaningful == 64 ? 0 : meaningful, 6);
+			this.values.writeBits(xor >>> trailing, meaningful);
+			this.lastLeading = leading;
+			this.lastTrailing = trailing;
+		}
+	}
+
+	/**
+	 * Gets the number of samples.
+	 *
+	 * @return the number of samples
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the timestamp of the first sample.
+	 *
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getFirstTimestamp() {
+		return this.firstTimestamp;
+	}
+
+	/**
+	 * Gets the timestamp of the last sample.
+	 *
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getLastTimestamp() {
+		return this.lastTimestamp;
+	}
+
+	/**
+	 * Gets the last value; NaN if no value was appended yet.
+	 *
+	 * @return the value
+	 */
+	public double getLastValue() {
+		return this.lastValue;
+	}
+
+	/**
+	 * Gets the minimum value; NaN if no value was appended yet.
+	 *
+	 * @return the value
+	 */
+	public double getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Gets the maximum value; NaN if no value was appended yet.
+	 *
+	 * @return the value
+	 */
+	public double getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Gets a copy of the encoded timestamp column.
+	 *
+	 * @return the bytes
+	 */
+	public byte[] getTimestampBytes() {
+		return this.timestamps.toByteArray();
+	}
+
+	/**
+	 * Gets a copy of the encoded value column.
+	 *
+	 * @return the bytes
+	 */
+	public byte[] getValueBytes() {
+		return this.values.toByteArray();
+	}
+
+	/**
+	 * Decodes all samples of this encoder.
+	 *
+	 * @param consumer the {@link SampleConsumer}
+	 */
+	public void forEach(SampleConsumer consumer) {
+		GorillaDecoder.decode(this.getTimestampBytes(), this.getValueBytes(), this.count, consumer);
+	}
+
+	/**
+	 * Consumer for decoded samples.
+	 */
+	@FunctionalInterface
+	public static interface SampleConsumer {
+
+		/**
+		 * Accepts a sample.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param value     the value
+		 */
+		public void accept(long timestamp, double value);
+	}
+
+	/**
+	 * Writes single bits to a growing byte array.
+	 */
+	private static class BitWriter {
+
+		private byte[] buffer = new byte[64];
+		private int bitPosition = 0;
+
+		private void writeBit(boolean bit) {
+			this.ensureCapacity(1);
+			if (bit) {
+				this.buffer[this.bitPosition >>> 3] |= 1 << (7 - (this.bitPosition & 7));
+			}
+			this.bitPosition++;
+		}
+
+		private void writeBits(long value, int numberOfBits) {
+			this.ensureCapacity(numberOfBits);
+			for (var i = numberOfBits - 1; i >= 0; i--) {
+				if (((value >>> i) & 1) != 0) {
+					this.buffer[this.bitPosition >>> 3] |= 1 << (7 - (this.bitPosition & 7));
+				}
+				this.bitPosition++;
+			}
+		}
+
+		private void ensureCapacity(int numberOfBits) {
+			var requiredBytes = (this.bitPosition + numberOfBits + 7) >>> 3;
+			if (requiredBytes > this.buffer.length) {
+				this.buffer = Arrays.copyOf(this.buffer, Math.max(requiredBytes, this.buffer.length * 2));
+			}
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf(this.buffer, (this.bitPosition + 7) >>> 3);
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.timedata.columnar.GorillaEncoder.SampleConsumer;
+
+/**
+ * Collects the Channel values of every Cycle and appends them as compressed
+ * blocks to the {@link StorageLevel#RAW} level of the {@link ColumnarStore}.
+ *
+ * <p>
+ * Samples are kept in an in-memory {@link Series} per Channel until the block
+ * is full, becomes too old or crosses a partition boundary. Queries consider
+ * these unflushed samples, so no data is lost for reading.
+ */
+public class RecordWorker extends AbstractImmediateWorker {
+
+	protected static final int MAX_BLOCK_SAMPLES = 3_600;
+	protected static final long MAX_BLOCK_AGE_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+	private static final int MAX_QUEUE_SIZE = 60;
+
+	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
+	private final TimedataColumnarImpl parent;
+	private final ColumnarStore store;
+
+	private record Sample(ChannelAddress address, Unit unit, double value) {
+	}
+
+	private record Snapshot(long timestamp, List<Sample> samples) {
+	}
+
+	// Snapshot queue; one entry per Cycle
+	private final LinkedBlockingQueue<Snapshot> snapshots = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+
+	// Unflushed samples per Channel
+	private final Map<ChannelAddress, Series> series = new ConcurrentHashMap<>();
+
+	private long lastAgeCheck = 0;
+
+	public RecordWorker(TimedataColumnarImpl parent, ColumnarStore store) {
+		this.parent = parent;
+		this.store = store;
+	}
+
+	/**
+	 * Collects the data from Channels. This is called synchronously by the main
+	 * OpenEMS cycle. On finish it triggers a next async task to write the data.
+	 */
+	public void collectData() {
+		var timestamp = System.currentTimeMillis();
+		var samples = new ArrayList<Sample>();
+
+		for (OpenemsComponent component : this.parent.componentManager.getEnabledComponents()) {
+			for (Channel<?> channel : component.channels()) {
+				var doc = channel.channelDoc();
+				if (// Ignore Low-Priority Channels
+				doc.getPersistencePriority().isLowerThan(this.parent.persistencePriority)
+						// Ignore WRITE_ONLY Channels
+						|| doc.getAccessMode() == AccessMode.WRITE_ONLY) {
+					continue;
+				}
+				var value = toDouble(channel.value().get());
+				if (Double.isNaN(value)) {
+					continue;
+				}
+				samples.add(new Sample(channel.address(), doc.getUnit(), value));
+			}
+		}
+
+		if (this.snapshots.offer(new Snapshot(timestamp, samples))) {
+			this.parent._setQueueIsFull(false);
+		} else {
+			this.parent.logWarn(this.log, "Unable to add snapshot. Queue is full!");
+			this.parent._setQueueIsFull(true);
+		}
+	}
+
+	@Override
+	protected void forever() throws InterruptedException {
+		this.append(this.snapshots.take());
+	}
+
+	private void append(Snapshot snapshot) {
+		for (var sample : snapshot.samples) {
+			var series = this.series.computeIfAbsent(sample.address, a -> new Series(a, sample.unit));
+			series.append(snapshot.timestamp, sample.value);
+		}
+
+		// Flush blocks that became too old, e.g. of Channels that stopped updating
+		if (snapshot.timestamp - this.lastAgeCheck > TimeUnit.MINUTES.toMillis(1)) {
+			this.lastAgeCheck = snapshot.timestamp;
+			for (var series : this.series.values()) {
+				series.flushIfOlderThan(snapshot.timestamp - MAX_BLOCK_AGE_MILLIS);
+			}
+		}
+	}
+
+	@Override
+	public void deactivate() {
+		super.deactivate();
+
+		// Persist remaining data
+		Snapshot snapshot;
+		while ((snapshot = this.snapshots.poll()) != null) {
+			this.append(snapshot);
+		}
+		this.flushAll();
+	}
+
+	/**
+	 * Flushes all unflushed samples to disk.
+	 */
+	public void flushAll() {
+		for (var series : this.series.values()) {
+			series.flush();
+		}
+	}
+
+	/**
+	 * Reads the unflushed samples of a Channel.
+	 *
+	 * @param address       the {@link ChannelAddress}
+	 * @param fromTimestamp inclusive start in epoch milliseconds
+	 * @param toTimestamp   exclusive end in epoch milliseconds
+	 * @param consumer      the {@link SampleConsumer}
+	 */
+	public void readUnflushed(ChannelAddress address, long fromTimestamp, long toTimestamp,
+			SampleConsumer consumer) {
+		var series = this.series.get(address);
+		if (series != null) {
+			series.read(fromTimestamp, toTimestamp, consumer);
+		}
+	}
+
+	/**
+	 * Gets the latest recorded value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value or NaN
+	 */
+	public double getLatestValue(ChannelAddress address) {
+		var series = this.series.get(address);
+		if (series == null) {
+			return Double.NaN;
+		}
+		return series.getLastValue();
+	}
+
+	/**
+	 * Gets the {@link Unit} of a recorded Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the {@link Unit} or null
+	 */
+	public Unit getUnit(ChannelAddress address) {
+		var series = this.series.get(address);
+		if (series == null) {
+			return null;
+		}
+		return series.unit;
+	}
+
+	/**
+	 * Gets the number of samples that are not yet flushed to disk.
+	 *
+	 * @return the number of samples
+	 */
+	public int getUnflushedSamples() {
+		return this.series.values().stream() //
+				.mapToInt(Series::getCount) //
+				.sum();
+	}
+
+	private static double toDouble(Object value) {
+		if (value instanceof Number n) {
+			return n.doubleValue();
+		}
+		if (value instanceof Boolean b) {
+			return b ? 1d : 0d;
+		}
+		// null or not supported, e.g. String
+		return Double.NaN;
+	}
+
+	/**
+	 * Holds the unflushed samples of one Channel.
+	 */
+	private class Series {
+
+		private final ChannelAddress address;
+		private final Unit unit;
+		private GorillaEncoder encoder = new GorillaEncoder();
+		private double lastValue = Double.NaN;
+
+		private Series(ChannelAddress address, Unit unit) {
+			this.address = address;
+			this.unit = unit;
+		}
+
+		private synchronized void append(long timestamp, double value) {
+			if (this.encoder.getCount() > 0 && (this.encoder.getCount() >= MAX_BLOCK_SAMPLES
+					|| StorageLevel.RAW.toPartitionStart(timestamp) != StorageLevel.RAW
+							.toPartitionStart(this.encoder.getFirstTimestamp()))) {
+				this.flush();
+			}
+			this.encoder.append(timestamp, value);
+			this.lastValue = value;
+		}
+
+		private synchronized void flushIfOlderThan(long timestamp) {
+			if (this.encoder.getCount() > 0 && this.encoder.getFirstTimestamp() < timestamp) {
+				this.flush();
+			}
+		}
+
+		private synchronized void flush() {
+			if (this.encoder.getCount() == 0) {
+				return;
+			}
+			try {
+				RecordWorker.this.store.append(StorageLevel.RAW, this.address, this.unit, this.encoder);
+				RecordWorker.this.parent._setUnableToWriteSegment(false);
+
+			} catch (IOException e) {
+				RecordWorker.this.parent._setUnableToWriteSegment(true);
+				RecordWorker.this.parent.logWarn(RecordWorker.this.log, "Unable to write block [" + this.address
+						+ "] " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+			this.encoder = new GorillaEncoder();
+		}
+
+		private synchronized void read(long fromTimestamp, long toTimestamp, SampleConsumer consumer) {
+			if (this.encoder.getCount() == 0 || this.encoder.getLastTimestamp() < fromTimestamp
+					|| this.encoder.getFirstTimestamp() >= toTimestamp) {
+				return;
+			}
+			this.encoder.forEach((timestamp, value) -> {
+				if (timestamp >= fromTimestamp && timestamp < toTimestamp) {
+					consumer.accept(timestamp, value);
+				}
+			});
+		}
+
+		private synchronized double getLastValue() {
+			return this.lastValue;
+		}
+
+		private synchronized int getCount() {
+			return this.encoder.getCount();
+		}
+	}
+}
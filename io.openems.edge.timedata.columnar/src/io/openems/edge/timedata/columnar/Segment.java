@@ -0,0 +1,313 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import io.openems.common.channel.Unit;
+import io.openems.edge.timedata.columnar.GorillaEncoder.SampleConsumer;
+
+/**
+ * An append-only segment file holding the compressed blocks of one Channel in
+ * one time partition of one {@link StorageLevel}.
+ *
+ * <p>
+ * File layout:
+ *
+ * <pre>
+ * Header: [int magic][short version][short length][length bytes Unit name]
+ * Block:  [int magic][int count][long firstTimestamp][long lastTimestamp]
+ *         [double min][double max][int timestampBytes][int valueBytes][int crc32]
+ *         [timestampBytes][valueBytes]
+ * </pre>
+ *
+ * <p>
+ * The block headers are kept in memory as a min/max index. Blocks are read via
+ * memory-mapping the file. An incomplete or corrupted block at the end of the
+ * file - e.g. after a power loss - is truncated when the file is opened.
+ */
+public class Segment {
+
+	private static final int FILE_MAGIC = 0x4F454D43; // "OEMC"
+	private static final short VERSION = 1;
+	private static final int BLOCK_MAGIC = 0x424C4B31; // "BLK1"
+	private static final int BLOCK_HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 8 + 4 + 4 + 4;
+
+	/**
+	 * Index entry for one block of a {@link Segment}.
+	 */
+	public static class BlockIndex {
+		public final long offset;
+		public final int count;
+		public final long firstTimestamp;
+		public final long lastTimestamp;
+		public final double min;
+		public final double max;
+		private final int timestampBytes;
+		private final int valueBytes;
+
+		private BlockIndex(long offset, int count, long firstTimestamp, long lastTimestamp, double min, double max,
+				int timestampBytes, int valueBytes) {
+			this.offset = offset;
+			this.count = count;
+			this.firstTimestamp = firstTimestamp;
+			this.lastTimestamp = lastTimestamp;
+			this.min = min;
+			this.max = max;
+			this.timestampBytes = timestampBytes;
+			this.valueBytes = valueBytes;
+		}
+
+		/**
+		 * Does this block overlap the given time range?.
+		 *
+		 * @param fromTimestamp inclusive start in epoch milliseconds
+		 * @param toTimestamp   exclusive end in epoch milliseconds
+		 * @return true if it overlaps
+		 */
+		public boolean overlaps(long fromTimestamp, long toTimestamp) {
+			return this.lastTimestamp >= fromTimestamp && this.firstTimestamp < toTimestamp;
+		}
+	}
+
+	private final File file;
+	private final Unit unit;
+	private final List<BlockIndex> index = new ArrayList<>();
+	private long size;
+
+	private Segment(File file, Unit unit, long size) {
+		this.file = file;
+		this.unit = unit;
+		this.size = size;
+	}
+
+	/**
+	 * Opens an existing {@link Segment} file and reads its block index.
+	 *
+	 * @param file the {@link File}
+	 * @return the {@link Segment}
+	 * @throws IOException on error
+	 */
+	public static Segment open(File file) throws IOException {
+		try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			var fileSize = channel.size();
+			var header = ByteBuffer.allocate(8);
+			if (channel.read(header, 0) != 8 || header.getInt(0) != FILE_MAGIC || header.getShort(4) != VERSION) {
+				throw new IOException("Invalid segment file [" + file + "]");
+			}
+			var unitLength = header.getShort(6);
+			var unitBytes = ByteBuffer.allocate(unitLength);
+			channel.read(unitBytes, 8);
+			var unit = Unit.valueOf(new String(unitBytes.array(), StandardCharsets.UTF_8));
+
+			var position = 8L + unitLength;
+			var segment = new Segment(file, unit, position);
+			if (fileSize > position) {
+				var map = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+				while (position + BLOCK_HEADER_SIZE <= fileSize) {
+					var block = readBlockIndex(map, position, fileSize);
+					if (block == null) {
+						break;
+					}
+					segment.index.add(block);
+					position += BLOCK_HEADER_SIZE + block.timestampBytes + block.valueBytes;
+				}
+			}
+			if (position < fileSize) {
+				// Truncate incomplete or corrupted tail
+				channel.truncate(position);
+			}
+			segment.size = position;
+			return segment;
+		}
+	}
+
+	/**
+	 * Creates a new, empty {@link Segment} file.
+	 *
+	 * @param file the {@link File}
+	 * @param unit the {@link Unit} of the Channel
+	 * @return the {@link Segment}
+	 * @throws IOException on error
+	 */
+	public static Segment create(File file, Unit unit) throws IOException {
+		file.getParentFile().mkdirs();
+		var unitBytes = unit.name().getBytes(StandardCharsets.UTF_8);
+		var header = ByteBuffer.allocate(8 + unitBytes.length);
+		header.putInt(FILE_MAGIC);
+		header.putShort(VERSION);
+		header.putShort((short) unitBytes.length);
+		header.put(unitBytes);
+		header.flip();
+		try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+		}
+		return new Segment(file, unit, 8 + unitBytes.length);
+	}
+
+	private static BlockIndex readBlockIndex(MappedByteBuffer map, long position, long fileSize) {
+		var p = (int) position;
+		if (map.getInt(p) != BLOCK_MAGIC) {
+			return null;
+		}
+		var count = map.getInt(p + 4);
+		var firstTimestamp = map.getLong(p + 8);
+		var lastTimestamp = map.getLong(p + 16);
+		var min = map.getDouble(p + 24);
+		var max = map.getDouble(p + 32);
+		var timestampBytes = map.getInt(p + 40);
+		var valueBytes = map.getInt(p + 44);
+		var crc = map.getInt(p + 48);
+		if (count <= 0 || timestampBytes < 0 || valueBytes < 0
+				|| position + BLOCK_HEADER_SIZE + timestampBytes + valueBytes > fileSize) {
+			return null;
+		}
+		var payload = map.slice(p + BLOCK_HEADER_SIZE, timestampBytes + valueBytes);
+		var crc32 = new CRC32();
+		crc32.update(payload);
+		if ((int) crc32.getValue() != crc) {
+			return null;
+		}
+		return new BlockIndex(position, count, firstTimestamp, lastTimestamp, min, max, timestampBytes, valueBytes);
+	}
+
+	/**
+	 * Appends the samples of a {@link GorillaEncoder} as a new block.
+	 *
+	 * @param encoder the {@link GorillaEncoder}
+	 * @throws IOException on error
+	 */
+	public synchronized void append(GorillaEncoder encoder) throws IOException {
+		if (encoder.getCount() == 0) {
+			return;
+		}
+		var timestampBytes = encoder.getTimestampBytes();
+		var valueBytes = encoder.getValueBytes();
+		var crc32 = new CRC32();
+		crc32.update(timestampBytes);
+		crc32.update(valueBytes);
+
+		var buffer = ByteBuffer.allocate(BLOCK_HEADER_SIZE + timestampBytes.length + valueBytes.length);
+		buffer.putInt(BLOCK_MAGIC);
+		buffer.putInt(encoder.getCount());
+		buffer.putLong(encoder.getFirstTimestamp());
+		buffer.putLong(encoder.getLastTimestamp());
+		buffer.putDouble(encoder.getMin());
+		buffer.putDouble(encoder.getMax());
+		buffer.putInt(timestampBytes.length);
+		buffer.putInt(valueBytes.length);
+		buffer.putInt((int) crc32.getValue());
+		buffer.put(timestampBytes);
+		buffer.put(valueBytes);
+		buffer.flip();
+
+		try (var channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE)) {
+			var position = this.size;
+			while (buffer.hasRemaining()) {
+				position += channel.write(buffer, position);
+			}
+			channel.force(false);
+		}
+		this.index.add(new BlockIndex(this.size, encoder.getCount(), encoder.getFirstTimestamp(),
+				encoder.getLastTimestamp(), encoder.getMin(), encoder.getMax(), timestampBytes.length,
+				valueBytes.length));
+		this.size += buffer.limit();
+	}
+
+	/**
+	 * Reads all samples in the given time range.
+	 *
+	 * @param fromTimestamp inclusive start in epoch milliseconds
+	 * @param toTimestamp   exclusive end in epoch milliseconds
+	 * @param consumer      the {@link SampleConsumer}
+	 * @throws IOException on error
+	 */
+	public void read(long fromTimestamp, long toTimestamp, SampleConsumer consumer) throws IOException {
+		var blocks = this.getBlocks(fromTimestamp, toTimestamp);
+		if (blocks.isEmpty()) {
+			return;
+		}
+		var last = blocks.get(blocks.size() - 1);
+		var mapSize = last.offset + BLOCK_HEADER_SIZE + last.timestampBytes + last.valueBytes;
+		try (var channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+			var map = channel.map(FileChannel.MapMode.READ_ONLY, 0, mapSize);
+			for (var block : blocks) {
+				var payload = (int) block.offset + BLOCK_HEADER_SIZE;
+				GorillaDecoder.decode(//
+						map.slice(payload, block.timestampBytes), //
+						map.slice(payload + block.timestampBytes, block.valueBytes), //
+						block.count, (timestamp, value) -> {
+							if (timestamp >= fromTimestamp && timestamp < toTimestamp) {
+								consumer.accept(timestamp, value);
+							}
+						});
+			}
+		}
+	}
+
+	/**
+	 * Gets the blocks that overlap the given time range.
+	 *
+	 * @param fromTimestamp inclusive start in epoch milliseconds
+	 * @param toTimestamp   exclusive end in epoch milliseconds
+	 * @return a list of {@link BlockIndex}es
+	 */
+	public synchronized List<BlockIndex> getBlocks(long fromTimestamp, long toTimestamp) {
+		var result = new ArrayList<BlockIndex>();
+		for (var block : this.index) {
+			if (block.overlaps(fromTimestamp, toTimestamp)) {
+				result.add(block);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets all blocks.
+	 *
+	 * @return an unmodifiable list of {@link BlockIndex}es
+	 */
+	public synchronized List<BlockIndex> getBlocks() {
+		return Collections.unmodifiableList(new ArrayList<>(this.index));
+	}
+
+	/**
+	 * Gets the timestamp of the last sample in this segment.
+	 *
+	 * @return the timestamp in epoch milliseconds; {@link Long#MIN_VALUE} if empty
+	 */
+	public synchronized long getLastTimestamp() {
+		if (this.index.isEmpty()) {
+			return Long.MIN_VALUE;
+		}
+		return this.index.get(this.index.size() - 1).lastTimestamp;
+	}
+
+	/**
+	 * Gets the {@link Unit} of the Channel.
+	 *
+	 * @return the {@link Unit}
+	 */
+	public Unit getUnit() {
+		return this.unit;
+	}
+
+	/**
+	 * Gets the size of the file in bytes.
+	 *
+	 * @return the size
+	 */
+	public synchronized long getSize() {
+		return this.size;
+	}
+}
@@ -0,0 +1,87 @@
+package io.openems.edge.timedata.columnar;
+
+import java.time.Duration;
+
+/**
+ * The storage levels of the columnar store.
+ *
+ * <p>
+ * Raw data is stored at full Cycle resolution; rollups are created by the
+ * {@link CompactionWorker} using the aggregate function of the Channel
+ * {@link io.openems.common.channel.Unit}.
+ */
+public enum StorageLevel {
+	/**
+	 * Full Cycle resolution; partitioned per day.
+	 */
+	RAW("raw", Duration.ZERO, Duration.ofDays(1)), //
+	/**
+	 * 5-minute rollups; partitioned per 30 days.
+	 */
+	FIVE_MINUTES("5m", Duration.ofMinutes(5), Duration.ofDays(30)), //
+	/**
+	 * Hourly rollups; partitioned per 360 days.
+	 */
+	ONE_HOUR("1h", Duration.ofHours(1), Duration.ofDays(360));
+
+	/**
+	 * Name of the directory.
+	 */
+	public final String path;
+
+	/**
+	 * The duration of one bucket in [ms]; 0 for {@link #RAW}.
+	 */
+	public final long bucketMillis;
+
+	/**
+	 * The duration of one partition in [ms].
+	 */
+	public final long partitionMillis;
+
+	private StorageLevel(String path, Duration bucket, Duration partition) {
+		this.path = path;
+		this.bucketMillis = bucket.toMillis();
+		this.partitionMillis = partition.toMillis();
+	}
+
+	/**
+	 * Gets the start of the partition for the given timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the start of the partition in epoch milliseconds
+	 */
+	public long toPartitionStart(long timestamp) {
+		return Math.floorDiv(timestamp, this.partitionMillis) * this.partitionMillis;
+	}
+
+	/**
+	 * Gets the next finer {@link StorageLevel}; null for {@link #RAW}.
+	 *
+	 * @return the {@link StorageLevel} or null
+	 */
+	public StorageLevel finer() {
+		return switch (this) {
+		case RAW -> null;
+		case FIVE_MINUTES -> RAW;
+		case ONE_HOUR -> FIVE_MINUTES;
+		};
+	}
+
+	/**
+	 * Gets the coarsest {@link StorageLevel} whose buckets are not larger than the given
+	 * resolution.
+	 *
+	 * @param resolutionMillis the requested resolution in [ms]
+	 * @return the {@link StorageLevel}
+	 */
+	public static StorageLevel forResolution(long resolutionMillis) {
+		if (resolutionMillis >= ONE_HOUR.bucketMillis) {
+			return ONE_HOUR;
+		}
+		if (resolutionMillis >= FIVE_MINUTES.bucketMillis) {
+			return FIVE_MINUTES;
+		}
+		return RAW;
+	}
+}
@@ -0,0 +1,116 @@
+package io.openems.edge.timedata.columnar;
+
+import io.openems.common.channel.Level;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.LongReadChannel;
+import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.timedata.api.Timedata;
+
+public interface TimedataColumnar extends Timedata, OpenemsComponent {
+
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		QUEUE_IS_FULL(Doc.of(Level.WARNING)), //
+		UNABLE_TO_WRITE_SEGMENT(Doc.of(Level.WARNING)), //
+		STORAGE_SIZE(Doc.of(OpenemsType.LONG) //
+				.text("Total size of all segment files in [byte]"));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#QUEUE_IS_FULL}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getQueueIsFullChannel() {
+		return this.channel(ChannelId.QUEUE_IS_FULL);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#QUEUE_IS_FULL}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getQueueIsFull() {
+		return this.getQueueIsFullChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#QUEUE_IS_FULL}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setQueueIsFull(Boolean value) {
+		this.getQueueIsFullChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#UNABLE_TO_WRITE_SEGMENT}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getUnableToWriteSegmentChannel() {
+		return this.channel(ChannelId.UNABLE_TO_WRITE_SEGMENT);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#UNABLE_TO_WRITE_SEGMENT}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getUnableToWriteSegment() {
+		return this.getUnableToWriteSegmentChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#UNABLE_TO_WRITE_SEGMENT} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setUnableToWriteSegment(Boolean value) {
+		this.getUnableToWriteSegmentChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#STORAGE_SIZE}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getStorageSizeChannel() {
+		return this.channel(ChannelId.STORAGE_SIZE);
+	}
+
+	/**
+	 * Gets the total size of all segment files in [byte]. See
+	 * {@link ChannelId#STORAGE_SIZE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getStorageSize() {
+		return this.getStorageSizeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#STORAGE_SIZE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setStorageSize(Long value) {
+		this.getStorageSizeChannel().setNextValue(value);
+	}
+}
@@ -0,0 +1,411 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
+import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.timedata.api.Timedata;
+import io.openems.edge.timedata.columnar.GorillaEncoder.SampleConsumer;
+
+@Designate(ocd = Config.class, factory = true)
+@Component(//
+		name = "Timedata.Columnar", //
+		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.REQUIRE //
+)
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
+public class TimedataColumnarImpl extends AbstractOpenemsComponent
+		implements TimedataColumnar, Timedata, OpenemsComponent, EventHandler {
+
+	private static final String COLUMNAR_PATH = "columnar";
+
+	private final Logger log = LoggerFactory.getLogger(TimedataColumnarImpl.class);
+
+	@Reference
+	protected ComponentManager componentManager;
+
+	protected PersistencePriority persistencePriority = PersistencePriority.MEDIUM;
+
+	private ColumnarStore store = null;
+	private RecordWorker recordWorker = null;
+	private CompactionWorker compactionWorker = null;
+	private long rawRetentionMillis;
+	private long fiveMinutesRetentionMillis;
+	private long hourlyRetentionMillis;
+
+	public TimedataColumnarImpl() {
+		super(//
+				OpenemsComponent.ChannelId.values(), //
+				Timedata.ChannelId.values(), //
+				TimedataColumnar.ChannelId.values() //
+		);
+	}
+
+	@Activate
+	private void activate(ComponentContext context, Config config) throws Exception {
+		this.persistencePriority = config.persistencePriority();
+		this.rawRetentionMillis = TimeUnit.DAYS.toMillis(config.rawRetentionDays());
+		this.fiveMinutesRetentionMillis = TimeUnit.DAYS.toMillis(config.fiveMinutesRetentionDays());
+		this.hourlyRetentionMillis = TimeUnit.DAYS.toMillis(config.hourlyRetentionDays());
+		super.activate(context, config.id(), config.alias(), config.enabled());
+
+		this.store = new ColumnarStore(Paths.get(OpenemsConstants.getOpenemsDataDir(), COLUMNAR_PATH, config.id()));
+		this.recordWorker = new RecordWorker(this, this.store);
+		this.compactionWorker = new CompactionWorker(this, this.store);
+
+		if (config.enabled()) {
+			this.recordWorker.activate(config.id());
+			this.compactionWorker.activate(config.id() + ":compaction");
+		}
+	}
+
+	@Deactivate
+	protected void deactivate() {
+		if (this.compactionWorker != null) {
+			this.compactionWorker.deactivate();
+		}
+		if (this.recordWorker != null) {
+			this.recordWorker.deactivate();
+		}
+		if (this.store != null) {
+			this.store.close();
+		}
+		super.deactivate();
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
+			throws OpenemsNamedException {
+		var timezone = fromDate.getZone();
+		var fromTimestamp = fromDate.toInstant().toEpochMilli();
+		var toTimestamp = toDate.toInstant().toEpochMilli();
+		var resolutionMillis = TimeUnit.SECONDS.toMillis(resolution.toSeconds());
+		var noOfBuckets = (int) Math.max(0, (toTimestamp - fromTimestamp) / resolutionMillis);
+		var level = this.getLevel(fromTimestamp, resolutionMillis);
+
+		// Prepare result table
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		for (var i = 0; i < noOfBuckets; i++) {
+			var timestamp = Instant.ofEpochMilli(fromTimestamp + i * resolutionMillis);
+			table.put(ZonedDateTime.ofInstant(timestamp, timezone), new TreeMap<>());
+		}
+		var timestamps = table.keySet().toArray(ZonedDateTime[]::new);
+
+		var errorCounter = 0;
+		for (var channelAddress : channels) {
+			try {
+				var cumulated = this.getUnit(channelAddress).isCumulated();
+				final var sum = new double[noOfBuckets];
+				final var max = new double[noOfBuckets];
+				final var count = new int[noOfBuckets];
+				Arrays.fill(max, Double.NEGATIVE_INFINITY);
+
+				this.read(level, channelAddress, fromTimestamp, fromTimestamp + noOfBuckets * resolutionMillis,
+						(timestamp, value) -> {
+							var i = (int) ((timestamp - fromTimestamp) / resolutionMillis);
+							sum[i] += value;
+							max[i] = Math.max(max[i], value);
+							count[i]++;
+						});
+
+				for (var i = 0; i < noOfBuckets; i++) {
+					JsonElement value;
+					if (count[i] == 0) {
+						value = JsonNull.INSTANCE;
+					} else if (cumulated) {
+						value = new JsonPrimitive(max[i]);
+					} else {
+						value = new JsonPrimitive(sum[i] / count[i]);
+					}
+					table.get(timestamps[i]).put(channelAddress, value);
+				}
+
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to query [" + channelAddress + "]: " + e.getMessage());
+				errorCounter++;
+			}
+		}
+
+		// If no Channel can be read successfully: throw exception; otherwise return the
+		// available data
+		if (!channels.isEmpty() && errorCounter == channels.size()) {
+			throw new OpenemsException("Unable to read historic data: No valid Channel available");
+		}
+		return table;
+	}
+
+	@Override
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		var fromTimestamp = fromDate.toInstant().toEpochMilli();
+		var toTimestamp = toDate.toInstant().toEpochMilli();
+		var level = this.getLevel(fromTimestamp, 0);
+
+		SortedMap<ChannelAddress, JsonElement> table = new TreeMap<>();
+		var errorCounter = 0;
+		for (var channelAddress : channels) {
+			try {
+				// Find first and last energy value
+				final var firstAndLast = new double[] { Double.NaN, Double.NaN };
+				this.read(level, channelAddress, fromTimestamp, toTimestamp, (timestamp, value) -> {
+					if (Double.isNaN(firstAndLast[0])) {
+						firstAndLast[0] = value;
+					}
+					firstAndLast[1] = value;
+				});
+
+				// Calculate difference between last and first value
+				var value = firstAndLast[1] - firstAndLast[0];
+				if (Double.isNaN(value)) {
+					table.put(channelAddress, JsonNull.INSTANCE);
+				} else {
+					table.put(channelAddress, new JsonPrimitive(value));
+				}
+
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to query [" + channelAddress + "]: " + e.getMessage());
+				errorCounter++;
+			}
+		}
+
+		// If no Channel can be read successfully: throw exception; otherwise return the
+		// available data
+		if (!channels.isEmpty() && errorCounter == channels.size()) {
+			throw new OpenemsException("Unable to read historic data: No valid Channel available");
+		}
+		return table;
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
+			throws OpenemsNamedException {
+		var timezone = fromDate.getZone();
+		var fromTimestamp = fromDate.toInstant().toEpochMilli();
+		var toTimestamp = toDate.toInstant().toEpochMilli();
+		var resolutionMillis = TimeUnit.SECONDS.toMillis(resolution.toSeconds());
+		var noOfBuckets = (int) Math.max(0, (toTimestamp - fromTimestamp) / resolutionMillis);
+		var level = this.getLevel(fromTimestamp, resolutionMillis);
+
+		// Prepare result table
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		for (var i = 0; i < noOfBuckets; i++) {
+			var timestamp = Instant.ofEpochMilli(fromTimestamp + i * resolutionMillis);
+			table.put(ZonedDateTime.ofInstant(timestamp, timezone), new TreeMap<>());
+		}
+		var timestamps = table.keySet().toArray(ZonedDateTime[]::new);
+
+		var errorCounter = 0;
+		for (var channelAddress : channels) {
+			try {
+				final var first = new double[noOfBuckets];
+				final var last = new double[noOfBuckets];
+				Arrays.fill(first, Double.NaN);
+				Arrays.fill(last, Double.NaN);
+
+				this.read(level, channelAddress, fromTimestamp, fromTimestamp + noOfBuckets * resolutionMillis,
+						(timestamp, value) -> {
+							var i = (int) ((timestamp - fromTimestamp) / resolutionMillis);
+							if (Double.isNaN(first[i])) {
+								first[i] = value;
+							}
+							last[i] = value;
+						});
+
+				var previousLast = Double.NaN;
+				for (var i = 0; i < noOfBuckets; i++) {
+					// Use last value of previous period if available to not lose the energy
+					// between two samples at the period border
+					var start = Double.isNaN(previousLast) ? first[i] : previousLast;
+					var value = last[i] - start;
+					if (Double.isNaN(value)) {
+						table.get(timestamps[i]).put(channelAddress, JsonNull.INSTANCE);
+					} else {
+						table.get(timestamps[i]).put(channelAddress, new JsonPrimitive(value));
+						previousLast = last[i];
+					}
+				}
+
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to query [" + channelAddress + "]: " + e.getMessage());
+				errorCounter++;
+			}
+		}
+
+		// If no Channel can be read successfully: throw exception; otherwise return the
+		// available data
+		if (!channels.isEmpty() && errorCounter == channels.size()) {
+			throw new OpenemsException("Unable to read historic data: No valid Channel available");
+		}
+		return table;
+	}
+
+	@Override
+	public CompletableFuture<Optional<Object>> getLatestValue(ChannelAddress channelAddress) {
+		var value = this.recordWorker.getLatestValue(channelAddress);
+		if (!Double.isNaN(value)) {
+			return CompletableFuture.completedFuture(Optional.of(value));
+		}
+
+		// Prepare result
+		final var result = new CompletableFuture<Optional<Object>>();
+		CompletableFuture.runAsync(() -> {
+			try {
+				var latest = this.store.getLatestValue(StorageLevel.RAW, channelAddress);
+				result.complete(latest.isPresent() ? Optional.of(latest.get()) : Optional.empty());
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to read latest value for [" + channelAddress + "]: " + e.getMessage());
+				result.complete(Optional.empty());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Reads all samples of a Channel in the given time range in chronological
+	 * order.
+	 *
+	 * <p>
+	 * Data that is not yet compacted into the given {@link StorageLevel} is read
+	 * from the next finer {@link StorageLevel}. For {@link StorageLevel#RAW}
+	 * samples that are not yet flushed to disk are included.
+	 *
+	 * @param level         the {@link StorageLevel}
+	 * @param address       the {@link ChannelAddress}
+	 * @param fromTimestamp inclusive start in epoch milliseconds
+	 * @param toTimestamp   exclusive end in epoch milliseconds
+	 * @param consumer      the {@link SampleConsumer}
+	 * @throws IOException on error
+	 */
+	protected void read(StorageLevel level, ChannelAddress address, long fromTimestamp, long toTimestamp,
+			SampleConsumer consumer) throws IOException {
+		if (level == StorageLevel.RAW) {
+			this.store.read(level, address, fromTimestamp, toTimestamp, consumer);
+			this.recordWorker.readUnflushed(address, fromTimestamp, toTimestamp, consumer);
+			return;
+		}
+
+		final var lastTimestamp = new long[] { Long.MIN_VALUE };
+		this.store.read(level, address, fromTimestamp, toTimestamp, (timestamp, value) -> {
+			lastTimestamp[0] = timestamp;
+			consumer.accept(timestamp, value);
+		});
+		var covered = lastTimestamp[0] == Long.MIN_VALUE //
+				? fromTimestamp //
+				: Math.max(fromTimestamp, lastTimestamp[0] + level.bucketMillis);
+		if (covered < toTimestamp) {
+			this.read(level.finer(), address, covered, toTimestamp, consumer);
+		}
+	}
+
+	/**
+	 * Gets the configured retention for a {@link StorageLevel}.
+	 *
+	 * @param level the {@link StorageLevel}
+	 * @return the retention in [ms]
+	 */
+	protected long getRetentionMillis(StorageLevel level) {
+		return switch (level) {
+		case RAW -> this.rawRetentionMillis;
+		case FIVE_MINUTES -> this.fiveMinutesRetentionMillis;
+		case ONE_HOUR -> this.hourlyRetentionMillis;
+		};
+	}
+
+	/**
+	 * Gets the {@link StorageLevel} for a query; i.e. the coarsest level that
+	 * satisfies the resolution, but at least a level whose retention still covers
+	 * the start of the query.
+	 *
+	 * @param fromTimestamp    the start of the query in epoch milliseconds
+	 * @param resolutionMillis the requested resolution in [ms]
+	 * @return the {@link StorageLevel}
+	 */
+	private StorageLevel getLevel(long fromTimestamp, long resolutionMillis) {
+		var level = StorageLevel.forResolution(resolutionMillis);
+		var age = System.currentTimeMillis() - fromTimestamp;
+		if (level == StorageLevel.RAW && age > this.rawRetentionMillis) {
+			level = StorageLevel.FIVE_MINUTES;
+		}
+		if (level == StorageLevel.FIVE_MINUTES && age > this.fiveMinutesRetentionMillis) {
+			level = StorageLevel.ONE_HOUR;
+		}
+		return level;
+	}
+
+	private Unit getUnit(ChannelAddress address) throws IOException {
+		var unit = this.recordWorker.getUnit(address);
+		if (unit != null) {
+			return unit;
+		}
+		for (var level : StorageLevel.values()) {
+			var stored = this.store.getUnit(level, address);
+			if (stored.isPresent()) {
+				return stored.get();
+			}
+		}
+		return Unit.NONE;
+	}
+
+	@Override
+	protected void logInfo(Logger log, String message) {
+		super.logInfo(log, message);
+	}
+
+	@Override
+	protected void logWarn(Logger log, String message) {
+		super.logWarn(log, message);
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.recordWorker.collectData();
+			break;
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package io.openems.edge.timedata.columnar;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfig extends AbstractComponentConfig implements Config {
+
+	protected static class Builder {
+		private String id;
+		private PersistencePriority persistencePriority;
+		private int rawRetentionDays;
+		private int fiveMinutesRetentionDays;
+		private int hourlyRetentionDays;
+
+		private Builder() {
+		}
+
+		public Builder setId(String id) {
+			this.id = id;
+			return this;
+		}
+
+		public Builder setPersistencePriority(PersistencePriority persistencePriority) {
+			this.persistencePriority = persistencePriority;
+			return this;
+		}
+
+		public Builder setRawRetentionDays(int rawRetentionDays) {
+			this.rawRetentionDays = rawRetentionDays;
+			return this;
+		}
+
+		public Builder setFiveMinutesRetentionDays(int fiveMinutesRetentionDays) {
+			this.fiveMinutesRetentionDays = fiveMinutesRetentionDays;
+			return this;
+		}
+
+		public Builder setHourlyRetentionDays(int hourlyRetentionDays) {
+			this.hourlyRetentionDays = hourlyRetentionDays;
+			return this;
+		}
+
+		public MyConfig build() {
+			return new MyConfig(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 *
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfig(Builder builder) {
+		super(Config.class, builder.id);
+		this.builder = builder;
+	}
+
+	@Override
+	public PersistencePriority persistencePriority() {
+		return this.builder.persistencePriority;
+	}
+
+	@Override
+	public int rawRetentionDays() {
+		return this.builder.rawRetentionDays;
+	}
+
+	@Override
+	public int fiveMinutesRetentionDays() {
+		return this.builder.fiveMinutesRetentionDays;
+	}
+
+	@Override
+	public int hourlyRetentionDays() {
+		return this.builder.hourlyRetentionDays;
+	}
+}
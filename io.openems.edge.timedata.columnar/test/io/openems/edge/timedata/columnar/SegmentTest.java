@@ -0,0 +1,92 @@
+package io.openems.edge.timedata.columnar;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.common.channel.Unit;
+
+public class SegmentTest {
+
+	private static final long START = 1577836800_000L; /* 1. January 2020 00:00:00 */
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testGorilla() {
+		var encoder = new GorillaEncoder();
+		var expected = new ArrayList<double[]>();
+		var timestamp = START;
+		var value = 230.0;
+		for (var i = 0; i < 10_000; i++) {
+			// Irregular Cycle times and slowly changing values
+			timestamp += 1000 + (i % 7 == 0 ? 37 : 0) + (i % 1000 == 0 ? 3_600_000 : 0);
+			value += (i % 3 == 0 ? 0.1 : 0) - (i % 5 == 0 ? 0.05 : 0);
+			encoder.append(timestamp, value);
+			expected.add(new double[] { timestamp, value });
+		}
+		// Ignore samples that are not in order
+		encoder.append(START, 0);
+
+		final var actual = new ArrayList<double[]>();
+		encoder.forEach((t, v) -> actual.add(new double[] { t, v }));
+		assertSamples(expected, actual);
+
+		// Much smaller than 16 bytes per sample
+		var size = encoder.getTimestampBytes().length + encoder.getValueBytes().length;
+		assertEquals(true, size < 10_000 * 4);
+	}
+
+	@Test
+	public void testSegment() throws IOException {
+		var file = new File(this.folder.getRoot(), "segment");
+		var segment = Segment.create(file, Unit.WATT);
+
+		var expected = new ArrayList<double[]>();
+		for (var block = 0; block < 3; block++) {
+			var encoder = new GorillaEncoder();
+			for (var i = 0; i < 100; i++) {
+				var timestamp = START + (block * 100 + i) * 1000L;
+				encoder.append(timestamp, block * 100 + i);
+				expected.add(new double[] { timestamp, block * 100 + i });
+			}
+			segment.append(encoder);
+		}
+		assertEquals(3, segment.getBlocks().size());
+		assertEquals(100., segment.getBlocks().get(1).min, 0.001);
+		assertEquals(199., segment.getBlocks().get(1).max, 0.001);
+
+		// Read a range over two blocks
+		final var actual = new ArrayList<double[]>();
+		segment.read(START + 150_000, START + 250_000, (t, v) -> actual.add(new double[] { t, v }));
+		assertSamples(expected.subList(150, 250), actual);
+
+		// Reopen file with corrupted tail, e.g. after power loss
+		try (var raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 5);
+		}
+		var reopened = Segment.open(file);
+		assertEquals(Unit.WATT, reopened.getUnit());
+		assertEquals(2, reopened.getBlocks().size());
+		assertEquals(START + 199_000, reopened.getLastTimestamp());
+		assertEquals(reopened.getSize(), Files.size(file.toPath()));
+	}
+
+	private static void assertSamples(List<double[]> expected, List<double[]> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (var i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i)[0], actual.get(i)[0], 0);
+			assertEquals(expected.get(i)[1], actual.get(i)[1], 0);
+		}
+	}
+}
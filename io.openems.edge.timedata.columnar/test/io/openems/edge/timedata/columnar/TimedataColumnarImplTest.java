@@ -0,0 +1,28 @@
+package io.openems.edge.timedata.columnar;
+
+import org.junit.Test;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.edge.common.test.AbstractComponentTest.TestCase;
+import io.openems.edge.common.test.ComponentTest;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class TimedataColumnarImplTest {
+
+	private static final String COMPONENT_ID = "columnar0";
+
+	@Test
+	public void test() throws Exception {
+		new ComponentTest(new TimedataColumnarImpl()) //
+				.addReference("componentManager", new DummyComponentManager()) //
+				.activate(MyConfig.create() //
+						.setId(COMPONENT_ID) //
+						.setPersistencePriority(PersistencePriority.MEDIUM) //
+						.setRawRetentionDays(28) //
+						.setFiveMinutesRetentionDays(400) //
+						.setHourlyRetentionDays(3650) //
+						.build()) //
+				.next(new TestCase()) //
+		;
+	}
+}
@@ -1,12 +1,12 @@
 package io.openems.shared.influxdb;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -38,13 +38,17 @@ public class InfluxConnector {
 
 	public static final String MEASUREMENT = "data";
 
+	/**
+	 * Measurement for 5-minute values that were aggregated by the Edge; kept apart
+	 * from the raw values in {@link #MEASUREMENT}.
+	 */
+	public static final String MEASUREMENT_AGGREGATED = "data_5m";
+
 	private static final int CONNECT_TIMEOUT = 10; // [s]
 	private static final int READ_TIMEOUT = 60; // [s]
 	private static final int WRITE_TIMEOUT = 10; // [s]
-	private static final int POINTS_QUEUE_SIZE = 1_000_000;
 
 	protected final ThreadPoolExecutor executor;
-	protected final BlockingQueue<Point> pointsQueue = new LinkedBlockingQueue<>(POINTS_QUEUE_SIZE);
 
 	private final Logger log = LoggerFactory.getLogger(InfluxConnector.class);
 
@@ -74,6 +78,30 @@ public class InfluxConnector {
 	 */
 	public InfluxConnector(QueryLanguageConfig queryLanguage, URI url, String org, String apiKey, String bucket,
 			boolean isReadOnly, int poolSize, int maxQueueSize, Consumer<Throwable> onWriteError) {
+		this(queryLanguage, url, org, apiKey, bucket, isReadOnly, poolSize, maxQueueSize, null, onWriteError);
+	}
+
+	/**
+	 * The Constructor.
+	 *
+	 * @param queryLanguage  A {@link QueryLanguageConfig}
+	 * @param url            URL of the InfluxDB-Server (http://ip:port)
+	 * @param org            The organisation; '-' for InfluxDB v1
+	 * @param apiKey         The apiKey; 'username:password' for InfluxDB v1
+	 * @param bucket         The bucket name; 'database/retentionPolicy' for
+	 *                       InfluxDB v1
+	 * @param isReadOnly     If true, a 'Read-Only-Mode' is activated, where no
+	 *                       data is actually written to the database
+	 * @param poolSize       the number of threads dedicated to handle the tasks;
+	 *                       also the maximum number of concurrent writes
+	 * @param maxQueueSize   queue size limit for executor
+	 * @param spillDirectory the directory to spill data to while InfluxDB is not
+	 *                       reachable; null to drop the data
+	 * @param onWriteError   A consumer for write-errors
+	 */
+	public InfluxConnector(QueryLanguageConfig queryLanguage, URI url, String org, String apiKey, String bucket,
+			boolean isReadOnly, int poolSize, int maxQueueSize, Path spillDirectory,
+			Consumer<Throwable> onWriteError) {
 		this.queryProxy = QueryProxy.from(queryLanguage);
 		this.url = url;
 		this.org = org;
@@ -85,20 +113,16 @@ public class InfluxConnector {
 				new LinkedBlockingQueue<Runnable>(maxQueueSize), //
 				new ThreadFactoryBuilder().setNameFormat("InfluxDB-%d").build());
 
+		this.mergePointsWorker = new MergePointsWorker(this, poolSize, spillDirectory, onWriteError);
+		this.mergePointsWorker.activate("InfluxDB-MergePoints");
+
 		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
-			int pointsQueueSize = this.pointsQueue.size();
 			this.log.info(new StringBuilder("[InfluxDB] [monitor] ") //
 					.append(ThreadPoolUtils.debugLog(this.executor)) //
-					.append(" Queue:") //
-					.append(pointsQueueSize) //
-					.append("/") //
-					.append(POINTS_QUEUE_SIZE) //
-					.append((pointsQueueSize == POINTS_QUEUE_SIZE) ? " !!!POINTS BACKPRESSURE!!!" : "") //
+					.append(" ") //
+					.append(this.mergePointsWorker.debugLog()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
-
-		this.mergePointsWorker = new MergePointsWorker(this, onWriteError);
-		this.mergePointsWorker.activate("TimescaleDB-MergePoints");
 	}
 
 	public static class InfluxConnection {
@@ -157,6 +181,7 @@ public class InfluxConnector {
 	 */
 	public synchronized void deactivate() {
 		this.mergePointsWorker.deactivate();
+		this.queryProxy.deactivate();
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
 		if (this.influxConnection != null) {
 			this.influxConnection.client.close();
@@ -243,7 +268,7 @@ public class InfluxConnector {
 					+ StringUtils.toShortString(point.toLineProtocol(), 100));
 			return;
 		}
-		this.pointsQueue.offer(point);
+		this.mergePointsWorker.offer(point);
 	}
 
 }
@@ -0,0 +1,139 @@
+package io.openems.shared.influxdb;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.influxdb.client.domain.WritePrecision;
+
+/**
+ * A reusable buffer of InfluxDB line protocol records.
+ *
+ * <p>
+ * All records in one buffer share the same {@link WritePrecision}. Records are
+ * kept as characters, as the InfluxDB client takes the batch as one String;
+ * they are only encoded as UTF-8 when they are spilled to disk.
+ */
+class LineProtocolBuffer {
+
+	private static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024; // [byte]
+
+	private final StringBuilder data;
+	private int points = 0;
+	private WritePrecision precision = null;
+	private long created = 0;
+
+	protected LineProtocolBuffer(int initialCapacity) {
+		this.data = new StringBuilder(initialCapacity);
+	}
+
+	/**
+	 * Checks if a record with the given {@link WritePrecision} can be appended
+	 * without exceeding the limits.
+	 *
+	 * @param precision the {@link WritePrecision} of the record
+	 * @param maxPoints the maximum number of records
+	 * @param maxChars  the maximum number of characters
+	 * @return true if it can be appended
+	 */
+	protected boolean canAppend(WritePrecision precision, int maxPoints, int maxChars) {
+		return this.points == 0 //
+				|| this.precision == precision && this.points < maxPoints && this.data.length() < maxChars;
+	}
+
+	/**
+	 * Appends a line protocol record.
+	 *
+	 * @param line      the record
+	 * @param precision the {@link WritePrecision} of the record
+	 */
+	protected void append(String line, WritePrecision precision) {
+		if (this.points == 0) {
+			this.precision = precision;
+			this.created = System.nanoTime();
+		} else {
+			this.data.append('\n');
+		}
+		this.data.append(line);
+		this.points++;
+	}
+
+	protected boolean isEmpty() {
+		return this.points == 0;
+	}
+
+	protected int getPoints() {
+		return this.points;
+	}
+
+	protected WritePrecision getPrecision() {
+		return this.precision;
+	}
+
+	/**
+	 * Gets the age of the oldest record.
+	 *
+	 * @return the age in nanoseconds; zero if empty
+	 */
+	protected long getAgeNanos() {
+		return this.points == 0 ? 0 : System.nanoTime() - this.created;
+	}
+
+	/**
+	 * Clears the buffer for reuse.
+	 */
+	protected void reset() {
+		this.data.setLength(0);
+		this.points = 0;
+		this.precision = null;
+	}
+
+	/**
+	 * Writes the buffer as one record to a spill file.
+	 *
+	 * @param out the {@link DataOutputStream}
+	 * @throws IOException on error
+	 */
+	protected void writeTo(DataOutputStream out) throws IOException {
+		var bytes = this.data.toString().getBytes(StandardCharsets.UTF_8);
+		out.writeUTF(this.precision.name());
+		out.writeInt(this.points);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads one record from a spill file into this buffer.
+	 *
+	 * @param in the {@link DataInputStream}
+	 * @throws IOException on error, {@link java.io.EOFException} at the end of the
+	 *                     file
+	 */
+	protected void readFrom(DataInputStream in) throws IOException {
+		var precision = WritePrecision.valueOf(in.readUTF());
+		var points = in.readInt();
+		var length = in.readInt();
+		if (points < 1 || length < 0 || length > MAX_RECORD_LENGTH) {
+			throw new IOException("Invalid record [points=" + points + ";length=" + length + "]");
+		}
+		var bytes = new byte[length];
+		in.readFully(bytes);
+		this.reset();
+		this.data.append(new String(bytes, StandardCharsets.UTF_8));
+		this.points = points;
+		this.precision = precision;
+		this.created = System.nanoTime();
+	}
+
+	/**
+	 * Gets the records as line protocol, one record per line.
+	 *
+	 * @return the line protocol
+	 */
+	@Override
+	public String toString() {
+		return this.data.toString();
+	}
+
+}
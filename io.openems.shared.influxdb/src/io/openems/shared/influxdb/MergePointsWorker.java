@@ -1,63 +1,387 @@
 package io.openems.shared.influxdb;
 
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.influxdb.client.write.Point;
+import com.influxdb.exceptions.InfluxException;
 
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.common.worker.AbstractImmediateWorker;
 
+/**
+ * Merges {@link Point}s to batches of line protocol and writes them
+ * asynchronously to InfluxDB.
+ *
+ * <p>
+ * Points are serialized to line protocol into pooled
+ * {@link LineProtocolBuffer}s. At most 'maxInFlight' batches are written
+ * concurrently. Writes that fail with HTTP 429, 5xx or a connection error are
+ * retried with exponential backoff. If a spill directory is configured,
+ * batches that could not be written and batches that do not fit in the queue
+ * are stored in a {@link SpillFile} and written again in order, once InfluxDB
+ * is reachable.
+ */
 public class MergePointsWorker extends AbstractImmediateWorker {
 
 	private static final int MAX_POINTS_PER_WRITE = 1_000;
+	private static final int MAX_CHARS_PER_WRITE = 1_024 * 1_024; // [char]
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1_024; // [char]
 	private static final int MAX_AGGREGATE_WAIT = 10; // [s]
+	private static final int MAX_QUEUED_BATCHES = 100;
+	private static final int MAX_FREE_BUFFERS = 8;
+	private static final int MAX_RETRIES = 5;
+	private static final long INITIAL_BACKOFF = 1_000; // [ms]
+	private static final long MAX_BACKOFF = 60_000; // [ms]
+	private static final long OUTAGE_PAUSE = 60; // [s]
 
 	private final Logger log = LoggerFactory.getLogger(MergePointsWorker.class);
 
 	private final InfluxConnector parent;
 	private final Consumer<Throwable> onWriteError;
+	private final Semaphore inFlight;
+	private final int maxInFlight;
+	private final SpillFile spillFile;
+	private final BlockingQueue<LineProtocolBuffer> queue = new ArrayBlockingQueue<>(MAX_QUEUED_BATCHES);
+	private final BlockingQueue<LineProtocolBuffer> freeBuffers = new ArrayBlockingQueue<>(MAX_FREE_BUFFERS);
 
-	public MergePointsWorker(InfluxConnector parent, Consumer<Throwable> onWriteError) {
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong spilled = new AtomicLong();
+	private final AtomicLong replayed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	private LineProtocolBuffer current = null;
+	private boolean isReplaying = false;
+	private volatile long outageUntil = 0;
+
+	/**
+	 * The Constructor.
+	 *
+	 * @param parent         the {@link InfluxConnector}
+	 * @param maxInFlight    the maximum number of concurrent writes
+	 * @param spillDirectory the directory for the {@link SpillFile}; null to drop
+	 *                       batches that can not be written
+	 * @param onWriteError   A consumer for write-errors
+	 */
+	public MergePointsWorker(InfluxConnector parent, int maxInFlight, Path spillDirectory,
+			Consumer<Throwable> onWriteError) {
 		this.parent = parent;
 		this.onWriteError = onWriteError;
+		this.maxInFlight = Math.max(1, maxInFlight);
+		this.inFlight = new Semaphore(this.maxInFlight);
+		this.spillFile = createSpillFile(spillDirectory);
+	}
+
+	private static SpillFile createSpillFile(Path spillDirectory) {
+		if (spillDirectory == null) {
+			return null;
+		}
+		try {
+			return new SpillFile(spillDirectory);
+		} catch (IOException e) {
+			LoggerFactory.getLogger(MergePointsWorker.class)
+					.error("Unable to open spill directory [" + spillDirectory + "]: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Adds a {@link Point} to the current batch.
+	 *
+	 * @param point the {@link Point}
+	 */
+	public synchronized void offer(Point point) {
+		var line = point.toLineProtocol();
+		if (line == null || line.isEmpty()) {
+			// Point without fields
+			return;
+		}
+		var precision = point.getPrecision();
+		if (this.current != null && !this.current.canAppend(precision, MAX_POINTS_PER_WRITE, MAX_CHARS_PER_WRITE)) {
+			this.enqueue(this.current);
+			this.current = null;
+		}
+		if (this.current == null) {
+			this.current = this.getFreeBuffer();
+		}
+		this.current.append(line, precision);
+	}
+
+	/**
+	 * Hands a full batch over to the worker thread; spills or drops it if the
+	 * queue is full.
+	 *
+	 * @param buffer the {@link LineProtocolBuffer}
+	 */
+	private void enqueue(LineProtocolBuffer buffer) {
+		if (!this.queue.offer(buffer)) {
+			this.spillOrDrop(buffer);
+		}
+	}
+
+	/**
+	 * Takes the current batch if its oldest point waits for longer than
+	 * {@link #MAX_AGGREGATE_WAIT}.
+	 *
+	 * @return the {@link LineProtocolBuffer} or null
+	 */
+	private synchronized LineProtocolBuffer takeExpiredBuffer() {
+		var buffer = this.current;
+		if (buffer == null || buffer.getAgeNanos() < TimeUnit.SECONDS.toNanos(MAX_AGGREGATE_WAIT)) {
+			return null;
+		}
+		this.current = null;
+		return buffer;
+	}
+
+	/**
+	 * Reads the next batch from the {@link SpillFile}.
+	 *
+	 * @return the {@link LineProtocolBuffer} or null
+	 */
+	private LineProtocolBuffer takeSpilledBuffer() {
+		var buffer = this.getFreeBuffer();
+		if (this.spillFile.poll(buffer)) {
+			this.replayed.addAndGet(buffer.getPoints());
+			return buffer;
+		}
+		this.recycle(buffer);
+		return null;
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
-		/*
-		 * Merge Points. Wait max 10 seconds in total.
-		 */
-		final Instant maxWait = Instant.now().plusSeconds(MAX_AGGREGATE_WAIT);
-		List<Point> points = new ArrayList<>(MAX_POINTS_PER_WRITE);
-		for (int i = 0; i < MAX_POINTS_PER_WRITE; i++) {
-			var point = this.parent.pointsQueue.poll(MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
-			if (point == null) {
-				break;
-			}
-			points.add(point);
-			if (Instant.now().isAfter(maxWait)) {
-				break;
-			}
+		// Do not wait for new batches while spilled batches are replayed
+		var buffer = this.isReplaying //
+				? this.queue.poll() //
+				: this.queue.poll(1, TimeUnit.SECONDS);
+		if (buffer == null) {
+			buffer = this.takeExpiredBuffer();
+		}
+		if (buffer == null) {
+			this.isReplaying = this.replay();
+			return;
 		}
-		/*
-		 * Write points async.
-		 */
-		if (!points.isEmpty()) {
-			this.parent.executor.execute(() -> {
+		if (this.spillFile != null && this.isOutage()) {
+			// Do not wait for retries during an outage
+			this.spillOrDrop(buffer);
+			return;
+		}
+
+		try {
+			this.inFlight.acquire();
+		} catch (InterruptedException e) {
+			this.spillOrDrop(buffer);
+			throw e;
+		}
+		this.submit(buffer);
+	}
+
+	/**
+	 * Writes the next spilled batch.
+	 *
+	 * @return true if a batch was replayed
+	 * @throws InterruptedException on interrupt
+	 */
+	private boolean replay() throws InterruptedException {
+		if (this.spillFile == null || this.isOutage() || this.spillFile.getSegments() == 0) {
+			return false;
+		}
+		this.inFlight.acquire();
+		var buffer = this.takeSpilledBuffer();
+		if (buffer == null) {
+			this.inFlight.release();
+			return false;
+		}
+		this.submit(buffer);
+		return true;
+	}
+
+	/**
+	 * Submits a batch to the executor; a permit of 'inFlight' must be acquired.
+	 *
+	 * @param buffer the {@link LineProtocolBuffer}
+	 */
+	private void submit(LineProtocolBuffer buffer) {
+		try {
+			this.parent.executor.execute(() -> this.write(buffer));
+		} catch (RejectedExecutionException e) {
+			this.inFlight.release();
+			this.spillOrDrop(buffer);
+		}
+	}
+
+	/**
+	 * Writes a batch; retries with exponential backoff on temporary errors.
+	 *
+	 * @param buffer the {@link LineProtocolBuffer}
+	 */
+	private void write(LineProtocolBuffer buffer) {
+		try {
+			var backoff = INITIAL_BACKOFF;
+			for (var attempt = 0;; attempt++) {
 				try {
-					this.parent.getInfluxConnection().writeApi.writePoints(points);
+					this.parent.getInfluxConnection().writeApi.writeRecord(buffer.getPrecision(), buffer.toString());
+					this.written.addAndGet(buffer.getPoints());
+					this.outageUntil = 0;
+					this.recycle(buffer);
+					return;
+
 				} catch (Throwable t) {
-					this.log.warn("Unable to write points. " + t.getMessage());
-					this.onWriteError.accept(t);
+					if (!isRetryable(t)) {
+						this.failed.addAndGet(buffer.getPoints());
+						this.log.warn("Unable to write points. " + t.getMessage());
+						this.onWriteError.accept(t);
+						this.recycle(buffer);
+						return;
+					}
+					if (attempt >= MAX_RETRIES) {
+						this.log.warn("Unable to write points after " + attempt + " retries. " + t.getMessage());
+						this.outageUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(OUTAGE_PAUSE);
+						this.onWriteError.accept(t);
+						this.spillOrDrop(buffer);
+						return;
+					}
 				}
-			});
+				this.retries.incrementAndGet();
+				Thread.sleep(backoff);
+				backoff = Math.min(backoff * 2, MAX_BACKOFF);
+			}
+
+		} catch (InterruptedException e) {
+			// Shutdown while waiting for a retry
+			this.spillOrDrop(buffer);
+
+		} finally {
+			this.inFlight.release();
+		}
+	}
+
+	/**
+	 * Checks if a write error is temporary, i.e. HTTP 429 (Too Many Requests),
+	 * HTTP 5xx or a connection error.
+	 *
+	 * @param t the error
+	 * @return true if the write should be retried
+	 */
+	private static boolean isRetryable(Throwable t) {
+		if (t instanceof InfluxException e) {
+			var status = e.status();
+			if (status == 429 || status >= 500) {
+				return true;
+			}
+			if (status != 0) {
+				return false;
+			}
+		}
+		for (var cause = t; cause != null; cause = cause.getCause()) {
+			if (cause instanceof IOException || cause instanceof UncheckedIOException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isOutage() {
+		var outageUntil = this.outageUntil;
+		return outageUntil != 0 && System.nanoTime() - outageUntil < 0;
+	}
+
+	private void spillOrDrop(LineProtocolBuffer buffer) {
+		if (this.spillFile != null) {
+			try {
+				this.spillFile.append(buffer);
+				this.spilled.addAndGet(buffer.getPoints());
+				this.recycle(buffer);
+				return;
+
+			} catch (IOException e) {
+				this.log.warn("Unable to spill points. " + e.getMessage());
+			}
 		}
+		this.dropped.addAndGet(buffer.getPoints());
+		this.recycle(buffer);
+	}
+
+	private LineProtocolBuffer getFreeBuffer() {
+		var buffer = this.freeBuffers.poll();
+		if (buffer == null) {
+			buffer = new LineProtocolBuffer(INITIAL_BUFFER_SIZE);
+		}
+		return buffer;
+	}
+
+	private void recycle(LineProtocolBuffer buffer) {
+		buffer.reset();
+		this.freeBuffers.offer(buffer);
+	}
+
+	/**
+	 * Stops the worker and waits for pending writes. Batches that are not yet
+	 * written are spilled, if a spill directory is configured.
+	 */
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		// Writes that are waiting for a retry get spilled on interrupt
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.parent.executor, 5);
+		try {
+			// Wait for writes that do not react on interrupt, before closing the spill
+			// file; later spills are dropped
+			if (!this.inFlight.tryAcquire(this.maxInFlight, 5, TimeUnit.SECONDS)) {
+				this.log.warn("Closing spill file with pending writes");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		LineProtocolBuffer buffer;
+		while ((buffer = this.queue.poll()) != null) {
+			this.spillOrDrop(buffer);
+		}
+		synchronized (this) {
+			if (this.current != null) {
+				this.spillOrDrop(this.current);
+				this.current = null;
+			}
+		}
+		if (this.spillFile != null) {
+			this.spillFile.close();
+		}
+	}
+
+	/**
+	 * Gets a debug log with queue depth and write statistics.
+	 *
+	 * @return the debug log
+	 */
+	public String debugLog() {
+		return new StringBuilder() //
+				.append("Queue:").append(this.queue.size()).append("/").append(MAX_QUEUED_BATCHES) //
+				.append(" InFlight:").append(this.maxInFlight - this.inFlight.availablePermits()) //
+				.append("/").append(this.maxInFlight) //
+				.append(" Written:").append(this.written.getAndSet(0)) //
+				.append(" Retries:").append(this.retries.getAndSet(0)) //
+				.append(" Failed:").append(this.failed.getAndSet(0)) //
+				.append(" Dropped:").append(this.dropped.getAndSet(0)) //
+				.append(this.spillFile == null ? "" : new StringBuilder() //
+						.append(" Spilled:").append(this.spilled.getAndSet(0)) //
+						.append(" Replayed:").append(this.replayed.getAndSet(0)) //
+						.append(" SpillSegments:").append(this.spillFile.getSegments())) //
+				.append(this.isOutage() ? " !!!OUTAGE!!!" : "") //
+				.toString();
 	}
 
 }
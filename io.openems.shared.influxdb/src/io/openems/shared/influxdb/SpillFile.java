@@ -0,0 +1,180 @@
+package io.openems.shared.influxdb;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores {@link LineProtocolBuffer}s in append-only segment files on local disk
+ * while InfluxDB is not reachable, and reads them back in the order they were
+ * written.
+ *
+ * <p>
+ * A segment is deleted once it was read completely. Segments that are left
+ * over from a previous run are read on start. After a crash, records of a
+ * partially read segment are written again; this is harmless, as InfluxDB
+ * overwrites points with the same series and timestamp.
+ */
+class SpillFile {
+
+	private static final long MAX_SEGMENT_SIZE = 64 * 1024 * 1024; // [byte]
+	private static final String SUFFIX = ".spill";
+
+	private final Logger log = LoggerFactory.getLogger(SpillFile.class);
+
+	private final Path directory;
+	private final Deque<Path> segments = new ArrayDeque<>();
+
+	private long nextSegment = 0;
+	private Path writeSegment = null;
+	private DataOutputStream writer = null;
+	private long writeSize = 0;
+	private Path readSegment = null;
+	private DataInputStream reader = null;
+	private boolean isClosed = false;
+
+	protected SpillFile(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+		try (var files = Files.list(directory)) {
+			files //
+					.filter(f -> f.getFileName().toString().endsWith(SUFFIX)) //
+					.sorted() //
+					.forEach(this.segments::add);
+		}
+		for (var segment : this.segments) {
+			var name = segment.getFileName().toString();
+			try {
+				var number = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+				this.nextSegment = Math.max(this.nextSegment, number + 1);
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * Appends a {@link LineProtocolBuffer}.
+	 *
+	 * @param buffer the {@link LineProtocolBuffer}
+	 * @throws IOException on error and if the {@link SpillFile} was closed
+	 */
+	protected synchronized void append(LineProtocolBuffer buffer) throws IOException {
+		if (this.isClosed) {
+			throw new IOException("Spill file [" + this.directory + "] is closed");
+		}
+		if (this.writer == null || this.writeSize >= MAX_SEGMENT_SIZE) {
+			this.closeWriter();
+			this.writeSegment = this.directory.resolve(String.format("%020d", this.nextSegment++) + SUFFIX);
+			this.writer = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.writeSegment)));
+			this.writeSize = 0;
+			this.segments.add(this.writeSegment);
+		}
+		var before = this.writer.size();
+		buffer.writeTo(this.writer);
+		this.writer.flush();
+		this.writeSize += this.writer.size() - before;
+	}
+
+	/**
+	 * Reads the oldest {@link LineProtocolBuffer} that was not read yet.
+	 *
+	 * @param buffer the {@link LineProtocolBuffer} to read into
+	 * @return true if a record was read; false if there is none
+	 */
+	protected synchronized boolean poll(LineProtocolBuffer buffer) {
+		while (true) {
+			if (this.reader == null) {
+				var segment = this.segments.peekFirst();
+				if (segment == null) {
+					return false;
+				}
+				if (segment.equals(this.writeSegment)) {
+					// start reading the segment that is currently written
+					this.closeWriter();
+				}
+				try {
+					this.reader = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)));
+					this.readSegment = segment;
+				} catch (IOException e) {
+					this.log.warn("Unable to read spill file [" + segment + "]: " + e.getMessage());
+					this.segments.pollFirst();
+					continue;
+				}
+			}
+			try {
+				buffer.readFrom(this.reader);
+				return true;
+
+			} catch (EOFException e) {
+				// segment completely read
+				this.deleteReadSegment();
+
+			} catch (IOException | IllegalArgumentException e) {
+				this.log.warn("Unable to read spill file [" + this.readSegment + "]: " + e.getMessage());
+				this.deleteReadSegment();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of segments that were not read completely.
+	 *
+	 * @return the number of segments
+	 */
+	protected synchronized int getSegments() {
+		return this.segments.size();
+	}
+
+	/**
+	 * Closes open files. Further appends fail.
+	 */
+	protected synchronized void close() {
+		this.isClosed = true;
+		this.closeWriter();
+		if (this.reader != null) {
+			try {
+				this.reader.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.reader = null;
+		}
+	}
+
+	private void closeWriter() {
+		if (this.writer == null) {
+			return;
+		}
+		try {
+			this.writer.close();
+		} catch (IOException e) {
+			this.log.warn("Unable to close spill file [" + this.writeSegment + "]: " + e.getMessage());
+		}
+		this.writer = null;
+		this.writeSegment = null;
+	}
+
+	private void deleteReadSegment() {
+		try {
+			this.reader.close();
+			Files.deleteIfExists(this.readSegment);
+		} catch (IOException e) {
+			this.log.warn("Unable to delete spill file [" + this.readSegment + "]: " + e.getMessage());
+		}
+		this.segments.remove(this.readSegment);
+		this.reader = null;
+		this.readSegment = null;
+	}
+
+}
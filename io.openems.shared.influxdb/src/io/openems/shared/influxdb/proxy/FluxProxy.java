@@ -25,6 +25,7 @@ import com.influxdb.query.dsl.functions.restriction.Restrictions;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.shared.influxdb.InfluxConnector.InfluxConnection;
@@ -40,28 +41,36 @@ public class FluxProxy extends QueryProxy {
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(InfluxConnection influxConnection, String bucket,
 			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels)
 			throws OpenemsNamedException {
+		this.assertQueryLimit();
 		var query = this.buildHistoricEnergyQuery(bucket, influxEdgeId, fromDate, toDate, channels);
-		var queryResult = this.executeQuery(influxConnection, query);
-		return convertHistoricEnergyResult(query, queryResult);
+		return this.queryHistoricEnergy(influxConnection, query);
 	}
 
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(
 			InfluxConnection influxConnection, String bucket, Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
-		var query = this.buildHistoricDataQuery(bucket, influxEdgeId, fromDate, toDate, channels, resolution);
-		var queryResult = this.executeQuery(influxConnection, query);
-		return convertHistoricDataQueryResult(queryResult, fromDate, resolution);
+		var chunks = splitIntoChunks(fromDate, toDate, resolution);
+		return this.queryChunked("Flux HistoricData", chunks, (chunk, result) -> {
+			var query = this.buildHistoricDataQuery(bucket, influxEdgeId, chunk.fromDate(), chunk.toDate(),
+					channels, resolution);
+			// The window that ends at the start of this Chunk belongs to the previous one
+			var notBefore = chunk.isFirst() ? chunk.fromDate() : chunk.fromDate().plusNanos(1);
+			this.queryHistoricData(influxConnection, query, notBefore, resolution, result);
+		});
 	}
 
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(
 			InfluxConnection influxConnection, String bucket, Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
-		var query = this.buildHistoricEnergyPerPeriodQuery(bucket, influxEdgeId, fromDate, toDate, channels,
-				resolution);
-		var queryResult = this.executeQuery(influxConnection, query);
-		return convertHistoricDataQueryResult(queryResult, fromDate, resolution);
+		// Not split: difference() needs the value of the previous period
+		var chunks = List.of(new Chunk(fromDate, toDate, true));
+		return this.queryChunked("Flux HistoricEnergyPerPeriod", chunks, (chunk, result) -> {
+			var query = this.buildHistoricEnergyPerPeriodQuery(bucket, influxEdgeId, fromDate, toDate, channels,
+					resolution);
+			this.queryHistoricData(influxConnection, query, fromDate, resolution, result);
+		});
 	}
 
 	@Override
@@ -154,114 +163,99 @@ public class FluxProxy extends QueryProxy {
 	}
 
 	/**
-	 * Execute given query.
+	 * Executes a query and streams the {@link FluxRecord}s to a consumer, without
+	 * materializing all {@link FluxTable}s.
 	 * 
 	 * @param influxConnection a Influx-Connection
 	 * @param query            to execute
-	 * @return Result from database as {@link List} of {@link FluxTable}
-	 * @throws OpenemsException on error
+	 * @param consumer         the consumer for each {@link FluxRecord}
+	 * @throws OpenemsNamedException on error
 	 */
-	private List<FluxTable> executeQuery(InfluxConnection influxConnection, String query) throws OpenemsException {
-		this.assertQueryLimit();
-
-		// Parse result
-		List<FluxTable> queryResult;
-		try {
-			queryResult = influxConnection.client.getQueryApi().query(query);
+	private void executeQuery(InfluxConnection influxConnection, String query,
+			ThrowingConsumer<FluxRecord, OpenemsNamedException> consumer) throws OpenemsNamedException {
+		try (var stream = influxConnection.client.getQueryApi().queryStream(query)) {
+			var records = stream.iterator();
+			while (records.hasNext()) {
+				consumer.accept(records.next());
+			}
 		} catch (RuntimeException e) {
 			this.queryLimit.increase();
 			LOG.error("InfluxDB query runtime error. Query: " + query + ", Error: " + e.getMessage());
 			throw new OpenemsException(e.getMessage());
 		}
 		this.queryLimit.decrease();
-		return queryResult;
 	}
 
 	/**
-	 * Converts the QueryResult of a Historic-Data query to a properly typed Table.
+	 * Executes a Historic-Data query and adds the values to a
+	 * {@link ChunkResult}.
 	 *
-	 * @param queryResult the Query-Result
-	 * @param fromDate    start date from query
-	 * @param resolution  {@link Resolution} to revert InfluxDB offset
-	 * @return the historic data as Map
-	 * @throws OpenemsException on error
+	 * @param influxConnection a Influx-Connection
+	 * @param query            to execute
+	 * @param notBefore        values before this timestamp are ignored
+	 * @param resolution       {@link Resolution} to revert InfluxDB offset
+	 * @param result           the {@link ChunkResult}
+	 * @throws OpenemsNamedException on error
 	 */
-	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> convertHistoricDataQueryResult(
-			List<FluxTable> queryResult, ZonedDateTime fromDate, Resolution resolution) throws OpenemsNamedException {
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
-
-		for (FluxTable fluxTable : queryResult) {
-			for (FluxRecord record : fluxTable.getRecords()) {
-				var timestamp = ZonedDateTime.ofInstant(record.getTime(), fromDate.getZone());
-
-				// ignore first timestamp is before from date
-				if (timestamp.isBefore(fromDate)) {
-					continue;
-				}
-				timestamp = resolution.revertInfluxDbOffset(timestamp);
-
-				var valueObj = record.getValue();
-				final JsonElement value;
-				if (valueObj == null) {
-					value = JsonNull.INSTANCE;
-				} else if (valueObj instanceof Number) {
-					value = new JsonPrimitive((Number) valueObj);
-				} else {
-					value = new JsonPrimitive(valueObj.toString());
-				}
-
-				var channelAddresss = ChannelAddress.fromString(record.getField());
-
-				var row = table.get(timestamp);
-				if (row == null) {
-					row = new TreeMap<>();
-				}
-				row.put(channelAddresss, value);
-
-				table.put(timestamp, row);
+	private void queryHistoricData(InfluxConnection influxConnection, String query, ZonedDateTime notBefore,
+			Resolution resolution, ChunkResult result) throws OpenemsNamedException {
+		this.executeQuery(influxConnection, query, record -> {
+			var timestamp = ZonedDateTime.ofInstant(record.getTime(), notBefore.getZone());
+
+			// ignore first timestamp is before from date
+			if (timestamp.isBefore(notBefore)) {
+				return;
+			}
+			timestamp = resolution.revertInfluxDbOffset(timestamp);
+
+			var valueObj = record.getValue();
+			final JsonElement value;
+			if (valueObj == null) {
+				value = JsonNull.INSTANCE;
+			} else if (valueObj instanceof Number) {
+				value = new JsonPrimitive((Number) valueObj);
+			} else {
+				value = new JsonPrimitive(valueObj.toString());
 			}
-		}
 
-		return table;
+			result.put(timestamp, ChannelAddress.fromString(record.getField()), value);
+		});
 	}
 
 	/**
-	 * Converts the QueryResult of a Historic-Energy query to a properly typed Map.
+	 * Executes a Historic-Energy query.
 	 *
-	 * @param query       was executed
-	 * @param queryResult the Query-Result
+	 * @param influxConnection a Influx-Connection
+	 * @param query            to execute
 	 * @return the historic energy as Map
-	 * @throws OpenemsException on error
+	 * @throws OpenemsNamedException on error
 	 */
-	private static SortedMap<ChannelAddress, JsonElement> convertHistoricEnergyResult(String query,
-			List<FluxTable> queryResult) throws OpenemsNamedException {
+	private SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(InfluxConnection influxConnection,
+			String query) throws OpenemsNamedException {
 		SortedMap<ChannelAddress, JsonElement> map = new TreeMap<>();
 
-		for (FluxTable fluxTable : queryResult) {
-			for (FluxRecord record : fluxTable.getRecords()) {
-
-				var valueObj = record.getValue();
-				final JsonElement value;
-				if (valueObj == null) {
+		this.executeQuery(influxConnection, query, record -> {
+			var valueObj = record.getValue();
+			final JsonElement value;
+			if (valueObj == null) {
+				value = JsonNull.INSTANCE;
+			} else if (valueObj instanceof Number) {
+				var number = (Number) valueObj;
+				if (number.intValue() < 0) {
+					// do not consider negative values
+					LOG.warn("Got negative Energy value [" + number + "] for query: " + query);
 					value = JsonNull.INSTANCE;
-				} else if (valueObj instanceof Number) {
-					var number = (Number) valueObj;
-					if (number.intValue() < 0) {
-						// do not consider negative values
-						LOG.warn("Got negative Energy value [" + number + "] for query: " + query);
-						value = JsonNull.INSTANCE;
-					} else {
-						value = new JsonPrimitive(number);
-					}
 				} else {
-					value = new JsonPrimitive(valueObj.toString());
+					value = new JsonPrimitive(number);
 				}
+			} else {
+				value = new JsonPrimitive(valueObj.toString());
+			}
 
-				var channelAddresss = ChannelAddress.fromString(record.getField());
+			var channelAddresss = ChannelAddress.fromString(record.getField());
 
-				map.put(channelAddresss, value);
-			}
-		}
+			map.put(channelAddresss, value);
+		});
 
 		// Check if all values are null
 		var areAllValuesNull = true;
@@ -2,6 +2,7 @@ package io.openems.shared.influxdb.proxy;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
@@ -18,6 +19,7 @@ import com.influxdb.client.domain.InfluxQLQuery;
 import com.influxdb.query.InfluxQLQueryResult;
 import com.influxdb.query.InfluxQLQueryResult.Result;
 import com.influxdb.query.InfluxQLQueryResult.Series;
+import com.influxdb.query.InfluxQLQueryResult.Series.ValueExtractor;
 
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -39,8 +41,9 @@ public class InfluxQlProxy extends QueryProxy {
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(InfluxConnection influxConnection, String bucket,
 			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels)
 			throws OpenemsNamedException {
+		this.assertQueryLimit();
 		var query = this.buildHistoricEnergyQuery(bucket, influxEdgeId, fromDate, toDate, channels);
-		var queryResult = this.executeQuery(influxConnection, bucket, query);
+		var queryResult = this.executeQuery(influxConnection, bucket, query, null);
 		return convertHistoricEnergyResult(queryResult, influxEdgeId, channels);
 	}
 
@@ -48,19 +51,30 @@ public class InfluxQlProxy extends QueryProxy {
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(
 			InfluxConnection influxConnection, String bucket, Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
-		var query = this.buildHistoricDataQuery(bucket, influxEdgeId, fromDate, toDate, channels, resolution);
-		var queryResult = this.executeQuery(influxConnection, bucket, query);
-		return convertHistoricDataQueryResult(queryResult, fromDate);
+		var chunks = splitIntoChunks(fromDate, toDate, resolution);
+		return this.queryChunked("InfluxQL HistoricData", chunks, (chunk, result) -> {
+			// 'time >' is exclusive; start one second earlier to not miss a value at the
+			// start of this Chunk. The partial window before is ignored.
+			var queryFromDate = chunk.isFirst() ? chunk.fromDate() : chunk.fromDate().minusSeconds(1);
+			var query = this.buildHistoricDataQuery(bucket, influxEdgeId, queryFromDate, chunk.toDate(), channels,
+					resolution);
+			var queryResult = this.executeQuery(influxConnection, bucket, query, JSON_VALUE_EXTRACTOR);
+			convertHistoricDataQueryResult(queryResult, chunk.fromDate(), result);
+		});
 	}
 
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(
 			InfluxConnection influxConnection, String bucket, Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
-		var query = this.buildHistoricEnergyPerPeriodQuery(bucket, influxEdgeId, fromDate, toDate, channels,
-				resolution);
-		var queryResult = this.executeQuery(influxConnection, bucket, query);
-		return convertHistoricDataQueryResult(queryResult, fromDate);
+		// Not split: NON_NEGATIVE_DIFFERENCE() needs the value of the previous period
+		var chunks = List.of(new Chunk(fromDate, toDate, true));
+		return this.queryChunked("InfluxQL HistoricEnergyPerPeriod", chunks, (chunk, result) -> {
+			var query = this.buildHistoricEnergyPerPeriodQuery(bucket, influxEdgeId, fromDate, toDate, channels,
+					resolution);
+			var queryResult = this.executeQuery(influxConnection, bucket, query, JSON_VALUE_EXTRACTOR);
+			convertHistoricDataQueryResult(queryResult, fromDate, result);
+		});
 	}
 
 	@Override
@@ -139,17 +153,34 @@ public class InfluxQlProxy extends QueryProxy {
 		return b.toString();
 	}
 
-	private InfluxQLQueryResult executeQuery(InfluxConnection influxConnection, String bucket, String query)
-			throws OpenemsException {
-		this.assertQueryLimit();
+	/**
+	 * Converts the raw values of a Historic-Data query directly to
+	 * {@link JsonElement}s while parsing the response; the timestamp to a Long.
+	 */
+	private static final ValueExtractor JSON_VALUE_EXTRACTOR = (columnName, rawValue, resultIndex, seriesName) -> {
+		if (columnName.equals("time")) {
+			return Long.parseLong(rawValue);
+		}
+		if (rawValue == null || rawValue.isEmpty()) {
+			return JsonNull.INSTANCE;
+		} else if (StringUtils.matchesFloatPattern(rawValue)) {
+			return new JsonPrimitive(Double.parseDouble(rawValue));
+		} else if (StringUtils.matchesIntegerPattern(rawValue)) {
+			return new JsonPrimitive(Integer.parseInt(rawValue));
+		} else {
+			return new JsonPrimitive(rawValue);
+		}
+	};
 
+	private InfluxQLQueryResult executeQuery(InfluxConnection influxConnection, String bucket, String query,
+			ValueExtractor valueExtractor) throws OpenemsException {
 		var database = bucket.split("/")[0];
 
 		// Parse result
 		InfluxQLQueryResult queryResult;
 		try {
 			queryResult = influxConnection.client.getInfluxQLQueryApi().query(new InfluxQLQuery(query, database) //
-					.setPrecision(InfluxQLQuery.InfluxQLPrecision.MILLISECONDS));
+					.setPrecision(InfluxQLQuery.InfluxQLPrecision.MILLISECONDS), valueExtractor);
 		} catch (RuntimeException e) {
 			this.queryLimit.increase();
 			LOG.error("InfluxDB query runtime error. Query: " + query + ", Error: " + e.getMessage());
@@ -160,71 +191,47 @@ public class InfluxQlProxy extends QueryProxy {
 	}
 
 	/**
-	 * Converts the QueryResult of a Historic-Data query to a properly typed Table.
+	 * Converts the QueryResult of a Historic-Data query, parsed with
+	 * {@link #JSON_VALUE_EXTRACTOR}, and adds the values to a {@link ChunkResult}.
 	 *
 	 * @param queryResult the Query-Result
 	 * @param fromDate    the From-Date
-	 * @return the historic data as Map
-	 * @throws OpenemsException on error
+	 * @param result      the {@link ChunkResult}
+	 * @throws OpenemsNamedException on error
 	 */
-	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> convertHistoricDataQueryResult(
-			InfluxQLQueryResult queryResult, ZonedDateTime fromDate) throws OpenemsNamedException {
+	private static void convertHistoricDataQueryResult(InfluxQLQueryResult queryResult, ZonedDateTime fromDate,
+			ChunkResult result) throws OpenemsNamedException {
 		if (queryResult == null) {
 			throw new OpenemsException("Historic data values are not available. QueryResult is null");
 		}
 
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
-		for (var result : queryResult.getResults()) {
-			var seriess = result.getSeries();
+		for (var queryResultResult : queryResult.getResults()) {
+			var seriess = queryResultResult.getSeries();
 			if (seriess != null) {
 				for (var series : seriess) {
+					var channels = new TreeMap<String, ChannelAddress>();
+					for (var column : series.getColumns().keySet()) {
+						if (!column.equals("time")) {
+							channels.put(column, ChannelAddress.fromString(column));
+						}
+					}
 					// add all data
 					for (var record : series.getValues()) {
-						SortedMap<ChannelAddress, JsonElement> tableRow = new TreeMap<>();
 						// get timestamp
-						var timestampInstant = Instant
-								.ofEpochMilli(Long.parseLong((String) record.getValueByKey("time")));
+						var timestampInstant = Instant.ofEpochMilli((Long) record.getValueByKey("time"));
 						var timestamp = ZonedDateTime.ofInstant(timestampInstant, fromDate.getZone());
 						if (timestamp.isBefore(fromDate)) {
 							// InfluxQL sometimes gives too early timestamps -> ignore
 							continue;
 						}
-						for (var column : series.getColumns().keySet()) {
-							if (column.equals("time")) {
-								continue;
-							}
-							// Note: ignoring index '0' here as it is the 'timestamp'
-							var valueObj = record.getValueByKey(column);
-							JsonElement value;
-							if (valueObj == null) {
-								value = JsonNull.INSTANCE;
-							} else if (valueObj instanceof Number) {
-								value = new JsonPrimitive((Number) valueObj);
-							} else {
-								final String str;
-								if (valueObj instanceof String) {
-									str = (String) valueObj;
-								} else {
-									str = valueObj.toString();
-								}
-								if (str.isEmpty()) {
-									value = JsonNull.INSTANCE;
-								} else if (StringUtils.matchesFloatPattern(str)) {
-									value = new JsonPrimitive(Double.parseDouble(str));
-								} else if (StringUtils.matchesIntegerPattern(str)) {
-									value = new JsonPrimitive(Integer.parseInt(str));
-								} else {
-									value = new JsonPrimitive(valueObj.toString());
-								}
-							}
-							tableRow.put(ChannelAddress.fromString(column), value);
+						for (var channel : channels.entrySet()) {
+							var value = (JsonElement) record.getValueByKey(channel.getKey());
+							result.put(timestamp, channel.getValue(), value == null ? JsonNull.INSTANCE : value);
 						}
-						table.put(timestamp, tableRow);
 					}
 				}
 			}
 		}
-		return table;
 	}
 
 	/**
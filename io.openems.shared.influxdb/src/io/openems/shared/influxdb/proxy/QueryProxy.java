@@ -1,22 +1,77 @@
 package io.openems.shared.influxdb.proxy;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingBiConsumer;
 import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.shared.influxdb.InfluxConnector.InfluxConnection;
 import io.openems.shared.influxdb.QueryLanguageConfig;
 
 public abstract class QueryProxy {
 
+	/**
+	 * Historic data queries are split into Chunks of this duration (rounded to a
+	 * multiple of the {@link Resolution}).
+	 */
+	protected static final Duration CHUNK_DURATION = Duration.ofDays(7);
+
+	/**
+	 * Maximum number of Chunks of one query that are queried in parallel.
+	 */
+	protected static final int MAX_PARALLEL_CHUNKS = 4;
+
+	/**
+	 * Maximum number of values in the result of one query.
+	 */
+	protected static final long MAX_RESULT_VALUES = 2_000_000;
+
+	/**
+	 * Estimated heap usage of one value in the result, i.e. TreeMap entry,
+	 * {@link JsonElement} and boxed number.
+	 */
+	private static final int ESTIMATED_BYTES_PER_VALUE = 100;
+
+	/**
+	 * Queries with more values are logged on INFO level.
+	 */
+	private static final long LOG_RESULT_VALUES = 100_000;
+
+	private static final Logger LOG = LoggerFactory.getLogger(QueryProxy.class);
+
+	private final ThreadPoolExecutor chunkExecutor;
+
+	protected QueryProxy() {
+		this.chunkExecutor = new ThreadPoolExecutor(MAX_PARALLEL_CHUNKS, MAX_PARALLEL_CHUNKS, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), //
+				new ThreadFactoryBuilder().setNameFormat("InfluxDB-Query-%d").build());
+		this.chunkExecutor.allowCoreThreadTimeOut(true);
+	}
+
 	/**
 	 * Builds a {@link QueryProxy} from a {@link QueryLanguageConfig}.
 	 * 
@@ -144,6 +199,168 @@ public abstract class QueryProxy {
 		}
 	}
 
+	/**
+	 * Stops the threads for parallel queries.
+	 */
+	public void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.chunkExecutor, 0);
+	}
+
+	/**
+	 * A time range of a historic data query.
+	 *
+	 * @param fromDate the From-Date
+	 * @param toDate   the To-Date
+	 * @param isFirst  true for the first Chunk of a query
+	 */
+	protected static record Chunk(ZonedDateTime fromDate, ZonedDateTime toDate, boolean isFirst) {
+	}
+
+	/**
+	 * Splits the time range of a historic data query into {@link Chunk}s.
+	 *
+	 * <p>
+	 * InfluxDB aligns the windows of an aggregation to the epoch, so the borders
+	 * between Chunks are aligned to multiples of the {@link Resolution}; i.e. every
+	 * window belongs to exactly one Chunk. Resolutions of days or more are not
+	 * split, as they produce few values per Channel anyway.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param resolution the {@link Resolution}
+	 * @return the {@link Chunk}s in chronological order
+	 */
+	protected static List<Chunk> splitIntoChunks(ZonedDateTime fromDate, ZonedDateTime toDate,
+			Resolution resolution) {
+		var result = new ArrayList<Chunk>();
+		if (resolution.getUnit().isDurationEstimated()) {
+			result.add(new Chunk(fromDate, toDate, true));
+			return result;
+		}
+		var resolutionSeconds = Math.max(1, resolution.toSeconds());
+		var chunkSeconds = Math.max(1, CHUNK_DURATION.getSeconds() / resolutionSeconds) * resolutionSeconds;
+		var start = fromDate;
+		var border = Math.floorDiv(fromDate.toEpochSecond() + chunkSeconds, resolutionSeconds) * resolutionSeconds;
+		while (border < toDate.toEpochSecond()) {
+			var end = ZonedDateTime.ofInstant(Instant.ofEpochSecond(border), fromDate.getZone());
+			result.add(new Chunk(start, end, result.isEmpty()));
+			start = end;
+			border += chunkSeconds;
+		}
+		result.add(new Chunk(start, toDate, result.isEmpty()));
+		return result;
+	}
+
+	/**
+	 * Collects the result of one {@link Chunk}. The number of values is limited
+	 * for all Chunks of a query together.
+	 */
+	protected static class ChunkResult {
+
+		private final AtomicLong values;
+		private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+
+		private ChunkResult(AtomicLong values) {
+			this.values = values;
+		}
+
+		/**
+		 * Adds a value.
+		 *
+		 * @param timestamp the timestamp
+		 * @param channel   the {@link ChannelAddress}
+		 * @param value     the value
+		 * @throws OpenemsException if the result exceeds {@link #MAX_RESULT_VALUES}
+		 *                          or the query was aborted
+		 */
+		protected void put(ZonedDateTime timestamp, ChannelAddress channel, JsonElement value)
+				throws OpenemsException {
+			var values = this.values.incrementAndGet();
+			if (values > MAX_RESULT_VALUES) {
+				throw new OpenemsException("InfluxDB query result exceeds the limit of " + MAX_RESULT_VALUES
+						+ " values. Please reduce the time range or the number of Channels.");
+			}
+			this.table.computeIfAbsent(timestamp, t -> new TreeMap<>()).put(channel, value);
+		}
+	}
+
+	/**
+	 * Queries historic data in {@link Chunk}s, at most
+	 * {@link #MAX_PARALLEL_CHUNKS} in parallel, and merges the results.
+	 *
+	 * @param name   the name of the query for the log
+	 * @param chunks the {@link Chunk}s, see
+	 *               {@link #splitIntoChunks(ZonedDateTime, ZonedDateTime, Resolution)}
+	 * @param query  queries one {@link Chunk} into a {@link ChunkResult}
+	 * @return the query result
+	 * @throws OpenemsNamedException on error
+	 */
+	protected SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryChunked(String name,
+			List<Chunk> chunks, ThrowingBiConsumer<Chunk, ChunkResult, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		this.assertQueryLimit();
+
+		final var start = System.nanoTime();
+		final var values = new AtomicLong();
+		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result;
+
+		if (chunks.size() == 1) {
+			var chunkResult = new ChunkResult(values);
+			query.accept(chunks.get(0), chunkResult);
+			result = chunkResult.table;
+
+		} else {
+			result = new TreeMap<>();
+			var completion = new ExecutorCompletionService<ChunkResult>(this.chunkExecutor);
+			var submitted = 0;
+			var completed = 0;
+			try {
+				while (completed < chunks.size()) {
+					while (submitted < chunks.size() && submitted - completed < MAX_PARALLEL_CHUNKS) {
+						var chunk = chunks.get(submitted++);
+						completion.submit(() -> {
+							var chunkResult = new ChunkResult(values);
+							query.accept(chunk, chunkResult);
+							return chunkResult;
+						});
+					}
+					var chunkResult = completion.take().get();
+					completed++;
+					result.putAll(chunkResult.table);
+				}
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OpenemsException("InfluxDB query was interrupted");
+
+			} catch (ExecutionException e) {
+				// Let running Chunks fail fast
+				values.set(MAX_RESULT_VALUES);
+				if (e.getCause() instanceof OpenemsNamedException one) {
+					throw one;
+				}
+				throw new OpenemsException("InfluxDB query failed: " + e.getCause().getMessage());
+			}
+		}
+
+		var count = values.get();
+		var message = new StringBuilder() //
+				.append("InfluxDB ").append(name) //
+				.append(" [").append(chunks.get(0).fromDate().toLocalDate()) //
+				.append(" - ").append(chunks.get(chunks.size() - 1).toDate().toLocalDate()).append("]") //
+				.append(" Chunks:").append(chunks.size()) //
+				.append(" Values:").append(count) //
+				.append(" Memory:~").append(count * ESTIMATED_BYTES_PER_VALUE / 1_000_000).append("MB") //
+				.append(" Duration:").append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).append("ms") //
+				.toString();
+		if (count > LOG_RESULT_VALUES) {
+			LOG.info(message);
+		} else {
+			LOG.debug(message);
+		}
+		return result;
+	}
+
 	protected abstract String buildHistoricDataQuery(String bucket, Optional<Integer> influxEdgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsException;
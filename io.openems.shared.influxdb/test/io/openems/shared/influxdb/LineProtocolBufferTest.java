@@ -0,0 +1,71 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.influxdb.client.domain.WritePrecision;
+
+public class LineProtocolBufferTest {
+
+	private static final String ASCII = "data,edge=0 _sum/EssSoc=50i 1577836800000";
+	// 2-byte, 3-byte and 4-byte (surrogate pair) UTF-8 characters
+	private static final String UNICODE = "data,edge=0 ess0/Name=\"Speicher ä€🔋\" 1577836800000";
+
+	@Test
+	public void testAppend() {
+		var sut = new LineProtocolBuffer(16);
+		assertTrue(sut.isEmpty());
+		assertTrue(sut.canAppend(WritePrecision.NS, 2, 100));
+
+		sut.append(ASCII, WritePrecision.MS);
+		sut.append(UNICODE, WritePrecision.MS);
+		assertEquals(2, sut.getPoints());
+		assertEquals(WritePrecision.MS, sut.getPrecision());
+		assertEquals(ASCII + "\n" + UNICODE, sut.toString());
+
+		// Limits
+		assertFalse(sut.canAppend(WritePrecision.NS, 10, 1_000));
+		assertFalse(sut.canAppend(WritePrecision.MS, 2, 1_000));
+		assertFalse(sut.canAppend(WritePrecision.MS, 10, 50));
+		assertTrue(sut.canAppend(WritePrecision.MS, 10, 1_000));
+
+		sut.reset();
+		assertTrue(sut.isEmpty());
+		assertEquals("", sut.toString());
+	}
+
+	@Test
+	public void testEncodeUtf8() throws Exception {
+		var sut = new LineProtocolBuffer(16);
+		sut.append(ASCII, WritePrecision.MS);
+		sut.append(UNICODE, WritePrecision.MS);
+
+		var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			sut.writeTo(out);
+		}
+		var record = bytes.toByteArray();
+
+		// Payload is the UTF-8 encoded line protocol
+		var expected = (ASCII + "\n" + UNICODE).getBytes(StandardCharsets.UTF_8);
+		assertArrayEquals(expected, Arrays.copyOfRange(record, record.length - expected.length, record.length));
+
+		var read = new LineProtocolBuffer(16);
+		read.readFrom(new DataInputStream(new ByteArrayInputStream(record)));
+		assertEquals(2, read.getPoints());
+		assertEquals(WritePrecision.MS, read.getPrecision());
+		assertEquals(sut.toString(), read.toString());
+	}
+
+}
@@ -0,0 +1,86 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.influxdb.client.domain.WritePrecision;
+
+public class SpillFileTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static LineProtocolBuffer buffer(int index) {
+		var buffer = new LineProtocolBuffer(16);
+		buffer.append("data,edge=" + index + " _sum/EssSoc=50i 1577836800000", WritePrecision.MS);
+		buffer.append("data,edge=" + index + " ess0/Name=\"ä€\" 1577836801000", WritePrecision.MS);
+		return buffer;
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		var directory = this.folder.newFolder().toPath();
+		var sut = new SpillFile(directory);
+		for (var i = 0; i < 3; i++) {
+			sut.append(buffer(i));
+		}
+		assertEquals(1, sut.getSegments());
+
+		// Reopen: left over segments are read in order
+		sut.close();
+		assertThrows(IOException.class, () -> sut.append(buffer(3)));
+		var reopened = new SpillFile(directory);
+		reopened.append(buffer(3));
+		assertEquals(2, reopened.getSegments());
+
+		var read = new LineProtocolBuffer(16);
+		for (var i = 0; i < 4; i++) {
+			assertTrue(reopened.poll(read));
+			assertEquals(buffer(i).toString(), read.toString());
+			assertEquals(2, read.getPoints());
+			assertEquals(WritePrecision.MS, read.getPrecision());
+		}
+		assertFalse(reopened.poll(read));
+		assertEquals(0, reopened.getSegments());
+		try (var files = Files.list(directory)) {
+			assertEquals(0, files.count());
+		}
+		reopened.close();
+	}
+
+	@Test
+	public void testTornSegment() throws IOException {
+		var directory = this.folder.newFolder().toPath();
+		var sut = new SpillFile(directory);
+		sut.append(buffer(0));
+		sut.append(buffer(1));
+		sut.close();
+
+		// Simulate power loss while writing
+		try (var files = Files.list(directory)) {
+			var file = files.findFirst().get().toFile();
+			try (var raf = new RandomAccessFile(file, "rw")) {
+				raf.setLength(raf.length() - 3);
+			}
+		}
+
+		var reopened = new SpillFile(directory);
+		var read = new LineProtocolBuffer(16);
+		assertTrue(reopened.poll(read));
+		assertEquals(buffer(0).toString(), read.toString());
+		assertFalse(reopened.poll(read));
+		assertEquals(0, reopened.getSegments());
+		reopened.close();
+	}
+
+}
@@ -1,5 +1,10 @@
 package io.openems.shared.influxdb.proxy;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -59,4 +64,31 @@ public class QueryBuilderTest {
 		INFLUX_QL.buildHistoricEnergyPerPeriodQuery(BUCKET, EDGE_ID, FROM_DATE, TO_DATE, ENERGY_CHANNELS, RESOLUTION);
 	}
 
+	@Test
+	public void testSplitIntoChunks() {
+		// short range -> one Chunk
+		var chunks = QueryProxy.splitIntoChunks(FROM_DATE, TO_DATE, RESOLUTION);
+		assertEquals(1, chunks.size());
+		assertEquals(FROM_DATE, chunks.get(0).fromDate());
+		assertEquals(TO_DATE, chunks.get(0).toDate());
+
+		// one year -> contiguous Chunks, borders aligned to the Resolution
+		var toDate = FROM_DATE.plusYears(1);
+		chunks = QueryProxy.splitIntoChunks(FROM_DATE, toDate, new Resolution(15, ChronoUnit.MINUTES));
+		assertTrue(chunks.size() >= 52);
+		assertEquals(FROM_DATE, chunks.get(0).fromDate());
+		assertEquals(toDate, chunks.get(chunks.size() - 1).toDate());
+		assertTrue(chunks.get(0).isFirst());
+		for (var i = 1; i < chunks.size(); i++) {
+			var chunk = chunks.get(i);
+			assertFalse(chunk.isFirst());
+			assertEquals(chunks.get(i - 1).toDate(), chunk.fromDate());
+			assertEquals(0, chunk.fromDate().toEpochSecond() % Duration.ofMinutes(15).getSeconds());
+		}
+
+		// daily Resolution -> not split
+		chunks = QueryProxy.splitIntoChunks(FROM_DATE, toDate, new Resolution(1, ChronoUnit.DAYS));
+		assertEquals(1, chunks.size());
+	}
+
 }
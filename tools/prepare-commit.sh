@@ -185,6 +185,9 @@ for D in io.openems.backend.*; do
 	if [[ "$D" == *api ]]; then
 		continue # ignore api bundle
 	fi
+	if [[ "$D" == *loadgenerator ]]; then
+		continue # ignore load generator; see BackendLoadTest.bndrun
+	fi
 	echo "	bnd.identity;id='${D}',\\" >> "$bndrun.new"
 done
 runbundles=$(grep -n '\-runbundles:' $bndrun | grep -Eo '^[^:]+' | head -n1)